@@ -0,0 +1,84 @@
+package io.vertx.codegen.benchmarks;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH json result ({@code -rf json}) with a baseline recorded in the {@code baselines} directory.
+ * <p/>
+ * Each benchmark of the run is printed with the relative change of its primary score, a change is reported as a
+ * regression or an improvement only when the score intervals (score +/- error) of the baseline and of the run do not
+ * overlap.
+ */
+public class BaselineComparison {
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      System.err.println("Usage: BaselineComparison <baseline.json> <run.json>");
+      System.exit(1);
+    }
+    Map<String, JsonObject> baseline = load(args[0]);
+    Map<String, JsonObject> run = load(args[1]);
+    boolean regression = false;
+    for (Map.Entry<String, JsonObject> entry : run.entrySet()) {
+      JsonObject previous = baseline.get(entry.getKey());
+      JsonObject current = entry.getValue();
+      if (previous == null) {
+        System.out.println(entry.getKey() + ": not in the baseline");
+        continue;
+      }
+      double previousScore = previous.getDouble("score");
+      double currentScore = current.getDouble("score");
+      double change = (currentScore - previousScore) / previousScore * 100D;
+      String status;
+      if (Math.abs(currentScore - previousScore) <= errorOf(previous) + errorOf(current)) {
+        status = "within error";
+      } else if (higherIsBetter(current) == currentScore > previousScore) {
+        status = "improvement";
+      } else {
+        status = "REGRESSION";
+        regression = true;
+      }
+      System.out.printf("%s: %.3f -> %.3f %s (%+.1f%%, %s)%n", entry.getKey(), previousScore, currentScore,
+        current.getString("scoreUnit"), change, status);
+    }
+    if (regression) {
+      System.exit(2);
+    }
+  }
+
+  /**
+   * @return the primary metrics of the result file indexed by benchmark name and parameters
+   */
+  private static Map<String, JsonObject> load(String file) throws IOException {
+    JsonArray results = new JsonArray(new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8));
+    Map<String, JsonObject> metrics = new LinkedHashMap<>();
+    for (int i = 0;i < results.size();i++) {
+      JsonObject result = results.getJsonObject(i);
+      String key = result.getString("benchmark");
+      JsonObject params = result.getJsonObject("params");
+      if (params != null) {
+        key += params.encode();
+      }
+      metrics.put(key, result.getJsonObject("primaryMetric").put("mode", result.getString("mode")));
+    }
+    return metrics;
+  }
+
+  private static double errorOf(JsonObject metric) {
+    Object error = metric.getValue("scoreError");
+    // JMH writes "NaN" when the error cannot be estimated (e.g. a single iteration)
+    return error instanceof Number ? ((Number) error).doubleValue() : 0D;
+  }
+
+  private static boolean higherIsBetter(JsonObject metric) {
+    return "thrpt".equals(metric.getString("mode"));
+  }
+}
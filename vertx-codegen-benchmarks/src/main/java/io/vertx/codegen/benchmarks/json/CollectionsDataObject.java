@@ -0,0 +1,71 @@
+package io.vertx.codegen.benchmarks.json;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * List, set and map properties.
+ */
+@DataObject
+@JsonGen
+public class CollectionsDataObject {
+
+  private List<String> tags;
+  private Set<Integer> ids;
+  private Map<String, Long> counters;
+  private List<Double> samples;
+
+  public CollectionsDataObject() {
+  }
+
+  public CollectionsDataObject(JsonObject json) {
+    CollectionsDataObjectConverter.fromJson(json, this);
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    CollectionsDataObjectConverter.toJson(this, json);
+    return json;
+  }
+
+  public List<String> getTags() {
+    return tags;
+  }
+
+  public CollectionsDataObject setTags(List<String> tags) {
+    this.tags = tags;
+    return this;
+  }
+
+  public Set<Integer> getIds() {
+    return ids;
+  }
+
+  public CollectionsDataObject setIds(Set<Integer> ids) {
+    this.ids = ids;
+    return this;
+  }
+
+  public Map<String, Long> getCounters() {
+    return counters;
+  }
+
+  public CollectionsDataObject setCounters(Map<String, Long> counters) {
+    this.counters = counters;
+    return this;
+  }
+
+  public List<Double> getSamples() {
+    return samples;
+  }
+
+  public CollectionsDataObject setSamples(List<Double> samples) {
+    this.samples = samples;
+    return this;
+  }
+}
@@ -0,0 +1,107 @@
+package io.vertx.codegen.benchmarks.json;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Primitive, boxed and string properties.
+ */
+@DataObject
+@JsonGen
+public class FlatDataObject {
+
+  private String name;
+  private int count;
+  private long id;
+  private double ratio;
+  private float weight;
+  private boolean enabled;
+  private Integer boxedCount;
+  private Long boxedId;
+
+  public FlatDataObject() {
+  }
+
+  public FlatDataObject(JsonObject json) {
+    FlatDataObjectConverter.fromJson(json, this);
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    FlatDataObjectConverter.toJson(this, json);
+    return json;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public FlatDataObject setName(String name) {
+    this.name = name;
+    return this;
+  }
+
+  public int getCount() {
+    return count;
+  }
+
+  public FlatDataObject setCount(int count) {
+    this.count = count;
+    return this;
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  public FlatDataObject setId(long id) {
+    this.id = id;
+    return this;
+  }
+
+  public double getRatio() {
+    return ratio;
+  }
+
+  public FlatDataObject setRatio(double ratio) {
+    this.ratio = ratio;
+    return this;
+  }
+
+  public float getWeight() {
+    return weight;
+  }
+
+  public FlatDataObject setWeight(float weight) {
+    this.weight = weight;
+    return this;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public FlatDataObject setEnabled(boolean enabled) {
+    this.enabled = enabled;
+    return this;
+  }
+
+  public Integer getBoxedCount() {
+    return boxedCount;
+  }
+
+  public FlatDataObject setBoxedCount(Integer boxedCount) {
+    this.boxedCount = boxedCount;
+    return this;
+  }
+
+  public Long getBoxedId() {
+    return boxedId;
+  }
+
+  public FlatDataObject setBoxedId(Long boxedId) {
+    this.boxedId = boxedId;
+    return this;
+  }
+}
@@ -0,0 +1,157 @@
+package io.vertx.codegen.benchmarks.json;
+
+import io.vertx.core.json.JsonObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the converters generated by {@code DataObjectJsonGen}, run with {@code -prof gc} to get the
+ * allocation rate.
+ *
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class JsonConverterBenchmark {
+
+  private FlatDataObject flat;
+  private CollectionsDataObject collections;
+  private NestedDataObject nested;
+  private SnakeCaseDataObject snakeCase;
+  private JsonObject flatJson;
+  private JsonObject collectionsJson;
+  private JsonObject nestedJson;
+  private JsonObject snakeCaseJson;
+
+  @Setup
+  public void setup() {
+    flat = flat(0);
+    collections = new CollectionsDataObject()
+      .setTags(Arrays.asList("alpha", "beta", "gamma", "delta"))
+      .setIds(new LinkedHashSet<>(Arrays.asList(1, 2, 3, 5, 8, 13)))
+      .setCounters(counters())
+      .setSamples(Arrays.asList(0.5D, 1.25D, 2.75D, 3.5D));
+    List<FlatDataObject> flats = new ArrayList<>();
+    Map<String, FlatDataObject> flatsByName = new HashMap<>();
+    for (int i = 1;i <= 4;i++) {
+      FlatDataObject item = flat(i);
+      flats.add(item);
+      flatsByName.put(item.getName(), item);
+    }
+    nested = new NestedDataObject()
+      .setFlat(flat)
+      .setFlats(flats)
+      .setFlatsByName(flatsByName)
+      .setCollections(collections)
+      .setLevel(Level.HIGH)
+      .setLevels(Arrays.asList(Level.LOW, Level.MEDIUM, Level.HIGH))
+      .setCreatedAt(Instant.parse("2024-01-01T10:15:30Z"))
+      .setMetadata(new JsonObject().put("source", "benchmark").put("version", 3).put("tags", Arrays.asList("a", "b")));
+    snakeCase = new SnakeCaseDataObject()
+      .setUserName("julien")
+      .setEmailAddress("julien@example.com")
+      .setLoginCount(42)
+      .setLastLoginTime(Instant.parse("2024-01-01T10:15:30Z"));
+    flatJson = flat.toJson();
+    collectionsJson = collections.toJson();
+    nestedJson = nested.toJson();
+    snakeCaseJson = snakeCase.toJson();
+  }
+
+  private static FlatDataObject flat(int index) {
+    return new FlatDataObject()
+      .setName("item-" + index)
+      .setCount(index)
+      .setId(1_000_000_000L + index)
+      .setRatio(index / 3D)
+      .setWeight(index * 1.5F)
+      .setEnabled(index % 2 == 0)
+      .setBoxedCount(index * 10)
+      .setBoxedId(2_000_000_000L + index);
+  }
+
+  private static Map<String, Long> counters() {
+    Map<String, Long> counters = new HashMap<>();
+    counters.put("requests", 12_345L);
+    counters.put("errors", 12L);
+    counters.put("retries", 345L);
+    return counters;
+  }
+
+  @Benchmark
+  public JsonObject flatToJson() {
+    JsonObject json = new JsonObject();
+    FlatDataObjectConverter.toJson(flat, json);
+    return json;
+  }
+
+  @Benchmark
+  public FlatDataObject flatFromJson() {
+    FlatDataObject obj = new FlatDataObject();
+    FlatDataObjectConverter.fromJson(flatJson, obj);
+    return obj;
+  }
+
+  @Benchmark
+  public JsonObject collectionsToJson() {
+    JsonObject json = new JsonObject();
+    CollectionsDataObjectConverter.toJson(collections, json);
+    return json;
+  }
+
+  @Benchmark
+  public CollectionsDataObject collectionsFromJson() {
+    CollectionsDataObject obj = new CollectionsDataObject();
+    CollectionsDataObjectConverter.fromJson(collectionsJson, obj);
+    return obj;
+  }
+
+  @Benchmark
+  public JsonObject nestedToJson() {
+    JsonObject json = new JsonObject();
+    NestedDataObjectConverter.toJson(nested, json);
+    return json;
+  }
+
+  @Benchmark
+  public NestedDataObject nestedFromJson() {
+    NestedDataObject obj = new NestedDataObject();
+    NestedDataObjectConverter.fromJson(nestedJson, obj);
+    return obj;
+  }
+
+  @Benchmark
+  public JsonObject snakeCaseToJson() {
+    JsonObject json = new JsonObject();
+    SnakeCaseDataObjectConverter.toJson(snakeCase, json);
+    return json;
+  }
+
+  @Benchmark
+  public SnakeCaseDataObject snakeCaseFromJson() {
+    SnakeCaseDataObject obj = new SnakeCaseDataObject();
+    SnakeCaseDataObjectConverter.fromJson(snakeCaseJson, obj);
+    return obj;
+  }
+}
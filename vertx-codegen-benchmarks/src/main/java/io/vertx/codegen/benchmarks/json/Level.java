@@ -0,0 +1,8 @@
+package io.vertx.codegen.benchmarks.json;
+
+import io.vertx.codegen.annotations.VertxGen;
+
+@VertxGen
+public enum Level {
+  LOW, MEDIUM, HIGH
+}
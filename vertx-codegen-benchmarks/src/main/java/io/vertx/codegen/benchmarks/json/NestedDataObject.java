@@ -0,0 +1,111 @@
+package io.vertx.codegen.benchmarks.json;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Nested data objects, enums, {@link Instant} and {@link JsonObject} properties.
+ */
+@DataObject
+@JsonGen
+public class NestedDataObject {
+
+  private FlatDataObject flat;
+  private List<FlatDataObject> flats;
+  private Map<String, FlatDataObject> flatsByName;
+  private CollectionsDataObject collections;
+  private Level level;
+  private List<Level> levels;
+  private Instant createdAt;
+  private JsonObject metadata;
+
+  public NestedDataObject() {
+  }
+
+  public NestedDataObject(JsonObject json) {
+    NestedDataObjectConverter.fromJson(json, this);
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    NestedDataObjectConverter.toJson(this, json);
+    return json;
+  }
+
+  public FlatDataObject getFlat() {
+    return flat;
+  }
+
+  public NestedDataObject setFlat(FlatDataObject flat) {
+    this.flat = flat;
+    return this;
+  }
+
+  public List<FlatDataObject> getFlats() {
+    return flats;
+  }
+
+  public NestedDataObject setFlats(List<FlatDataObject> flats) {
+    this.flats = flats;
+    return this;
+  }
+
+  public Map<String, FlatDataObject> getFlatsByName() {
+    return flatsByName;
+  }
+
+  public NestedDataObject setFlatsByName(Map<String, FlatDataObject> flatsByName) {
+    this.flatsByName = flatsByName;
+    return this;
+  }
+
+  public CollectionsDataObject getCollections() {
+    return collections;
+  }
+
+  public NestedDataObject setCollections(CollectionsDataObject collections) {
+    this.collections = collections;
+    return this;
+  }
+
+  public Level getLevel() {
+    return level;
+  }
+
+  public NestedDataObject setLevel(Level level) {
+    this.level = level;
+    return this;
+  }
+
+  public List<Level> getLevels() {
+    return levels;
+  }
+
+  public NestedDataObject setLevels(List<Level> levels) {
+    this.levels = levels;
+    return this;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  public NestedDataObject setCreatedAt(Instant createdAt) {
+    this.createdAt = createdAt;
+    return this;
+  }
+
+  public JsonObject getMetadata() {
+    return metadata;
+  }
+
+  public NestedDataObject setMetadata(JsonObject metadata) {
+    this.metadata = metadata;
+    return this;
+  }
+}
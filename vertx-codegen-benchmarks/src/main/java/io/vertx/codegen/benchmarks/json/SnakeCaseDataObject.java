@@ -0,0 +1,70 @@
+package io.vertx.codegen.benchmarks.json;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.format.SnakeCase;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+import java.time.Instant;
+
+/**
+ * Properties formatted in snake case.
+ */
+@DataObject
+@JsonGen(jsonPropertyNameFormatter = SnakeCase.class)
+public class SnakeCaseDataObject {
+
+  private String userName;
+  private String emailAddress;
+  private int loginCount;
+  private Instant lastLoginTime;
+
+  public SnakeCaseDataObject() {
+  }
+
+  public SnakeCaseDataObject(JsonObject json) {
+    SnakeCaseDataObjectConverter.fromJson(json, this);
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    SnakeCaseDataObjectConverter.toJson(this, json);
+    return json;
+  }
+
+  public String getUserName() {
+    return userName;
+  }
+
+  public SnakeCaseDataObject setUserName(String userName) {
+    this.userName = userName;
+    return this;
+  }
+
+  public String getEmailAddress() {
+    return emailAddress;
+  }
+
+  public SnakeCaseDataObject setEmailAddress(String emailAddress) {
+    this.emailAddress = emailAddress;
+    return this;
+  }
+
+  public int getLoginCount() {
+    return loginCount;
+  }
+
+  public SnakeCaseDataObject setLoginCount(int loginCount) {
+    this.loginCount = loginCount;
+    return this;
+  }
+
+  public Instant getLastLoginTime() {
+    return lastLoginTime;
+  }
+
+  public SnakeCaseDataObject setLastLoginTime(Instant lastLoginTime) {
+    this.lastLoginTime = lastLoginTime;
+    return this;
+  }
+}
@@ -0,0 +1,7 @@
+/**
+ * Data objects covering the property kinds handled by the generated json converters.
+ */
+@ModuleGen(name = "benchmarks", groupPackage = "io.vertx.codegen.benchmarks")
+package io.vertx.codegen.benchmarks.json;
+
+import io.vertx.codegen.annotations.ModuleGen;
@@ -0,0 +1,115 @@
+package io.vertx.codegen.benchmarks.compat;
+
+import io.vertx.codegen.benchmarks.json.Level;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The generated {@code toJsonBuffer} method writes the same bytes as {@link JsonObject#encode()} of the Vert.x core
+ * version the build depends on, the {@code vertx-codegen-json} tests only compare it with a copy of the Vert.x codec.
+ */
+public class BufferWriterCompatibilityTest {
+
+  private static void assertEncoding(EncodingDataObject obj) {
+    // Compare the bytes, unpaired surrogates are encoded to ? as String#getBytes does
+    assertEquals(Buffer.buffer(obj.toJson().encode()), EncodingDataObjectConverter.toJsonBuffer(obj));
+  }
+
+  @Test
+  public void testEmpty() {
+    assertEncoding(new EncodingDataObject());
+  }
+
+  @Test
+  public void testStrings() {
+    String[] strings = {
+      "",
+      "ascii",
+      "quote \" backslash \\ slash /",
+      "\b\t\n\f\r\u0000\u0001\u001f\u007f",
+      "caf\u00e9 \u20ac \u4e2d\u6587",
+      "\ud83d\ude00 surrogate pair",
+      "unpaired \ud83d high and \ude00 low",
+    };
+    for (String s : strings) {
+      assertEncoding(new EncodingDataObject()
+        .setString(s)
+        .setPrimitiveChar(s.isEmpty() ? 'x' : s.charAt(0))
+        .setStringList(Arrays.asList(s, null))
+        .setObject(s)
+        .setJsonObject(new JsonObject().put(s, s)));
+    }
+  }
+
+  @Test
+  public void testNumbers() {
+    long[] longs = { 0, 1, -1, 9, 10, 99, 100, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, 1_000_000_000_000L };
+    for (long l : longs) {
+      assertEncoding(new EncodingDataObject()
+        .setPrimitiveLong(l)
+        .setPrimitiveInt((int) l)
+        .setObject(l)
+        .setIntegerMap(Collections.singletonMap("value", (int) l)));
+    }
+    double[] doubles = { 0d, -0d, 1.5d, -0.1d, 1e-10d, 1e300d, Double.MIN_VALUE, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY };
+    for (double d : doubles) {
+      assertEncoding(new EncodingDataObject()
+        .setPrimitiveDouble(d)
+        .setPrimitiveFloat((float) d)
+        .setBoxedDouble(d)
+        .setJsonArray(new JsonArray().add(d).add((float) d)));
+    }
+  }
+
+  @Test
+  public void testInstants() {
+    Instant[] instants = {
+      Instant.EPOCH,
+      Instant.ofEpochSecond(-1),
+      Instant.ofEpochSecond(1_700_000_000L, 1_000_000),
+      Instant.ofEpochSecond(1_700_000_000L, 1),
+      Instant.parse("+10000-01-01T00:00:00Z"),
+      Instant.MIN,
+      Instant.MAX,
+    };
+    for (Instant instant : instants) {
+      assertInstantEncoding(instant);
+    }
+    Random random = new Random(0);
+    for (int i = 0; i < 1000; i++) {
+      assertInstantEncoding(Instant.ofEpochSecond(random.nextLong() % 253_402_300_800L, random.nextInt(1_000_000_000)));
+    }
+  }
+
+  private static void assertInstantEncoding(Instant instant) {
+    assertEncoding(new EncodingDataObject()
+      .setInstant(instant)
+      .setInstantList(Collections.singletonList(instant))
+      .setObject(instant));
+  }
+
+  @Test
+  public void testJsonValues() {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("list", Arrays.asList(1, 2L, null, true, "s"));
+    map.put("empty", new JsonObject());
+    map.put("instant", Instant.EPOCH);
+    map.put("enum", Level.HIGH);
+    assertEncoding(new EncodingDataObject()
+      .setLevel(Level.MEDIUM)
+      .setObject(map)
+      .setJsonObject(new JsonObject(map))
+      .setJsonArray(new JsonArray().add(new JsonArray()).add(new JsonObject(map))));
+  }
+}
@@ -0,0 +1,179 @@
+package io.vertx.codegen.benchmarks.compat;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.benchmarks.json.Level;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The property kinds written by the generated {@code toJsonBuffer} method.
+ */
+@DataObject
+@JsonGen(bufferWriter = true)
+public class EncodingDataObject {
+
+  private String string;
+  private char primitiveChar;
+  private int primitiveInt;
+  private long primitiveLong;
+  private float primitiveFloat;
+  private double primitiveDouble;
+  private Double boxedDouble;
+  private Level level;
+  private Instant instant;
+  private JsonObject jsonObject;
+  private JsonArray jsonArray;
+  private Object object;
+  private List<String> stringList;
+  private List<Instant> instantList;
+  private Map<String, Integer> integerMap;
+
+  public EncodingDataObject() {
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    EncodingDataObjectConverter.toJson(this, json);
+    return json;
+  }
+
+  public String getString() {
+    return string;
+  }
+
+  public EncodingDataObject setString(String string) {
+    this.string = string;
+    return this;
+  }
+
+  public char getPrimitiveChar() {
+    return primitiveChar;
+  }
+
+  public EncodingDataObject setPrimitiveChar(char primitiveChar) {
+    this.primitiveChar = primitiveChar;
+    return this;
+  }
+
+  public int getPrimitiveInt() {
+    return primitiveInt;
+  }
+
+  public EncodingDataObject setPrimitiveInt(int primitiveInt) {
+    this.primitiveInt = primitiveInt;
+    return this;
+  }
+
+  public long getPrimitiveLong() {
+    return primitiveLong;
+  }
+
+  public EncodingDataObject setPrimitiveLong(long primitiveLong) {
+    this.primitiveLong = primitiveLong;
+    return this;
+  }
+
+  public float getPrimitiveFloat() {
+    return primitiveFloat;
+  }
+
+  public EncodingDataObject setPrimitiveFloat(float primitiveFloat) {
+    this.primitiveFloat = primitiveFloat;
+    return this;
+  }
+
+  public double getPrimitiveDouble() {
+    return primitiveDouble;
+  }
+
+  public EncodingDataObject setPrimitiveDouble(double primitiveDouble) {
+    this.primitiveDouble = primitiveDouble;
+    return this;
+  }
+
+  public Double getBoxedDouble() {
+    return boxedDouble;
+  }
+
+  public EncodingDataObject setBoxedDouble(Double boxedDouble) {
+    this.boxedDouble = boxedDouble;
+    return this;
+  }
+
+  public Level getLevel() {
+    return level;
+  }
+
+  public EncodingDataObject setLevel(Level level) {
+    this.level = level;
+    return this;
+  }
+
+  public Instant getInstant() {
+    return instant;
+  }
+
+  public EncodingDataObject setInstant(Instant instant) {
+    this.instant = instant;
+    return this;
+  }
+
+  public JsonObject getJsonObject() {
+    return jsonObject;
+  }
+
+  public EncodingDataObject setJsonObject(JsonObject jsonObject) {
+    this.jsonObject = jsonObject;
+    return this;
+  }
+
+  public JsonArray getJsonArray() {
+    return jsonArray;
+  }
+
+  public EncodingDataObject setJsonArray(JsonArray jsonArray) {
+    this.jsonArray = jsonArray;
+    return this;
+  }
+
+  public Object getObject() {
+    return object;
+  }
+
+  public EncodingDataObject setObject(Object object) {
+    this.object = object;
+    return this;
+  }
+
+  public List<String> getStringList() {
+    return stringList;
+  }
+
+  public EncodingDataObject setStringList(List<String> stringList) {
+    this.stringList = stringList;
+    return this;
+  }
+
+  public List<Instant> getInstantList() {
+    return instantList;
+  }
+
+  public EncodingDataObject setInstantList(List<Instant> instantList) {
+    this.instantList = instantList;
+    return this;
+  }
+
+  public Map<String, Integer> getIntegerMap() {
+    return integerMap;
+  }
+
+  public EncodingDataObject setIntegerMap(Map<String, Integer> integerMap) {
+    this.integerMap = integerMap;
+    return this;
+  }
+}
@@ -0,0 +1,7 @@
+/**
+ * Data objects checking the generated converters against the Vert.x core JSON encoding.
+ */
+@ModuleGen(name = "benchmarks-compat", groupPackage = "io.vertx.codegen.benchmarks")
+package io.vertx.codegen.benchmarks.compat;
+
+import io.vertx.codegen.annotations.ModuleGen;
@@ -17,6 +17,15 @@ import io.vertx.codegen.format.LowerCamelCase;
  * handle the properties of the ancestors of this data object, {@link #inheritConverter()} can be set to
  * true to change this behavior and handle the conversion of the inherited properties as well.
  *
+ * <p>Setting {@link #streamingConverter()} to true also generates a {@code toJson(T,JsonGenerator)} and a
+ * {@code fromJson(JsonParser,T)} public static methods streaming the data object to and from Jackson tokens.
+ *
+ * <p>Setting {@link #bufferWriter()} to true also generates a {@code toJsonBuffer(T,Buffer)} public static method
+ * writing the JSON text of the data object in a Vert.x {@code Buffer}.
+ *
+ * <p>Setting {@link #bufferReader()} to true also generates a {@code fromJson(Buffer,T)} public static method
+ * reading the data object from the JSON text in a Vert.x {@code Buffer}.
+ *
  * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
  */
 public @interface JsonGen {
@@ -36,4 +45,29 @@ public @interface JsonGen {
    */
   Class<? extends Case> jsonPropertyNameFormatter() default LowerCamelCase.class;
 
+  /**
+   * @return true if the converter should also stream the data object to a Jackson {@code JsonGenerator} and from a
+   * Jackson {@code JsonParser}, without building a {@code JsonObject}
+   */
+  boolean streamingConverter() default false;
+
+  /**
+   * @return true if the data object should be registered in the Jackson databind {@code Module} generated for its
+   * module, the module serializes the data object with the streaming methods of the converter, so this implies
+   * {@link #streamingConverter()}
+   */
+  boolean jacksonModule() default false;
+
+  /**
+   * @return true if the converter should also write the data object as UTF-8 JSON text in a Vert.x {@code Buffer},
+   * producing the same bytes as encoding the {@code JsonObject} of {@code toJson}, without Jackson nor a {@code JsonObject}
+   */
+  boolean bufferWriter() default false;
+
+  /**
+   * @return true if the converter should also read the data object from UTF-8 JSON text in a Vert.x {@code Buffer},
+   * scanning the bytes against the property names instead of decoding a {@code JsonObject}
+   */
+  boolean bufferReader() default false;
+
 }
@@ -0,0 +1,130 @@
+package io.vertx.codegen.json.generator;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.format.CamelCase;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.codegen.processor.DataObjectModel;
+import io.vertx.codegen.processor.Generator;
+import io.vertx.codegen.processor.ModuleInfo;
+import io.vertx.codegen.processor.type.AnnotationValueInfo;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.annotation.Annotation;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Generates a Jackson databind {@code Module} per codegen module, registering a serializer and a deserializer
+ * delegating to the streaming methods of the converter of each {@code @JsonGen(jacksonModule = true)} data object.
+ */
+public class DataObjectJacksonModuleGen extends Generator<DataObjectModel> {
+
+  static final String JACKSON_MODULE = "com.fasterxml.jackson.databind.Module";
+
+  /**
+   * The processor option loading the Jackson module generators, they aggregate the data objects of a module so
+   * loading them makes the processor aggregating for Gradle and keeps the data objects out of the model cache.
+   */
+  static final String OPTION = "codegen.jacksonModule";
+
+  static boolean isEnabled(ProcessingEnvironment env) {
+    return env.getOptions().containsKey(OPTION) && !"false".equals(env.getOptions().get(OPTION));
+  }
+
+  public DataObjectJacksonModuleGen() {
+    kinds = Collections.singleton("dataObject");
+    name = "data_object_jackson_module";
+    incremental = true;
+    threadSafe = true;
+  }
+
+  @Override
+  public Collection<Class<? extends Annotation>> annotations() {
+    return Collections.singletonList(DataObject.class);
+  }
+
+  /**
+   * @return the qualified name of the Jackson module registering the {@code model}, or {@code null} when the
+   * data object is not registered
+   */
+  static String moduleClassName(DataObjectModel model) {
+    if (!model.isClass()) {
+      return null;
+    }
+    AnnotationValueInfo jsonGen = model.getAnnotations()
+      .stream()
+      .filter(ann -> ann.getName().equals(JsonGen.class.getName()))
+      .findFirst()
+      .orElse(null);
+    if (jsonGen == null || jsonGen.getMember("jacksonModule") != Boolean.TRUE) {
+      return null;
+    }
+    ModuleInfo module = model.getModule();
+    if (jsonGen.getMember("publicConverter") != Boolean.TRUE && !model.getType().getPackageName().equals(module.getPackageName())) {
+      // The converter is not accessible from the module package
+      return null;
+    }
+    return module.getPackageName() + "." + module.getName(CamelCase.INSTANCE) + "JacksonModule";
+  }
+
+  @Override
+  public String filename(DataObjectModel model) {
+    String className = moduleClassName(model);
+    return className != null ? className + ".java" : null;
+  }
+
+  @Override
+  public String render(DataObjectModel model, int index, int size, Map<String, Object> session) {
+    StringWriter buffer = new StringWriter();
+    PrintWriter writer = new PrintWriter(buffer);
+    ModuleInfo module = model.getModule();
+    String simpleName = module.getName(CamelCase.INSTANCE) + "JacksonModule";
+    if (index == 0) {
+      writer.print("package " + module.getPackageName() + ";\n");
+      writer.print("\n");
+      writer.print("import com.fasterxml.jackson.core.JsonGenerator;\n");
+      writer.print("import com.fasterxml.jackson.core.JsonParser;\n");
+      writer.print("import com.fasterxml.jackson.databind.DeserializationContext;\n");
+      writer.print("import com.fasterxml.jackson.databind.JsonDeserializer;\n");
+      writer.print("import com.fasterxml.jackson.databind.JsonSerializer;\n");
+      writer.print("import com.fasterxml.jackson.databind.SerializerProvider;\n");
+      writer.print("import com.fasterxml.jackson.databind.module.SimpleModule;\n");
+      writer.print("import java.io.IOException;\n");
+      writer.print("\n");
+      writer.print("/**\n");
+      writer.print(" * Jackson module of the {@code " + module.getName() + "} data objects, serializing them with their converter.\n");
+      writer.print(" * NOTE: This class has been automatically generated from the data objects of the module using Vert.x codegen.\n");
+      writer.print(" */\n");
+      writer.print("public class " + simpleName + " extends SimpleModule {\n");
+      writer.print("\n");
+      writer.print("  public " + simpleName + "() {\n");
+      writer.print("    super(\"" + module.getName() + "\");\n");
+    }
+    String type = model.getType().getName();
+    String converter = model.getType().getPackageName() + "." + model.getType().getSimpleName() + "Converter";
+    writer.print("    addSerializer(" + type + ".class, new JsonSerializer<" + type + ">() {\n");
+    writer.print("      @Override\n");
+    writer.print("      public void serialize(" + type + " value, JsonGenerator generator, SerializerProvider provider) throws IOException {\n");
+    writer.print("        " + converter + ".toJson(value, generator);\n");
+    writer.print("      }\n");
+    writer.print("    });\n");
+    if (model.isConcrete() && model.hasEmptyConstructor()) {
+      writer.print("    addDeserializer(" + type + ".class, new JsonDeserializer<" + type + ">() {\n");
+      writer.print("      @Override\n");
+      writer.print("      public " + type + " deserialize(JsonParser parser, DeserializationContext context) throws IOException {\n");
+      writer.print("        " + type + " value = new " + type + "();\n");
+      writer.print("        " + converter + ".fromJson(parser, value);\n");
+      writer.print("        return value;\n");
+      writer.print("      }\n");
+      writer.print("    });\n");
+    }
+    if (index == size - 1) {
+      writer.print("  }\n");
+      writer.print("}\n");
+    }
+    return buffer.toString();
+  }
+}
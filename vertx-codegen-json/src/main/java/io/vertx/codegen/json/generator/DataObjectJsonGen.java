@@ -13,36 +13,51 @@ import io.vertx.codegen.format.QualifiedCase;
 import io.vertx.codegen.format.SnakeCase;
 import io.vertx.codegen.json.annotations.JsonGen;
 import io.vertx.codegen.processor.type.AnnotationValueInfo;
+import io.vertx.codegen.processor.type.ArrayTypeInfo;
 import io.vertx.codegen.processor.type.ClassKind;
 import io.vertx.codegen.processor.type.ClassTypeInfo;
 import io.vertx.codegen.processor.type.DataObjectInfo;
 import io.vertx.codegen.processor.type.MapperInfo;
+import io.vertx.codegen.processor.type.ParameterizedTypeInfo;
 import io.vertx.codegen.processor.type.TypeInfo;
 import io.vertx.codegen.processor.writer.CodeWriter;
+import io.vertx.codegen.processor.writer.MethodChunks;
 
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.lang.annotation.Annotation;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
  */
 public class DataObjectJsonGen extends Generator<DataObjectModel> {
 
-  private Case formatter;
-  private boolean isPublic;
-  private boolean inheritConverter;
-  private boolean generate;
-
   public DataObjectJsonGen() {
     kinds = Collections.singleton("dataObject");
     name = "data_object_converters";
+    threadSafe = true;
+    isolating = true;
   }
 
+  private static final String NESTED_CONVERTERS = "nestedConverters";
+
   @Override
   public Collection<Class<? extends Annotation>> annotations() {
     return Collections.singletonList(DataObject.class);
@@ -65,15 +80,21 @@ public class DataObjectJsonGen extends Generator<DataObjectModel> {
     return null;
   }
 
+  @Override
+  public void prepare(DataObjectModel model, Map<String, Object> session) {
+    checkArrayProperties(model);
+    if (findJsonGenAnnotation(model).getMember("jacksonModule") == Boolean.TRUE && env != null) {
+      checkJacksonModule(model);
+    }
+    session.put(NESTED_CONVERTERS, NestedConverters.resolve(env, model));
+  }
+
   @Override
   public String render(DataObjectModel model, int index, int size, Map<String, Object> session) {
-    AnnotationValueInfo jsonGenAnn = findJsonGenAnnotation(model);
-    ClassTypeInfo cti = getFormatter(model, JsonGen.class, "jsonPropertyNameFormatter");
-    formatter = getCase(cti);
-    isPublic = jsonGenAnn.getMember("publicConverter") == Boolean.TRUE;
-    inheritConverter = jsonGenAnn.getMember("inheritConverter") == Boolean.TRUE;
-    generate = true;
-    return renderJson(model);
+    if (!session.containsKey(NESTED_CONVERTERS)) {
+      prepare(model, session);
+    }
+    return renderJson(model, (NestedConverters) session.get(NESTED_CONVERTERS));
   }
 
   private ClassTypeInfo getFormatter(DataObjectModel model, Class<? extends Annotation> annType, String annotationName) {
@@ -85,6 +106,18 @@ public class DataObjectJsonGen extends Generator<DataObjectModel> {
   }
 
   public String renderJson(DataObjectModel model) {
+    return render(model, 0, 1, new HashMap<>());
+  }
+
+  private String renderJson(DataObjectModel model, NestedConverters converters) {
+    AnnotationValueInfo jsonGenAnn = findJsonGenAnnotation(model);
+    Case formatter = getCase(getFormatter(model, JsonGen.class, "jsonPropertyNameFormatter"));
+    boolean isPublic = jsonGenAnn.getMember("publicConverter") == Boolean.TRUE;
+    boolean inheritConverter = jsonGenAnn.getMember("inheritConverter") == Boolean.TRUE;
+    boolean jacksonModule = jsonGenAnn.getMember("jacksonModule") == Boolean.TRUE;
+    boolean streamingConverter = jacksonModule || jsonGenAnn.getMember("streamingConverter") == Boolean.TRUE;
+    boolean bufferWriter = jsonGenAnn.getMember("bufferWriter") == Boolean.TRUE;
+    boolean bufferReader = jsonGenAnn.getMember("bufferReader") == Boolean.TRUE;
     StringWriter buffer = new StringWriter();
     PrintWriter writer = new PrintWriter(buffer);
     CodeWriter code = new CodeWriter(writer);
@@ -96,6 +129,15 @@ public class DataObjectJsonGen extends Generator<DataObjectModel> {
     writer.print("import io.vertx.core.json.JsonArray;\n");
     writer.print("import java.time.Instant;\n");
     writer.print("import java.time.format.DateTimeFormatter;\n");
+    if (streamingConverter) {
+      JsonStreamingGen.genImports(writer);
+    }
+    if (bufferWriter || bufferReader) {
+      JsonBufferGen.genImports(writer);
+    }
+    if (bufferReader) {
+      JsonBufferReaderGen.genImports(writer);
+    }
     writer.print("\n");
     writer.print("/**\n");
     writer.print(" * Converter and mapper for {@link " + model.getType() + "}.\n");
@@ -104,37 +146,171 @@ public class DataObjectJsonGen extends Generator<DataObjectModel> {
     code
       .codeln("public class " + model.getType().getSimpleName() + "Converter {"
       ).newLine();
-    if (generate) {
-
-      genFromJson(visibility, inheritConverter, model, writer);
+    JsonStreamingGen streaming = streamingConverter ? new JsonStreamingGen(converters, model, formatter, inheritConverter, visibility) : null;
+    JsonBufferGen bufferGen = bufferWriter ? new JsonBufferGen(converters, model, formatter, inheritConverter, visibility) : null;
+    JsonBufferReaderGen bufferReaderGen = bufferReader ? new JsonBufferReaderGen(converters, model, formatter, inheritConverter, visibility) : null;
+    if (streaming != null) {
+      streaming.genFieldNames(writer);
+    }
+    if (bufferGen != null) {
+      bufferGen.genMemberNames(writer);
+    }
+    if (bufferReaderGen != null) {
+      bufferReaderGen.genPropertyNames(writer);
+    }
+    genFromJson(visibility, inheritConverter, formatter, model, writer);
+    writer.print("\n");
+    genToJson(visibility, inheritConverter, formatter, model, writer);
+    if (streaming != null) {
+      writer.print("\n");
+      streaming.genFromJson(writer);
+      writer.print("\n");
+      streaming.genToJson(writer);
+      streaming.genHelpers(writer);
+    }
+    if (bufferGen != null) {
+      writer.print("\n");
+      bufferGen.genToJson(writer);
+      bufferGen.genHelpers(writer);
+    }
+    if (bufferReaderGen != null) {
       writer.print("\n");
-      genToJson(visibility, inheritConverter, model, writer);
+      bufferReaderGen.genFromJson(writer);
+      bufferReaderGen.genHelpers(writer);
     }
     writer.print("}\n");
     return buffer.toString();
   }
 
-  private void genToJson(String visibility, boolean inheritConverter, DataObjectModel model_, PrintWriter writer) {
+  /**
+   * Array properties are only mapped by the protobuf generator, they are rejected instead of being left out of the
+   * JSON converter.
+   */
+  private void checkArrayProperties(DataObjectModel model) {
+    boolean inheritConverter = findJsonGenAnnotation(model).getMember("inheritConverter") == Boolean.TRUE;
+    for (PropertyInfo prop : model.getPropertyMap().values()) {
+      if ((prop.isDeclared() || inheritConverter) && prop.getType() instanceof ArrayTypeInfo) {
+        throw new GenException(model.getElement(), "The JSON converter does not support the array property " + prop.getName() + " of type " + prop.getType().getName());
+      }
+    }
+  }
+
+  private void checkJacksonModule(DataObjectModel model) {
+    if (!DataObjectJacksonModuleGen.isEnabled(env)) {
+      env.getMessager().printMessage(Diagnostic.Kind.WARNING, "No Jackson module is generated without the " + DataObjectJacksonModuleGen.OPTION + " processor option", model.getElement());
+    } else if (env.getElementUtils().getTypeElement(DataObjectJacksonModuleGen.JACKSON_MODULE) == null) {
+      env.getMessager().printMessage(Diagnostic.Kind.WARNING, "No Jackson module is generated without jackson-databind on the classpath", model.getElement());
+    } else if (DataObjectJacksonModuleGen.moduleClassName(model) == null) {
+      env.getMessager().printMessage(Diagnostic.Kind.WARNING, "The converter must be public or in the package " + model.getModule().getPackageName() + " to be registered in the Jackson module", model.getElement());
+    }
+  }
+
+  /**
+   * The converters of the nested data objects of a data object, resolved from their {@code @JsonGen} annotation on the
+   * compiler thread before rendering since the javac API cannot be used concurrently.
+   */
+  static class NestedConverters {
+
+    private final String packageName;
+    // Nested data object class name -> @JsonGen members, for the classes annotated with @JsonGen
+    private final Map<String, Map<String, Object>> members = new HashMap<>();
+    // Nested data object class names having a public no-arg constructor
+    private final Set<String> instantiable = new HashSet<>();
+
+    private NestedConverters(String packageName) {
+      this.packageName = packageName;
+    }
+
+    /**
+     * Resolve the converters of the data objects of the properties of {@code model}, including the elements of the
+     * list, set and map properties.
+     */
+    static NestedConverters resolve(ProcessingEnvironment env, DataObjectModel model) {
+      NestedConverters converters = new NestedConverters(model.getType().getPackageName());
+      if (env != null) {
+        for (PropertyInfo prop : model.getPropertyMap().values()) {
+          converters.resolve(env, prop.getType());
+          if (prop.getType() instanceof ParameterizedTypeInfo) {
+            for (TypeInfo arg : ((ParameterizedTypeInfo) prop.getType()).getArgs()) {
+              converters.resolve(env, arg);
+            }
+          }
+        }
+      }
+      return converters;
+    }
+
+    private void resolve(ProcessingEnvironment env, TypeInfo type) {
+      if (type.getDataObject() == null || members.containsKey(type.getRaw().getName())) {
+        return;
+      }
+      String name = type.getRaw().getName();
+      TypeElement elt = env.getElementUtils().getTypeElement(name);
+      if (elt == null || elt.getKind() != ElementKind.CLASS) {
+        return;
+      }
+      for (AnnotationMirror mirror : elt.getAnnotationMirrors()) {
+        if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(JsonGen.class.getName())) {
+          Map<String, Object> values = new HashMap<>();
+          env.getElementUtils().getElementValuesWithDefaults(mirror).forEach((member, value) -> values.put(member.getSimpleName().toString(), value.getValue()));
+          members.put(name, values);
+          if (!elt.getModifiers().contains(Modifier.ABSTRACT) && ElementFilter.constructorsIn(elt.getEnclosedElements())
+            .stream()
+            .anyMatch(ctor -> ctor.getParameters().isEmpty() && ctor.getModifiers().contains(Modifier.PUBLIC))) {
+            instantiable.add(name);
+          }
+        }
+      }
+    }
+
+    /**
+     * Find the converter of a nested data object generating the methods enabled by one of the {@code attributes} of
+     * {@code @JsonGen}: the data object must be a class annotated with {@code @JsonGen} and the converter must be
+     * accessible, decoding also requires a public no-arg constructor.
+     *
+     * @return the qualified name of the converter or {@code null}
+     */
+    String find(TypeInfo type, boolean decode, String... attributes) {
+      String name = type.getRaw().getName();
+      Map<String, Object> values = members.get(name);
+      if (values == null || Arrays.stream(attributes).noneMatch(attribute -> Boolean.TRUE.equals(values.get(attribute)))) {
+        return null;
+      }
+      String converterPackage = type.getRaw().getPackageName();
+      if (!Boolean.TRUE.equals(values.get("publicConverter")) && !converterPackage.equals(packageName)) {
+        return null;
+      }
+      if (decode && !instantiable.contains(name)) {
+        return null;
+      }
+      return converterPackage + "." + type.getRaw().getSimpleName() + "Converter";
+    }
+  }
+
+  private void genToJson(String visibility, boolean inheritConverter, Case formatter, DataObjectModel model_, PrintWriter writer) {
     String simpleName = model_.getType().getSimpleName();
     writer.print("  " + visibility + " static void toJson(" + simpleName + " obj, JsonObject json) {\n");
     writer.print("    toJson(obj, json.getMap());\n");
     writer.print("  }\n");
     writer.print("\n");
     writer.print("  " + visibility + " static void toJson(" + simpleName + " obj, java.util.Map<String, Object> json) {\n");
+    List<String> fragments = new ArrayList<>();
     model_.getPropertyMap().values().forEach(prop -> {
       if ((prop.isDeclared() || inheritConverter) && prop.getGetterMethod() != null && prop.isJsonifiable()) {
+        StringWriter fragment = new StringWriter();
+        PrintWriter out = new PrintWriter(fragment);
         ClassKind propKind = prop.getType().getKind();
         if (propKind.basic) {
           if (propKind == ClassKind.STRING) {
-            genPropToJson("", "", prop, writer);
+            genPropToJson("", "", prop, formatter, out);
           } else {
             switch (prop.getType().getSimpleName()) {
               case "char":
               case "Character":
-                genPropToJson("Character.toString(", ")", prop, writer);
+                genPropToJson("Character.toString(", ")", prop, formatter, out);
                 break;
               default:
-                genPropToJson("", "", prop, writer);
+                genPropToJson("", "", prop, formatter, out);
             }
           }
         } else {
@@ -156,33 +332,42 @@ public class DataObjectJsonGen extends Generator<DataObjectModel> {
                 default:
                   throw new UnsupportedOperationException();
               }
-              genPropToJson(m, match, prop, writer);
+              genPropToJson(m, match, prop, formatter, out);
             }
           } else {
             switch (propKind) {
               case ENUM:
-                genPropToJson("", ".name()", prop, writer);
+                genPropToJson("", ".name()", prop, formatter, out);
                 break;
               case JSON_OBJECT:
               case JSON_ARRAY:
               case OBJECT:
-                genPropToJson("", "", prop, writer);
+                genPropToJson("", "", prop, formatter, out);
                 break;
               case OTHER:
                 if (prop.getType().getName().equals(Instant.class.getName())) {
-                  genPropToJson("DateTimeFormatter.ISO_INSTANT.format(", ")", prop, writer);
+                  genPropToJson("DateTimeFormatter.ISO_INSTANT.format(", ")", prop, formatter, out);
                 }
                 break;
             }
           }
         }
+        fragments.add(fragment.toString());
       }
     });
-
-    writer.print("  }\n");
+    MethodChunks chunks = MethodChunks.of(fragments)
+      .method("void", "toJsonMembers", simpleName + " obj, java.util.Map<String, Object> json", "obj, json");
+    if (!chunks.isSplit()) {
+      writer.print(chunks.code());
+      writer.print("  }\n");
+    } else {
+      chunks.writeCalls(writer, "    ", "");
+      writer.print("  }\n");
+      chunks.writeMethods(writer);
+    }
   }
 
-  private void genPropToJson(String before, String after, PropertyInfo prop, PrintWriter writer) {
+  private void genPropToJson(String before, String after, PropertyInfo prop, Case formatter, PrintWriter writer) {
     String jsonPropertyName = LowerCamelCase.INSTANCE.to(formatter, prop.getName());
     String indent = "    ";
     if (prop.isList() || prop.isSet()) {
@@ -210,49 +395,51 @@ public class DataObjectJsonGen extends Generator<DataObjectModel> {
     }
   }
 
-  private void genFromJson(String visibility, boolean inheritConverter, DataObjectModel model_, PrintWriter writer) {
+  private void genFromJson(String visibility, boolean inheritConverter, Case formatter, DataObjectModel model_, PrintWriter writer) {
     writer.print("  " + visibility + " static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, " + model_.getType().getSimpleName() + " obj) {\n");
     writer.print("    for (java.util.Map.Entry<String, Object> member : json) {\n");
-    writer.print("      switch (member.getKey()) {\n");
+    List<String> fragments = new ArrayList<>();
     model_.getPropertyMap().values().forEach(prop -> {
       if (prop.isDeclared() || inheritConverter) {
+        StringWriter fragment = new StringWriter();
+        PrintWriter out = new PrintWriter(fragment);
         ClassKind propKind = prop.getType().getKind();
         if (propKind.basic) {
           if (propKind == ClassKind.STRING) {
-            genPropFromJson("String", "(String)", "", prop, writer);
+            genPropFromJson("String", "(String)", "", prop, formatter, out);
           } else {
             switch (prop.getType().getSimpleName()) {
               case "boolean":
               case "Boolean":
-                genPropFromJson("Boolean", "(Boolean)", "", prop, writer);
+                genPropFromJson("Boolean", "(Boolean)", "", prop, formatter, out);
                 break;
               case "byte":
               case "Byte":
-                genPropFromJson("Number", "((Number)", ").byteValue()", prop, writer);
+                genPropFromJson("Number", "((Number)", ").byteValue()", prop, formatter, out);
                 break;
               case "short":
               case "Short":
-                genPropFromJson("Number", "((Number)", ").shortValue()", prop, writer);
+                genPropFromJson("Number", "((Number)", ").shortValue()", prop, formatter, out);
                 break;
               case "int":
               case "Integer":
-                genPropFromJson("Number", "((Number)", ").intValue()", prop, writer);
+                genPropFromJson("Number", "((Number)", ").intValue()", prop, formatter, out);
                 break;
               case "long":
               case "Long":
-                genPropFromJson("Number", "((Number)", ").longValue()", prop, writer);
+                genPropFromJson("Number", "((Number)", ").longValue()", prop, formatter, out);
                 break;
               case "float":
               case "Float":
-                genPropFromJson("Number", "((Number)", ").floatValue()", prop, writer);
+                genPropFromJson("Number", "((Number)", ").floatValue()", prop, formatter, out);
                 break;
               case "double":
               case "Double":
-                genPropFromJson("Number", "((Number)", ").doubleValue()", prop, writer);
+                genPropFromJson("Number", "((Number)", ").doubleValue()", prop, formatter, out);
                 break;
               case "char":
               case "Character":
-                genPropFromJson("String", "((String)", ").charAt(0)", prop, writer);
+                genPropFromJson("String", "((String)", ").charAt(0)", prop, formatter, out);
                 break;
             }
           }
@@ -282,41 +469,55 @@ public class DataObjectJsonGen extends Generator<DataObjectModel> {
                 match,
                 ")",
                 prop,
-                writer
+                formatter,
+                out
               );
 
             }
           } else {
             switch (propKind) {
               case JSON_OBJECT:
-                genPropFromJson("JsonObject", "((JsonObject)", ").copy()", prop, writer);
+                genPropFromJson("JsonObject", "((JsonObject)", ").copy()", prop, formatter, out);
                 break;
               case JSON_ARRAY:
-                genPropFromJson("JsonArray", "((JsonArray)", ").copy()", prop, writer);
+                genPropFromJson("JsonArray", "((JsonArray)", ").copy()", prop, formatter, out);
                 break;
               case ENUM:
-                genPropFromJson("String", prop.getType().getName() + ".valueOf((String)", ")", prop, writer);
+                genPropFromJson("String", prop.getType().getName() + ".valueOf((String)", ")", prop, formatter, out);
                 break;
               case OBJECT:
-                genPropFromJson("Object", "", "", prop, writer);
+                genPropFromJson("Object", "", "", prop, formatter, out);
                 break;
               case OTHER:
                 if (prop.getType().getName().equals(Instant.class.getName())) {
-                  genPropFromJson("String", "Instant.from(DateTimeFormatter.ISO_INSTANT.parse((String)", "))", prop, writer);
+                  genPropFromJson("String", "Instant.from(DateTimeFormatter.ISO_INSTANT.parse((String)", "))", prop, formatter, out);
                 }
                 break;
               default:
             }
           }
         }
+        fragments.add(fragment.toString());
       }
     });
-    writer.print("      }\n");
-    writer.print("    }\n");
-    writer.print("  }\n");
+    MethodChunks chunks = MethodChunks.of(fragments)
+      .method("void", "fromJsonMember", "java.util.Map.Entry<String, Object> member, " + model_.getType().getSimpleName() + " obj", "member, obj")
+      .outdent(1);
+    if (!chunks.isSplit()) {
+      writer.print("      switch (member.getKey()) {\n");
+      writer.print(chunks.code());
+      writer.print("      }\n");
+      writer.print("    }\n");
+      writer.print("  }\n");
+    } else {
+      writer.print("      " + chunks.call(0) + ";\n");
+      writer.print("    }\n");
+      writer.print("  }\n");
+      chunks.writeSwitchMethods(writer, "member.getKey()", null, true);
+    }
   }
 
-  private void genPropFromJson(String cast, String before, String after, PropertyInfo prop, PrintWriter writer) {
+  private void genPropFromJson(String cast, String before, String after, PropertyInfo prop, Case formatter, PrintWriter writer) {
     String jsonPropertyName = LowerCamelCase.INSTANCE.to(formatter, prop.getName());
     String indent = "        ";
     writer.print(indent + "case \"" + jsonPropertyName + "\":\n");
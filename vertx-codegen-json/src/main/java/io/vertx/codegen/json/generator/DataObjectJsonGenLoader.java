@@ -4,12 +4,21 @@ import io.vertx.codegen.processor.Generator;
 import io.vertx.codegen.processor.GeneratorLoader;
 
 import javax.annotation.processing.ProcessingEnvironment;
+import javax.tools.Diagnostic;
 import java.util.stream.Stream;
 
 public class DataObjectJsonGenLoader implements GeneratorLoader {
 
   @Override
   public Stream<Generator<?>> loadGenerators(ProcessingEnvironment processingEnv) {
-    return Stream.of(new DataObjectJsonGen());
+    // The Jackson modules aggregate the data objects of a module, only load them when asked and when they can be compiled
+    if (!DataObjectJacksonModuleGen.isEnabled(processingEnv)) {
+      return Stream.of(new DataObjectJsonGen());
+    }
+    if (processingEnv.getElementUtils().getTypeElement(DataObjectJacksonModuleGen.JACKSON_MODULE) == null) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "No Jackson module is generated without jackson-databind on the classpath");
+      return Stream.of(new DataObjectJsonGen());
+    }
+    return Stream.of(new DataObjectJsonGen(), new DataObjectJacksonModuleGen(), new JacksonModuleServiceGen());
   }
 }
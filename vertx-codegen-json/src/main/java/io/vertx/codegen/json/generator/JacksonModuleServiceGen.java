@@ -0,0 +1,46 @@
+package io.vertx.codegen.json.generator;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.processor.DataObjectModel;
+import io.vertx.codegen.processor.Generator;
+
+import java.lang.annotation.Annotation;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Declares the Jackson modules generated by {@link DataObjectJacksonModuleGen} as services, so they are found by
+ * {@code ObjectMapper#findAndRegisterModules()}.
+ */
+public class JacksonModuleServiceGen extends Generator<DataObjectModel> {
+
+  public JacksonModuleServiceGen() {
+    kinds = Collections.singleton("dataObject");
+    name = "data_object_jackson_module_service";
+    incremental = true;
+    threadSafe = true;
+  }
+
+  @Override
+  public Collection<Class<? extends Annotation>> annotations() {
+    return Collections.singletonList(DataObject.class);
+  }
+
+  @Override
+  public String filename(DataObjectModel model) {
+    if (DataObjectJacksonModuleGen.moduleClassName(model) != null) {
+      return "META-INF/services/" + DataObjectJacksonModuleGen.JACKSON_MODULE;
+    }
+    return null;
+  }
+
+  @Override
+  public String render(DataObjectModel model, int index, int size, Map<String, Object> session) {
+    Set<String> declared = (Set<String>) session.computeIfAbsent("modules", key -> new HashSet<>());
+    String className = DataObjectJacksonModuleGen.moduleClassName(model);
+    return declared.add(className) ? className + "\n" : "";
+  }
+}
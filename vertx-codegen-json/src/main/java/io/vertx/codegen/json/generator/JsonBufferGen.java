@@ -0,0 +1,522 @@
+package io.vertx.codegen.json.generator;
+
+import io.vertx.codegen.format.Case;
+import io.vertx.codegen.format.LowerCamelCase;
+import io.vertx.codegen.format.SnakeCase;
+import io.vertx.codegen.processor.DataObjectModel;
+import io.vertx.codegen.processor.PropertyInfo;
+import io.vertx.codegen.processor.type.ClassKind;
+import io.vertx.codegen.processor.type.DataObjectInfo;
+import io.vertx.codegen.processor.type.MapperInfo;
+import io.vertx.codegen.processor.type.TypeInfo;
+import io.vertx.codegen.processor.writer.MethodChunks;
+
+import java.io.PrintWriter;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Generates the methods of a converter writing a data object as UTF-8 JSON text in a Vert.x {@code Buffer},
+ * producing the bytes of the {@code JsonObject#encode()} of the {@code toJson} method of the converter without
+ * building a {@code JsonObject}.
+ */
+class JsonBufferGen {
+
+  /**
+   * The helper methods and constants the generated methods use.
+   */
+  private enum Helper {
+    LITERALS, NAME, STRING, LONG, FLOAT, DOUBLE, INSTANT, VALUE
+  }
+
+  private final DataObjectJsonGen.NestedConverters converters;
+  private final DataObjectModel model;
+  private final Case formatter;
+  private final boolean inheritConverter;
+  private final String visibility;
+  private final EnumSet<Helper> helpers = EnumSet.noneOf(Helper.class);
+
+  JsonBufferGen(DataObjectJsonGen.NestedConverters converters, DataObjectModel model, Case formatter, boolean inheritConverter, String visibility) {
+    this.converters = converters;
+    this.model = model;
+    this.formatter = formatter;
+    this.inheritConverter = inheritConverter;
+    this.visibility = visibility;
+  }
+
+  static void genImports(PrintWriter writer) {
+    writer.print("import io.vertx.core.buffer.Buffer;\n");
+    writer.print("import java.nio.charset.StandardCharsets;\n");
+  }
+
+  /**
+   * Generate the member names encoded once, each name is prefixed with the {@code ,} separating it from the
+   * previous member.
+   */
+  void genMemberNames(PrintWriter writer) {
+    for (PropertyInfo prop : writtenProperties()) {
+      writer.print("  private static final byte[] " + fieldName(prop) + " = \",\\\"" + jsonName(prop) + "\\\":\".getBytes(StandardCharsets.UTF_8);\n");
+    }
+    writer.print("\n");
+  }
+
+  void genToJson(PrintWriter writer) {
+    String simpleName = model.getType().getSimpleName();
+    writer.print("  " + visibility + " static Buffer toJsonBuffer(" + simpleName + " obj) {\n");
+    writer.print("    Buffer buffer = Buffer.buffer();\n");
+    writer.print("    toJsonBuffer(obj, buffer);\n");
+    writer.print("    return buffer;\n");
+    writer.print("  }\n");
+    writer.print("\n");
+    writer.print("  " + visibility + " static void toJsonBuffer(" + simpleName + " obj, Buffer buffer) {\n");
+    writer.print("    buffer.appendByte((byte) '{');\n");
+    List<PropertyInfo> props = writtenProperties();
+    // Whether a member may have been written and whether a member has been written before each property,
+    // the separator is only decided at runtime when the previous members are all optional
+    boolean maybeWritten = false;
+    boolean written = false;
+    List<String> fragments = new ArrayList<>();
+    for (PropertyInfo prop : props) {
+      String name;
+      if (!maybeWritten) {
+        name = "buffer.appendBytes(" + fieldName(prop) + ", 1, " + fieldName(prop) + ".length - 1);";
+      } else if (written) {
+        name = "buffer.appendBytes(" + fieldName(prop) + ");";
+      } else {
+        helpers.add(Helper.NAME);
+        name = "writeJsonName(buffer, " + fieldName(prop) + ", buffer.length() == start);";
+      }
+      StringBuilder fragment = new StringBuilder();
+      genPropToJson(prop, name, fragment);
+      fragments.add(fragment.toString());
+      maybeWritten = true;
+      written |= isAlwaysWritten(prop);
+    }
+    // The start of the object decides the separator of the members following members that may not be written
+    boolean start = fragments.stream().anyMatch(fragment -> fragment.contains("== start"));
+    if (start) {
+      writer.print("    int start = buffer.length();\n");
+    }
+    MethodChunks chunks = MethodChunks.of(fragments)
+      .method("void", "toJsonMembers", simpleName + " obj, Buffer buffer" + (start ? ", int start" : ""), "obj, buffer" + (start ? ", start" : ""));
+    if (!chunks.isSplit()) {
+      writer.print(chunks.code());
+    } else {
+      chunks.writeCalls(writer, "    ", "");
+    }
+    writer.print("    buffer.appendByte((byte) '}');\n");
+    writer.print("  }\n");
+    if (chunks.isSplit()) {
+      chunks.writeMethods(writer);
+    }
+  }
+
+  private void genPropToJson(PropertyInfo prop, String name, StringBuilder code) {
+    String indent = "    ";
+    String getter = "obj." + prop.getGetterMethod() + "()";
+    String elementType = prop.getType().getName();
+    if (prop.isList() || prop.isSet()) {
+      helpers.add(Helper.LITERALS);
+      code.append(indent).append("if (").append(getter).append(" != null) {\n");
+      code.append(indent).append("  ").append(name).append("\n");
+      code.append(indent).append("  buffer.appendByte((byte) '[');\n");
+      code.append(indent).append("  boolean first = true;\n");
+      code.append(indent).append("  for (").append(elementType).append(" item : ").append(getter).append(") {\n");
+      code.append(indent).append("    if (first) {\n");
+      code.append(indent).append("      first = false;\n");
+      code.append(indent).append("    } else {\n");
+      code.append(indent).append("      buffer.appendByte((byte) ',');\n");
+      code.append(indent).append("    }\n");
+      code.append(indent).append("    if (item == null) {\n");
+      code.append(indent).append("      buffer.appendBytes(LITERAL_NULL);\n");
+      code.append(indent).append("    } else {\n");
+      code.append(indent).append("      ").append(writeValue(prop.getType(), "item")).append("\n");
+      code.append(indent).append("    }\n");
+      code.append(indent).append("  }\n");
+      code.append(indent).append("  buffer.appendByte((byte) ']');\n");
+      code.append(indent).append("}\n");
+    } else if (prop.isMap()) {
+      helpers.add(Helper.LITERALS);
+      helpers.add(Helper.STRING);
+      code.append(indent).append("if (").append(getter).append(" != null) {\n");
+      code.append(indent).append("  ").append(name).append("\n");
+      code.append(indent).append("  buffer.appendByte((byte) '{');\n");
+      code.append(indent).append("  boolean first = true;\n");
+      code.append(indent).append("  for (java.util.Map.Entry<String, ").append(elementType).append("> entry : ").append(getter).append(".entrySet()) {\n");
+      code.append(indent).append("    if (first) {\n");
+      code.append(indent).append("      first = false;\n");
+      code.append(indent).append("    } else {\n");
+      code.append(indent).append("      buffer.appendByte((byte) ',');\n");
+      code.append(indent).append("    }\n");
+      code.append(indent).append("    writeJsonString(buffer, entry.getKey());\n");
+      code.append(indent).append("    buffer.appendByte((byte) ':');\n");
+      code.append(indent).append("    if (entry.getValue() == null) {\n");
+      code.append(indent).append("      buffer.appendBytes(LITERAL_NULL);\n");
+      code.append(indent).append("    } else {\n");
+      code.append(indent).append("      ").append(writeValue(prop.getType(), "entry.getValue()")).append("\n");
+      code.append(indent).append("    }\n");
+      code.append(indent).append("  }\n");
+      code.append(indent).append("  buffer.appendByte((byte) '}');\n");
+      code.append(indent).append("}\n");
+    } else {
+      String sp = "";
+      if (prop.getType().getKind() != ClassKind.PRIMITIVE) {
+        sp = "  ";
+        code.append(indent).append("if (").append(getter).append(" != null) {\n");
+      }
+      code.append(indent).append(sp).append(name).append("\n");
+      code.append(indent).append(sp).append(writeValue(prop.getType(), getter)).append("\n");
+      if (prop.getType().getKind() != ClassKind.PRIMITIVE) {
+        code.append(indent).append("}\n");
+      }
+    }
+  }
+
+  private List<PropertyInfo> writtenProperties() {
+    return model.getPropertyMap().values().stream().filter(this::isWritten).collect(Collectors.toList());
+  }
+
+  /**
+   * @return whether the property is written by {@code toJson}
+   */
+  private boolean isWritten(PropertyInfo prop) {
+    return (prop.isDeclared() || inheritConverter) && prop.getGetterMethod() != null && prop.isJsonifiable() && writeValue(prop.getType(), "") != null;
+  }
+
+  /**
+   * @return whether the property is written whatever its value is
+   */
+  private static boolean isAlwaysWritten(PropertyInfo prop) {
+    return !prop.isList() && !prop.isSet() && !prop.isMap() && prop.getType().getKind() == ClassKind.PRIMITIVE;
+  }
+
+  /**
+   * Generate the statement writing a non null value, as {@code toJson} maps it and {@code JsonObject} encodes it.
+   *
+   * @return the statement or {@code null} when the type is not handled by the converter
+   */
+  private String writeValue(TypeInfo type, String value) {
+    ClassKind kind = type.getKind();
+    if (kind.basic) {
+      if (kind == ClassKind.STRING) {
+        return writeString(value);
+      }
+      switch (type.getSimpleName()) {
+        case "boolean":
+        case "Boolean":
+          helpers.add(Helper.LITERALS);
+          return "buffer.appendBytes(" + value + " ? LITERAL_TRUE : LITERAL_FALSE);";
+        case "char":
+        case "Character":
+          return writeString("Character.toString(" + value + ")");
+        case "float":
+        case "Float":
+          helpers.add(Helper.FLOAT);
+          return "writeJsonFloat(buffer, " + value + ");";
+        case "double":
+        case "Double":
+          helpers.add(Helper.DOUBLE);
+          return "writeJsonDouble(buffer, " + value + ");";
+        default:
+          helpers.add(Helper.LONG);
+          return "writeJsonLong(buffer, " + value + ");";
+      }
+    }
+    DataObjectInfo dataObject = type.getDataObject();
+    if (dataObject != null) {
+      if (!dataObject.isSerializable()) {
+        return null;
+      }
+      MapperInfo mapper = dataObject.getSerializer();
+      switch (mapper.getKind()) {
+        case SELF:
+          String converter = converters.find(type, false, "bufferWriter");
+          if (converter != null) {
+            return converter + ".toJsonBuffer(" + value + ", buffer);";
+          }
+          return writeJsonValue(value + "." + String.join(".", mapper.getSelectors()) + "()");
+        case STATIC_METHOD:
+          return writeJsonValue(mapper.getQualifiedName() + "." + String.join(".", mapper.getSelectors()) + "(" + value + ")");
+        default:
+          throw new UnsupportedOperationException();
+      }
+    }
+    switch (kind) {
+      case ENUM:
+        return writeString(value + ".name()");
+      case JSON_OBJECT:
+      case JSON_ARRAY:
+      case OBJECT:
+        return writeJsonValue(value);
+      case OTHER:
+        if (type.getName().equals(Instant.class.getName())) {
+          helpers.add(Helper.INSTANT);
+          return "writeJsonInstant(buffer, " + value + ");";
+        }
+        return null;
+      default:
+        return null;
+    }
+  }
+
+  private String writeString(String value) {
+    helpers.add(Helper.STRING);
+    return "writeJsonString(buffer, " + value + ");";
+  }
+
+  private String writeJsonValue(String value) {
+    helpers.add(Helper.VALUE);
+    return "writeJsonValue(buffer, " + value + ");";
+  }
+
+  /**
+   * Generate the helpers and the constants used by the generated methods.
+   */
+  void genHelpers(PrintWriter writer) {
+    if (helpers.contains(Helper.VALUE)) {
+      helpers.addAll(EnumSet.of(Helper.LITERALS, Helper.STRING, Helper.LONG, Helper.FLOAT, Helper.DOUBLE, Helper.INSTANT));
+    }
+    if (helpers.contains(Helper.INSTANT)) {
+      helpers.add(Helper.STRING);
+    }
+    if (helpers.contains(Helper.STRING)) {
+      helpers.add(Helper.LITERALS);
+    }
+    if (helpers.contains(Helper.LITERALS)) {
+      writer.print("\n");
+      writer.print("  private static final byte[] LITERAL_TRUE = \"true\".getBytes(StandardCharsets.US_ASCII);\n");
+      writer.print("  private static final byte[] LITERAL_FALSE = \"false\".getBytes(StandardCharsets.US_ASCII);\n");
+      writer.print("  private static final byte[] LITERAL_NULL = \"null\".getBytes(StandardCharsets.US_ASCII);\n");
+    }
+    if (helpers.contains(Helper.STRING)) {
+      writer.print("  private static final byte[] HEX_DIGITS = \"0123456789ABCDEF\".getBytes(StandardCharsets.US_ASCII);\n");
+    }
+    if (helpers.contains(Helper.NAME)) {
+      writer.print("\n");
+      writer.print("  private static void writeJsonName(Buffer buffer, byte[] name, boolean first) {\n");
+      writer.print("    if (first) {\n");
+      writer.print("      buffer.appendBytes(name, 1, name.length - 1);\n");
+      writer.print("    } else {\n");
+      writer.print("      buffer.appendBytes(name);\n");
+      writer.print("    }\n");
+      writer.print("  }\n");
+    }
+    if (helpers.contains(Helper.STRING)) {
+      genWriteString(writer);
+    }
+    if (helpers.contains(Helper.LONG)) {
+      writer.print("\n");
+      writer.print("  private static void writeJsonLong(Buffer buffer, long value) {\n");
+      writer.print("    if (value < 0) {\n");
+      writer.print("      if (value == Long.MIN_VALUE) {\n");
+      writer.print("        buffer.appendString(\"-9223372036854775808\");\n");
+      writer.print("        return;\n");
+      writer.print("      }\n");
+      writer.print("      buffer.appendByte((byte) '-');\n");
+      writer.print("      value = -value;\n");
+      writer.print("    }\n");
+      writer.print("    long divisor = 1;\n");
+      writer.print("    while (divisor <= value / 10) {\n");
+      writer.print("      divisor *= 10;\n");
+      writer.print("    }\n");
+      writer.print("    for (; divisor > 0; divisor /= 10) {\n");
+      writer.print("      buffer.appendByte((byte) ('0' + value / divisor % 10));\n");
+      writer.print("    }\n");
+      writer.print("  }\n");
+    }
+    if (helpers.contains(Helper.FLOAT)) {
+      writer.print("\n");
+      writer.print("  private static void writeJsonFloat(Buffer buffer, float value) {\n");
+      writer.print("    if (Float.isFinite(value)) {\n");
+      writer.print("      buffer.appendString(Float.toString(value));\n");
+      writer.print("    } else {\n");
+      writer.print("      buffer.appendByte((byte) '\"').appendString(Float.toString(value)).appendByte((byte) '\"');\n");
+      writer.print("    }\n");
+      writer.print("  }\n");
+    }
+    if (helpers.contains(Helper.DOUBLE)) {
+      writer.print("\n");
+      writer.print("  private static void writeJsonDouble(Buffer buffer, double value) {\n");
+      writer.print("    if (Double.isFinite(value)) {\n");
+      writer.print("      buffer.appendString(Double.toString(value));\n");
+      writer.print("    } else {\n");
+      writer.print("      buffer.appendByte((byte) '\"').appendString(Double.toString(value)).appendByte((byte) '\"');\n");
+      writer.print("    }\n");
+      writer.print("  }\n");
+    }
+    if (helpers.contains(Helper.INSTANT)) {
+      genWriteInstant(writer);
+    }
+    if (helpers.contains(Helper.VALUE)) {
+      genWriteValue(writer);
+    }
+  }
+
+  private static void genWriteString(PrintWriter writer) {
+    writer.print("\n");
+    writer.print("  private static void writeJsonString(Buffer buffer, String value) {\n");
+    writer.print("    buffer.appendByte((byte) '\"');\n");
+    writer.print("    int len = value.length();\n");
+    writer.print("    for (int i = 0; i < len; i++) {\n");
+    writer.print("      char c = value.charAt(i);\n");
+    writer.print("      if (c < 0x80) {\n");
+    writer.print("        if (c >= 0x20 && c != '\"' && c != '\\\\') {\n");
+    writer.print("          buffer.appendByte((byte) c);\n");
+    writer.print("          continue;\n");
+    writer.print("        }\n");
+    writer.print("        buffer.appendByte((byte) '\\\\');\n");
+    writer.print("        switch (c) {\n");
+    writer.print("          case '\"':\n");
+    writer.print("          case '\\\\':\n");
+    writer.print("            buffer.appendByte((byte) c);\n");
+    writer.print("            break;\n");
+    writer.print("          case '\\b':\n");
+    writer.print("            buffer.appendByte((byte) 'b');\n");
+    writer.print("            break;\n");
+    writer.print("          case '\\t':\n");
+    writer.print("            buffer.appendByte((byte) 't');\n");
+    writer.print("            break;\n");
+    writer.print("          case '\\n':\n");
+    writer.print("            buffer.appendByte((byte) 'n');\n");
+    writer.print("            break;\n");
+    writer.print("          case '\\f':\n");
+    writer.print("            buffer.appendByte((byte) 'f');\n");
+    writer.print("            break;\n");
+    writer.print("          case '\\r':\n");
+    writer.print("            buffer.appendByte((byte) 'r');\n");
+    writer.print("            break;\n");
+    writer.print("          default:\n");
+    writer.print("            buffer.appendByte((byte) 'u').appendByte((byte) '0').appendByte((byte) '0').appendByte(HEX_DIGITS[c >> 4]).appendByte(HEX_DIGITS[c & 0xF]);\n");
+    writer.print("        }\n");
+    writer.print("      } else if (c < 0x800) {\n");
+    writer.print("        buffer.appendByte((byte) (0xC0 | (c >> 6))).appendByte((byte) (0x80 | (c & 0x3F)));\n");
+    writer.print("      } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(value.charAt(i + 1))) {\n");
+    writer.print("        int cp = Character.toCodePoint(c, value.charAt(++i));\n");
+    writer.print("        buffer.appendByte((byte) (0xF0 | (cp >> 18))).appendByte((byte) (0x80 | ((cp >> 12) & 0x3F))).appendByte((byte) (0x80 | ((cp >> 6) & 0x3F))).appendByte((byte) (0x80 | (cp & 0x3F)));\n");
+    writer.print("      } else if (Character.isSurrogate(c)) {\n");
+    writer.print("        // Unpaired surrogates are replaced as String#getBytes does\n");
+    writer.print("        buffer.appendByte((byte) '?');\n");
+    writer.print("      } else {\n");
+    writer.print("        buffer.appendByte((byte) (0xE0 | (c >> 12))).appendByte((byte) (0x80 | ((c >> 6) & 0x3F))).appendByte((byte) (0x80 | (c & 0x3F)));\n");
+    writer.print("      }\n");
+    writer.print("    }\n");
+    writer.print("    buffer.appendByte((byte) '\"');\n");
+    writer.print("  }\n");
+  }
+
+  private static void genWriteInstant(PrintWriter writer) {
+    writer.print("\n");
+    writer.print("  private static void writeJsonInstant(Buffer buffer, Instant value) {\n");
+    writer.print("    long seconds = value.getEpochSecond();\n");
+    writer.print("    int secondOfDay = (int) Math.floorMod(seconds, 86400L);\n");
+    writer.print("    // Civil date of the epoch day, computed in eras of 400 years starting on March 1st\n");
+    writer.print("    long days = Math.floorDiv(seconds, 86400L) + 719468L;\n");
+    writer.print("    long era = Math.floorDiv(days, 146097L);\n");
+    writer.print("    int dayOfEra = (int) (days - era * 146097L);\n");
+    writer.print("    int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;\n");
+    writer.print("    int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);\n");
+    writer.print("    int mp = (5 * dayOfYear + 2) / 153;\n");
+    writer.print("    int day = dayOfYear - (153 * mp + 2) / 5 + 1;\n");
+    writer.print("    int month = mp < 10 ? mp + 3 : mp - 9;\n");
+    writer.print("    long year = era * 400 + yearOfEra + (month <= 2 ? 1 : 0);\n");
+    writer.print("    if (year < 0 || year > 9999) {\n");
+    writer.print("      writeJsonString(buffer, DateTimeFormatter.ISO_INSTANT.format(value));\n");
+    writer.print("      return;\n");
+    writer.print("    }\n");
+    writer.print("    buffer.appendByte((byte) '\"');\n");
+    writer.print("    writeJsonDigits(buffer, (int) year, 1000);\n");
+    writer.print("    buffer.appendByte((byte) '-');\n");
+    writer.print("    writeJsonDigits(buffer, month, 10);\n");
+    writer.print("    buffer.appendByte((byte) '-');\n");
+    writer.print("    writeJsonDigits(buffer, day, 10);\n");
+    writer.print("    buffer.appendByte((byte) 'T');\n");
+    writer.print("    writeJsonDigits(buffer, secondOfDay / 3600, 10);\n");
+    writer.print("    buffer.appendByte((byte) ':');\n");
+    writer.print("    writeJsonDigits(buffer, secondOfDay / 60 % 60, 10);\n");
+    writer.print("    buffer.appendByte((byte) ':');\n");
+    writer.print("    writeJsonDigits(buffer, secondOfDay % 60, 10);\n");
+    writer.print("    int nano = value.getNano();\n");
+    writer.print("    if (nano != 0) {\n");
+    writer.print("      // Groups of 3 digits, as ISO_INSTANT formats the fraction\n");
+    writer.print("      buffer.appendByte((byte) '.');\n");
+    writer.print("      if (nano % 1000000 == 0) {\n");
+    writer.print("        writeJsonDigits(buffer, nano / 1000000, 100);\n");
+    writer.print("      } else if (nano % 1000 == 0) {\n");
+    writer.print("        writeJsonDigits(buffer, nano / 1000, 100000);\n");
+    writer.print("      } else {\n");
+    writer.print("        writeJsonDigits(buffer, nano, 100000000);\n");
+    writer.print("      }\n");
+    writer.print("    }\n");
+    writer.print("    buffer.appendByte((byte) 'Z').appendByte((byte) '\"');\n");
+    writer.print("  }\n");
+    writer.print("\n");
+    writer.print("  private static void writeJsonDigits(Buffer buffer, int value, int divisor) {\n");
+    writer.print("    for (; divisor > 0; divisor /= 10) {\n");
+    writer.print("      buffer.appendByte((byte) ('0' + value / divisor % 10));\n");
+    writer.print("    }\n");
+    writer.print("  }\n");
+  }
+
+  private static void genWriteValue(PrintWriter writer) {
+    writer.print("\n");
+    writer.print("  private static void writeJsonValue(Buffer buffer, Object value) {\n");
+    writer.print("    if (value == null) {\n");
+    writer.print("      buffer.appendBytes(LITERAL_NULL);\n");
+    writer.print("    } else if (value instanceof String) {\n");
+    writer.print("      writeJsonString(buffer, (String) value);\n");
+    writer.print("    } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {\n");
+    writer.print("      writeJsonLong(buffer, ((Number) value).longValue());\n");
+    writer.print("    } else if (value instanceof Double) {\n");
+    writer.print("      writeJsonDouble(buffer, (Double) value);\n");
+    writer.print("    } else if (value instanceof Float) {\n");
+    writer.print("      writeJsonFloat(buffer, (Float) value);\n");
+    writer.print("    } else if (value instanceof Boolean) {\n");
+    writer.print("      buffer.appendBytes((Boolean) value ? LITERAL_TRUE : LITERAL_FALSE);\n");
+    writer.print("    } else if (value instanceof JsonObject || value instanceof java.util.Map) {\n");
+    writer.print("      java.util.Map<?, ?> map = value instanceof JsonObject ? ((JsonObject) value).getMap() : (java.util.Map<?, ?>) value;\n");
+    writer.print("      buffer.appendByte((byte) '{');\n");
+    writer.print("      boolean first = true;\n");
+    writer.print("      for (java.util.Map.Entry<?, ?> entry : map.entrySet()) {\n");
+    writer.print("        if (first) {\n");
+    writer.print("          first = false;\n");
+    writer.print("        } else {\n");
+    writer.print("          buffer.appendByte((byte) ',');\n");
+    writer.print("        }\n");
+    writer.print("        writeJsonString(buffer, (String) entry.getKey());\n");
+    writer.print("        buffer.appendByte((byte) ':');\n");
+    writer.print("        writeJsonValue(buffer, entry.getValue());\n");
+    writer.print("      }\n");
+    writer.print("      buffer.appendByte((byte) '}');\n");
+    writer.print("    } else if (value instanceof JsonArray || value instanceof java.util.List) {\n");
+    writer.print("      java.util.List<?> list = value instanceof JsonArray ? ((JsonArray) value).getList() : (java.util.List<?>) value;\n");
+    writer.print("      buffer.appendByte((byte) '[');\n");
+    writer.print("      for (int i = 0; i < list.size(); i++) {\n");
+    writer.print("        if (i > 0) {\n");
+    writer.print("          buffer.appendByte((byte) ',');\n");
+    writer.print("        }\n");
+    writer.print("        writeJsonValue(buffer, list.get(i));\n");
+    writer.print("      }\n");
+    writer.print("      buffer.appendByte((byte) ']');\n");
+    writer.print("    } else if (value instanceof Instant) {\n");
+    writer.print("      writeJsonInstant(buffer, (Instant) value);\n");
+    writer.print("    } else if (value instanceof Enum) {\n");
+    writer.print("      writeJsonString(buffer, ((Enum<?>) value).name());\n");
+    writer.print("    } else {\n");
+    writer.print("      // Binary and other values are rare, they are encoded by the JSON codec\n");
+    writer.print("      buffer.appendString(io.vertx.core.json.Json.encode(value));\n");
+    writer.print("    }\n");
+    writer.print("  }\n");
+  }
+
+  private String jsonName(PropertyInfo prop) {
+    return LowerCamelCase.INSTANCE.to(formatter, prop.getName());
+  }
+
+  private static String fieldName(PropertyInfo prop) {
+    // The JSON_ prefix is left to the streaming field names, so the names of two properties never collide
+    return "MEMBER_" + LowerCamelCase.INSTANCE.to(SnakeCase.INSTANCE, prop.getName()).toUpperCase();
+  }
+}
@@ -0,0 +1,882 @@
+package io.vertx.codegen.json.generator;
+
+import io.vertx.codegen.format.Case;
+import io.vertx.codegen.format.LowerCamelCase;
+import io.vertx.codegen.format.SnakeCase;
+import io.vertx.codegen.processor.DataObjectModel;
+import io.vertx.codegen.processor.MapperKind;
+import io.vertx.codegen.processor.PropertyInfo;
+import io.vertx.codegen.processor.type.ClassKind;
+import io.vertx.codegen.processor.type.DataObjectInfo;
+import io.vertx.codegen.processor.type.MapperInfo;
+import io.vertx.codegen.processor.type.TypeInfo;
+import io.vertx.codegen.processor.writer.MethodChunks;
+
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Generates the methods of a converter decoding a data object from UTF-8 JSON text in a Vert.x {@code Buffer},
+ * mapping the properties the same way the {@code fromJson} method of the converter does, without building a
+ * {@code JsonObject}.
+ */
+class JsonBufferReaderGen {
+
+  /**
+   * The optional helper methods the generated methods use.
+   */
+  private enum Helper {
+    INT, LONG, FLOAT, DOUBLE, VALUE
+  }
+
+  private final DataObjectJsonGen.NestedConverters converters;
+  private final DataObjectModel model;
+  private final Case formatter;
+  private final boolean inheritConverter;
+  private final String visibility;
+  private final EnumSet<Helper> helpers = EnumSet.noneOf(Helper.class);
+  // The code reading each property, indexed by the JSON name of the property
+  private final Map<String, String> readers = new TreeMap<>();
+  private final List<PropertyInfo> properties = new ArrayList<>();
+
+  JsonBufferReaderGen(DataObjectJsonGen.NestedConverters converters, DataObjectModel model, Case formatter, boolean inheritConverter, String visibility) {
+    this.converters = converters;
+    this.model = model;
+    this.formatter = formatter;
+    this.inheritConverter = inheritConverter;
+    this.visibility = visibility;
+    model.getPropertyMap().values().forEach(prop -> {
+      if (prop.isDeclared() || inheritConverter) {
+        String reader = genPropFromJson(prop);
+        if (reader != null) {
+          properties.add(prop);
+          readers.put(jsonName(prop), reader);
+        }
+      }
+    });
+  }
+
+  static void genImports(PrintWriter writer) {
+    writer.print("import io.vertx.core.json.DecodeException;\n");
+  }
+
+  /**
+   * Generate the property names encoded once, to be matched against the bytes of the member names.
+   */
+  void genPropertyNames(PrintWriter writer) {
+    for (PropertyInfo prop : properties) {
+      writer.print("  private static final byte[] " + fieldName(prop) + " = \"" + jsonName(prop) + "\".getBytes(StandardCharsets.UTF_8);\n");
+    }
+    writer.print("\n");
+  }
+
+  void genFromJson(PrintWriter writer) {
+    String simpleName = model.getType().getSimpleName();
+    writer.print("  " + visibility + " static void fromJson(Buffer buffer, " + simpleName + " obj) {\n");
+    writer.print("    int pos = skipJsonWhitespace(buffer, fromJson(buffer, 0, obj));\n");
+    writer.print("    if (pos < buffer.length()) {\n");
+    writer.print("      throw jsonError(buffer, pos);\n");
+    writer.print("    }\n");
+    writer.print("  }\n");
+    writer.print("\n");
+    writer.print("  " + visibility + " static int fromJson(Buffer buffer, int pos, " + simpleName + " obj) {\n");
+    writer.print("    pos = skipJsonWhitespace(buffer, expectJson(buffer, skipJsonWhitespace(buffer, pos), '{'));\n");
+    writer.print("    if (jsonByte(buffer, pos) == '}') {\n");
+    writer.print("      return pos + 1;\n");
+    writer.print("    }\n");
+    writer.print("    do {\n");
+    writer.print("      pos = skipJsonWhitespace(buffer, pos);\n");
+    writer.print("      int nameEnd = scanJsonString(buffer, pos);\n");
+    writer.print("      int property = jsonPropertyIndex(buffer, pos + 1, nameEnd - 1);\n");
+    writer.print("      if (property == 0 && jsonHasEscape(buffer, pos, nameEnd)) {\n");
+    writer.print("        Buffer name = Buffer.buffer(decodeJsonString(buffer, pos, nameEnd).getBytes(StandardCharsets.UTF_8));\n");
+    writer.print("        property = jsonPropertyIndex(name, 0, name.length());\n");
+    writer.print("      }\n");
+    writer.print("      pos = skipJsonWhitespace(buffer, expectJson(buffer, skipJsonWhitespace(buffer, nameEnd), ':'));\n");
+    List<String> fragments = new ArrayList<>();
+    List<Integer> indexes = new ArrayList<>();
+    for (String reader : readers.values()) {
+      int index = indexes.size() + 1;
+      fragments.add("        case " + index + ":\n" + reader + "          break;\n");
+      indexes.add(index);
+    }
+    MethodChunks chunks = MethodChunks.of(fragments)
+      .method("int", "fromJsonMember", "Buffer buffer, int pos, int property, " + simpleName + " obj", "buffer, pos, property, obj")
+      .outdent(2)
+      .body("", "    return pos;\n");
+    if (!chunks.isSplit()) {
+      writer.print("      switch (property) {\n");
+      writer.print(chunks.code());
+      writer.print("        default:\n");
+      writer.print("          pos = skipJsonValue(buffer, pos);\n");
+      writer.print("      }\n");
+    } else {
+      chunks.writeRangeCalls(writer, "      ", "property", indexes, "pos = ");
+    }
+    writer.print("      pos = skipJsonWhitespace(buffer, pos);\n");
+    writer.print("    } while (jsonSeparator(buffer, pos++, '}'));\n");
+    writer.print("    return pos;\n");
+    writer.print("  }\n");
+    if (chunks.isSplit()) {
+      chunks.writeSwitchMethods(writer, "property", "pos = skipJsonValue(buffer, pos);", false);
+    }
+    writer.print("\n");
+    genPropertyIndex(writer);
+  }
+
+  /**
+   * Generate the lookup of the index of a property from the bytes of its name, dispatching on the length of the name
+   * before comparing the bytes.
+   */
+  private void genPropertyIndex(PrintWriter writer) {
+    Map<Integer, List<String>> byLength = new TreeMap<>();
+    Map<String, String> fields = new TreeMap<>();
+    for (PropertyInfo prop : properties) {
+      fields.put(jsonName(prop), fieldName(prop));
+    }
+    for (String name : readers.keySet()) {
+      byLength.computeIfAbsent(name.getBytes(StandardCharsets.UTF_8).length, len -> new ArrayList<>()).add(name);
+    }
+    List<String> names = new ArrayList<>(readers.keySet());
+    List<String> fragments = new ArrayList<>();
+    List<Integer> lengths = new ArrayList<>();
+    byLength.forEach((length, group) -> {
+      for (String name : group) {
+        fragments.add(
+          "        if (jsonNameEquals(buffer, start, " + fields.get(name) + ")) {\n" +
+          "          return " + (names.indexOf(name) + 1) + ";\n" +
+          "        }\n");
+        lengths.add(length);
+      }
+    });
+    // Each chunk compares a part of the names and hands over the others to the next chunk, the first chunk is the
+    // lookup method itself
+    List<List<String>> chunks = MethodChunks.partition(fragments);
+    int offset = 0;
+    for (int i = 0; i < chunks.size(); i++) {
+      List<String> chunk = chunks.get(i);
+      writer.print("  private static int jsonPropertyIndex" + (i > 0 ? i : "") + "(Buffer buffer, int start, int end) {\n");
+      writer.print("    switch (end - start) {\n");
+      for (int j = 0; j < chunk.size(); j++) {
+        int length = lengths.get(offset + j);
+        if (j == 0 || lengths.get(offset + j - 1) != length) {
+          writer.print("      case " + length + ":\n");
+        }
+        writer.print(chunk.get(j));
+        if (j + 1 == chunk.size() || lengths.get(offset + j + 1) != length) {
+          writer.print("        break;\n");
+        }
+      }
+      writer.print("    }\n");
+      offset += chunk.size();
+      if (i + 1 < chunks.size()) {
+        writer.print("    return jsonPropertyIndex" + (i + 1) + "(buffer, start, end);\n");
+        writer.print("  }\n");
+        writer.print("\n");
+      } else {
+        writer.print("    return 0;\n");
+        writer.print("  }\n");
+      }
+    }
+  }
+
+  private String genPropFromJson(PropertyInfo prop) {
+    String indent = "          ";
+    if (prop.isList() || prop.isSet()) {
+      String declaration = "";
+      String consume;
+      String after = "";
+      if (prop.isSetter()) {
+        String coll = prop.isList() ? "java.util.ArrayList" : "java.util.LinkedHashSet";
+        declaration = indent + "  " + coll + "<" + prop.getType().getName() + "> list = new " + coll + "<>();\n";
+        consume = "list.add(";
+        after = indent + "  obj." + prop.getSetterMethod() + "(list);\n";
+      } else if (prop.isAdder()) {
+        consume = "obj." + prop.getAdderMethod() + "(";
+      } else {
+        return null;
+      }
+      String body = readValue(prop.getType(), indent + "      ", value -> consume + value + ");");
+      if (body == null) {
+        return null;
+      }
+      return
+        indent + "if (jsonByte(buffer, pos) == '[') {\n" +
+        declaration +
+        indent + "  pos = skipJsonWhitespace(buffer, pos + 1);\n" +
+        indent + "  if (jsonByte(buffer, pos) == ']') {\n" +
+        indent + "    pos++;\n" +
+        indent + "  } else {\n" +
+        indent + "    do {\n" +
+        indent + "      pos = skipJsonWhitespace(buffer, pos);\n" +
+        body +
+        indent + "      pos = skipJsonWhitespace(buffer, pos);\n" +
+        indent + "    } while (jsonSeparator(buffer, pos++, ']'));\n" +
+        indent + "  }\n" +
+        after +
+        indent + "} else {\n" +
+        indent + "  pos = skipJsonValue(buffer, pos);\n" +
+        indent + "}\n";
+    } else if (prop.isMap()) {
+      String declaration = "";
+      String consume;
+      String after = "";
+      if (prop.isAdder()) {
+        consume = "obj." + prop.getAdderMethod() + "(key, ";
+      } else if (prop.isSetter()) {
+        declaration = indent + "  java.util.Map<String, " + prop.getType().getName() + "> map = new java.util.LinkedHashMap<>();\n";
+        consume = "map.put(key, ";
+        after = indent + "  obj." + prop.getSetterMethod() + "(map);\n";
+      } else {
+        return null;
+      }
+      String body = readValue(prop.getType(), indent + "      ", value -> consume + value + ");");
+      if (body == null) {
+        return null;
+      }
+      return
+        indent + "if (jsonByte(buffer, pos) == '{') {\n" +
+        declaration +
+        indent + "  pos = skipJsonWhitespace(buffer, pos + 1);\n" +
+        indent + "  if (jsonByte(buffer, pos) == '}') {\n" +
+        indent + "    pos++;\n" +
+        indent + "  } else {\n" +
+        indent + "    do {\n" +
+        indent + "      pos = skipJsonWhitespace(buffer, pos);\n" +
+        indent + "      int keyEnd = scanJsonString(buffer, pos);\n" +
+        indent + "      String key = decodeJsonString(buffer, pos, keyEnd);\n" +
+        indent + "      pos = skipJsonWhitespace(buffer, expectJson(buffer, skipJsonWhitespace(buffer, keyEnd), ':'));\n" +
+        body +
+        indent + "      pos = skipJsonWhitespace(buffer, pos);\n" +
+        indent + "    } while (jsonSeparator(buffer, pos++, '}'));\n" +
+        indent + "  }\n" +
+        after +
+        indent + "} else {\n" +
+        indent + "  pos = skipJsonValue(buffer, pos);\n" +
+        indent + "}\n";
+    } else if (prop.isSetter()) {
+      return readValue(prop.getType(), indent, value -> "obj." + prop.getSetterMethod() + "(" + value + ");");
+    } else {
+      // Skipped by the default case
+      return null;
+    }
+  }
+
+  /**
+   * Generate the code reading the value at {@code pos} and moving {@code pos} after it, the value is skipped when
+   * its JSON type does not match the type, like {@code fromJson} does.
+   *
+   * @param consume the statement consuming the expression of the value
+   * @return the code or {@code null} when the type is not handled by the converter
+   */
+  private String readValue(TypeInfo type, String indent, Function<String, String> consume) {
+    ClassKind kind = type.getKind();
+    if (kind.basic) {
+      if (kind == ClassKind.STRING) {
+        return readString("decodeJsonString(buffer, pos, end)", indent, consume);
+      }
+      switch (type.getSimpleName()) {
+        case "boolean":
+        case "Boolean":
+          return readToken("jsonByte(buffer, pos) == 't' || jsonByte(buffer, pos) == 'f'", "scanJsonLiteral", "jsonByte(buffer, pos) == 't'", indent, consume);
+        case "byte":
+        case "Byte":
+          return readNumber(Helper.INT, "(byte) readJsonInt(buffer, pos, end)", indent, consume);
+        case "short":
+        case "Short":
+          return readNumber(Helper.INT, "(short) readJsonInt(buffer, pos, end)", indent, consume);
+        case "int":
+        case "Integer":
+          return readNumber(Helper.INT, "readJsonInt(buffer, pos, end)", indent, consume);
+        case "long":
+        case "Long":
+          return readNumber(Helper.LONG, "readJsonLong(buffer, pos, end)", indent, consume);
+        case "float":
+        case "Float":
+          return readNumber(Helper.FLOAT, "readJsonFloat(buffer, pos, end)", indent, consume);
+        case "double":
+        case "Double":
+          return readNumber(Helper.DOUBLE, "readJsonDouble(buffer, pos, end)", indent, consume);
+        case "char":
+        case "Character":
+          return readString("decodeJsonString(buffer, pos, end).charAt(0)", indent, consume);
+        default:
+          return null;
+      }
+    }
+    DataObjectInfo dataObject = type.getDataObject();
+    if (dataObject != null) {
+      if (!dataObject.isDeserializable()) {
+        return null;
+      }
+      MapperInfo mapper = dataObject.getDeserializer();
+      String jsonType = mapper.getJsonType().getName();
+      String converter = mapper.getKind() == MapperKind.SELF && jsonType.equals("io.vertx.core.json.JsonObject") ?
+        converters.find(type, true, "bufferReader") : null;
+      if (converter != null) {
+        return
+          indent + "if (jsonByte(buffer, pos) == '{') {\n" +
+          indent + "  " + type.getName() + " value = new " + type.getName() + "();\n" +
+          indent + "  pos = " + converter + ".fromJson(buffer, pos, value);\n" +
+          indent + "  " + consume.apply("value") + "\n" +
+          indent + "} else {\n" +
+          indent + "  pos = skipJsonValue(buffer, pos);\n" +
+          indent + "}\n";
+      }
+      String value;
+      switch (mapper.getKind()) {
+        case SELF:
+          value = "new " + type.getName() + "((" + jsonType + ") json)";
+          break;
+        case STATIC_METHOD:
+          value = mapper.getQualifiedName() + "." + String.join(".", mapper.getSelectors()) + "((" + jsonType + ") json)";
+          break;
+        default:
+          throw new AssertionError();
+      }
+      helpers.add(Helper.VALUE);
+      return
+        indent + "{\n" +
+        indent + "  int[] cursor = { pos };\n" +
+        indent + "  Object json = readJsonValue(buffer, cursor);\n" +
+        indent + "  pos = cursor[0];\n" +
+        indent + "  if (json instanceof " + jsonType + ") {\n" +
+        indent + "    " + consume.apply(value) + "\n" +
+        indent + "  }\n" +
+        indent + "}\n";
+    }
+    switch (kind) {
+      case JSON_OBJECT:
+        return readJsonValue("jsonByte(buffer, pos) == '{'", "(JsonObject) ", indent, consume);
+      case JSON_ARRAY:
+        return readJsonValue("jsonByte(buffer, pos) == '['", "(JsonArray) ", indent, consume);
+      case ENUM:
+        return readString(type.getName() + ".valueOf(decodeJsonString(buffer, pos, end))", indent, consume);
+      case OBJECT:
+        return readJsonValue("jsonByte(buffer, pos) != 'n'", "", indent, consume);
+      case OTHER:
+        if (type.getName().equals(Instant.class.getName())) {
+          return readString("Instant.from(DateTimeFormatter.ISO_INSTANT.parse(decodeJsonString(buffer, pos, end)))", indent, consume);
+        }
+        return null;
+      default:
+        return null;
+    }
+  }
+
+  private static String readString(String value, String indent, Function<String, String> consume) {
+    return readToken("jsonByte(buffer, pos) == '\"'", "scanJsonString", value, indent, consume);
+  }
+
+  private String readNumber(Helper helper, String value, String indent, Function<String, String> consume) {
+    helpers.add(helper);
+    return readToken("isJsonNumber(jsonByte(buffer, pos))", "scanJsonNumber", value, indent, consume);
+  }
+
+  private static String readToken(String condition, String scan, String value, String indent, Function<String, String> consume) {
+    return
+      indent + "if (" + condition + ") {\n" +
+      indent + "  int end = " + scan + "(buffer, pos);\n" +
+      indent + "  " + consume.apply(value) + "\n" +
+      indent + "  pos = end;\n" +
+      indent + "} else {\n" +
+      indent + "  pos = skipJsonValue(buffer, pos);\n" +
+      indent + "}\n";
+  }
+
+  private String readJsonValue(String condition, String cast, String indent, Function<String, String> consume) {
+    helpers.add(Helper.VALUE);
+    return
+      indent + "if (" + condition + ") {\n" +
+      indent + "  int[] cursor = { pos };\n" +
+      indent + "  " + consume.apply(cast + "readJsonValue(buffer, cursor)") + "\n" +
+      indent + "  pos = cursor[0];\n" +
+      indent + "} else {\n" +
+      indent + "  pos = skipJsonValue(buffer, pos);\n" +
+      indent + "}\n";
+  }
+
+  /**
+   * Generate the helpers used by the generated methods.
+   */
+  void genHelpers(PrintWriter writer) {
+    if (helpers.contains(Helper.VALUE)) {
+      helpers.addAll(EnumSet.of(Helper.INT, Helper.LONG, Helper.FLOAT, Helper.DOUBLE));
+    }
+    genScanHelpers(writer);
+    if (helpers.isEmpty()) {
+      return;
+    }
+    genParseNumber(writer);
+    if (helpers.contains(Helper.INT)) {
+      writer.print("\n");
+      writer.print("  private static int readJsonInt(Buffer buffer, int start, int end) {\n");
+      writer.print("    if (isJsonLong(buffer, start, end)) {\n");
+      writer.print("      return (int) parseJsonLong(buffer, start, end);\n");
+      writer.print("    } else if (isJsonInteger(buffer, start, end)) {\n");
+      writer.print("      return new java.math.BigInteger(buffer.getString(start, end)).intValue();\n");
+      writer.print("    } else {\n");
+      writer.print("      return (int) parseJsonDouble(buffer, start, end);\n");
+      writer.print("    }\n");
+      writer.print("  }\n");
+    }
+    if (helpers.contains(Helper.LONG)) {
+      writer.print("\n");
+      writer.print("  private static long readJsonLong(Buffer buffer, int start, int end) {\n");
+      writer.print("    if (isJsonLong(buffer, start, end)) {\n");
+      writer.print("      return parseJsonLong(buffer, start, end);\n");
+      writer.print("    } else if (isJsonInteger(buffer, start, end)) {\n");
+      writer.print("      return new java.math.BigInteger(buffer.getString(start, end)).longValue();\n");
+      writer.print("    } else {\n");
+      writer.print("      return (long) parseJsonDouble(buffer, start, end);\n");
+      writer.print("    }\n");
+      writer.print("  }\n");
+    }
+    if (helpers.contains(Helper.FLOAT)) {
+      writer.print("\n");
+      writer.print("  private static float readJsonFloat(Buffer buffer, int start, int end) {\n");
+      writer.print("    if (isJsonLong(buffer, start, end)) {\n");
+      writer.print("      return (float) parseJsonLong(buffer, start, end);\n");
+      writer.print("    } else if (isJsonInteger(buffer, start, end)) {\n");
+      writer.print("      return new java.math.BigInteger(buffer.getString(start, end)).floatValue();\n");
+      writer.print("    } else {\n");
+      writer.print("      return (float) parseJsonDouble(buffer, start, end);\n");
+      writer.print("    }\n");
+      writer.print("  }\n");
+    }
+    if (helpers.contains(Helper.DOUBLE)) {
+      writer.print("\n");
+      writer.print("  private static double readJsonDouble(Buffer buffer, int start, int end) {\n");
+      writer.print("    if (isJsonLong(buffer, start, end)) {\n");
+      writer.print("      return (double) parseJsonLong(buffer, start, end);\n");
+      writer.print("    } else if (isJsonInteger(buffer, start, end)) {\n");
+      writer.print("      return new java.math.BigInteger(buffer.getString(start, end)).doubleValue();\n");
+      writer.print("    } else {\n");
+      writer.print("      return parseJsonDouble(buffer, start, end);\n");
+      writer.print("    }\n");
+      writer.print("  }\n");
+    }
+    if (helpers.contains(Helper.VALUE)) {
+      genReadValue(writer);
+    }
+  }
+
+  private static void genScanHelpers(PrintWriter writer) {
+    writer.print("\n");
+    writer.print("  private static byte jsonByte(Buffer buffer, int pos) {\n");
+    writer.print("    if (pos >= buffer.length()) {\n");
+    writer.print("      throw jsonError(buffer, pos);\n");
+    writer.print("    }\n");
+    writer.print("    return buffer.getByte(pos);\n");
+    writer.print("  }\n");
+    writer.print("\n");
+    writer.print("  private static DecodeException jsonError(Buffer buffer, int pos) {\n");
+    writer.print("    if (pos >= buffer.length()) {\n");
+    writer.print("      return new DecodeException(\"Unexpected end of JSON input at offset \" + pos);\n");
+    writer.print("    }\n");
+    writer.print("    int b = buffer.getByte(pos) & 0xFF;\n");
+    writer.print("    String found = b >= 0x20 && b < 0x7F ? \"character '\" + (char) b + \"'\" : String.format(\"byte 0x%02X\", b);\n");
+    writer.print("    return new DecodeException(\"Unexpected \" + found + \" at offset \" + pos);\n");
+    writer.print("  }\n");
+    writer.print("\n");
+    writer.print("  private static int expectJson(Buffer buffer, int pos, char c) {\n");
+    writer.print("    if (jsonByte(buffer, pos) != c) {\n");
+    writer.print("      throw jsonError(buffer, pos);\n");
+    writer.print("    }\n");
+    writer.print("    return pos + 1;\n");
+    writer.print("  }\n");
+    writer.print("\n");
+    writer.print("  private static int skipJsonWhitespace(Buffer buffer, int pos) {\n");
+    writer.print("    int len = buffer.length();\n");
+    writer.print("    while (pos < len) {\n");
+    writer.print("      byte b = buffer.getByte(pos);\n");
+    writer.print("      if (b != ' ' && b != '\\n' && b != '\\r' && b != '\\t') {\n");
+    writer.print("        break;\n");
+    writer.print("      }\n");
+    writer.print("      pos++;\n");
+    writer.print("    }\n");
+    writer.print("    return pos;\n");
+    writer.print("  }\n");
+    writer.print("\n");
+    writer.print("  private static boolean jsonSeparator(Buffer buffer, int pos, char close) {\n");
+    writer.print("    byte b = jsonByte(buffer, pos);\n");
+    writer.print("    if (b == ',') {\n");
+    writer.print("      return true;\n");
+    writer.print("    }\n");
+    writer.print("    if (b != close) {\n");
+    writer.print("      throw jsonError(buffer, pos);\n");
+    writer.print("    }\n");
+    writer.print("    return false;\n");
+    writer.print("  }\n");
+    writer.print("\n");
+    writer.print("  private static boolean jsonNameEquals(Buffer buffer, int pos, byte[] name) {\n");
+    writer.print("    for (int i = 0; i < name.length; i++) {\n");
+    writer.print("      if (buffer.getByte(pos + i) != name[i]) {\n");
+    writer.print("        return false;\n");
+    writer.print("      }\n");
+    writer.print("    }\n");
+    writer.print("    return true;\n");
+    writer.print("  }\n");
+    writer.print("\n");
+    writer.print("  private static boolean jsonHasEscape(Buffer buffer, int start, int end) {\n");
+    writer.print("    for (int i = start; i < end; i++) {\n");
+    writer.print("      if (buffer.getByte(i) == '\\\\') {\n");
+    writer.print("        return true;\n");
+    writer.print("      }\n");
+    writer.print("    }\n");
+    writer.print("    return false;\n");
+    writer.print("  }\n");
+    writer.print("\n");
+    writer.print("  private static int scanJsonString(Buffer buffer, int pos) {\n");
+    writer.print("    expectJson(buffer, pos, '\"');\n");
+    writer.print("    while (true) {\n");
+    writer.print("      byte b = jsonByte(buffer, ++pos);\n");
+    writer.print("      if (b == '\"') {\n");
+    writer.print("        return pos + 1;\n");
+    writer.print("      }\n");
+    writer.print("      if (b == '\\\\') {\n");
+    writer.print("        switch (jsonByte(buffer, ++pos)) {\n");
+    writer.print("          case '\"':\n");
+    writer.print("          case '\\\\':\n");
+    writer.print("          case '/':\n");
+    writer.print("          case 'b':\n");
+    writer.print("          case 'f':\n");
+    writer.print("          case 'n':\n");
+    writer.print("          case 'r':\n");
+    writer.print("          case 't':\n");
+    writer.print("            break;\n");
+    writer.print("          case 'u':\n");
+    writer.print("            for (int i = 0; i < 4; i++) {\n");
+    writer.print("              if (Character.digit((char) jsonByte(buffer, ++pos), 16) < 0) {\n");
+    writer.print("                throw jsonError(buffer, pos);\n");
+    writer.print("              }\n");
+    writer.print("            }\n");
+    writer.print("            break;\n");
+    writer.print("          default:\n");
+    writer.print("            throw jsonError(buffer, pos);\n");
+    writer.print("        }\n");
+    writer.print("      } else if (b >= 0 && b < 0x20) {\n");
+    writer.print("        throw jsonError(buffer, pos);\n");
+    writer.print("      }\n");
+    writer.print("    }\n");
+    writer.print("  }\n");
+    writer.print("\n");
+    writer.print("  private static String decodeJsonString(Buffer buffer, int start, int end) {\n");
+    writer.print("    if (!jsonHasEscape(buffer, start + 1, end - 1)) {\n");
+    writer.print("      return buffer.getString(start + 1, end - 1);\n");
+    writer.print("    }\n");
+    writer.print("    StringBuilder sb = new StringBuilder(end - start);\n");
+    writer.print("    int from = start + 1;\n");
+    writer.print("    for (int i = from; i < end - 1; i++) {\n");
+    writer.print("      if (buffer.getByte(i) == '\\\\') {\n");
+    writer.print("        sb.append(buffer.getString(from, i));\n");
+    writer.print("        char c = (char) buffer.getByte(++i);\n");
+    writer.print("        switch (c) {\n");
+    writer.print("          case 'b':\n");
+    writer.print("            sb.append('\\b');\n");
+    writer.print("            break;\n");
+    writer.print("          case 'f':\n");
+    writer.print("            sb.append('\\f');\n");
+    writer.print("            break;\n");
+    writer.print("          case 'n':\n");
+    writer.print("            sb.append('\\n');\n");
+    writer.print("            break;\n");
+    writer.print("          case 'r':\n");
+    writer.print("            sb.append('\\r');\n");
+    writer.print("            break;\n");
+    writer.print("          case 't':\n");
+    writer.print("            sb.append('\\t');\n");
+    writer.print("            break;\n");
+    writer.print("          case 'u':\n");
+    writer.print("            sb.append((char) Integer.parseInt(buffer.getString(i + 1, i + 5), 16));\n");
+    writer.print("            i += 4;\n");
+    writer.print("            break;\n");
+    writer.print("          default:\n");
+    writer.print("            sb.append(c);\n");
+    writer.print("        }\n");
+    writer.print("        from = i + 1;\n");
+    writer.print("      }\n");
+    writer.print("    }\n");
+    writer.print("    return sb.append(buffer.getString(from, end - 1)).toString();\n");
+    writer.print("  }\n");
+    writer.print("\n");
+    writer.print("  private static int scanJsonNumber(Buffer buffer, int pos) {\n");
+    writer.print("    int len = buffer.length();\n");
+    writer.print("    if (pos < len && buffer.getByte(pos) == '-') {\n");
+    writer.print("      pos++;\n");
+    writer.print("    }\n");
+    writer.print("    byte b = jsonByte(buffer, pos);\n");
+    writer.print("    if (b == '0') {\n");
+    writer.print("      pos++;\n");
+    writer.print("    } else if (b >= '1' && b <= '9') {\n");
+    writer.print("      pos = scanJsonDigits(buffer, pos + 1);\n");
+    writer.print("    } else {\n");
+    writer.print("      throw jsonError(buffer, pos);\n");
+    writer.print("    }\n");
+    writer.print("    if (pos < len && buffer.getByte(pos) == '.') {\n");
+    writer.print("      b = jsonByte(buffer, ++pos);\n");
+    writer.print("      if (b < '0' || b > '9') {\n");
+    writer.print("        throw jsonError(buffer, pos);\n");
+    writer.print("      }\n");
+    writer.print("      pos = scanJsonDigits(buffer, pos + 1);\n");
+    writer.print("    }\n");
+    writer.print("    if (pos < len && (buffer.getByte(pos) == 'e' || buffer.getByte(pos) == 'E')) {\n");
+    writer.print("      b = jsonByte(buffer, ++pos);\n");
+    writer.print("      if (b == '+' || b == '-') {\n");
+    writer.print("        b = jsonByte(buffer, ++pos);\n");
+    writer.print("      }\n");
+    writer.print("      if (b < '0' || b > '9') {\n");
+    writer.print("        throw jsonError(buffer, pos);\n");
+    writer.print("      }\n");
+    writer.print("      pos = scanJsonDigits(buffer, pos + 1);\n");
+    writer.print("    }\n");
+    writer.print("    return pos;\n");
+    writer.print("  }\n");
+    writer.print("\n");
+    writer.print("  private static int scanJsonDigits(Buffer buffer, int pos) {\n");
+    writer.print("    int len = buffer.length();\n");
+    writer.print("    while (pos < len) {\n");
+    writer.print("      byte b = buffer.getByte(pos);\n");
+    writer.print("      if (b < '0' || b > '9') {\n");
+    writer.print("        break;\n");
+    writer.print("      }\n");
+    writer.print("      pos++;\n");
+    writer.print("    }\n");
+    writer.print("    return pos;\n");
+    writer.print("  }\n");
+    writer.print("\n");
+    writer.print("  private static int scanJsonLiteral(Buffer buffer, int pos) {\n");
+    writer.print("    String literal;\n");
+    writer.print("    switch (jsonByte(buffer, pos)) {\n");
+    writer.print("      case 't':\n");
+    writer.print("        literal = \"true\";\n");
+    writer.print("        break;\n");
+    writer.print("      case 'f':\n");
+    writer.print("        literal = \"false\";\n");
+    writer.print("        break;\n");
+    writer.print("      case 'n':\n");
+    writer.print("        literal = \"null\";\n");
+    writer.print("        break;\n");
+    writer.print("      default:\n");
+    writer.print("        throw jsonError(buffer, pos);\n");
+    writer.print("    }\n");
+    writer.print("    for (int i = 1; i < literal.length(); i++) {\n");
+    writer.print("      if (jsonByte(buffer, pos + i) != literal.charAt(i)) {\n");
+    writer.print("        throw jsonError(buffer, pos + i);\n");
+    writer.print("      }\n");
+    writer.print("    }\n");
+    writer.print("    return pos + literal.length();\n");
+    writer.print("  }\n");
+    writer.print("\n");
+    writer.print("  private static int skipJsonValue(Buffer buffer, int pos) {\n");
+    writer.print("    switch (jsonByte(buffer, pos)) {\n");
+    writer.print("      case '\"':\n");
+    writer.print("        return scanJsonString(buffer, pos);\n");
+    writer.print("      case '{':\n");
+    writer.print("        pos = skipJsonWhitespace(buffer, pos + 1);\n");
+    writer.print("        if (jsonByte(buffer, pos) == '}') {\n");
+    writer.print("          return pos + 1;\n");
+    writer.print("        }\n");
+    writer.print("        do {\n");
+    writer.print("          pos = skipJsonWhitespace(buffer, scanJsonString(buffer, skipJsonWhitespace(buffer, pos)));\n");
+    writer.print("          pos = skipJsonWhitespace(buffer, expectJson(buffer, pos, ':'));\n");
+    writer.print("          pos = skipJsonWhitespace(buffer, skipJsonValue(buffer, pos));\n");
+    writer.print("        } while (jsonSeparator(buffer, pos++, '}'));\n");
+    writer.print("        return pos;\n");
+    writer.print("      case '[':\n");
+    writer.print("        pos = skipJsonWhitespace(buffer, pos + 1);\n");
+    writer.print("        if (jsonByte(buffer, pos) == ']') {\n");
+    writer.print("          return pos + 1;\n");
+    writer.print("        }\n");
+    writer.print("        do {\n");
+    writer.print("          pos = skipJsonWhitespace(buffer, skipJsonValue(buffer, skipJsonWhitespace(buffer, pos)));\n");
+    writer.print("        } while (jsonSeparator(buffer, pos++, ']'));\n");
+    writer.print("        return pos;\n");
+    writer.print("      case 't':\n");
+    writer.print("      case 'f':\n");
+    writer.print("      case 'n':\n");
+    writer.print("        return scanJsonLiteral(buffer, pos);\n");
+    writer.print("      default:\n");
+    writer.print("        return scanJsonNumber(buffer, pos);\n");
+    writer.print("    }\n");
+    writer.print("  }\n");
+    writer.print("\n");
+    writer.print("  private static boolean isJsonNumber(byte b) {\n");
+    writer.print("    return b == '-' || (b >= '0' && b <= '9');\n");
+    writer.print("  }\n");
+  }
+
+  private static void genParseNumber(PrintWriter writer) {
+    writer.print("\n");
+    writer.print("  private static final double[] POW10 = {\n");
+    writer.print("    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,\n");
+    writer.print("    1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22\n");
+    writer.print("  };\n");
+    writer.print("\n");
+    writer.print("  private static boolean isJsonInteger(Buffer buffer, int start, int end) {\n");
+    writer.print("    for (int i = start; i < end; i++) {\n");
+    writer.print("      byte b = buffer.getByte(i);\n");
+    writer.print("      if (b == '.' || b == 'e' || b == 'E') {\n");
+    writer.print("        return false;\n");
+    writer.print("      }\n");
+    writer.print("    }\n");
+    writer.print("    return true;\n");
+    writer.print("  }\n");
+    writer.print("\n");
+    writer.print("  private static boolean isJsonLong(Buffer buffer, int start, int end) {\n");
+    writer.print("    // At most 18 digits, that always fit in a long\n");
+    writer.print("    return end - start <= 18 && isJsonInteger(buffer, start, end);\n");
+    writer.print("  }\n");
+    writer.print("\n");
+    writer.print("  private static long parseJsonLong(Buffer buffer, int start, int end) {\n");
+    writer.print("    boolean negative = buffer.getByte(start) == '-';\n");
+    writer.print("    long value = 0;\n");
+    writer.print("    for (int i = negative ? start + 1 : start; i < end; i++) {\n");
+    writer.print("      value = value * 10 + (buffer.getByte(i) - '0');\n");
+    writer.print("    }\n");
+    writer.print("    return negative ? -value : value;\n");
+    writer.print("  }\n");
+    writer.print("\n");
+    writer.print("  private static double parseJsonDouble(Buffer buffer, int start, int end) {\n");
+    writer.print("    // Exact when the digits fit in 53 bits and the power of ten is exact, otherwise parsed as Double#parseDouble does\n");
+    writer.print("    int i = start;\n");
+    writer.print("    boolean negative = buffer.getByte(i) == '-';\n");
+    writer.print("    if (negative) {\n");
+    writer.print("      i++;\n");
+    writer.print("    }\n");
+    writer.print("    long mantissa = 0;\n");
+    writer.print("    int exponent = 0;\n");
+    writer.print("    boolean fraction = false;\n");
+    writer.print("    for (; i < end; i++) {\n");
+    writer.print("      byte b = buffer.getByte(i);\n");
+    writer.print("      if (b == '.') {\n");
+    writer.print("        fraction = true;\n");
+    writer.print("      } else if (b == 'e' || b == 'E') {\n");
+    writer.print("        break;\n");
+    writer.print("      } else if (mantissa > 900719925474098L) {\n");
+    writer.print("        return Double.parseDouble(buffer.getString(start, end));\n");
+    writer.print("      } else {\n");
+    writer.print("        mantissa = mantissa * 10 + (b - '0');\n");
+    writer.print("        if (fraction) {\n");
+    writer.print("          exponent--;\n");
+    writer.print("        }\n");
+    writer.print("      }\n");
+    writer.print("    }\n");
+    writer.print("    if (i < end) {\n");
+    writer.print("      boolean negativeExponent = buffer.getByte(++i) == '-';\n");
+    writer.print("      if (negativeExponent || buffer.getByte(i) == '+') {\n");
+    writer.print("        i++;\n");
+    writer.print("      }\n");
+    writer.print("      if (end - i > 3) {\n");
+    writer.print("        return Double.parseDouble(buffer.getString(start, end));\n");
+    writer.print("      }\n");
+    writer.print("      int e = 0;\n");
+    writer.print("      for (; i < end; i++) {\n");
+    writer.print("        e = e * 10 + (buffer.getByte(i) - '0');\n");
+    writer.print("      }\n");
+    writer.print("      exponent += negativeExponent ? -e : e;\n");
+    writer.print("    }\n");
+    writer.print("    double value;\n");
+    writer.print("    if (mantissa == 0) {\n");
+    writer.print("      value = 0d;\n");
+    writer.print("    } else if (exponent < -22 || exponent > 22) {\n");
+    writer.print("      return Double.parseDouble(buffer.getString(start, end));\n");
+    writer.print("    } else {\n");
+    writer.print("      value = exponent < 0 ? mantissa / POW10[-exponent] : mantissa * POW10[exponent];\n");
+    writer.print("    }\n");
+    writer.print("    return negative ? -value : value;\n");
+    writer.print("  }\n");
+  }
+
+  private static void genReadValue(PrintWriter writer) {
+    writer.print("\n");
+    writer.print("  private static Object readJsonValue(Buffer buffer, int[] cursor) {\n");
+    writer.print("    int pos = cursor[0];\n");
+    writer.print("    switch (jsonByte(buffer, pos)) {\n");
+    writer.print("      case '\"': {\n");
+    writer.print("        int end = scanJsonString(buffer, pos);\n");
+    writer.print("        cursor[0] = end;\n");
+    writer.print("        return decodeJsonString(buffer, pos, end);\n");
+    writer.print("      }\n");
+    writer.print("      case '{': {\n");
+    writer.print("        JsonObject object = new JsonObject();\n");
+    writer.print("        pos = skipJsonWhitespace(buffer, pos + 1);\n");
+    writer.print("        if (jsonByte(buffer, pos) == '}') {\n");
+    writer.print("          cursor[0] = pos + 1;\n");
+    writer.print("          return object;\n");
+    writer.print("        }\n");
+    writer.print("        do {\n");
+    writer.print("          pos = skipJsonWhitespace(buffer, pos);\n");
+    writer.print("          int end = scanJsonString(buffer, pos);\n");
+    writer.print("          cursor[0] = skipJsonWhitespace(buffer, expectJson(buffer, skipJsonWhitespace(buffer, end), ':'));\n");
+    writer.print("          object.put(decodeJsonString(buffer, pos, end), readJsonValue(buffer, cursor));\n");
+    writer.print("          pos = skipJsonWhitespace(buffer, cursor[0]);\n");
+    writer.print("        } while (jsonSeparator(buffer, pos++, '}'));\n");
+    writer.print("        cursor[0] = pos;\n");
+    writer.print("        return object;\n");
+    writer.print("      }\n");
+    writer.print("      case '[': {\n");
+    writer.print("        JsonArray array = new JsonArray();\n");
+    writer.print("        pos = skipJsonWhitespace(buffer, pos + 1);\n");
+    writer.print("        if (jsonByte(buffer, pos) == ']') {\n");
+    writer.print("          cursor[0] = pos + 1;\n");
+    writer.print("          return array;\n");
+    writer.print("        }\n");
+    writer.print("        do {\n");
+    writer.print("          cursor[0] = skipJsonWhitespace(buffer, pos);\n");
+    writer.print("          array.add(readJsonValue(buffer, cursor));\n");
+    writer.print("          pos = skipJsonWhitespace(buffer, cursor[0]);\n");
+    writer.print("        } while (jsonSeparator(buffer, pos++, ']'));\n");
+    writer.print("        cursor[0] = pos;\n");
+    writer.print("        return array;\n");
+    writer.print("      }\n");
+    writer.print("      case 't':\n");
+    writer.print("        cursor[0] = scanJsonLiteral(buffer, pos);\n");
+    writer.print("        return Boolean.TRUE;\n");
+    writer.print("      case 'f':\n");
+    writer.print("        cursor[0] = scanJsonLiteral(buffer, pos);\n");
+    writer.print("        return Boolean.FALSE;\n");
+    writer.print("      case 'n':\n");
+    writer.print("        cursor[0] = scanJsonLiteral(buffer, pos);\n");
+    writer.print("        return null;\n");
+    writer.print("      default: {\n");
+    writer.print("        // Numbers are decoded to the smallest of Integer, Long and BigInteger, or to a Double, as JsonObject does\n");
+    writer.print("        int end = scanJsonNumber(buffer, pos);\n");
+    writer.print("        cursor[0] = end;\n");
+    writer.print("        if (isJsonLong(buffer, pos, end)) {\n");
+    writer.print("          long value = parseJsonLong(buffer, pos, end);\n");
+    writer.print("          if (value == (int) value) {\n");
+    writer.print("            return (int) value;\n");
+    writer.print("          }\n");
+    writer.print("          return value;\n");
+    writer.print("        } else if (isJsonInteger(buffer, pos, end)) {\n");
+    writer.print("          java.math.BigInteger value = new java.math.BigInteger(buffer.getString(pos, end));\n");
+    writer.print("          if (value.bitLength() < 32) {\n");
+    writer.print("            return value.intValue();\n");
+    writer.print("          } else if (value.bitLength() < 64) {\n");
+    writer.print("            return value.longValue();\n");
+    writer.print("          }\n");
+    writer.print("          return value;\n");
+    writer.print("        } else {\n");
+    writer.print("          return parseJsonDouble(buffer, pos, end);\n");
+    writer.print("        }\n");
+    writer.print("      }\n");
+    writer.print("    }\n");
+    writer.print("  }\n");
+  }
+
+  private String jsonName(PropertyInfo prop) {
+    return LowerCamelCase.INSTANCE.to(formatter, prop.getName());
+  }
+
+  private static String fieldName(PropertyInfo prop) {
+    return "NAME_" + LowerCamelCase.INSTANCE.to(SnakeCase.INSTANCE, prop.getName()).toUpperCase();
+  }
+}
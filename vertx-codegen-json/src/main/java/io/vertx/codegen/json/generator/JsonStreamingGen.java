@@ -0,0 +1,485 @@
+package io.vertx.codegen.json.generator;
+
+import io.vertx.codegen.format.Case;
+import io.vertx.codegen.format.LowerCamelCase;
+import io.vertx.codegen.format.SnakeCase;
+import io.vertx.codegen.processor.DataObjectModel;
+import io.vertx.codegen.processor.MapperKind;
+import io.vertx.codegen.processor.PropertyInfo;
+import io.vertx.codegen.processor.type.ClassKind;
+import io.vertx.codegen.processor.type.DataObjectInfo;
+import io.vertx.codegen.processor.type.MapperInfo;
+import io.vertx.codegen.processor.type.TypeInfo;
+import io.vertx.codegen.processor.writer.MethodChunks;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Generates the methods of a converter streaming a data object to a Jackson {@code JsonGenerator} and from a
+ * Jackson {@code JsonParser}, mapping the properties the same way the {@code toJson} and {@code fromJson} methods
+ * of the converter do.
+ */
+class JsonStreamingGen {
+
+  private final DataObjectJsonGen.NestedConverters converters;
+  private final DataObjectModel model;
+  private final Case formatter;
+  private final boolean inheritConverter;
+  private final String visibility;
+  private boolean readJsonValue;
+
+  JsonStreamingGen(DataObjectJsonGen.NestedConverters converters, DataObjectModel model, Case formatter, boolean inheritConverter, String visibility) {
+    this.converters = converters;
+    this.model = model;
+    this.formatter = formatter;
+    this.inheritConverter = inheritConverter;
+    this.visibility = visibility;
+  }
+
+  static void genImports(PrintWriter writer) {
+    writer.print("import com.fasterxml.jackson.core.JsonGenerator;\n");
+    writer.print("import com.fasterxml.jackson.core.JsonParseException;\n");
+    writer.print("import com.fasterxml.jackson.core.JsonParser;\n");
+    writer.print("import com.fasterxml.jackson.core.JsonToken;\n");
+    writer.print("import com.fasterxml.jackson.core.io.SerializedString;\n");
+    writer.print("import io.vertx.core.json.jackson.JacksonCodec;\n");
+    writer.print("import java.io.IOException;\n");
+  }
+
+  void genFieldNames(PrintWriter writer) {
+    model.getPropertyMap().values().forEach(prop -> {
+      if (isWritten(prop)) {
+        writer.print("  private static final SerializedString " + fieldName(prop) + " = new SerializedString(\"" + jsonName(prop) + "\");\n");
+      }
+    });
+    writer.print("\n");
+  }
+
+  void genFromJson(PrintWriter writer) {
+    String simpleName = model.getType().getSimpleName();
+    writer.print("  " + visibility + " static void fromJson(JsonParser parser, " + simpleName + " obj) throws IOException {\n");
+    writer.print("    JsonToken token = parser.currentToken();\n");
+    writer.print("    if (token == null) {\n");
+    writer.print("      token = parser.nextToken();\n");
+    writer.print("    }\n");
+    writer.print("    if (token != JsonToken.START_OBJECT) {\n");
+    writer.print("      throw new JsonParseException(parser, \"Expected a JSON object instead of \" + token);\n");
+    writer.print("    }\n");
+    writer.print("    while (parser.nextToken() == JsonToken.FIELD_NAME) {\n");
+    writer.print("      String name = parser.currentName();\n");
+    writer.print("      token = parser.nextToken();\n");
+    List<String> fragments = new ArrayList<>();
+    model.getPropertyMap().values().forEach(prop -> {
+      if (prop.isDeclared() || inheritConverter) {
+        StringWriter fragment = new StringWriter();
+        genPropFromJson(prop, new PrintWriter(fragment));
+        fragments.add(fragment.toString());
+      }
+    });
+    MethodChunks chunks = MethodChunks.of(fragments)
+      .method("void", "fromJsonMember", "JsonParser parser, JsonToken token, String name, " + simpleName + " obj", "parser, token, name, obj")
+      .throwing("IOException")
+      .outdent(1);
+    if (!chunks.isSplit()) {
+      writer.print("      switch (name) {\n");
+      writer.print(chunks.code());
+      writer.print("        default:\n");
+      writer.print("          parser.skipChildren();\n");
+      writer.print("      }\n");
+      writer.print("    }\n");
+      writer.print("  }\n");
+    } else {
+      writer.print("      " + chunks.call(0) + ";\n");
+      writer.print("    }\n");
+      writer.print("  }\n");
+      chunks.writeSwitchMethods(writer, "name", "parser.skipChildren();", true);
+    }
+  }
+
+  private void genPropFromJson(PropertyInfo prop, PrintWriter writer) {
+    String indent = "        ";
+    String body;
+    if (prop.isList() || prop.isSet()) {
+      if (prop.isSetter()) {
+        String coll = prop.isList() ? "java.util.ArrayList" : "java.util.LinkedHashSet";
+        body = readValue(prop.getType(), indent + "      ", value -> "list.add(" + value + ");");
+        if (body != null) {
+          body =
+            indent + "  if (token == JsonToken.START_ARRAY) {\n" +
+            indent + "    " + coll + "<" + prop.getType().getName() + "> list = new " + coll + "<>();\n" +
+            indent + "    while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {\n" +
+            body +
+            indent + "    }\n" +
+            indent + "    obj." + prop.getSetterMethod() + "(list);\n" +
+            indent + "  } else {\n" +
+            indent + "    parser.skipChildren();\n" +
+            indent + "  }\n";
+        }
+      } else if (prop.isAdder()) {
+        body = readValue(prop.getType(), indent + "      ", value -> "obj." + prop.getAdderMethod() + "(" + value + ");");
+        if (body != null) {
+          body =
+            indent + "  if (token == JsonToken.START_ARRAY) {\n" +
+            indent + "    while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {\n" +
+            body +
+            indent + "    }\n" +
+            indent + "  } else {\n" +
+            indent + "    parser.skipChildren();\n" +
+            indent + "  }\n";
+        }
+      } else {
+        body = null;
+      }
+    } else if (prop.isMap()) {
+      String declaration = "";
+      String consume;
+      String after = "";
+      if (prop.isAdder()) {
+        consume = "obj." + prop.getAdderMethod() + "(key, ";
+      } else if (prop.isSetter()) {
+        declaration = indent + "    java.util.Map<String, " + prop.getType().getName() + "> map = new java.util.LinkedHashMap<>();\n";
+        consume = "map.put(key, ";
+        after = indent + "    obj." + prop.getSetterMethod() + "(map);\n";
+      } else {
+        consume = null;
+      }
+      body = null;
+      if (consume != null) {
+        body = readValue(prop.getType(), indent + "      ", value -> consume + value + ");");
+        if (body != null) {
+          body =
+            indent + "  if (token == JsonToken.START_OBJECT) {\n" +
+            declaration +
+            indent + "    while (parser.nextToken() == JsonToken.FIELD_NAME) {\n" +
+            indent + "      String key = parser.currentName();\n" +
+            indent + "      token = parser.nextToken();\n" +
+            body +
+            indent + "    }\n" +
+            after +
+            indent + "  } else {\n" +
+            indent + "    parser.skipChildren();\n" +
+            indent + "  }\n";
+        }
+      }
+    } else if (prop.isSetter()) {
+      body = readValue(prop.getType(), indent + "  ", value -> "obj." + prop.getSetterMethod() + "(" + value + ");");
+    } else {
+      // Skipped by the default case
+      body = null;
+    }
+    if (body != null) {
+      writer.print(indent + "case \"" + jsonName(prop) + "\":\n");
+      writer.print(body);
+      writer.print(indent + "  break;\n");
+    }
+  }
+
+  /**
+   * Generate the code reading the value at the current {@code token} of the parser, the value is ignored when
+   * the JSON type does not match the type, like {@code fromJson} does.
+   *
+   * @param consume the statement consuming the expression of the value
+   * @return the code or {@code null} when the type is not handled by the converter
+   */
+  private String readValue(TypeInfo type, String indent, Function<String, String> consume) {
+    ClassKind kind = type.getKind();
+    if (kind.basic) {
+      if (kind == ClassKind.STRING) {
+        return readToken("token == JsonToken.VALUE_STRING", "parser.getText()", indent, consume);
+      }
+      switch (type.getSimpleName()) {
+        case "boolean":
+        case "Boolean":
+          return readToken("token.isBoolean()", "parser.getBooleanValue()", indent, consume);
+        case "byte":
+        case "Byte":
+          return readToken("token.isNumeric()", "(byte) parser.getIntValue()", indent, consume);
+        case "short":
+        case "Short":
+          return readToken("token.isNumeric()", "(short) parser.getIntValue()", indent, consume);
+        case "int":
+        case "Integer":
+          return readToken("token.isNumeric()", "parser.getIntValue()", indent, consume);
+        case "long":
+        case "Long":
+          return readToken("token.isNumeric()", "parser.getLongValue()", indent, consume);
+        case "float":
+        case "Float":
+          return readToken("token.isNumeric()", "parser.getFloatValue()", indent, consume);
+        case "double":
+        case "Double":
+          return readToken("token.isNumeric()", "parser.getDoubleValue()", indent, consume);
+        case "char":
+        case "Character":
+          return readToken("token == JsonToken.VALUE_STRING", "parser.getText().charAt(0)", indent, consume);
+        default:
+          return null;
+      }
+    }
+    DataObjectInfo dataObject = type.getDataObject();
+    if (dataObject != null) {
+      if (!dataObject.isDeserializable()) {
+        return null;
+      }
+      MapperInfo mapper = dataObject.getDeserializer();
+      String jsonType = mapper.getJsonType().getName();
+      String converter = mapper.getKind() == MapperKind.SELF && jsonType.equals("io.vertx.core.json.JsonObject") ? streamingConverter(type, true) : null;
+      if (converter != null) {
+        return
+          indent + "if (token == JsonToken.START_OBJECT) {\n" +
+          indent + "  " + type.getName() + " value = new " + type.getName() + "();\n" +
+          indent + "  " + converter + ".fromJson(parser, value);\n" +
+          indent + "  " + consume.apply("value") + "\n" +
+          indent + "} else {\n" +
+          indent + "  parser.skipChildren();\n" +
+          indent + "}\n";
+      }
+      String value;
+      switch (mapper.getKind()) {
+        case SELF:
+          value = "new " + type.getName() + "((" + jsonType + ") json)";
+          break;
+        case STATIC_METHOD:
+          value = mapper.getQualifiedName() + "." + String.join(".", mapper.getSelectors()) + "((" + jsonType + ") json)";
+          break;
+        default:
+          throw new AssertionError();
+      }
+      readJsonValue = true;
+      return
+        indent + "{\n" +
+        indent + "  Object json = readJsonValue(parser);\n" +
+        indent + "  if (json instanceof " + jsonType + ") {\n" +
+        indent + "    " + consume.apply(value) + "\n" +
+        indent + "  }\n" +
+        indent + "}\n";
+    }
+    switch (kind) {
+      case JSON_OBJECT:
+        readJsonValue = true;
+        return readToken("token == JsonToken.START_OBJECT", "(JsonObject) readJsonValue(parser)", indent, consume);
+      case JSON_ARRAY:
+        readJsonValue = true;
+        return readToken("token == JsonToken.START_ARRAY", "(JsonArray) readJsonValue(parser)", indent, consume);
+      case ENUM:
+        return readToken("token == JsonToken.VALUE_STRING", type.getName() + ".valueOf(parser.getText())", indent, consume);
+      case OBJECT:
+        readJsonValue = true;
+        return readToken("token != JsonToken.VALUE_NULL", "readJsonValue(parser)", indent, consume);
+      case OTHER:
+        if (type.getName().equals(Instant.class.getName())) {
+          return readToken("token == JsonToken.VALUE_STRING", "Instant.from(DateTimeFormatter.ISO_INSTANT.parse(parser.getText()))", indent, consume);
+        }
+        return null;
+      default:
+        return null;
+    }
+  }
+
+  private static String readToken(String condition, String value, String indent, Function<String, String> consume) {
+    return
+      indent + "if (" + condition + ") {\n" +
+      indent + "  " + consume.apply(value) + "\n" +
+      indent + "} else {\n" +
+      indent + "  parser.skipChildren();\n" +
+      indent + "}\n";
+  }
+
+  void genToJson(PrintWriter writer) {
+    String simpleName = model.getType().getSimpleName();
+    writer.print("  " + visibility + " static void toJson(" + simpleName + " obj, JsonGenerator generator) throws IOException {\n");
+    writer.print("    generator.writeStartObject();\n");
+    List<String> fragments = new ArrayList<>();
+    model.getPropertyMap().values().forEach(prop -> {
+      if (isWritten(prop)) {
+        StringWriter fragment = new StringWriter();
+        genPropToJson(prop, new PrintWriter(fragment));
+        fragments.add(fragment.toString());
+      }
+    });
+    MethodChunks chunks = MethodChunks.of(fragments)
+      .method("void", "toJsonMembers", simpleName + " obj, JsonGenerator generator", "obj, generator")
+      .throwing("IOException");
+    if (!chunks.isSplit()) {
+      writer.print(chunks.code());
+    } else {
+      chunks.writeCalls(writer, "    ", "");
+    }
+    writer.print("    generator.writeEndObject();\n");
+    writer.print("  }\n");
+    if (chunks.isSplit()) {
+      chunks.writeMethods(writer);
+    }
+  }
+
+  private void genPropToJson(PropertyInfo prop, PrintWriter writer) {
+    String indent = "    ";
+    String getter = "obj." + prop.getGetterMethod() + "()";
+    String elementType = prop.getType().getName();
+    if (prop.isList() || prop.isSet()) {
+      writer.print(indent + "if (" + getter + " != null) {\n");
+      writer.print(indent + "  generator.writeFieldName(" + fieldName(prop) + ");\n");
+      writer.print(indent + "  generator.writeStartArray();\n");
+      writer.print(indent + "  for (" + elementType + " item : " + getter + ") {\n");
+      writer.print(indent + "    if (item == null) {\n");
+      writer.print(indent + "      generator.writeNull();\n");
+      writer.print(indent + "    } else {\n");
+      writer.print(indent + "      " + writeValue(prop.getType(), "item") + "\n");
+      writer.print(indent + "    }\n");
+      writer.print(indent + "  }\n");
+      writer.print(indent + "  generator.writeEndArray();\n");
+      writer.print(indent + "}\n");
+    } else if (prop.isMap()) {
+      writer.print(indent + "if (" + getter + " != null) {\n");
+      writer.print(indent + "  generator.writeFieldName(" + fieldName(prop) + ");\n");
+      writer.print(indent + "  generator.writeStartObject();\n");
+      writer.print(indent + "  for (java.util.Map.Entry<String, " + elementType + "> entry : " + getter + ".entrySet()) {\n");
+      writer.print(indent + "    generator.writeFieldName(entry.getKey());\n");
+      writer.print(indent + "    if (entry.getValue() == null) {\n");
+      writer.print(indent + "      generator.writeNull();\n");
+      writer.print(indent + "    } else {\n");
+      writer.print(indent + "      " + writeValue(prop.getType(), "entry.getValue()") + "\n");
+      writer.print(indent + "    }\n");
+      writer.print(indent + "  }\n");
+      writer.print(indent + "  generator.writeEndObject();\n");
+      writer.print(indent + "}\n");
+    } else {
+      String sp = "";
+      if (prop.getType().getKind() != ClassKind.PRIMITIVE) {
+        sp = "  ";
+        writer.print(indent + "if (" + getter + " != null) {\n");
+      }
+      writer.print(indent + sp + "generator.writeFieldName(" + fieldName(prop) + ");\n");
+      writer.print(indent + sp + writeValue(prop.getType(), getter) + "\n");
+      if (prop.getType().getKind() != ClassKind.PRIMITIVE) {
+        writer.print(indent + "}\n");
+      }
+    }
+  }
+
+  /**
+   * @return whether the property is written by {@code toJson}
+   */
+  private boolean isWritten(PropertyInfo prop) {
+    return (prop.isDeclared() || inheritConverter) && prop.getGetterMethod() != null && prop.isJsonifiable() && writeValue(prop.getType(), "") != null;
+  }
+
+  /**
+   * Generate the statement writing a non null value, as {@code toJson} maps it.
+   *
+   * @return the statement or {@code null} when the type is not handled by the converter
+   */
+  private String writeValue(TypeInfo type, String value) {
+    ClassKind kind = type.getKind();
+    if (kind.basic) {
+      if (kind == ClassKind.STRING) {
+        return "generator.writeString(" + value + ");";
+      }
+      switch (type.getSimpleName()) {
+        case "boolean":
+        case "Boolean":
+          return "generator.writeBoolean(" + value + ");";
+        case "char":
+        case "Character":
+          return "generator.writeString(Character.toString(" + value + "));";
+        default:
+          return "generator.writeNumber(" + value + ");";
+      }
+    }
+    DataObjectInfo dataObject = type.getDataObject();
+    if (dataObject != null) {
+      if (!dataObject.isSerializable()) {
+        return null;
+      }
+      MapperInfo mapper = dataObject.getSerializer();
+      switch (mapper.getKind()) {
+        case SELF:
+          String converter = streamingConverter(type, false);
+          if (converter != null) {
+            return converter + ".toJson(" + value + ", generator);";
+          }
+          return "JacksonCodec.encodeJson(" + value + "." + String.join(".", mapper.getSelectors()) + "(), generator);";
+        case STATIC_METHOD:
+          return "JacksonCodec.encodeJson(" + mapper.getQualifiedName() + "." + String.join(".", mapper.getSelectors()) + "(" + value + "), generator);";
+        default:
+          throw new UnsupportedOperationException();
+      }
+    }
+    switch (kind) {
+      case ENUM:
+        return "generator.writeString(" + value + ".name());";
+      case JSON_OBJECT:
+      case JSON_ARRAY:
+      case OBJECT:
+        return "JacksonCodec.encodeJson(" + value + ", generator);";
+      case OTHER:
+        if (type.getName().equals(Instant.class.getName())) {
+          return "generator.writeString(DateTimeFormatter.ISO_INSTANT.format(" + value + "));";
+        }
+        return null;
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Generate the helper reading a JSON value as {@code JsonObject} decoding does, when the generated methods use it.
+   */
+  void genHelpers(PrintWriter writer) {
+    if (!readJsonValue) {
+      return;
+    }
+    writer.print("\n");
+    writer.print("  private static Object readJsonValue(JsonParser parser) throws IOException {\n");
+    writer.print("    switch (parser.currentToken()) {\n");
+    writer.print("      case START_OBJECT:\n");
+    writer.print("        JsonObject object = new JsonObject();\n");
+    writer.print("        while (parser.nextToken() == JsonToken.FIELD_NAME) {\n");
+    writer.print("          String name = parser.currentName();\n");
+    writer.print("          parser.nextToken();\n");
+    writer.print("          object.put(name, readJsonValue(parser));\n");
+    writer.print("        }\n");
+    writer.print("        return object;\n");
+    writer.print("      case START_ARRAY:\n");
+    writer.print("        JsonArray array = new JsonArray();\n");
+    writer.print("        while (parser.nextToken() != JsonToken.END_ARRAY) {\n");
+    writer.print("          array.add(readJsonValue(parser));\n");
+    writer.print("        }\n");
+    writer.print("        return array;\n");
+    writer.print("      case VALUE_STRING:\n");
+    writer.print("        return parser.getText();\n");
+    writer.print("      case VALUE_NUMBER_INT:\n");
+    writer.print("      case VALUE_NUMBER_FLOAT:\n");
+    writer.print("        return parser.getNumberValue();\n");
+    writer.print("      case VALUE_TRUE:\n");
+    writer.print("        return Boolean.TRUE;\n");
+    writer.print("      case VALUE_FALSE:\n");
+    writer.print("        return Boolean.FALSE;\n");
+    writer.print("      case VALUE_NULL:\n");
+    writer.print("        return null;\n");
+    writer.print("      default:\n");
+    writer.print("        throw new JsonParseException(parser, \"Unexpected token \" + parser.currentToken());\n");
+    writer.print("    }\n");
+    writer.print("  }\n");
+  }
+
+  /**
+   * Find the streaming converter of a nested data object, see {@link DataObjectJsonGen.NestedConverters#find}.
+   */
+  private String streamingConverter(TypeInfo type, boolean decode) {
+    return converters.find(type, decode, "streamingConverter", "jacksonModule");
+  }
+
+  private String jsonName(PropertyInfo prop) {
+    return LowerCamelCase.INSTANCE.to(formatter, prop.getName());
+  }
+
+  private static String fieldName(PropertyInfo prop) {
+    return "JSON_" + LowerCamelCase.INSTANCE.to(SnakeCase.INSTANCE, prop.getName()).toUpperCase();
+  }
+}
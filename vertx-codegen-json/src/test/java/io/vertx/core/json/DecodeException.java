@@ -0,0 +1,13 @@
+package io.vertx.core.json;
+
+import io.vertx.core.VertxException;
+
+/**
+ * Instances of this class are thrown when decoding invalid JSON, as Vert.x {@code DecodeException}.
+ */
+public class DecodeException extends VertxException {
+
+  public DecodeException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,52 @@
+package io.vertx.core.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.core.json.JsonWriteFeature;
+import io.vertx.core.json.jackson.JacksonCodec;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+/**
+ * Encodes and decodes JSON values the way Vert.x {@code Json} does.
+ * <p/>
+ * Mirrors {@code io.vertx.core.json.Json#encode(Object)} and {@code io.vertx.core.json.Json#decodeValue(String)}
+ * of the Vert.x core version managed by {@code vertx-dependencies}, which go through the {@code JsonFactory} of
+ * {@code io.vertx.core.json.jackson.JacksonCodec}: the Jackson default generator features, and C style comments
+ * allowed when parsing. The generated buffer writers are also checked against Vert.x core itself by
+ * {@code BufferWriterCompatibilityTest} in {@code vertx-codegen-benchmarks}.
+ */
+public class Json {
+
+  // The features the expected encoding depends on are set explicitly rather than inherited from the Jackson defaults
+  private static final JsonFactory FACTORY = JsonFactory.builder()
+    .enable(JsonWriteFeature.QUOTE_FIELD_NAMES)
+    .enable(JsonWriteFeature.WRITE_NAN_AS_STRINGS)
+    .disable(JsonWriteFeature.ESCAPE_NON_ASCII)
+    .disable(JsonWriteFeature.WRITE_NUMBERS_AS_STRINGS)
+    .enable(JsonReadFeature.ALLOW_JAVA_COMMENTS)
+    .build();
+
+  public static String encode(Object value) {
+    StringWriter out = new StringWriter();
+    try (JsonGenerator generator = FACTORY.createGenerator(out)) {
+      JacksonCodec.encodeJson(value, generator);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toString();
+  }
+
+  public static Object decodeValue(String str) {
+    try (JsonParser parser = FACTORY.createParser(str)) {
+      parser.nextToken();
+      return JacksonCodec.decodeJson(parser);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
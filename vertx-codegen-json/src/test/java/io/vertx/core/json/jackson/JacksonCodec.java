@@ -0,0 +1,104 @@
+package io.vertx.core.json.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static java.time.format.DateTimeFormatter.ISO_INSTANT;
+
+/**
+ * Encodes and decodes JSON values the way Vert.x encodes and decodes a {@code JsonObject}.
+ * <p/>
+ * Mirrors {@code io.vertx.core.json.jackson.JacksonCodec#encodeJson(Object, JsonGenerator)} and
+ * {@code JacksonCodec#decodeJson} for the values a data object converter produces, the {@code byte[]},
+ * {@code Buffer}, {@code BigInteger} and {@code BigDecimal} values Vert.x also encodes are not mirrored.
+ */
+public class JacksonCodec {
+
+  public static void encodeJson(Object json, JsonGenerator generator) {
+    try {
+      if (json instanceof JsonObject) {
+        json = ((JsonObject) json).getMap();
+      }
+      if (json instanceof Map) {
+        generator.writeStartObject();
+        for (Map.Entry<?, ?> e : ((Map<?, ?>) json).entrySet()) {
+          generator.writeFieldName((String) e.getKey());
+          encodeJson(e.getValue(), generator);
+        }
+        generator.writeEndObject();
+      } else if (json instanceof List || json instanceof JsonArray) {
+        generator.writeStartArray();
+        for (Object item : (Iterable<?>) json) {
+          encodeJson(item, generator);
+        }
+        generator.writeEndArray();
+      } else if (json instanceof String) {
+        generator.writeString((String) json);
+      } else if (json instanceof Integer || json instanceof Short || json instanceof Byte) {
+        generator.writeNumber(((Number) json).intValue());
+      } else if (json instanceof Long) {
+        generator.writeNumber((long) json);
+      } else if (json instanceof Float) {
+        generator.writeNumber((float) json);
+      } else if (json instanceof Double) {
+        generator.writeNumber((double) json);
+      } else if (json instanceof Boolean) {
+        generator.writeBoolean((Boolean) json);
+      } else if (json instanceof Instant) {
+        generator.writeString(ISO_INSTANT.format((Instant) json));
+      } else if (json instanceof Enum) {
+        generator.writeString(((Enum<?>) json).name());
+      } else if (json == null) {
+        generator.writeNull();
+      } else {
+        throw new IllegalArgumentException("Mapping " + json.getClass().getName() + "  is not available");
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public static Object decodeJson(JsonParser parser) throws IOException {
+    switch (parser.currentToken()) {
+      case START_OBJECT: {
+        JsonObject object = new JsonObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String name = parser.getCurrentName();
+          parser.nextToken();
+          object.put(name, decodeJson(parser));
+        }
+        return object;
+      }
+      case START_ARRAY: {
+        JsonArray array = new JsonArray();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+          array.add(decodeJson(parser));
+        }
+        return array;
+      }
+      case VALUE_STRING:
+        return parser.getText();
+      case VALUE_NUMBER_INT:
+        return parser.getNumberValue();
+      case VALUE_NUMBER_FLOAT:
+        return parser.getDoubleValue();
+      case VALUE_TRUE:
+        return Boolean.TRUE;
+      case VALUE_FALSE:
+        return Boolean.FALSE;
+      case VALUE_NULL:
+        return null;
+      default:
+        throw new IllegalStateException("Unexpected token " + parser.currentToken());
+    }
+  }
+}
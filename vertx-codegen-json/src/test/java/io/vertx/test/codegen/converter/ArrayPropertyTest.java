@@ -0,0 +1,51 @@
+package io.vertx.test.codegen.converter;
+
+import io.vertx.codegen.processor.Compiler;
+import io.vertx.codegen.processor.Processor;
+import org.junit.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Array properties are not mapped by the JSON converter, a data object declaring one fails instead of losing it.
+ */
+public class ArrayPropertyTest {
+
+  private static final String PACKAGE = "io.vertx.test.codegen.arrays";
+
+  @Test
+  public void testArrayPropertyIsRejected() throws Exception {
+    File sources = Files.createTempDirectory("arrays").toFile();
+    File dir = new File(sources, PACKAGE.replace('.', '/'));
+    assertTrue(dir.mkdirs());
+    File packageInfo = new File(dir, "package-info.java");
+    File dataObject = new File(dir, "ArrayDataObject.java");
+    Files.write(packageInfo.toPath(), ("@io.vertx.codegen.annotations.ModuleGen(name = \"arrays\", groupPackage = \"" + PACKAGE + "\")\n" +
+      "package " + PACKAGE + ";\n").getBytes(StandardCharsets.UTF_8));
+    Files.write(dataObject.toPath(), ("package " + PACKAGE + ";\n" +
+      "@io.vertx.codegen.annotations.DataObject\n" +
+      "@io.vertx.codegen.json.annotations.JsonGen(publicConverter = false)\n" +
+      "public class ArrayDataObject {\n" +
+      "  private int[] values;\n" +
+      "  public ArrayDataObject() {}\n" +
+      "  public ArrayDataObject(io.vertx.core.json.JsonObject json) {}\n" +
+      "  public int[] getValues() { return values; }\n" +
+      "  public ArrayDataObject setValues(int[] values) { this.values = values; return this; }\n" +
+      "}\n").getBytes(StandardCharsets.UTF_8));
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    Compiler compiler = new Compiler(new Processor(), diagnostics);
+    assertFalse(compiler.compile(packageInfo, dataObject));
+    assertTrue(diagnostics.getDiagnostics().toString(), diagnostics.getDiagnostics()
+      .stream()
+      .anyMatch(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR &&
+        diagnostic.getMessage(null).contains("array property values of type int[]")));
+  }
+}
@@ -0,0 +1,190 @@
+package io.vertx.test.codegen.converter;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class BufferReaderTest {
+
+  private static Buffer buffer(String json) {
+    return Buffer.buffer(json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static StreamingDataObject decode(String json) {
+    StreamingDataObject obj = new StreamingDataObject();
+    StreamingDataObjectConverter.fromJson(buffer(json), obj);
+    return obj;
+  }
+
+  private static JsonObject toJson(StreamingDataObject obj) {
+    JsonObject json = new JsonObject();
+    StreamingDataObjectConverter.toJson(obj, json);
+    return json;
+  }
+
+  private static void assertDecoding(JsonObject json) {
+    StreamingDataObject tree = new StreamingDataObject(json);
+    assertEquals(toJson(tree), toJson(decode(Json.encode(json))));
+  }
+
+  @Test
+  public void testFromJson() {
+    StreamingDataObject expected = StreamingConverterTest.dataObject();
+    StreamingDataObject obj = decode(Json.encode(toJson(expected)));
+    // Null list elements and map values are ignored, as the tree path does
+    assertEquals(toJson(new StreamingDataObject(toJson(expected))), toJson(obj));
+    assertEquals(Arrays.asList("a", "c"), obj.getStringList());
+    assertEquals(Arrays.asList("k1", "k2"), obj.getKeywords());
+    assertEquals("nested", obj.getNested().getNestedName());
+    assertEquals(7, obj.getNested().getNestedCount());
+  }
+
+  @Test
+  public void testFromJsonEmpty() {
+    assertEquals(toJson(new StreamingDataObject()), toJson(decode("{}")));
+    assertEquals(toJson(new StreamingDataObject()), toJson(decode(" \r\n\t{ \n} ")));
+  }
+
+  @Test
+  public void testFromJsonMatchesTree() {
+    JsonObject json = new JsonObject()
+      .put("unknown", new JsonObject().put("string", "ignored").put("array", new JsonArray().add(new JsonArray()).add(-1.5e-3)))
+      .put("string", 4)
+      .put("primitiveInt", 3.9d)
+      .put("primitiveByte", 300)
+      .put("boxedInteger", "not a number")
+      .put("boxedDouble", null)
+      .put("enumValue", "DAYS")
+      .put("nested", "not an object")
+      .put("autoMapped", new JsonObject().put("host", "localhost").put("port", 80))
+      .put("stringList", new JsonArray().add("a").add(1).add(new JsonObject()).add("b"))
+      .put("integerMap", new JsonObject().put("a", 1).put("b", "two"))
+      .put("jsonObject", new JsonArray())
+      .put("object", null)
+      .put("primitiveBoolean", true);
+    assertDecoding(json);
+    StreamingDataObject obj = decode(Json.encode(json));
+    assertNull(obj.getString());
+    assertEquals(3, obj.getPrimitiveInt());
+    assertEquals((byte) 300, obj.getPrimitiveByte());
+    assertEquals(TimeUnit.DAYS, obj.getEnumValue());
+    assertEquals(AutoMapped.of("localhost", 80), obj.getAutoMapped());
+    assertEquals(Arrays.asList("a", "b"), obj.getStringList());
+    assertEquals(Collections.singletonMap("a", 1), obj.getIntegerMap());
+    assertEquals(true, obj.isPrimitiveBoolean());
+  }
+
+  @Test
+  public void testNumbers() {
+    String[] numbers = {
+      "0", "-0", "7", "-12", "2147483647", "2147483648", "-2147483649", "9223372036854775807", "-9223372036854775808",
+      "9223372036854775808", "123456789012345678901234567890", "1.5", "-0.1", "1e2", "1E-2", "2.5e+3", "0.1e1",
+      "3.9", "-3.9", "1e400", "4.9e-324", "123456789.123456789", "9007199254740993", "1.7976931348623157e308"
+    };
+    for (String number : numbers) {
+      String text = "{\"primitiveByte\":" + number + ",\"primitiveShort\":" + number + ",\"primitiveInt\":" + number
+        + ",\"primitiveLong\":" + number + ",\"primitiveFloat\":" + number + ",\"primitiveDouble\":" + number
+        + ",\"boxedInteger\":" + number + ",\"boxedDouble\":" + number + ",\"object\":" + number
+        + ",\"integerMap\":{\"n\":" + number + "}}";
+      JsonObject json = (JsonObject) Json.decodeValue(text);
+      StreamingDataObject tree = new StreamingDataObject(json);
+      StreamingDataObject obj = decode(text);
+      assertEquals(number, toJson(tree), toJson(obj));
+      assertEquals(number, json.getValue("object"), obj.getObject());
+    }
+    assertEquals(new BigInteger("123456789012345678901234567890"), decode("{\"object\":123456789012345678901234567890}").getObject());
+  }
+
+  @Test
+  public void testStrings() {
+    String[] strings = {
+      "",
+      "ascii",
+      "quote \" backslash \\ slash /",
+      "\b\t\n\f\r\u0000\u0001\u001f\u007f",
+      "caf\u00e9 \u20ac \u4e2d\u6587",
+      "\ud83d\ude00 surrogate pair",
+    };
+    for (String s : strings) {
+      assertDecoding(new JsonObject()
+        .put("string", s)
+        .put("stringList", new JsonArray().add(s))
+        .put("object", s)
+        .put("jsonObject", new JsonObject().put(s, s))
+        .put("integerMap", new JsonObject().put(s, 1)));
+    }
+    assertEquals("A/\u00e9\ud83d\ude00", decode("{\"string\":\"\\u0041\\/\\u00E9\\ud83d\\ude00\"}").getString());
+  }
+
+  @Test
+  public void testEscapedPropertyName() {
+    StreamingDataObject obj = decode("{\"\\u0073tring\":\"s\",\"primitive\\u0049nt\":5}");
+    assertEquals("s", obj.getString());
+    assertEquals(5, obj.getPrimitiveInt());
+  }
+
+  @Test
+  public void testWhitespace() {
+    StreamingDataObject obj = decode("{ \"string\" : \"s\" ,\n\"stringList\" : [ \"a\" , \"b\" ] ,\t\"integerMap\" : { \"a\" : 1 } ,"
+      + " \"nested\" : { \"nested_name\" : \"n\" } , \"unknown\" : [ { } , [ ] , true , null ] }");
+    assertEquals("s", obj.getString());
+    assertEquals(Arrays.asList("a", "b"), obj.getStringList());
+    assertEquals(Collections.singletonMap("a", 1), obj.getIntegerMap());
+    assertEquals("n", obj.getNested().getNestedName());
+  }
+
+  @Test
+  public void testFromJsonReturnsPosition() {
+    Buffer buffer = buffer("[{\"nested\":{\"nested_name\":\"a\",\"nested_count\":1},\"string\":\"s\"}, {\"string\":\"t\"}]");
+    StreamingDataObject first = new StreamingDataObject();
+    int pos = StreamingDataObjectConverter.fromJson(buffer, 1, first);
+    assertEquals(',', buffer.getByte(pos));
+    StreamingDataObject second = new StreamingDataObject();
+    pos = StreamingDataObjectConverter.fromJson(buffer, pos + 1, second);
+    assertEquals(buffer.length() - 1, pos);
+    assertEquals("s", first.getString());
+    assertEquals("a", first.getNested().getNestedName());
+    assertEquals(1, first.getNested().getNestedCount());
+    assertEquals("t", second.getString());
+  }
+
+  @Test
+  public void testMalformed() {
+    assertMalformed("", "Unexpected end of JSON input at offset 0");
+    assertMalformed("[]", "Unexpected character '[' at offset 0");
+    assertMalformed("{\"string\":\"s\"", "Unexpected end of JSON input at offset 13");
+    assertMalformed("{\"string\" \"s\"}", "Unexpected character '\"' at offset 10");
+    assertMalformed("{\"string\":\"s\",}", "Unexpected character '}' at offset 14");
+    assertMalformed("{\"string\":\"s\"} x", "Unexpected character 'x' at offset 15");
+    assertMalformed("{\"primitiveInt\":01}", "Unexpected character '1' at offset 17");
+    assertMalformed("{\"primitiveInt\":-}", "Unexpected character '}' at offset 17");
+    assertMalformed("{\"primitiveInt\":1.}", "Unexpected character '}' at offset 18");
+    assertMalformed("{\"primitiveBoolean\":tru}", "Unexpected character '}' at offset 23");
+    assertMalformed("{\"string\":\"a\nb\"}", "Unexpected byte 0x0A at offset 12");
+    assertMalformed("{\"string\":\"\\x\"}", "Unexpected character 'x' at offset 12");
+    assertMalformed("{\"unknown\":[1 2]}", "Unexpected character '2' at offset 14");
+    assertMalformed("{\"nested\":{\"nested_name\":}}", "Unexpected character '}' at offset 25");
+  }
+
+  private static void assertMalformed(String json, String message) {
+    try {
+      decode(json);
+      fail("Expected " + json + " to be rejected");
+    } catch (DecodeException e) {
+      assertEquals(json, message, e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,142 @@
+package io.vertx.test.codegen.converter;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class BufferWriterTest {
+
+  private static String encode(StreamingDataObject obj) {
+    JsonObject json = new JsonObject();
+    StreamingDataObjectConverter.toJson(obj, json);
+    return Json.encode(json);
+  }
+
+  private static void assertEncoding(StreamingDataObject obj) {
+    // Compare the bytes, unpaired surrogates are encoded to ? as String#getBytes does
+    Buffer expected = Buffer.buffer(encode(obj).getBytes(StandardCharsets.UTF_8));
+    assertEquals(expected, StreamingDataObjectConverter.toJsonBuffer(obj));
+  }
+
+  @Test
+  public void testToJsonBuffer() {
+    assertEncoding(StreamingConverterTest.dataObject());
+  }
+
+  @Test
+  public void testToJsonBufferEmpty() {
+    assertEncoding(new StreamingDataObject());
+  }
+
+  @Test
+  public void testAppend() {
+    StreamingDataObject obj = StreamingConverterTest.dataObject();
+    Buffer buffer = Buffer.buffer().appendString("data: ");
+    StreamingDataObjectConverter.toJsonBuffer(obj, buffer);
+    assertEquals("data: " + encode(obj), new String(buffer.getBytes(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testStrings() {
+    String[] strings = {
+      "",
+      "ascii",
+      "quote \" backslash \\ slash /",
+      "\b\t\n\f\r\u0000\u0001\u001f\u007f",
+      "caf\u00e9 \u20ac \u4e2d\u6587",
+      "\ud83d\ude00 surrogate pair",
+      "unpaired \ud83d high and \ude00 low",
+    };
+    for (String s : strings) {
+      assertEncoding(new StreamingDataObject()
+        .setString(s)
+        .setPrimitiveChar(s.isEmpty() ? 'x' : s.charAt(0))
+        .setStringList(Arrays.asList(s, null))
+        .setObject(s)
+        .setJsonObject(new JsonObject().put(s, s))
+        .setNested(new StreamingNestedDataObject(s, 0)));
+    }
+  }
+
+  @Test
+  public void testNumbers() {
+    long[] longs = { 0, 1, -1, 9, 10, 99, 100, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1, 1_000_000_000_000L };
+    for (long l : longs) {
+      assertEncoding(new StreamingDataObject()
+        .setPrimitiveLong(l)
+        .setPrimitiveInt((int) l)
+        .setPrimitiveShort((short) l)
+        .setPrimitiveByte((byte) l)
+        .setBoxedInteger((int) l)
+        .setObject(l)
+        .setIntegerMap(Collections.singletonMap("value", (int) l)));
+    }
+    double[] doubles = { 0d, -0d, 1.5d, -0.1d, 1e-10d, 1e300d, Double.MIN_VALUE, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY };
+    for (double d : doubles) {
+      assertEncoding(new StreamingDataObject()
+        .setPrimitiveDouble(d)
+        .setPrimitiveFloat((float) d)
+        .setBoxedDouble(d)
+        .setJsonArray(new JsonArray().add(d).add((float) d)));
+    }
+  }
+
+  @Test
+  public void testInstants() {
+    Instant[] instants = {
+      Instant.EPOCH,
+      Instant.ofEpochSecond(-1),
+      Instant.ofEpochSecond(951_782_400L),
+      Instant.ofEpochSecond(1_700_000_000L, 1_000_000),
+      Instant.ofEpochSecond(1_700_000_000L, 1_000),
+      Instant.ofEpochSecond(1_700_000_000L, 1),
+      Instant.ofEpochSecond(1_700_000_000L, 999_999_999),
+      Instant.parse("0000-01-01T00:00:00Z"),
+      Instant.parse("9999-12-31T23:59:59.999Z"),
+      Instant.parse("+10000-01-01T00:00:00Z"),
+      Instant.parse("-0001-12-31T23:59:59Z"),
+      Instant.MIN,
+      Instant.MAX,
+    };
+    for (Instant instant : instants) {
+      assertInstantEncoding(instant);
+    }
+    Random random = new Random(0);
+    for (int i = 0; i < 1000; i++) {
+      assertInstantEncoding(Instant.ofEpochSecond(random.nextLong() % 253_402_300_800L, random.nextInt(1_000_000_000)));
+    }
+  }
+
+  private static void assertInstantEncoding(Instant instant) {
+    assertEncoding(new StreamingDataObject()
+      .setInstant(instant)
+      .setInstantList(Collections.singletonList(instant))
+      .setObject(instant));
+  }
+
+  @Test
+  public void testJsonValues() {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("list", Arrays.asList(1, 2L, null, true, "s"));
+    map.put("empty", new JsonObject());
+    map.put("instant", Instant.EPOCH);
+    map.put("enum", java.util.concurrent.TimeUnit.DAYS);
+    assertEncoding(new StreamingDataObject()
+      .setObject(map)
+      .setJsonObject(new JsonObject(map))
+      .setJsonArray(new JsonArray().add(new JsonArray()).add(new JsonObject(map)))
+      .setJsonObjectList(Arrays.asList(new JsonObject(), null, new JsonObject(map))));
+  }
+}
@@ -0,0 +1,92 @@
+package io.vertx.test.codegen.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vertx.codegen.processor.Compiler;
+import io.vertx.codegen.processor.Processor;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class JacksonModuleTest {
+
+  private static StreamingDataObject dataObject() {
+    return new StreamingDataObject()
+      .setString("the string")
+      .setPrimitiveInt(4)
+      .setInstant(Instant.EPOCH)
+      .setJsonObject(new JsonObject().put("key", "value"))
+      .setNested(new StreamingNestedDataObject("nested", 1))
+      .setNestedList(Arrays.asList(new StreamingNestedDataObject("a", 2), new StreamingNestedDataObject("b", 3)))
+      .setIntegerMap(Collections.singletonMap("one", 1))
+      .addKeyword("keyword");
+  }
+
+  private static JsonObject toJson(StreamingDataObject obj) {
+    JsonObject json = new JsonObject();
+    StreamingDataObjectConverter.toJson(obj, json);
+    return json;
+  }
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    ObjectMapper mapper = new ObjectMapper().registerModule(new VertxJacksonModule());
+    StreamingDataObject obj = dataObject();
+    String json = mapper.writeValueAsString(obj);
+    assertEquals(toJson(obj), toJson(mapper.readValue(json, StreamingDataObject.class)));
+  }
+
+  @Test
+  public void testSerializeWithConverter() throws IOException {
+    ObjectMapper mapper = new ObjectMapper().registerModule(new VertxJacksonModule());
+    StreamingDataObject obj = dataObject();
+    assertEquals(mapper.writeValueAsString(obj), StreamingConverterTest.encodeStreaming(obj));
+  }
+
+  @Test
+  public void testServiceLoader() {
+    ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+    assertTrue(mapper.getRegisteredModuleIds().contains(new VertxJacksonModule().getModuleName()));
+  }
+
+  @Test
+  public void testModuleGeneratorsNeedOption() throws Exception {
+    assertEquals("org.gradle.annotation.processing.isolating", gradleIncrementalMode(false));
+    assertEquals("org.gradle.annotation.processing.aggregating", gradleIncrementalMode(true));
+  }
+
+  private static String gradleIncrementalMode(boolean jacksonModule) throws Exception {
+    File sources = Files.createTempDirectory("jackson").toFile();
+    File dir = new File(sources, "io/vertx/test/codegen/jackson");
+    assertTrue(dir.mkdirs());
+    File packageInfo = new File(dir, "package-info.java");
+    File dataObject = new File(dir, "Mapped.java");
+    Files.write(packageInfo.toPath(), ("@io.vertx.codegen.annotations.ModuleGen(name = \"jackson\", groupPackage = \"io.vertx.test.codegen.jackson\")\n" +
+      "package io.vertx.test.codegen.jackson;\n").getBytes(StandardCharsets.UTF_8));
+    Files.write(dataObject.toPath(), ("package io.vertx.test.codegen.jackson;\n" +
+      "@io.vertx.codegen.annotations.DataObject\n" +
+      "@io.vertx.codegen.json.annotations.JsonGen(publicConverter = false)\n" +
+      "public class Mapped {\n" +
+      "  public Mapped() {}\n" +
+      "  public Mapped(io.vertx.core.json.JsonObject json) {}\n" +
+      "}\n").getBytes(StandardCharsets.UTF_8));
+    Processor processor = new Processor();
+    Compiler compiler = new Compiler(processor);
+    if (jacksonModule) {
+      compiler.addOption("-Acodegen.jacksonModule=true");
+    }
+    assertTrue(compiler.compile(packageInfo, dataObject));
+    Set<String> options = processor.getSupportedOptions();
+    return options.stream().filter(option -> option.startsWith("org.gradle.annotation.processing.")).findFirst().orElse(null);
+  }
+}
@@ -0,0 +1,176 @@
+package io.vertx.test.codegen.converter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import io.vertx.codegen.processor.Compiler;
+import io.vertx.codegen.processor.Processor;
+import io.vertx.codegen.processor.writer.MethodChunks;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.test.codegen.MethodSizes;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import java.io.File;
+import java.io.StringWriter;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compiles a data object with hundreds of properties, its converter methods must remain small enough to be JIT compiled.
+ */
+public class LargeDataObjectTest {
+
+  private static final int PROPERTIES = 500;
+  private static final String PACKAGE = "io.vertx.test.codegen.large";
+
+  private static File classes;
+
+  @BeforeClass
+  public static void compile() throws Exception {
+    File sources = Files.createTempDirectory("large").toFile();
+    File dir = new File(sources, PACKAGE.replace('.', '/'));
+    assertTrue(dir.mkdirs());
+    File packageInfo = new File(dir, "package-info.java");
+    File dataObject = new File(dir, "LargeDataObject.java");
+    Files.write(packageInfo.toPath(), ("@io.vertx.codegen.annotations.ModuleGen(name = \"large\", groupPackage = \"" + PACKAGE + "\")\n" +
+      "package " + PACKAGE + ";\n").getBytes(StandardCharsets.UTF_8));
+    Files.write(dataObject.toPath(), dataObjectSource().getBytes(StandardCharsets.UTF_8));
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    Compiler compiler = new Compiler(new Processor(), diagnostics);
+    assertTrue(diagnostics.getDiagnostics().toString(), compiler.compile(packageInfo, dataObject));
+    classes = compiler.getClassOutput();
+  }
+
+  private static String dataObjectSource() {
+    StringBuilder source = new StringBuilder();
+    source.append("package " + PACKAGE + ";\n");
+    source.append("\n");
+    source.append("import io.vertx.codegen.annotations.DataObject;\n");
+    source.append("import io.vertx.codegen.json.annotations.JsonGen;\n");
+    source.append("import io.vertx.core.json.JsonObject;\n");
+    source.append("\n");
+    source.append("@DataObject\n");
+    source.append("@JsonGen(streamingConverter = true, bufferWriter = true, bufferReader = true)\n");
+    source.append("public class LargeDataObject {\n");
+    for (int i = 0; i < PROPERTIES; i++) {
+      String type = propertyType(i);
+      source.append("  private " + type + " property" + i + ";\n");
+      source.append("  public " + type + " getProperty" + i + "() { return property" + i + "; }\n");
+      source.append("  public LargeDataObject setProperty" + i + "(" + type + " value) { property" + i + " = value; return this; }\n");
+    }
+    source.append("  public LargeDataObject() { }\n");
+    source.append("  public LargeDataObject(JsonObject json) { LargeDataObjectConverter.fromJson(json, this); }\n");
+    source.append("  public JsonObject toJson() { JsonObject json = new JsonObject(); LargeDataObjectConverter.toJson(this, json); return json; }\n");
+    source.append("}\n");
+    return source.toString();
+  }
+
+  private static String propertyType(int i) {
+    switch (i % 10) {
+      case 0:
+        return "String";
+      case 1:
+        return "int";
+      case 2:
+        return "Integer";
+      case 3:
+        return "long";
+      case 4:
+        return "double";
+      case 5:
+        return "boolean";
+      case 6:
+        return "java.util.List<String>";
+      case 7:
+        return "java.util.Map<String, Integer>";
+      case 8:
+        return "java.time.Instant";
+      default:
+        return "java.util.concurrent.TimeUnit";
+    }
+  }
+
+  private static Object propertyValue(int i) {
+    switch (i % 10) {
+      case 0:
+        return "value" + i;
+      case 1:
+      case 2:
+        return i;
+      case 3:
+        return (long) i;
+      case 4:
+        return i + 0.5d;
+      case 5:
+        return true;
+      case 6:
+        return new JsonArray().add("value" + i);
+      case 7:
+        return new JsonObject().put("key", i);
+      case 8:
+        return Instant.ofEpochSecond(i).toString();
+      default:
+        return "SECONDS";
+    }
+  }
+
+  @Test
+  public void testMethodSizes() throws Exception {
+    Map<String, Integer> sizes = MethodSizes.of(new File(classes, PACKAGE.replace('.', '/') + "/LargeDataObjectConverter.class"));
+    sizes.forEach((method, size) -> {
+      // The static initializer only runs once
+      if (!method.startsWith("<clinit>")) {
+        assertTrue(method + " has " + size + " bytes of bytecode", size < MethodChunks.HUGE_METHOD_LIMIT);
+      }
+    });
+    assertTrue(sizes.containsKey("fromJsonMember1(Ljava/util/Map$Entry;L" + PACKAGE.replace('.', '/') + "/LargeDataObject;)V"));
+    assertTrue(sizes.containsKey("fromJsonMember1(Lcom/fasterxml/jackson/core/JsonParser;Lcom/fasterxml/jackson/core/JsonToken;Ljava/lang/String;L" + PACKAGE.replace('.', '/') + "/LargeDataObject;)V"));
+    assertTrue(sizes.containsKey("fromJsonMember1(Lio/vertx/core/buffer/Buffer;IIL" + PACKAGE.replace('.', '/') + "/LargeDataObject;)I"));
+    assertTrue(sizes.keySet().stream().anyMatch(method -> method.startsWith("toJsonMembers1(")));
+  }
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    JsonObject json = new JsonObject();
+    for (int i = 0; i < PROPERTIES; i++) {
+      json.put("property" + i, propertyValue(i));
+    }
+    try (URLClassLoader loader = new URLClassLoader(new URL[]{classes.toURI().toURL()}, getClass().getClassLoader())) {
+      Class<?> type = loader.loadClass(PACKAGE + ".LargeDataObject");
+      Object obj = type.getConstructor(JsonObject.class).newInstance(json);
+      Method toJson = type.getMethod("toJson");
+      assertEquals(json, toJson.invoke(obj));
+      String encoded = Json.encode(toJson.invoke(obj));
+      Class<?> converter = loader.loadClass(PACKAGE + ".LargeDataObjectConverter");
+      Buffer buffer = (Buffer) converter.getMethod("toJsonBuffer", type).invoke(null, obj);
+      assertEquals(encoded, new String(buffer.getBytes(), StandardCharsets.UTF_8));
+      Object decoded = type.getConstructor().newInstance();
+      converter.getMethod("fromJson", Buffer.class, type).invoke(null, buffer, decoded);
+      assertEquals(json, toJson.invoke(decoded));
+      StringWriter text = new StringWriter();
+      try (JsonGenerator generator = new JsonFactory().createGenerator(text)) {
+        converter.getMethod("toJson", type, JsonGenerator.class).invoke(null, obj, generator);
+      }
+      assertEquals(encoded, text.toString());
+      decoded = type.getConstructor().newInstance();
+      try (JsonParser parser = new JsonFactory().createParser(text.toString())) {
+        converter.getMethod("fromJson", JsonParser.class, type).invoke(null, parser, decoded);
+      }
+      assertEquals(json, toJson.invoke(decoded));
+    }
+  }
+}
@@ -0,0 +1,171 @@
+package io.vertx.test.codegen.converter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.jackson.JacksonCodec;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class StreamingConverterTest {
+
+  private static final JsonFactory FACTORY = new JsonFactory();
+
+  static StreamingDataObject dataObject() {
+    Map<String, Integer> integerMap = new LinkedHashMap<>();
+    integerMap.put("one", 1);
+    integerMap.put("none", null);
+    integerMap.put("minus", -4);
+    Map<String, StreamingNestedDataObject> nestedMap = new LinkedHashMap<>();
+    nestedMap.put("first", new StreamingNestedDataObject("first", 1));
+    nestedMap.put("second", new StreamingNestedDataObject(null, 2));
+    return new StreamingDataObject()
+      .setString("the \"string\"\n")
+      .setPrimitiveBoolean(true)
+      .setPrimitiveByte((byte) -3)
+      .setPrimitiveShort((short) 1000)
+      .setPrimitiveInt(Integer.MIN_VALUE)
+      .setPrimitiveLong(Long.MAX_VALUE)
+      .setPrimitiveFloat(1.25f)
+      .setPrimitiveDouble(-0.1d)
+      .setPrimitiveChar('c')
+      .setBoxedInteger(42)
+      .setBoxedChar('\u00e9')
+      .setEnumValue(TimeUnit.MINUTES)
+      .setInstant(Instant.ofEpochSecond(1_700_000_000L, 5_000))
+      .setJsonObject(new JsonObject().put("nested", new JsonObject().put("array", new JsonArray().add(1).add("two").add(null))).put("flag", false))
+      .setJsonArray(new JsonArray().add(3.5d).add(new JsonObject().put("key", "value")))
+      .setObject("object")
+      .setNested(new StreamingNestedDataObject("nested", 7))
+      .setNotStreamingNested(new NestedJsonObjectDataObject().setValue("not streaming"))
+      .setAutoMapped(AutoMapped.of("vertx.io", 8080))
+      .setStringList(Arrays.asList("a", null, "c"))
+      .setNestedList(Arrays.asList(new StreamingNestedDataObject("a", 1), new StreamingNestedDataObject("b", 2)))
+      .setEnumSet(EnumSet.of(TimeUnit.SECONDS, TimeUnit.HOURS))
+      .setInstantList(Collections.singletonList(Instant.EPOCH))
+      .setJsonObjectList(Arrays.asList(new JsonObject().put("x", 1), new JsonObject()))
+      .setIntegerMap(integerMap)
+      .setNestedMap(nestedMap)
+      .addKeyword("k1")
+      .addKeyword("k2");
+  }
+
+  private static String encodeTree(StreamingDataObject obj) throws IOException {
+    JsonObject json = new JsonObject();
+    StreamingDataObjectConverter.toJson(obj, json);
+    StringWriter out = new StringWriter();
+    try (JsonGenerator generator = FACTORY.createGenerator(out)) {
+      JacksonCodec.encodeJson(json, generator);
+    }
+    return out.toString();
+  }
+
+  static String encodeStreaming(StreamingDataObject obj) throws IOException {
+    StringWriter out = new StringWriter();
+    try (JsonGenerator generator = FACTORY.createGenerator(out)) {
+      StreamingDataObjectConverter.toJson(obj, generator);
+    }
+    return out.toString();
+  }
+
+  private static StreamingDataObject decodeStreaming(String json) throws IOException {
+    StreamingDataObject obj = new StreamingDataObject();
+    try (JsonParser parser = FACTORY.createParser(json)) {
+      StreamingDataObjectConverter.fromJson(parser, obj);
+    }
+    return obj;
+  }
+
+  private static JsonObject toJson(StreamingDataObject obj) {
+    JsonObject json = new JsonObject();
+    StreamingDataObjectConverter.toJson(obj, json);
+    return json;
+  }
+
+  @Test
+  public void testToJson() throws IOException {
+    StreamingDataObject obj = dataObject();
+    assertEquals(encodeTree(obj), encodeStreaming(obj));
+  }
+
+  @Test
+  public void testToJsonEmpty() throws IOException {
+    StreamingDataObject obj = new StreamingDataObject();
+    assertEquals(encodeTree(obj), encodeStreaming(obj));
+  }
+
+  @Test
+  public void testFromJson() throws IOException {
+    StreamingDataObject expected = dataObject();
+    StreamingDataObject obj = decodeStreaming(encodeTree(expected));
+    // Null list elements and map values are ignored, as the tree path does
+    assertEquals(toJson(new StreamingDataObject(toJson(expected))), toJson(obj));
+    assertEquals(Arrays.asList("a", "c"), obj.getStringList());
+    assertEquals(new JsonObject().put("nested", new JsonObject().put("array", new JsonArray().add(1).add("two").add(null))).put("flag", false), obj.getJsonObject());
+    assertEquals(Arrays.asList("k1", "k2"), obj.getKeywords());
+  }
+
+  @Test
+  public void testFromJsonMatchesTree() throws IOException {
+    JsonObject json = new JsonObject()
+      .put("unknown", new JsonObject().put("string", "ignored").put("array", new JsonArray().add(new JsonArray())))
+      .put("string", 4)
+      .put("primitiveInt", 3.9d)
+      .put("boxedInteger", "not a number")
+      .put("enumValue", "DAYS")
+      .put("nested", "not an object")
+      .put("autoMapped", new JsonObject().put("host", "localhost").put("port", 80))
+      .put("stringList", new JsonArray().add("a").add(1).add(new JsonObject()).add("b"))
+      .put("integerMap", new JsonObject().put("a", 1).put("b", "two"))
+      .put("object", null)
+      .put("primitiveBoolean", true);
+    StringWriter out = new StringWriter();
+    try (JsonGenerator generator = FACTORY.createGenerator(out)) {
+      JacksonCodec.encodeJson(json, generator);
+    }
+    StreamingDataObject tree = new StreamingDataObject(json);
+    StreamingDataObject streaming = decodeStreaming(out.toString());
+    assertEquals(toJson(tree), toJson(streaming));
+    assertNull(streaming.getString());
+    assertEquals(3, streaming.getPrimitiveInt());
+    assertEquals(TimeUnit.DAYS, streaming.getEnumValue());
+    assertEquals(AutoMapped.of("localhost", 80), streaming.getAutoMapped());
+    assertEquals(Arrays.asList("a", "b"), streaming.getStringList());
+    assertEquals(Collections.singletonMap("a", 1), streaming.getIntegerMap());
+    assertEquals(true, streaming.isPrimitiveBoolean());
+  }
+
+  @Test
+  public void testFromJsonStopsAtEndOfObject() throws IOException {
+    try (JsonParser parser = FACTORY.createParser("[{\"nested\":{\"nested_name\":\"a\",\"nested_count\":1},\"string\":\"s\"},{\"string\":\"t\"}]")) {
+      assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+      parser.nextToken();
+      StreamingDataObject first = new StreamingDataObject();
+      StreamingDataObjectConverter.fromJson(parser, first);
+      assertEquals(JsonToken.END_OBJECT, parser.currentToken());
+      parser.nextToken();
+      StreamingDataObject second = new StreamingDataObject();
+      StreamingDataObjectConverter.fromJson(parser, second);
+      assertEquals("s", first.getString());
+      assertEquals("a", first.getNested().getNestedName());
+      assertEquals(1, first.getNested().getNestedCount());
+      assertEquals("t", second.getString());
+      assertEquals(JsonToken.END_ARRAY, parser.nextToken());
+    }
+  }
+}
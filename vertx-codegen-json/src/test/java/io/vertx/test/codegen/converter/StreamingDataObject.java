@@ -0,0 +1,312 @@
+package io.vertx.test.codegen.converter;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@DataObject
+@JsonGen(jacksonModule = true, bufferWriter = true, bufferReader = true, publicConverter = false)
+public class StreamingDataObject {
+  private String string;
+  private boolean primitiveBoolean;
+  private byte primitiveByte;
+  private short primitiveShort;
+  private int primitiveInt;
+  private long primitiveLong;
+  private float primitiveFloat;
+  private double primitiveDouble;
+  private char primitiveChar;
+  private Integer boxedInteger;
+  private Double boxedDouble;
+  private Character boxedChar;
+  private TimeUnit enumValue;
+  private Instant instant;
+  private JsonObject jsonObject;
+  private JsonArray jsonArray;
+  private Object object;
+  private StreamingNestedDataObject nested;
+  private NestedJsonObjectDataObject notStreamingNested;
+  private AutoMapped autoMapped;
+  private List<String> stringList;
+  private List<StreamingNestedDataObject> nestedList;
+  private Set<TimeUnit> enumSet;
+  private List<Instant> instantList;
+  private List<JsonObject> jsonObjectList;
+  private Map<String, Integer> integerMap;
+  private Map<String, StreamingNestedDataObject> nestedMap;
+  private List<String> keywords = new ArrayList<>();
+
+  public StreamingDataObject() {
+  }
+
+  public StreamingDataObject(JsonObject json) {
+    this();
+    StreamingDataObjectConverter.fromJson(json, this);
+  }
+
+  public String getString() {
+    return string;
+  }
+
+  public StreamingDataObject setString(String string) {
+    this.string = string;
+    return this;
+  }
+
+  public boolean isPrimitiveBoolean() {
+    return primitiveBoolean;
+  }
+
+  public StreamingDataObject setPrimitiveBoolean(boolean primitiveBoolean) {
+    this.primitiveBoolean = primitiveBoolean;
+    return this;
+  }
+
+  public byte getPrimitiveByte() {
+    return primitiveByte;
+  }
+
+  public StreamingDataObject setPrimitiveByte(byte primitiveByte) {
+    this.primitiveByte = primitiveByte;
+    return this;
+  }
+
+  public short getPrimitiveShort() {
+    return primitiveShort;
+  }
+
+  public StreamingDataObject setPrimitiveShort(short primitiveShort) {
+    this.primitiveShort = primitiveShort;
+    return this;
+  }
+
+  public int getPrimitiveInt() {
+    return primitiveInt;
+  }
+
+  public StreamingDataObject setPrimitiveInt(int primitiveInt) {
+    this.primitiveInt = primitiveInt;
+    return this;
+  }
+
+  public long getPrimitiveLong() {
+    return primitiveLong;
+  }
+
+  public StreamingDataObject setPrimitiveLong(long primitiveLong) {
+    this.primitiveLong = primitiveLong;
+    return this;
+  }
+
+  public float getPrimitiveFloat() {
+    return primitiveFloat;
+  }
+
+  public StreamingDataObject setPrimitiveFloat(float primitiveFloat) {
+    this.primitiveFloat = primitiveFloat;
+    return this;
+  }
+
+  public double getPrimitiveDouble() {
+    return primitiveDouble;
+  }
+
+  public StreamingDataObject setPrimitiveDouble(double primitiveDouble) {
+    this.primitiveDouble = primitiveDouble;
+    return this;
+  }
+
+  public char getPrimitiveChar() {
+    return primitiveChar;
+  }
+
+  public StreamingDataObject setPrimitiveChar(char primitiveChar) {
+    this.primitiveChar = primitiveChar;
+    return this;
+  }
+
+  public Integer getBoxedInteger() {
+    return boxedInteger;
+  }
+
+  public StreamingDataObject setBoxedInteger(Integer boxedInteger) {
+    this.boxedInteger = boxedInteger;
+    return this;
+  }
+
+  public Double getBoxedDouble() {
+    return boxedDouble;
+  }
+
+  public StreamingDataObject setBoxedDouble(Double boxedDouble) {
+    this.boxedDouble = boxedDouble;
+    return this;
+  }
+
+  public Character getBoxedChar() {
+    return boxedChar;
+  }
+
+  public StreamingDataObject setBoxedChar(Character boxedChar) {
+    this.boxedChar = boxedChar;
+    return this;
+  }
+
+  public TimeUnit getEnumValue() {
+    return enumValue;
+  }
+
+  public StreamingDataObject setEnumValue(TimeUnit enumValue) {
+    this.enumValue = enumValue;
+    return this;
+  }
+
+  public Instant getInstant() {
+    return instant;
+  }
+
+  public StreamingDataObject setInstant(Instant instant) {
+    this.instant = instant;
+    return this;
+  }
+
+  public JsonObject getJsonObject() {
+    return jsonObject;
+  }
+
+  public StreamingDataObject setJsonObject(JsonObject jsonObject) {
+    this.jsonObject = jsonObject;
+    return this;
+  }
+
+  public JsonArray getJsonArray() {
+    return jsonArray;
+  }
+
+  public StreamingDataObject setJsonArray(JsonArray jsonArray) {
+    this.jsonArray = jsonArray;
+    return this;
+  }
+
+  public Object getObject() {
+    return object;
+  }
+
+  public StreamingDataObject setObject(Object object) {
+    this.object = object;
+    return this;
+  }
+
+  public StreamingNestedDataObject getNested() {
+    return nested;
+  }
+
+  public StreamingDataObject setNested(StreamingNestedDataObject nested) {
+    this.nested = nested;
+    return this;
+  }
+
+  public NestedJsonObjectDataObject getNotStreamingNested() {
+    return notStreamingNested;
+  }
+
+  public StreamingDataObject setNotStreamingNested(NestedJsonObjectDataObject notStreamingNested) {
+    this.notStreamingNested = notStreamingNested;
+    return this;
+  }
+
+  public AutoMapped getAutoMapped() {
+    return autoMapped;
+  }
+
+  public StreamingDataObject setAutoMapped(AutoMapped autoMapped) {
+    this.autoMapped = autoMapped;
+    return this;
+  }
+
+  public List<String> getStringList() {
+    return stringList;
+  }
+
+  public StreamingDataObject setStringList(List<String> stringList) {
+    this.stringList = stringList;
+    return this;
+  }
+
+  public List<StreamingNestedDataObject> getNestedList() {
+    return nestedList;
+  }
+
+  public StreamingDataObject setNestedList(List<StreamingNestedDataObject> nestedList) {
+    this.nestedList = nestedList;
+    return this;
+  }
+
+  public Set<TimeUnit> getEnumSet() {
+    return enumSet;
+  }
+
+  public StreamingDataObject setEnumSet(Set<TimeUnit> enumSet) {
+    this.enumSet = enumSet;
+    return this;
+  }
+
+  public List<Instant> getInstantList() {
+    return instantList;
+  }
+
+  public StreamingDataObject setInstantList(List<Instant> instantList) {
+    this.instantList = instantList;
+    return this;
+  }
+
+  public List<JsonObject> getJsonObjectList() {
+    return jsonObjectList;
+  }
+
+  public StreamingDataObject setJsonObjectList(List<JsonObject> jsonObjectList) {
+    this.jsonObjectList = jsonObjectList;
+    return this;
+  }
+
+  public Map<String, Integer> getIntegerMap() {
+    return integerMap;
+  }
+
+  public StreamingDataObject setIntegerMap(Map<String, Integer> integerMap) {
+    this.integerMap = integerMap;
+    return this;
+  }
+
+  public Map<String, StreamingNestedDataObject> getNestedMap() {
+    return nestedMap;
+  }
+
+  public StreamingDataObject setNestedMap(Map<String, StreamingNestedDataObject> nestedMap) {
+    this.nestedMap = nestedMap;
+    return this;
+  }
+
+  public List<String> getKeywords() {
+    return keywords;
+  }
+
+  public StreamingDataObject addKeyword(String keyword) {
+    keywords.add(keyword);
+    return this;
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    StreamingDataObjectConverter.toJson(this, json);
+    return json;
+  }
+}
@@ -0,0 +1,51 @@
+package io.vertx.test.codegen.converter;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.format.SnakeCase;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+@DataObject
+@JsonGen(streamingConverter = true, bufferWriter = true, bufferReader = true, jsonPropertyNameFormatter = SnakeCase.class)
+public class StreamingNestedDataObject {
+
+  private String nestedName;
+  private int nestedCount;
+
+  public StreamingNestedDataObject() {
+  }
+
+  public StreamingNestedDataObject(String nestedName, int nestedCount) {
+    this.nestedName = nestedName;
+    this.nestedCount = nestedCount;
+  }
+
+  public StreamingNestedDataObject(JsonObject json) {
+    this();
+    StreamingNestedDataObjectConverter.fromJson(json, this);
+  }
+
+  public String getNestedName() {
+    return nestedName;
+  }
+
+  public StreamingNestedDataObject setNestedName(String nestedName) {
+    this.nestedName = nestedName;
+    return this;
+  }
+
+  public int getNestedCount() {
+    return nestedCount;
+  }
+
+  public StreamingNestedDataObject setNestedCount(int nestedCount) {
+    this.nestedCount = nestedCount;
+    return this;
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    StreamingNestedDataObjectConverter.toJson(this, json);
+    return json;
+  }
+}
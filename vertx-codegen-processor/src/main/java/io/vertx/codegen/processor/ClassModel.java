@@ -97,6 +97,8 @@ public class ClassModel implements Model {
   protected List<AnnotationValueInfo> annotations;
   protected boolean deprecated;
   protected Text deprecatedDesc;
+  // The methods of the @VertxGen ancestors, grouped by name
+  private Map<String, List<AncestorMethod>> ancestorMethods;
 
   public ClassModel(ProcessingEnvironment env, TypeMirrorFactory typeFactory, TypeElement modelElt) {
     this.elementUtils = env.getElementUtils();
@@ -613,32 +615,11 @@ public class ClassModel implements Model {
     // Owner types
     Set<ClassTypeInfo> ownerTypes = new HashSet<>();
 
-    ArrayList<DeclaredType> ancestors = new ArrayList<>(Helper.resolveAncestorTypes(modelElt, true, true));
-
-    // Sort to have super types the last, etc..
-    // solve some problem with diamond inheritance order that can show up in type use
-    Collections.sort(ancestors, (o1, o2) -> {
-      if (typeUtils.isSubtype(o1, o2)) {
-        return -1;
-      } else if (typeUtils.isSubtype(o2, o1)) {
-        return 1;
-      } else {
-        return ((TypeElement) o1.asElement()).getQualifiedName().toString().compareTo(((TypeElement) o2.asElement()).getQualifiedName().toString());
-      }
-    });
-
     // Check overrides and merge type use
-    for (DeclaredType ancestorType : ancestors) {
-      TypeElement ancestorElt = (TypeElement) ancestorType.asElement();
-      if (ancestorElt.getAnnotation(VertxGen.class) != null) {
-        elementUtils.getAllMembers(ancestorElt).
-            stream().
-            flatMap(Helper.FILTER_METHOD).
-            filter(meth -> elementUtils.overrides(modelMethod, meth, modelElt)).
-            forEach(overridenMethodElt -> {
-              modelMethods.add(overridenMethodElt);
-              ownerTypes.add(typeFactory.create((DeclaredType) ancestorElt.asType()).getRaw());
-            });
+    for (AncestorMethod ancestorMethod : getAncestorMethods(modelMethod.getSimpleName().toString())) {
+      if (elementUtils.overrides(modelMethod, ancestorMethod.methodElt, modelElt)) {
+        modelMethods.add(ancestorMethod.methodElt);
+        ownerTypes.add(typeFactory.create((DeclaredType) ancestorMethod.ancestorElt.asType()).getRaw());
       }
     }
 
@@ -789,6 +770,54 @@ public class ClassModel implements Model {
     return methodInfo;
   }
 
+  /**
+   * Returns the methods declared by the {@code @VertxGen} ancestors of this type with the specified name. The ancestors
+   * are resolved and sorted once, the index is then reused for all the methods of the model.
+   *
+   * @param methodName the method name
+   * @return the ancestor methods, sub types first
+   */
+  private List<AncestorMethod> getAncestorMethods(String methodName) {
+    if (ancestorMethods == null) {
+      ArrayList<DeclaredType> ancestors = new ArrayList<>(Helper.resolveAncestorTypes(modelElt, true, true));
+
+      // Sort to have super types the last, etc..
+      // solve some problem with diamond inheritance order that can show up in type use
+      Collections.sort(ancestors, (o1, o2) -> {
+        if (typeUtils.isSubtype(o1, o2)) {
+          return -1;
+        } else if (typeUtils.isSubtype(o2, o1)) {
+          return 1;
+        } else {
+          return ((TypeElement) o1.asElement()).getQualifiedName().toString().compareTo(((TypeElement) o2.asElement()).getQualifiedName().toString());
+        }
+      });
+
+      ancestorMethods = new HashMap<>();
+      for (DeclaredType ancestorType : ancestors) {
+        TypeElement ancestorElt = (TypeElement) ancestorType.asElement();
+        if (ancestorElt.getAnnotation(VertxGen.class) != null) {
+          elementUtils.getAllMembers(ancestorElt).
+              stream().
+              flatMap(Helper.FILTER_METHOD).
+              forEach(methodElt -> ancestorMethods
+                .computeIfAbsent(methodElt.getSimpleName().toString(), name -> new ArrayList<>())
+                .add(new AncestorMethod(ancestorElt, methodElt)));
+        }
+      }
+    }
+    return ancestorMethods.getOrDefault(methodName, Collections.emptyList());
+  }
+
+  private static class AncestorMethod {
+    final TypeElement ancestorElt;
+    final ExecutableElement methodElt;
+    AncestorMethod(TypeElement ancestorElt, ExecutableElement methodElt) {
+      this.ancestorElt = ancestorElt;
+      this.methodElt = methodElt;
+    }
+  }
+
   // This is a hook to allow a specific type of method to be created
   protected MethodInfo createMethodInfo(Set<ClassTypeInfo> ownerTypes, String methodName, String comment, Doc doc, TypeInfo returnType,
                                         Text returnDescription,
@@ -17,9 +17,11 @@ import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
+import java.lang.annotation.Annotation;
 import java.util.*;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -55,16 +57,43 @@ public class CodeGen {
   private final Elements elementUtils;
   private final Types typeUtils;
   private final TypeMirrorFactory tmf;
+  private final List<ModelProvider> providers;
   private final List<Converter> converters = new ArrayList<>();
+  private Predicate<String> kindFilter = kind -> true;
+  ProcessorStats stats;
 
   public CodeGen(ProcessingEnvironment env) {
+    this(env, PROVIDERS);
+  }
+
+  /**
+   * Create a code generator building the models with the specified providers instead of the built-in and
+   * {@link ServiceLoader} declared providers.
+   *
+   * @param env the processing environment
+   * @param providers the model providers
+   */
+  public CodeGen(ProcessingEnvironment env, List<ModelProvider> providers) {
     this.env = env;
+    this.providers = providers;
     this.elementUtils = env.getElementUtils();
     this.typeUtils = env.getTypeUtils();
     this.tmf = new TypeMirrorFactory(elementUtils, typeUtils);
   }
 
   public void init(RoundEnvironment round, ClassLoader loader) {
+    init(round, loader, kind -> true);
+  }
+
+  /**
+   * Initialize the code generator for a round.
+   *
+   * @param round the round
+   * @param loader the processor class loader
+   * @param kindFilter the model kinds to retain, other models are never processed
+   */
+  public void init(RoundEnvironment round, ClassLoader loader, Predicate<String> kindFilter) {
+    this.kindFilter = kindFilter;
     loaderMap.put(env, loader);
     Predicate<Element> implFilter = elt -> {
       try {
@@ -112,21 +141,36 @@ public class CodeGen {
         processConverter(converterElt, type, converter.selectors, execType);
       }
     });
-    round.getRootElements().stream()
+    Set<TypeElement> roots = round.getRootElements().stream()
       .filter(implFilter)
       .filter(elt -> elt instanceof TypeElement)
-      .map(elt -> (TypeElement)elt).forEach(te -> {
-      for (ModelProvider provider : PROVIDERS) {
+      .map(elt -> (TypeElement)elt)
+      .collect(Collectors.toCollection(LinkedHashSet::new));
+    Map<Class<? extends Annotation>, Set<? extends Element>> annotated = new HashMap<>();
+    for (ModelProvider provider : providers) {
+      Collection<Class<? extends Annotation>> annotations = provider.annotations();
+      Stream<TypeElement> candidates = roots.stream();
+      if (!annotations.isEmpty()) {
+        // Only the root elements carrying one of the provider annotations
+        List<Set<? extends Element>> sets = annotations
+          .stream()
+          .map(annotation -> annotated.computeIfAbsent(annotation, round::getElementsAnnotatedWith))
+          .collect(Collectors.toList());
+        candidates = candidates.filter(te -> sets.stream().anyMatch(set -> set.contains(te)));
+      }
+      candidates.forEach(te -> {
         Model model = provider.getModel(env, tmf, te);
         if (model != null) {
           String kind = model.getKind();
           all.add(te);
-          Map<String, Map.Entry<TypeElement, Model>> map = models.computeIfAbsent(kind, a -> new HashMap<>());
-          ModelEntry<TypeElement, Model> entry = new ModelEntry<>(te, () -> model);
-          map.put(Helper.getNonGenericType(te.asType().toString()), entry);
+          if (kindFilter.test(kind)) {
+            Map<String, Map.Entry<TypeElement, Model>> map = models.computeIfAbsent(kind, a -> new HashMap<>());
+            ModelEntry<TypeElement, Model> entry = new ModelEntry<>(te, () -> model);
+            map.put(Helper.getNonGenericType(te.asType().toString()), entry);
+          }
         }
-      }
-    });
+      });
+    }
     round.getElementsAnnotatedWith(ModuleGen.class).
       stream().
       map(element -> (PackageElement) element).
@@ -237,7 +281,13 @@ public class CodeGen {
     for (Map<String, Map.Entry<TypeElement, Model>> m : models.values()) {
       s = Stream.concat(s, m.values().stream());
     }
-    return Stream.concat(s, Stream.concat(getModuleModels(), getPackageModels()));
+    if (kindFilter.test("module")) {
+      s = Stream.concat(s, getModuleModels());
+    }
+    if (kindFilter.test("package")) {
+      s = Stream.concat(s, getPackageModels());
+    }
+    return s;
   }
 
   private Stream<Map.Entry<PackageElement, PackageModel>> getPackageModels() {
@@ -246,7 +296,7 @@ public class CodeGen {
       .map(element ->
             new ModelEntry<>(element, () -> new PackageModel(
                 element.getQualifiedName().toString(),
-                ModuleInfo.resolve(elementUtils, element))
+                tmf.getModuleResolver().resolve(element))
             ));
   }
 
@@ -287,11 +337,12 @@ public class CodeGen {
     return (DataObjectModel) getModel(fqcn, "dataObject");
   }
 
-  private static class ModelEntry<E extends Element, M extends Model> implements Map.Entry<E, M> {
+  class ModelEntry<E extends Element, M extends Model> implements Map.Entry<E, M> {
 
     private final E key;
     private final Supplier<M> supplier;
     private M value;
+    private boolean processed;
 
     private ModelEntry(E key, Supplier<M> supplier) {
       this.key = key;
@@ -305,9 +356,32 @@ public class CodeGen {
 
     @Override
     public M getValue() {
+      M model = peek();
+      if (!processed) {
+        processed = true;
+        ProcessorEvents.ModelProcess event = new ProcessorEvents.ModelProcess();
+        long start = stats != null ? System.nanoTime() : 0L;
+        event.begin();
+        model.process();
+        event.end();
+        if (stats != null) {
+          stats.modelProcessed(model.getKind(), System.nanoTime() - start);
+        }
+        if (event.shouldCommit()) {
+          event.kind = model.getKind();
+          event.fqn = model.getFqn();
+          event.commit();
+        }
+      }
+      return model;
+    }
+
+    /**
+     * @return the model before it is processed
+     */
+    M peek() {
       if (value == null) {
         value = supplier.get();
-        value.process();
       }
       return value;
     }
@@ -19,6 +19,17 @@ public abstract class Generator<M extends Model> {
   public String name;
   public Set<String> kinds;
   public boolean incremental;
+  /**
+   * Whether {@link #render} can be called concurrently for distinct files, the generator must then only read the
+   * model and keep no rendering state in its fields. The javac API is not thread safe, what the rendering needs from
+   * {@link #env} must be resolved by {@link #prepare}.
+   */
+  public boolean threadSafe;
+  /**
+   * Whether each file generated by this generator depends only on the element of its model, so Gradle can treat the
+   * processor as isolating when all the generators are.
+   */
+  public boolean isolating;
 
   public Collection<Class<? extends Annotation>> annotations() {
     return Collections.emptySet();
@@ -48,6 +59,16 @@ public abstract class Generator<M extends Model> {
     return null;
   }
 
+  /**
+   * Prepare the rendering of the model, this is called on the compiler thread before the file is rendered with the
+   * session later passed to {@link #render}.
+   *
+   * @param model the model
+   * @param session the session
+   */
+  public void prepare(M model, Map<String, Object> session) {
+  }
+
   /**
    * Render the model
    *
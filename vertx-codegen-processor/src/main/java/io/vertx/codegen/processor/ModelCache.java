@@ -0,0 +1,359 @@
+package io.vertx.codegen.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * An on-disk cache of the files generated for a model, keyed by a fingerprint of the model element.
+ * <p/>
+ * The fingerprint hashes the structure of the element that matters to the models: members, annotations, doc comments,
+ * supertypes, the types referenced by the members with their own supertypes and the enclosing module declarations. It
+ * is salted with the generators (name, class, version and class bytes), the json mappers and the processor options, so
+ * changing any of them invalidates the whole cache.
+ * <p/>
+ * Only the output of non-incremental generators is cached, since an incremental file aggregates several models: on a
+ * hit the cached files are re-emitted and only the incremental generators are run against the model.
+ *
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+class ModelCache {
+
+  private static final int FORMAT_VERSION = 1;
+
+  private final File dir;
+  private final Elements elementUtils;
+  private final Types typeUtils;
+  private final byte[] salt;
+  private final Map<String, String> packageFingerprints = new HashMap<>();
+  private int hits;
+  private int misses;
+
+  ModelCache(File dir, ProcessingEnvironment env, List<? extends Generator<?>> generators, List<CodeGen.Converter> mappers) {
+    this.dir = dir;
+    this.elementUtils = env.getElementUtils();
+    this.typeUtils = env.getTypeUtils();
+    StringBuilder buffer = new StringBuilder();
+    buffer.append(FORMAT_VERSION).append('\n');
+    for (Generator<?> generator : generators) {
+      Class<?> clazz = generator.getClass();
+      buffer.append(generator.name).append(':')
+        .append(clazz.getName()).append(':')
+        .append(clazz.getPackage() != null ? clazz.getPackage().getImplementationVersion() : null).append(':')
+        .append(classHash(clazz)).append('\n');
+    }
+    mappers.forEach(mapper -> buffer.append(mapper).append('\n'));
+    new TreeMap<>(env.getOptions()).forEach((name, value) -> {
+      if (!name.equals("codegen.cache")) {
+        buffer.append(name).append('=').append(value).append('\n');
+      }
+    });
+    this.salt = buffer.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  int getHits() {
+    return hits;
+  }
+
+  int getMisses() {
+    return misses;
+  }
+
+  /**
+   * Compute the fingerprint of a type element.
+   *
+   * @param elt the type element
+   * @return the hex encoded fingerprint
+   */
+  String fingerprint(TypeElement elt) {
+    StringBuilder buffer = new StringBuilder();
+    appendType(buffer, elt);
+    // Ancestors contribute their members, e.g. inherited properties and methods
+    Set<TypeElement> ancestors = new LinkedHashSet<>();
+    collectAncestors(elt.asType(), ancestors);
+    for (TypeElement ancestor : ancestors) {
+      appendType(buffer, ancestor);
+    }
+    // Referenced types contribute their declaration and their members, e.g. whether they are data objects or can be
+    // converted to json, including the ones declared by their ancestors
+    Set<TypeElement> referenced = new LinkedHashSet<>();
+    collectReferenced(elt, referenced);
+    ancestors.forEach(ancestor -> collectReferenced(ancestor, referenced));
+    for (TypeElement ref : new ArrayList<>(referenced)) {
+      collectAncestors(ref.asType(), referenced);
+    }
+    referenced.removeAll(ancestors);
+    referenced.remove(elt);
+    for (TypeElement ref : referenced) {
+      appendDeclaration(buffer, ref);
+      for (Element member : ref.getEnclosedElements()) {
+        appendMember(buffer, member);
+      }
+    }
+    buffer.append(packageFingerprint(elementUtils.getPackageOf(elt)));
+    MessageDigest digest = sha256();
+    digest.update(salt);
+    digest.update(buffer.toString().getBytes(StandardCharsets.UTF_8));
+    return toHex(digest.digest());
+  }
+
+  /**
+   * Load the cached outputs of a model.
+   *
+   * @param fqn the model element qualified name
+   * @param fingerprint the model fingerprint
+   * @return the cached outputs or {@code null} when the cache does not contain an entry for this fingerprint
+   */
+  List<Output> load(String fqn, String fingerprint) {
+    File file = new File(dir, fqn + ".bin");
+    if (file.isFile()) {
+      try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+        if (in.readUTF().equals(fingerprint)) {
+          int size = in.readInt();
+          List<Output> outputs = new ArrayList<>(size);
+          for (int i = 0;i < size;i++) {
+            Output output = new Output(in.readInt(), in.readBoolean() ? in.readUTF() : null);
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            output.content = new String(bytes, StandardCharsets.UTF_8);
+            outputs.add(output);
+          }
+          hits++;
+          return outputs;
+        }
+      } catch (IOException ignore) {
+        // Corrupted entry, it will be overwritten
+      }
+    }
+    misses++;
+    return null;
+  }
+
+  /**
+   * Store the outputs of a model, the entry is not stored when an output was not rendered.
+   *
+   * @param entry the entry to store
+   */
+  void store(Entry entry) throws IOException {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(buffer)) {
+      out.writeUTF(entry.fingerprint);
+      out.writeInt(entry.outputs.size());
+      for (Output output : entry.outputs) {
+        if (output.content == null) {
+          return;
+        }
+        out.writeInt(output.generator);
+        out.writeBoolean(output.filename != null);
+        if (output.filename != null) {
+          out.writeUTF(output.filename);
+        }
+        byte[] bytes = output.content.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+      }
+    }
+    dir.mkdirs();
+    File tmp = File.createTempFile(entry.fqn, ".tmp", dir);
+    try (FileOutputStream out = new FileOutputStream(tmp)) {
+      buffer.writeTo(out);
+    }
+    Files.move(tmp.toPath(), new File(dir, entry.fqn + ".bin").toPath(), StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  private void appendType(StringBuilder buffer, TypeElement elt) {
+    appendDeclaration(buffer, elt);
+    for (Element member : elt.getEnclosedElements()) {
+      if (member instanceof TypeElement) {
+        appendType(buffer, (TypeElement) member);
+      } else {
+        appendMember(buffer, member);
+      }
+    }
+  }
+
+  private void appendDeclaration(StringBuilder buffer, TypeElement elt) {
+    buffer.append(elt.getKind()).append(' ').append(elt.getQualifiedName())
+      .append(elt.getModifiers())
+      .append(elt.getAnnotationMirrors())
+      .append('<');
+    for (TypeParameterElement typeParam : elt.getTypeParameters()) {
+      buffer.append(typeParam).append(typeParam.getBounds()).append(',');
+    }
+    buffer.append("> extends ").append(elt.getSuperclass())
+      .append(" implements ").append(elt.getInterfaces())
+      .append('\n').append(elementUtils.getDocComment(elt)).append('\n');
+  }
+
+  private void appendMember(StringBuilder buffer, Element member) {
+    buffer.append(member.getKind()).append(' ').append(member.getSimpleName())
+      .append(member.getModifiers())
+      .append(member.getAnnotationMirrors())
+      .append(' ').append(member.asType());
+    if (member instanceof ExecutableElement) {
+      ExecutableElement method = (ExecutableElement) member;
+      method.getParameters().forEach(param -> buffer.append(param.getSimpleName()).append(param.getAnnotationMirrors()));
+      buffer.append(method.getThrownTypes()).append(method.getDefaultValue());
+    }
+    buffer.append('\n').append(elementUtils.getDocComment(member)).append('\n');
+  }
+
+  private void collectAncestors(TypeMirror type, Set<TypeElement> ancestors) {
+    for (TypeMirror superType : typeUtils.directSupertypes(type)) {
+      if (superType.getKind() == TypeKind.DECLARED) {
+        TypeElement superElt = (TypeElement) ((DeclaredType) superType).asElement();
+        if (!superElt.getQualifiedName().toString().equals("java.lang.Object") && ancestors.add(superElt)) {
+          collectAncestors(superType, ancestors);
+        }
+      }
+    }
+  }
+
+  private void collectReferenced(TypeElement elt, Set<TypeElement> referenced) {
+    for (Element member : elt.getEnclosedElements()) {
+      if (member.getKind() == ElementKind.FIELD) {
+        collectReferenced(member.asType(), referenced);
+      } else if (member instanceof ExecutableElement) {
+        ExecutableElement method = (ExecutableElement) member;
+        collectReferenced(method.getReturnType(), referenced);
+        method.getParameters().forEach(param -> collectReferenced(param.asType(), referenced));
+      } else if (member instanceof TypeElement) {
+        collectReferenced((TypeElement) member, referenced);
+      }
+    }
+  }
+
+  private void collectReferenced(TypeMirror type, Set<TypeElement> referenced) {
+    switch (type.getKind()) {
+      case DECLARED:
+        DeclaredType declaredType = (DeclaredType) type;
+        TypeElement elt = (TypeElement) declaredType.asElement();
+        if (!elt.getQualifiedName().toString().startsWith("java.")) {
+          referenced.add(elt);
+        }
+        declaredType.getTypeArguments().forEach(arg -> collectReferenced(arg, referenced));
+        break;
+      case ARRAY:
+        collectReferenced(((ArrayType) type).getComponentType(), referenced);
+        break;
+    }
+  }
+
+  /**
+   * The annotations of the package and of its enclosing packages, e.g. {@code @ModuleGen}.
+   */
+  private String packageFingerprint(PackageElement pkgElt) {
+    String name = pkgElt.getQualifiedName().toString();
+    String fingerprint = packageFingerprints.get(name);
+    if (fingerprint == null) {
+      StringBuilder buffer = new StringBuilder();
+      String current = name;
+      while (!current.isEmpty()) {
+        PackageElement elt = ModuleInfo.getPackageElement(elementUtils, current);
+        if (elt != null) {
+          buffer.append(current).append(elt.getAnnotationMirrors()).append('\n');
+        }
+        int idx = current.lastIndexOf('.');
+        current = idx == -1 ? "" : current.substring(0, idx);
+      }
+      fingerprint = buffer.toString();
+      packageFingerprints.put(name, fingerprint);
+    }
+    return fingerprint;
+  }
+
+  private static String classHash(Class<?> clazz) {
+    String resource = clazz.getName().replace('.', '/') + ".class";
+    ClassLoader loader = clazz.getClassLoader() != null ? clazz.getClassLoader() : ClassLoader.getSystemClassLoader();
+    try (InputStream is = loader.getResourceAsStream(resource)) {
+      if (is != null) {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[8192];
+        int len;
+        while ((len = is.read(buffer)) != -1) {
+          digest.update(buffer, 0, len);
+        }
+        return toHex(digest.digest());
+      }
+    } catch (IOException ignore) {
+    }
+    return null;
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String toHex(byte[] bytes) {
+    StringBuilder buffer = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      buffer.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return buffer.toString();
+  }
+
+  /**
+   * A file generated for a model.
+   */
+  static class Output {
+
+    final int generator;
+    final String filename;
+    String content;
+
+    Output(int generator, String filename) {
+      this.generator = generator;
+      this.filename = filename;
+    }
+  }
+
+  /**
+   * The outputs of a model being generated, stored when all the outputs are rendered.
+   */
+  static class Entry {
+
+    final String fqn;
+    final String fingerprint;
+    final List<Output> outputs;
+
+    Entry(String fqn, String fingerprint, List<Output> outputs) {
+      this.fqn = fqn;
+      this.fingerprint = fingerprint;
+      this.outputs = outputs;
+    }
+  }
+}
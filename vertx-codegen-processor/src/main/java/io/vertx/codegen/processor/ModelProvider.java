@@ -7,36 +7,70 @@ import io.vertx.codegen.processor.type.TypeMirrorFactory;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.TypeElement;
+import java.lang.annotation.Annotation;
+import java.util.Collection;
+import java.util.Collections;
 
 public interface ModelProvider {
 
-  ModelProvider CLASS = (env, typeFactory, elt) -> {
-    if (elt.getAnnotation(VertxGen.class) != null && elt.getKind() != ElementKind.ENUM) {
-      ClassModel model = new ClassModel(env, typeFactory, elt);
-      return model;
-    } else {
-      return null;
+  ModelProvider CLASS = new ModelProvider() {
+    @Override
+    public Collection<Class<? extends Annotation>> annotations() {
+      return Collections.singleton(VertxGen.class);
+    }
+    @Override
+    public Model getModel(ProcessingEnvironment env, TypeMirrorFactory typeFactory, TypeElement elt) {
+      if (elt.getAnnotation(VertxGen.class) != null && elt.getKind() != ElementKind.ENUM) {
+        ClassModel model = new ClassModel(env, typeFactory, elt);
+        return model;
+      } else {
+        return null;
+      }
     }
   };
 
-  ModelProvider DATA_OBJECT = (env, typeFactory, elt) -> {
-    if (elt.getAnnotation(DataObject.class) != null) {
-      DataObjectModel model = new DataObjectModel(env, typeFactory, elt);
-      return model;
-    } else {
-      return null;
+  ModelProvider DATA_OBJECT = new ModelProvider() {
+    @Override
+    public Collection<Class<? extends Annotation>> annotations() {
+      return Collections.singleton(DataObject.class);
+    }
+    @Override
+    public Model getModel(ProcessingEnvironment env, TypeMirrorFactory typeFactory, TypeElement elt) {
+      if (elt.getAnnotation(DataObject.class) != null) {
+        DataObjectModel model = new DataObjectModel(env, typeFactory, elt);
+        return model;
+      } else {
+        return null;
+      }
     }
   };
 
-  ModelProvider ENUM = (env, typeFactory, elt) -> {
-    if (elt.getAnnotation(VertxGen.class) != null && elt.getKind() == ElementKind.ENUM) {
-      EnumModel model = new EnumModel(env, elt);
-      return model;
-    } else {
-      return null;
+  ModelProvider ENUM = new ModelProvider() {
+    @Override
+    public Collection<Class<? extends Annotation>> annotations() {
+      return Collections.singleton(VertxGen.class);
+    }
+    @Override
+    public Model getModel(ProcessingEnvironment env, TypeMirrorFactory typeFactory, TypeElement elt) {
+      if (elt.getAnnotation(VertxGen.class) != null && elt.getKind() == ElementKind.ENUM) {
+        EnumModel model = new EnumModel(env, elt);
+        return model;
+      } else {
+        return null;
+      }
     }
   };
 
+  /**
+   * The annotations a root element must be annotated with to be submitted to this provider, this lets
+   * the code generator select the candidates from the round index instead of submitting all the root elements.
+   *
+   * @return the annotations or an empty collection when all the root elements should be submitted
+   */
+  default Collection<Class<? extends Annotation>> annotations() {
+    return Collections.emptySet();
+  }
+
   Model getModel(ProcessingEnvironment env, TypeMirrorFactory typeFactory, TypeElement elt);
 
 }
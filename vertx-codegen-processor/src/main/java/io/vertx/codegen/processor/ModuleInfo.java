@@ -116,13 +116,17 @@ public class ModuleInfo {
         break;
       } else {
         pkgQN = pkgQN.substring(0, pos);
-        Set<PackageElement> pkgElts = getPackageElement.apply(elementUtils, pkgQN);
-        pkgElt = pkgElts.isEmpty() ? null : pkgElts.iterator().next();
+        pkgElt = getPackageElement(elementUtils, pkgQN);
       }
     }
     return null;
   }
 
+  static PackageElement getPackageElement(Elements elementUtils, String pkgQN) {
+    Set<PackageElement> pkgElts = getPackageElement.apply(elementUtils, pkgQN);
+    return pkgElts.isEmpty() ? null : pkgElts.iterator().next();
+  }
+
   public String getGroupPackage() {
     return groupPackage;
   }
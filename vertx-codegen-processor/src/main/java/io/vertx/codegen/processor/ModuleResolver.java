@@ -0,0 +1,90 @@
+package io.vertx.codegen.processor;
+
+import io.vertx.codegen.annotations.ModuleGen;
+
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.util.Elements;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves the {@link ModuleInfo} of packages, caching the results for the lifetime of the resolver which is usually
+ * a processing round.
+ * <p/>
+ * This is the cached counterpart of {@link ModuleInfo#resolve} and {@link ModuleInfo#resolveFirstModuleGenAnnotatedPackageElement}.
+ *
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+public class ModuleResolver {
+
+  private final Elements elementUtils;
+
+  // Package name -> module package element, a null value caches packages that are not under a module
+  private final Map<String, PackageElement> modulePackages = new HashMap<>();
+  // Module package name -> module info
+  private final Map<String, ModuleInfo> modules = new HashMap<>();
+
+  public ModuleResolver(Elements elementUtils) {
+    this.elementUtils = elementUtils;
+  }
+
+  /**
+   * Resolve a module info for the specified {@code pkgElt} argument, returns null for undertermined.
+   *
+   * @param pkgElt the package element
+   * @return the module info
+   */
+  public ModuleInfo resolve(PackageElement pkgElt) {
+    PackageElement result = resolveFirstModuleGenAnnotatedPackageElement(pkgElt);
+    if (result != null) {
+      return modules.computeIfAbsent(result.getQualifiedName().toString(), name -> {
+        ModuleGen annotation = result.getAnnotation(ModuleGen.class);
+        return new ModuleInfo(name, annotation.name(), annotation.groupPackage());
+      });
+    } else {
+      return null;
+    }
+  }
+
+  /**
+   * Resolve the first {@link ModuleGen} annotated package of {@code pkgElt}, i.e the package itself or its closest
+   * annotated parent package.
+   *
+   * @param pkgElt the package element
+   * @return the module package element or {@code null}
+   */
+  public PackageElement resolveFirstModuleGenAnnotatedPackageElement(PackageElement pkgElt) {
+    if (pkgElt == null) return null;
+    String pkgQN = pkgElt.getQualifiedName().toString();
+    if (modulePackages.containsKey(pkgQN)) {
+      return modulePackages.get(pkgQN);
+    }
+    List<String> visited = new ArrayList<>();
+    PackageElement result = null;
+    while (true) {
+      if (modulePackages.containsKey(pkgQN)) {
+        result = modulePackages.get(pkgQN);
+        break;
+      }
+      visited.add(pkgQN);
+      if (pkgElt != null && pkgElt.getAnnotation(ModuleGen.class) != null) {
+        result = pkgElt;
+        break;
+      }
+      int pos = pkgQN.lastIndexOf('.');
+      if (pos == -1) {
+        break;
+      } else {
+        pkgQN = pkgQN.substring(0, pos);
+        pkgElt = ModuleInfo.getPackageElement(elementUtils, pkgQN);
+      }
+    }
+    // All the packages we went through share the same result
+    for (String name : visited) {
+      modulePackages.put(name, result);
+    }
+    return result;
+  }
+}
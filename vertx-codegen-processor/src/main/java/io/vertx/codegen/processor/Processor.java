@@ -21,7 +21,12 @@ import java.lang.annotation.Annotation;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -30,36 +35,72 @@ import java.util.stream.Stream;
 /**
  * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
  */
-@javax.annotation.processing.SupportedOptions({"codegen.generators"})
+@javax.annotation.processing.SupportedOptions({"codegen.generators", "codegen.parallelism", "codegen.skipUnchanged", "codegen.cache", "codegen.stats", "codegen.jacksonModule"})
 @javax.annotation.processing.SupportedSourceVersion(SourceVersion.RELEASE_11)
 public class Processor extends AbstractProcessor {
 
   private static final String JSON_MAPPERS_PROPERTIES_PATH = "META-INF/vertx/json-mappers.properties";
+  private static final String GRADLE_ISOLATING = "org.gradle.annotation.processing.isolating";
+  private static final String GRADLE_AGGREGATING = "org.gradle.annotation.processing.aggregating";
   private File outputDirectory;
   private List<? extends Generator<?>> codeGenerators;
   private Map<String, GeneratedFile> generatedResources = new HashMap<>();
   private Set<Class<? extends Annotation>> supportedAnnotation = new HashSet<>();
   private List<CodeGen.Converter> mappers;
+  private boolean skipUnchanged;
+  private int writtenFiles;
+  private int skippedFiles;
+  private ModelCache cache;
+  private ProcessorStats stats;
+  private final List<ModelCache.Entry> cacheEntries = new ArrayList<>();
 
   @Override
   public Set<String> getSupportedAnnotationTypes() {
     return supportedAnnotation.stream().map(Class::getName).collect(Collectors.toSet());
   }
 
+  /**
+   * The processor is declared as a {@code dynamic} Gradle incremental processor, it is isolating when every loaded
+   * generator is isolating and aggregating otherwise.
+   */
+  @Override
+  public Set<String> getSupportedOptions() {
+    Set<String> options = new HashSet<>(super.getSupportedOptions());
+    if (processingEnv != null) {
+      boolean isolating = getCodeGenerators().stream().allMatch(gen -> gen.isolating);
+      options.add(isolating ? GRADLE_ISOLATING : GRADLE_AGGREGATING);
+    }
+    return options;
+  }
+
   @Override
   public synchronized void init(ProcessingEnvironment processingEnv) {
     super.init(processingEnv);
     generatedResources.clear();
+    skipUnchanged = processingEnv.getOptions().containsKey("codegen.skipUnchanged") && !"false".equals(processingEnv.getOptions().get("codegen.skipUnchanged"));
+    writtenFiles = 0;
+    skippedFiles = 0;
     supportedAnnotation = new HashSet<>(Arrays.asList(DataObject.class, VertxGen.class));
     getCodeGenerators()
       .stream()
       .flatMap(gen -> gen.annotations().stream())
       .forEach(supportedAnnotation::add);
 
+    stats = processingEnv.getOptions().containsKey("codegen.stats") ? new ProcessorStats() : null;
+
     // Load mappers
     if (mappers == null) {
+      long start = stats != null ? System.nanoTime() : 0L;
       mappers = loadJsonMappers();
+      if (stats != null) {
+        stats.jsonMappersLoaded(System.nanoTime() - start);
+      }
     }
+
+    // Model cache
+    String cacheOption = processingEnv.getOptions().get("codegen.cache");
+    cache = cacheOption != null ? new ModelCache(new File(cacheOption), processingEnv, getCodeGenerators(), mappers) : null;
+    cacheEntries.clear();
   }
 
   private Predicate<Generator> filterGenerators() {
@@ -76,7 +117,7 @@ public class Processor extends AbstractProcessor {
     }
   }
 
-  private Collection<? extends Generator<?>> getCodeGenerators() {
+  private List<? extends Generator<?>> getCodeGenerators() {
     if (codeGenerators == null) {
       // load GeneratorLoader by ServiceLoader
       ServiceLoader<GeneratorLoader> genLoaders = ServiceLoader.load(GeneratorLoader.class, Processor.class.getClassLoader());
@@ -162,12 +203,15 @@ public class Processor extends AbstractProcessor {
     Exception exception = null;
     List<CodeGen.Converter> merged = new ArrayList<>();
     for (StandardLocation loc : StandardLocation.values()) {
+      ProcessorEvents.JsonMappersProbe event = new ProcessorEvents.JsonMappersProbe();
+      event.begin();
       try {
         FileObject file = processingEnv.getFiler().getResource(loc, "", JSON_MAPPERS_PROPERTIES_PATH);
         try(InputStream is = file.openInputStream()) {
           try {
             loadJsonMappers(merged, is);
             exception = null;
+            event.found = true;
           } catch (IOException e) {
             exception = e;
           }
@@ -176,17 +220,30 @@ public class Processor extends AbstractProcessor {
         exception = ignore;
         // Filer#getResource and openInputStream will throw IOException when not found
       }
+      event.end();
+      if (event.shouldCommit()) {
+        event.location = loc.getName();
+        event.commit();
+      }
     }
     if (exception != null) {
       try {
         Enumeration<URL> resources = getClass().getClassLoader().getResources(JSON_MAPPERS_PROPERTIES_PATH);
         while (resources.hasMoreElements()) {
+          ProcessorEvents.JsonMappersProbe event = new ProcessorEvents.JsonMappersProbe();
+          event.begin();
           URL url = resources.nextElement();
           try (InputStream is = url.openStream()) {
             loadJsonMappers(merged, is);
             exception = null;
             processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Loaded json-mappers.properties " + url);
           }
+          event.end();
+          if (event.shouldCommit()) {
+            event.location = url.toString();
+            event.found = true;
+            event.commit();
+          }
         }
       } catch (IOException e) {
         exception = e;
@@ -232,44 +289,88 @@ public class Processor extends AbstractProcessor {
     return merged;
   }
 
+  private void addFile(Map<String, GeneratedFile> generatedClasses, String relativeName, ModelProcessing processing) {
+    if (!relativeName.startsWith("/") && relativeName.endsWith(".java")) {
+      // Special handling for .java
+      String fqn = relativeName.substring(0, relativeName.length() - ".java".length());
+      // Avoid to recreate the same file (this may happen as we unzip and recompile source trees)
+      if (processingEnv.getElementUtils().getTypeElement(fqn) != null) {
+        return;
+      }
+      generatedClasses.computeIfAbsent(fqn, GeneratedFile::new).add(processing);
+    } else {
+      // RESOURCE
+      generatedResources.computeIfAbsent(relativeName, GeneratedFile::new).add(processing);
+    }
+  }
+
   @Override
   public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
 
     // find elements annotated with @SuppressWarnings("codegen-enhanced-method")
     if (!roundEnv.processingOver()) {
-      Collection<? extends Generator> codeGenerators = getCodeGenerators();
+      List<? extends Generator<?>> codeGenerators = getCodeGenerators();
 
       if (!roundEnv.errorRaised()) {
         CodeGen codegen = new CodeGen(processingEnv);
+        codegen.stats = stats;
         mappers.forEach(codegen::registerConverter);
-        codegen.init(roundEnv, getClass().getClassLoader());
+        // Only build the models some generator is interested in
+        Set<String> kinds = new HashSet<>();
+        for (Generator<?> codeGenerator : codeGenerators) {
+          kinds.addAll(codeGenerator.kinds);
+        }
+        codegen.init(roundEnv, getClass().getClassLoader(), kinds::contains);
         Map<String, GeneratedFile> generatedClasses = new HashMap<>();
 
         // Generate source code
         codegen.getModels().forEach(entry -> {
           try {
+            ModelCache.Entry cacheEntry = null;
+            boolean cached = false;
+            if (cache != null && entry.getKey() instanceof TypeElement && entry instanceof CodeGen.ModelEntry) {
+              TypeElement elt = (TypeElement) entry.getKey();
+              String eltFqn = elt.getQualifiedName().toString();
+              String fingerprint = cache.fingerprint(elt);
+              List<ModelCache.Output> outputs = cache.load(eltFqn, fingerprint);
+              if (outputs != null) {
+                // Re-emit the cached files of the non-incremental generators
+                for (ModelCache.Output output : outputs) {
+                  if (output.filename != null) {
+                    addFile(generatedClasses, output.filename, new ModelProcessing(elt, eltFqn, codeGenerators.get(output.generator), output));
+                  }
+                }
+                String kind = ((CodeGen.ModelEntry<?, ?>) entry).peek().getKind();
+                if (codeGenerators.stream().noneMatch(gen -> gen.incremental && gen.kinds.contains(kind))) {
+                  return;
+                }
+                // The incremental generators aggregate several models, they still need the model
+                cached = true;
+              } else {
+                cacheEntry = new ModelCache.Entry(eltFqn, fingerprint, new ArrayList<>());
+              }
+            }
             Model model = entry.getValue();
-            for (Generator codeGenerator : codeGenerators) {
-              if (codeGenerator.kinds.contains(model.getKind())) {
+            for (int i = 0;i < codeGenerators.size();i++) {
+              Generator codeGenerator = codeGenerators.get(i);
+              if (codeGenerator.kinds.contains(model.getKind()) && (codeGenerator.incremental || !cached)) {
                 String relativeName = codeGenerator.filename(model);
-                if (relativeName != null) {
-                  if (!relativeName.startsWith("/") && relativeName.endsWith(".java")) {
-                    // Special handling for .java
-                    String fqn = relativeName.substring(0, relativeName.length() - ".java".length());
-                    // Avoid to recreate the same file (this may happen as we unzip and recompile source trees)
-                    if (processingEnv.getElementUtils().getTypeElement(fqn) != null) {
-                      continue;
-                    }
-                    List<ModelProcessing> processings = generatedClasses.computeIfAbsent(fqn, GeneratedFile::new);
-                    processings.add(new ModelProcessing(model, codeGenerator));
-                  } else {
-                    // RESOURCE
-                    List<ModelProcessing> processings = generatedResources.computeIfAbsent(relativeName, GeneratedFile::new);
-                    processings.add(new ModelProcessing(model, codeGenerator));
+                ModelProcessing processing = new ModelProcessing(model, codeGenerator);
+                if (cacheEntry != null && !codeGenerator.incremental) {
+                  processing.output = new ModelCache.Output(i, relativeName);
+                  if (relativeName == null) {
+                    processing.output.content = "";
                   }
+                  cacheEntry.outputs.add(processing.output);
+                }
+                if (relativeName != null) {
+                  addFile(generatedClasses, relativeName, processing);
                 }
               }
             }
+            if (cacheEntry != null) {
+              cacheEntries.add(cacheEntry);
+            }
           } catch (GenException e) {
             reportGenException(e);
           } catch (Exception e) {
@@ -278,41 +379,55 @@ public class Processor extends AbstractProcessor {
         });
 
         // Generate classes
-        generatedClasses.values().forEach(generated -> {
+        for (Rendering rendering : render(generatedClasses.values())) {
+          GeneratedFile generated = rendering.file;
           try {
-            String content = generated.generate();
+            String content = rendering.get();
             if (content.length() > 0) {
-              JavaFileObject target = processingEnv.getFiler().createSourceFile(generated.uri);
+              ProcessorEvents.FileWrite event = new ProcessorEvents.FileWrite();
+              long start = stats != null ? System.nanoTime() : 0L;
+              event.begin();
+              JavaFileObject target = processingEnv.getFiler().createSourceFile(generated.uri, generated.originatingElements());
               try (Writer writer = target.openWriter()) {
                 writer.write(content);
               }
-              processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Generated model " + generated.get(0).model.getFqn() + ": " + generated.uri);
+              fileWritten(event, start, StandardLocation.SOURCE_OUTPUT.getName(), generated.uri, content.length());
+              writtenFiles++;
+              processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Generated model " + generated.get(0).fqn + ": " + generated.uri);
             }
           } catch (GenException e) {
             reportGenException(e);
           } catch (Exception e) {
-            reportException(e, generated.get(0).model.getElement());
+            reportException(e, generated.get(0).element);
           }
-        });
+        }
       }
     } else {
 
       // Generate resources
-      for (GeneratedFile generated : generatedResources.values()) {
+      for (Rendering rendering : render(generatedResources.values())) {
+        GeneratedFile generated = rendering.file;
         try {
-          String content = generated.generate();
+          String content = rendering.get();
           if (generated.uri.startsWith("/")) {
             File f = new File(generated.uri);
-            f.getParentFile().mkdirs();
-            try (OutputStream out = new FileOutputStream(f)) {
-              out.write(content.getBytes(StandardCharsets.UTF_8));
+            byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+            if (skipUnchanged && f.isFile() && hasContent(new FileInputStream(f), bytes)) {
+              skippedFiles++;
+            } else {
+              ProcessorEvents.FileWrite event = new ProcessorEvents.FileWrite();
+              long start = stats != null ? System.nanoTime() : 0L;
+              event.begin();
+              f.getParentFile().mkdirs();
+              try (OutputStream out = new FileOutputStream(f)) {
+                out.write(bytes);
+              }
+              fileWritten(event, start, "FILE", generated.uri, bytes.length);
+              writtenFiles++;
             }
           } else {
             if (!content.isEmpty()) {
-              try (Writer w = processingEnv.getFiler()
-                .createResource(StandardLocation.CLASS_OUTPUT, "", generated.uri).openWriter()) {
-                w.write(content);
-              }
+              writeResource(StandardLocation.CLASS_OUTPUT, generated, content);
               boolean createSource;
               try {
                 processingEnv.getFiler().getResource(StandardLocation.SOURCE_OUTPUT, "", generated.uri);
@@ -322,23 +437,164 @@ public class Processor extends AbstractProcessor {
                 createSource = false;
               }
               if (createSource) {
-                try (Writer w = processingEnv.getFiler().createResource(StandardLocation.SOURCE_OUTPUT, "", generated.uri).openWriter()) {
-                  w.write(content);
-                }
+                writeResource(StandardLocation.SOURCE_OUTPUT, generated, content);
               }
-              processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Generated model " + generated.get(0).model.getFqn() + ": " + generated.uri);
+              processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Generated model " + generated.get(0).fqn + ": " + generated.uri);
             }
           }
         } catch (GenException e) {
           reportGenException(e);
         } catch (Exception e) {
-          reportException(e, generated.get(0).model.getElement());
+          reportException(e, generated.get(0).element);
+        }
+      }
+      if (cache != null) {
+        for (ModelCache.Entry entry : cacheEntries) {
+          try {
+            cache.store(entry);
+          } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Could not store " + entry.fqn + " in the model cache: " + e.getMessage());
+          }
         }
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Model cache: " + cache.getHits() + " hits, " + cache.getMisses() + " misses");
+      }
+      if (stats != null) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, stats.summary());
+      }
+      if (skipUnchanged) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Wrote " + writtenFiles + " generated files, skipped " + skippedFiles + " unchanged files");
       }
     }
     return true;
   }
 
+  /**
+   * Write a resource with the {@link Filer}, when {@code codegen.skipUnchanged} is set the resource is not written
+   * if the existing resource has the same content.
+   */
+  private void writeResource(StandardLocation location, GeneratedFile generated, String content) throws IOException {
+    String uri = generated.uri;
+    if (skipUnchanged) {
+      try {
+        FileObject existing = processingEnv.getFiler().getResource(location, "", uri);
+        if (hasContent(existing.openInputStream(), content.getBytes(StandardCharsets.UTF_8))) {
+          skippedFiles++;
+          return;
+        }
+      } catch (FilerException e) {
+        throw e;
+      } catch (IOException ignore) {
+        // Does not exist
+      }
+    }
+    ProcessorEvents.FileWrite event = new ProcessorEvents.FileWrite();
+    long start = stats != null ? System.nanoTime() : 0L;
+    event.begin();
+    try (Writer w = processingEnv.getFiler().createResource(location, "", uri, generated.originatingElements()).openWriter()) {
+      w.write(content);
+    }
+    fileWritten(event, start, location.getName(), uri, content.length());
+    writtenFiles++;
+  }
+
+  private void fileWritten(ProcessorEvents.FileWrite event, long start, String location, String uri, long size) {
+    event.end();
+    if (stats != null) {
+      stats.written(size, System.nanoTime() - start);
+    }
+    if (event.shouldCommit()) {
+      event.location = location;
+      event.file = uri;
+      event.size = size;
+      event.commit();
+    }
+  }
+
+  /**
+   * Compare the hash of an existing file against the hash of the rendered {@code content}.
+   *
+   * @param existing the existing file stream, closed by this method
+   * @param content the rendered content
+   * @return whether the existing file has the same content
+   */
+  private static boolean hasContent(InputStream existing, byte[] content) throws IOException {
+    MessageDigest existingDigest = sha256();
+    try (InputStream is = existing) {
+      byte[] buffer = new byte[8192];
+      int len;
+      while ((len = is.read(buffer)) != -1) {
+        existingDigest.update(buffer, 0, len);
+      }
+    }
+    return MessageDigest.isEqual(existingDigest.digest(), sha256().digest(content));
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * @return the number of threads rendering files, {@code 1} renders the files on the compiler thread
+   */
+  private int parallelism() {
+    String option = processingEnv.getOptions().get("codegen.parallelism");
+    if (option == null) {
+      return 1;
+    }
+    option = option.trim();
+    if (option.isEmpty() || option.equals("true")) {
+      return Runtime.getRuntime().availableProcessors();
+    }
+    try {
+      return Math.max(1, Integer.parseInt(option));
+    } catch (NumberFormatException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Invalid codegen.parallelism value " + option);
+      return 1;
+    }
+  }
+
+  /**
+   * Prepare the rendering of the {@code files} in a deterministic order. When parallelism is enabled, the files only
+   * generated by thread safe generators are rendered concurrently, the other files are rendered on the compiler thread.
+   * Files are always written by the caller on the compiler thread in the returned order.
+   *
+   * @param files the files to render
+   * @return the renderings
+   */
+  private List<Rendering> render(Collection<GeneratedFile> files) {
+    List<Rendering> renderings = files
+      .stream()
+      .sorted(Comparator.comparing(generated -> generated.uri))
+      .map(file -> new Rendering(file, stats))
+      .collect(Collectors.toList());
+    renderings.forEach(Rendering::prepare);
+    int parallelism = parallelism();
+    if (parallelism > 1 && renderings.size() > 1) {
+      ForkJoinPool pool = new ForkJoinPool(parallelism);
+      try {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (Rendering rendering : renderings) {
+          if (rendering.file.isThreadSafe()) {
+            tasks.add(pool.submit(rendering::render));
+          }
+        }
+        for (Rendering rendering : renderings) {
+          if (!rendering.file.isThreadSafe()) {
+            rendering.render();
+          }
+        }
+        tasks.forEach(ForkJoinTask::join);
+      } finally {
+        pool.shutdown();
+      }
+    }
+    return renderings;
+  }
+
   private void reportGenException(GenException e) {
     String name = e.element.toString();
     if (e.element.getKind() == ElementKind.METHOD) {
@@ -358,9 +614,70 @@ public class Processor extends AbstractProcessor {
   private static class ModelProcessing {
     final Model model;
     final Generator generator;
+    final Element element;
+    final String fqn;
+    ModelCache.Output output;
     public ModelProcessing(Model model, Generator generator) {
       this.model = model;
       this.generator = generator;
+      this.element = model.getElement();
+      this.fqn = model.getFqn();
+    }
+    /**
+     * A processing re-emitting a cached output, the model is not available.
+     */
+    public ModelProcessing(Element element, String fqn, Generator generator, ModelCache.Output output) {
+      this.model = null;
+      this.generator = generator;
+      this.element = element;
+      this.fqn = fqn;
+      this.output = output;
+    }
+  }
+
+  private static class Rendering {
+
+    private final GeneratedFile file;
+    private final ProcessorStats stats;
+    private boolean rendered;
+    private String content;
+    private Throwable failure;
+
+    Rendering(GeneratedFile file, ProcessorStats stats) {
+      this.file = file;
+      this.stats = stats;
+    }
+
+    void prepare() {
+      try {
+        file.prepare();
+      } catch (Throwable e) {
+        failure = e;
+        rendered = true;
+      }
+    }
+
+    void render() {
+      if (rendered) {
+        return;
+      }
+      try {
+        content = file.generate(stats);
+      } catch (Throwable e) {
+        // Errors are reported as well, they would be lost on a rendering thread
+        failure = e;
+      }
+      rendered = true;
+    }
+
+    String get() throws Exception {
+      render();
+      if (failure instanceof Exception) {
+        throw (Exception) failure;
+      } else if (failure != null) {
+        throw new ExecutionException(failure);
+      }
+      return content;
     }
   }
 
@@ -383,22 +700,77 @@ public class Processor extends AbstractProcessor {
       return super.add(modelProcessing);
     }
 
-    String generate() {
+    boolean isThreadSafe() {
+      for (ModelProcessing processing : this) {
+        if (!processing.generator.threadSafe) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * @return the elements of the models this file is generated from
+     */
+    Element[] originatingElements() {
+      return stream().map(processing -> processing.element).distinct().toArray(Element[]::new);
+    }
+
+    void prepare() {
       Collections.sort(this, (o1, o2) ->
-        o1.model.getElement().getSimpleName().toString().compareTo(
-          o2.model.getElement().getSimpleName().toString()));
+        o1.element.getSimpleName().toString().compareTo(
+          o2.element.getSimpleName().toString()));
+      for (ModelProcessing processing : this) {
+        if (processing.model != null) {
+          try {
+            processing.generator.prepare(processing.model, session);
+          } catch (GenException e) {
+            throw e;
+          } catch (Exception e) {
+            GenException genException = new GenException(processing.element, e.getMessage());
+            genException.initCause(e);
+            throw genException;
+          }
+        }
+      }
+    }
+
+    String generate(ProcessorStats stats) {
       StringBuilder buffer = new StringBuilder();
       for (int i = 0; i < size(); i++) {
         ModelProcessing processing = get(i);
         try {
-          String part = processing.generator.render(processing.model, i, size(), session);
+          String part;
+          if (processing.model == null) {
+            part = processing.output.content;
+          } else {
+            ProcessorEvents.GeneratorRender event = new ProcessorEvents.GeneratorRender();
+            long start = stats != null ? System.nanoTime() : 0L;
+            event.begin();
+            part = processing.generator.render(processing.model, i, size(), session);
+            event.end();
+            int length = part != null ? part.length() : 0;
+            if (stats != null) {
+              stats.rendered(processing.generator.name, System.nanoTime() - start, length);
+            }
+            if (event.shouldCommit()) {
+              event.generator = processing.generator.name;
+              event.fqn = processing.fqn;
+              event.file = uri;
+              event.size = length;
+              event.commit();
+            }
+            if (processing.output != null && size() == 1) {
+              processing.output.content = part != null ? part : "";
+            }
+          }
           if (part != null) {
             buffer.append(part);
           }
         } catch (GenException e) {
           throw e;
         } catch (Exception e) {
-          GenException genException = new GenException(processing.model.getElement(), e.getMessage());
+          GenException genException = new GenException(processing.element, e.getMessage());
           genException.initCause(e);
           throw genException;
         }
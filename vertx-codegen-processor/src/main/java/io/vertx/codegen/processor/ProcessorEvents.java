@@ -0,0 +1,72 @@
+package io.vertx.codegen.processor;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JDK Flight Recorder events emitted by the processor, they are disabled unless a recording enables them, e.g.
+ * {@code -J-XX:StartFlightRecording} with javac.
+ *
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+final class ProcessorEvents {
+
+  private ProcessorEvents() {
+  }
+
+  @Name("io.vertx.codegen.ModelProcess")
+  @Label("Model Process")
+  @Description("Processing of a model")
+  @Category({"Vert.x", "Codegen"})
+  static final class ModelProcess extends Event {
+    @Label("Kind")
+    String kind;
+    @Label("Fqn")
+    String fqn;
+  }
+
+  @Name("io.vertx.codegen.GeneratorRender")
+  @Label("Generator Render")
+  @Description("Rendering of a model by a generator")
+  @Category({"Vert.x", "Codegen"})
+  static final class GeneratorRender extends Event {
+    @Label("Generator")
+    String generator;
+    @Label("Fqn")
+    String fqn;
+    @Label("File")
+    String file;
+    @Label("Size")
+    @DataAmount(DataAmount.BYTES)
+    long size;
+  }
+
+  @Name("io.vertx.codegen.FileWrite")
+  @Label("File Write")
+  @Description("Write of a generated file")
+  @Category({"Vert.x", "Codegen"})
+  static final class FileWrite extends Event {
+    @Label("Location")
+    String location;
+    @Label("File")
+    String file;
+    @Label("Size")
+    @DataAmount(DataAmount.BYTES)
+    long size;
+  }
+
+  @Name("io.vertx.codegen.JsonMappersProbe")
+  @Label("Json Mappers Probe")
+  @Description("Lookup of json-mappers.properties in a location")
+  @Category({"Vert.x", "Codegen"})
+  static final class JsonMappersProbe extends Event {
+    @Label("Location")
+    String location;
+    @Label("Found")
+    boolean found;
+  }
+}
@@ -0,0 +1,58 @@
+package io.vertx.codegen.processor;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timings collected when the {@code codegen.stats} option is set and printed when processing is over.
+ *
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+class ProcessorStats {
+
+  // count, nanos
+  private final Map<String, long[]> models = new TreeMap<>();
+  // count, nanos, chars
+  private final Map<String, long[]> renders = new TreeMap<>();
+  private long writes;
+  private long writtenBytes;
+  private long writeNanos;
+  private long jsonMappersNanos;
+
+  synchronized void modelProcessed(String kind, long nanos) {
+    long[] stat = models.computeIfAbsent(kind, k -> new long[2]);
+    stat[0]++;
+    stat[1] += nanos;
+  }
+
+  synchronized void rendered(String generator, long nanos, int size) {
+    long[] stat = renders.computeIfAbsent(generator, k -> new long[3]);
+    stat[0]++;
+    stat[1] += nanos;
+    stat[2] += size;
+  }
+
+  synchronized void written(long bytes, long nanos) {
+    writes++;
+    writtenBytes += bytes;
+    writeNanos += nanos;
+  }
+
+  synchronized void jsonMappersLoaded(long nanos) {
+    jsonMappersNanos += nanos;
+  }
+
+  synchronized String summary() {
+    StringBuilder buffer = new StringBuilder("Codegen stats");
+    buffer.append("\n  json mappers loading: ").append(millis(jsonMappersNanos)).append(" ms");
+    models.forEach((kind, stat) -> buffer.append("\n  model ").append(kind).append(": ").append(stat[0]).append(" processed in ").append(millis(stat[1])).append(" ms"));
+    renders.forEach((generator, stat) -> buffer.append("\n  generator ").append(generator).append(": ").append(stat[0]).append(" rendered, ").append(stat[2]).append(" chars in ").append(millis(stat[1])).append(" ms"));
+    buffer.append("\n  writes: ").append(writes).append(" files, ").append(writtenBytes).append(" bytes in ").append(millis(writeNanos)).append(" ms");
+    return buffer.toString();
+  }
+
+  private static long millis(long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+}
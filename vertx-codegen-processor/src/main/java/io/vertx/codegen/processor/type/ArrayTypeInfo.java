@@ -38,6 +38,9 @@ public class ArrayTypeInfo extends TypeInfo {
 
   @Override
   public boolean equals(Object obj) {
+    if (obj instanceof ArrayTypeInfo) {
+      return componentType.equals(((ArrayTypeInfo) obj).componentType);
+    }
     return false;
   }
 
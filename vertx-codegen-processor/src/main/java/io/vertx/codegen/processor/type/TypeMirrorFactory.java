@@ -29,12 +29,25 @@ public class TypeMirrorFactory {
 
   final Elements elementUtils;
   final Types typeUtils;
+  final ModuleResolver moduleResolver;
   final Map<String, MapperInfo> serializers = new HashMap<>();
   final Map<String, MapperInfo> deserializers = new HashMap<>();
+  private final Map<String, ClassTypeInfo> types = new HashMap<>();
+  private final Map<String, ClassTypeInfo> nullableTypes = new HashMap<>();
+  private long cacheHits;
+  private long cacheMisses;
 
   public TypeMirrorFactory(Elements elementUtils, Types typeUtils) {
     this.elementUtils = elementUtils;
     this.typeUtils = typeUtils;
+    this.moduleResolver = new ModuleResolver(elementUtils);
+  }
+
+  /**
+   * @return the module resolver shared by the types created by this factory
+   */
+  public ModuleResolver getModuleResolver() {
+    return moduleResolver;
   }
 
   public void addDataObjectDeserializer(Element elt, TypeMirror dataObjectType, MapperInfo mapper) {
@@ -43,6 +56,7 @@ public class TypeMirrorFactory {
       throw new GenException(elt, "Mapper cannot declare mixed JSON types");
     }
     deserializers.putIfAbsent(key, mapper);
+    invalidate();
   }
 
   public void addDataObjectSerializer(Element elt, TypeMirror dataObjectType, MapperInfo mapper) {
@@ -51,6 +65,13 @@ public class TypeMirrorFactory {
       throw new GenException(elt, "Mapper cannot declare mixed JSON types " + deserializers.get(key).getJsonType() + " " + mapper.getJsonType());
     }
     serializers.putIfAbsent(key, mapper);
+    invalidate();
+  }
+
+  private void invalidate() {
+    // Mappers change the data object info of the types
+    types.clear();
+    nullableTypes.clear();
   }
 
   public TypeInfo create(TypeMirror type) {
@@ -98,9 +119,39 @@ public class TypeMirrorFactory {
   public TypeInfo create(TypeUse use, DeclaredType type, boolean checkTypeArgs) {
     boolean nullable = use != null && use.isNullable();
     TypeElement elt = (TypeElement) type.asElement();
-    PackageElement pkgElt = elementUtils.getPackageOf(elt);
-    ModuleInfo module = ModuleInfo.resolve(elementUtils, pkgElt);
     String fqcn = elt.getQualifiedName().toString();
+    List<? extends TypeMirror> typeArgs = type.getTypeArguments();
+    if (elt.getKind() != ElementKind.ENUM && checkTypeArgs && typeArgs.size() > 0) {
+      List<TypeInfo> typeArguments;
+      typeArguments = new ArrayList<>(typeArgs.size());
+      for (int i = 0; i < typeArgs.size(); i++) {
+        TypeUse argUse = use != null ? use.getArg(fqcn, i) : null;
+        TypeInfo typeArgDesc = create(argUse, typeArgs.get(i));
+        // Need to check it is an interface type
+        typeArguments.add(typeArgDesc);
+      }
+      ClassTypeInfo raw = (ClassTypeInfo) create(null, (DeclaredType) type.asElement().asType(), false);
+      return new ParameterizedTypeInfo(raw, nullable, typeArguments);
+    }
+    // Raw types only depend on the element and the nullability, they can be shared for the round
+    if (type.getKind() == TypeKind.ERROR || !isDeclarationType(type, elt)) {
+      return createRaw(type, elt, fqcn, nullable);
+    }
+    Map<String, ClassTypeInfo> cache = nullable ? nullableTypes : types;
+    ClassTypeInfo raw = cache.get(fqcn);
+    if (raw != null) {
+      cacheHits++;
+    } else {
+      cacheMisses++;
+      raw = createRaw(type, elt, fqcn, nullable);
+      cache.put(fqcn, raw);
+    }
+    return raw;
+  }
+
+  private ClassTypeInfo createRaw(DeclaredType type, TypeElement elt, String fqcn, boolean nullable) {
+    PackageElement pkgElt = elementUtils.getPackageOf(elt);
+    ModuleInfo module = moduleResolver.resolve(pkgElt);
     boolean proxyGen = elt.getAnnotation(ProxyGen.class) != null;
     if (elt.getKind() == ElementKind.ENUM) {
       ArrayList<String> values = new ArrayList<>();
@@ -119,76 +170,95 @@ public class TypeMirrorFactory {
       return new EnumTypeInfo(fqcn, gen, values, module, nullable, dataObject);
     } else {
       ClassKind kind = ClassKind.getKind(fqcn, elt.getAnnotation(VertxGen.class) != null);
-      List<? extends TypeMirror> typeArgs = type.getTypeArguments();
-      if (checkTypeArgs && typeArgs.size() > 0) {
-        List<TypeInfo> typeArguments;
-        typeArguments = new ArrayList<>(typeArgs.size());
-        for (int i = 0; i < typeArgs.size(); i++) {
-          TypeUse argUse = use != null ? use.getArg(fqcn, i) : null;
-          TypeInfo typeArgDesc = create(argUse, typeArgs.get(i));
-          // Need to check it is an interface type
-          typeArguments.add(typeArgDesc);
+      ClassTypeInfo raw;
+      if (kind == ClassKind.BOXED_PRIMITIVE) {
+        raw = ClassTypeInfo.PRIMITIVES.get(fqcn);
+        if (nullable) {
+          raw = new ClassTypeInfo(raw.kind, raw.name, raw.module, true, raw.params, false, null);
         }
-        ClassTypeInfo raw = (ClassTypeInfo) create(null, (DeclaredType) type.asElement().asType(), false);
-        return new ParameterizedTypeInfo(raw, nullable, typeArguments);
       } else {
-        ClassTypeInfo raw;
-        if (kind == ClassKind.BOXED_PRIMITIVE) {
-          raw = ClassTypeInfo.PRIMITIVES.get(fqcn);
-          if (nullable) {
-            raw = new ClassTypeInfo(raw.kind, raw.name, raw.module, true, raw.params, false, null);
-          }
-        } else {
-          MapperInfo serializer = serializers.get(fqcn);
-          MapperInfo deserializer = deserializers.get(fqcn);
-          boolean annotated = elt.getAnnotation(DataObject.class) != null;
-          if (annotated) {
-            if (serializer == null) {
-              serializer = Helper.getAnnotatedDataObjectAnnotatedSerializationType(elementUtils, elt);
-            }
-            if (deserializer == null) {
-              deserializer = Helper.getAnnotatedDataObjectDeserialisationType(elementUtils, typeUtils, elt);
-            }
+        MapperInfo serializer = serializers.get(fqcn);
+        MapperInfo deserializer = deserializers.get(fqcn);
+        boolean annotated = elt.getAnnotation(DataObject.class) != null;
+        if (annotated) {
+          if (serializer == null) {
+            serializer = Helper.getAnnotatedDataObjectAnnotatedSerializationType(elementUtils, elt);
           }
-          DataObjectInfo dataObject = null;
-          if (annotated || serializer != null || deserializer != null) {
-            dataObject = new DataObjectInfo(annotated, serializer, deserializer);
+          if (deserializer == null) {
+            deserializer = Helper.getAnnotatedDataObjectDeserialisationType(elementUtils, typeUtils, elt);
           }
+        }
+        DataObjectInfo dataObject = null;
+        if (annotated || serializer != null || deserializer != null) {
+          dataObject = new DataObjectInfo(annotated, serializer, deserializer);
+        }
 
-          boolean permitted;
-          if (elt.getAnnotation(GenIgnore.class) != null) {
-            permitted = true;
-          } else {
-            permitted = false;
-          }
+        boolean permitted;
+        if (elt.getAnnotation(GenIgnore.class) != null) {
+          permitted = true;
+        } else {
+          permitted = false;
+        }
 
-          List<TypeParamInfo.Class> typeParams = createTypeParams(type);
-          if (kind == ClassKind.API) {
-            VertxGen genAnn = elt.getAnnotation(VertxGen.class);
-            TypeInfo handlerArg = null;
-            TypeElement parameterizedElt = elementUtils.getTypeElement(ClassModel.VERTX_HANDLER);
-            TypeMirror parameterizedType = parameterizedElt.asType();
-            TypeMirror rawType = typeUtils.erasure(parameterizedType);
-            if (typeUtils.isSubtype(type, rawType)) {
-              TypeMirror resolved = Helper.resolveTypeParameter(typeUtils, type, parameterizedElt.getTypeParameters().get(0));
-              if (resolved.getKind() == TypeKind.DECLARED) {
-                DeclaredType dt = (DeclaredType) resolved;
-                TypeElement a = (TypeElement) dt.asElement();
-                if (!a.getQualifiedName().toString().equals("io.vertx.core.AsyncResult")) {
-                  handlerArg = create(resolved);
-                }
-              } else {
+        List<TypeParamInfo.Class> typeParams = createTypeParams(type);
+        if (kind == ClassKind.API) {
+          VertxGen genAnn = elt.getAnnotation(VertxGen.class);
+          TypeInfo handlerArg = null;
+          TypeElement parameterizedElt = elementUtils.getTypeElement(ClassModel.VERTX_HANDLER);
+          TypeMirror parameterizedType = parameterizedElt.asType();
+          TypeMirror rawType = typeUtils.erasure(parameterizedType);
+          if (typeUtils.isSubtype(type, rawType)) {
+            TypeMirror resolved = Helper.resolveTypeParameter(typeUtils, type, parameterizedElt.getTypeParameters().get(0));
+            if (resolved.getKind() == TypeKind.DECLARED) {
+              DeclaredType dt = (DeclaredType) resolved;
+              TypeElement a = (TypeElement) dt.asElement();
+              if (!a.getQualifiedName().toString().equals("io.vertx.core.AsyncResult")) {
                 handlerArg = create(resolved);
               }
+            } else {
+              handlerArg = create(resolved);
             }
-            raw = new ApiTypeInfo(fqcn, genAnn.concrete(), typeParams, handlerArg, module, nullable, proxyGen, dataObject);
-          } else {
-            raw = new ClassTypeInfo(kind, fqcn, module, nullable, typeParams, permitted, dataObject);
           }
+          raw = new ApiTypeInfo(fqcn, genAnn.concrete(), typeParams, handlerArg, module, nullable, proxyGen, dataObject);
+        } else {
+          raw = new ClassTypeInfo(kind, fqcn, module, nullable, typeParams, permitted, dataObject);
         }
-        return raw;
+      }
+      return raw;
+    }
+  }
+
+  /**
+   * @return whether the {@code type} is the type declared by {@code elt}, i.e it has no type arguments or its type
+   *         arguments are the type parameters of the element
+   */
+  private static boolean isDeclarationType(DeclaredType type, TypeElement elt) {
+    List<? extends TypeMirror> typeArgs = type.getTypeArguments();
+    List<? extends TypeParameterElement> typeParams = elt.getTypeParameters();
+    if (typeArgs.size() != typeParams.size()) {
+      return false;
+    }
+    for (int i = 0; i < typeArgs.size(); i++) {
+      TypeMirror typeArg = typeArgs.get(i);
+      if (typeArg.getKind() != TypeKind.TYPEVAR || !((TypeVariable) typeArg).asElement().equals(typeParams.get(i))) {
+        return false;
       }
     }
+    return true;
+  }
+
+  /**
+   * @return the number of raw types served from the round cache
+   */
+  public long getCacheHits() {
+    return cacheHits;
+  }
+
+  /**
+   * @return the number of raw types created because they were not yet cached
+   */
+  public long getCacheMisses() {
+    return cacheMisses;
   }
 
   public TypeVariableInfo create(TypeUse use, TypeVariable type) {
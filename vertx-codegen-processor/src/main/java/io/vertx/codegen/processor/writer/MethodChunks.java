@@ -0,0 +1,366 @@
+package io.vertx.codegen.processor.writer;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits the code generated for the members of a data object into chunks small enough to be generated as separate
+ * methods.
+ *
+ * <p>HotSpot never JIT compiles a method larger than {@link #HUGE_METHOD_LIMIT} bytes of bytecode, such method is
+ * interpreted for the lifetime of the JVM. The bytecode size of a fragment is estimated from its source code, so the
+ * chunks are kept under half of the limit.
+ *
+ * <p>A generator creates the chunks of a method body with {@link #of(List)} from the fragments of the body. When the
+ * body fits in a single chunk, {@link #isSplit()} is {@code false} and the generator prints {@link #code()} in its
+ * method as usual. Otherwise the generator declares the signature of the chunk methods with
+ * {@link #method(String, String, String, String)}, then
+ *
+ * <ul>
+ *   <li>prints the calls of the chunks in its method, either {@link #writeCalls} to run all the chunks in order or
+ *   {@link #writeRangeCalls} to run the chunk handling a key, a chunk handling a range of consecutive keys</li>
+ *   <li>prints the chunk methods after its method, either {@link #writeMethods} when all the chunks run or
+ *   {@link #writeSwitchMethods} when the fragments are the cases of a {@code switch}, the {@code default} case of a
+ *   chunk hands over to the next chunk when the chunks are chained</li>
+ * </ul>
+ */
+public class MethodChunks {
+
+  /**
+   * The default value of the HotSpot {@code -XX:HugeMethodLimit} option.
+   */
+  public static final int HUGE_METHOD_LIMIT = 8000;
+
+  /**
+   * The maximum estimated bytecode size of a chunk.
+   */
+  public static final int MAX_CHUNK_SIZE = HUGE_METHOD_LIMIT / 2;
+
+  private final List<List<String>> chunks;
+  private String returnType = "void";
+  private String name;
+  private String parameters;
+  private String arguments;
+  private String exceptions;
+  private int outdent;
+  private String prologue = "";
+  private String epilogue = "";
+
+  private MethodChunks(List<List<String>> chunks) {
+    this.chunks = chunks;
+  }
+
+  /**
+   * Create the chunks of a method body.
+   *
+   * @param fragments the code fragments of the body, in order
+   * @return the chunks
+   */
+  public static MethodChunks of(List<String> fragments) {
+    return new MethodChunks(partition(fragments));
+  }
+
+  /**
+   * Create the chunks of a method body.
+   *
+   * @param fragments the code fragments of the body, in order
+   * @param maxSize the maximum estimated bytecode size of a chunk
+   * @return the chunks
+   */
+  public static MethodChunks of(List<String> fragments, int maxSize) {
+    return new MethodChunks(partition(fragments, maxSize));
+  }
+
+  /**
+   * Declare the signature of the chunk methods, the method of the chunk {@code i} is named {@code name + i}.
+   *
+   * @param returnType the return type of the chunk methods
+   * @param name the name prefix of the chunk methods
+   * @param parameters the parameter declarations of the chunk methods
+   * @param arguments the arguments of the chunk calls, matching the {@code parameters}
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MethodChunks method(String returnType, String name, String parameters, String arguments) {
+    this.returnType = returnType;
+    this.name = name;
+    this.parameters = parameters;
+    this.arguments = arguments;
+    return this;
+  }
+
+  /**
+   * Declare the checked exceptions thrown by the chunk methods.
+   *
+   * @param exceptions the {@code throws} clause without the keyword
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MethodChunks throwing(String exceptions) {
+    this.exceptions = exceptions;
+    return this;
+  }
+
+  /**
+   * Declare how many levels of indentation the fragments lose in the chunk methods, when the fragments are indented
+   * for a method body nesting them more than a chunk method does.
+   *
+   * @param levels the number of levels
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MethodChunks outdent(int levels) {
+    this.outdent = levels;
+    return this;
+  }
+
+  /**
+   * Declare the statements surrounding the fragments in each chunk method.
+   *
+   * @param prologue the statements before the fragments
+   * @param epilogue the statements after the fragments, e.g. the {@code return} statement
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MethodChunks body(String prologue, String epilogue) {
+    this.prologue = prologue;
+    this.epilogue = epilogue;
+    return this;
+  }
+
+  /**
+   * @return whether the body is split in several chunks
+   */
+  public boolean isSplit() {
+    return chunks.size() > 1;
+  }
+
+  /**
+   * @return the number of chunks
+   */
+  public int size() {
+    return chunks.size();
+  }
+
+  /**
+   * @return the code of all the chunks, when the body is not split
+   */
+  public String code() {
+    StringBuilder code = new StringBuilder();
+    chunks.forEach(chunk -> chunk.forEach(code::append));
+    return code.toString();
+  }
+
+  /**
+   * @param index the chunk index
+   * @return the invocation of the method of the chunk {@code index}, without the semicolon
+   */
+  public String call(int index) {
+    return name + index + "(" + arguments + ")";
+  }
+
+  /**
+   * Print a statement calling each chunk in order.
+   *
+   * @param writer the writer of the calling method
+   * @param indent the indentation of the statements
+   * @param assignee the prefix of the calls, e.g. {@code "index = "} when each chunk returns a value the next chunk
+   *                 receives, or the empty string
+   */
+  public void writeCalls(PrintWriter writer, String indent, String assignee) {
+    for (int i = 0; i < chunks.size(); i++) {
+      writer.print(indent + assignee + call(i) + ";\n");
+    }
+  }
+
+  /**
+   * Print the {@code if} statements calling the chunk handling the value of {@code selector}, each chunk handles
+   * the keys of its fragments and the keys of the fragments increase.
+   *
+   * @param writer the writer of the calling method
+   * @param indent the indentation of the statements
+   * @param selector the expression of the key
+   * @param keys the key of each fragment
+   * @param assignee the prefix of the calls, e.g. {@code "return "}, or the empty string
+   */
+  public void writeRangeCalls(PrintWriter writer, String indent, String selector, List<Integer> keys, String assignee) {
+    int last = 0;
+    for (int i = 0; i < chunks.size(); i++) {
+      last += chunks.get(i).size();
+      if (i == 0) {
+        writer.print(indent + "if (" + selector + " <= " + keys.get(last - 1) + ") {\n");
+      } else if (i + 1 < chunks.size()) {
+        writer.print(indent + "} else if (" + selector + " <= " + keys.get(last - 1) + ") {\n");
+      } else {
+        writer.print(indent + "} else {\n");
+      }
+      writer.print(indent + "  " + assignee + call(i) + ";\n");
+    }
+    writer.print(indent + "}\n");
+  }
+
+  /**
+   * Print the chunk methods, each running its fragments between the prologue and the epilogue.
+   *
+   * @param writer the writer of the class
+   */
+  public void writeMethods(PrintWriter writer) {
+    for (int i = 0; i < chunks.size(); i++) {
+      writeDeclaration(writer, i);
+      writeFragments(writer, i);
+      writer.print(epilogue);
+      writer.print("  }\n");
+    }
+  }
+
+  /**
+   * Print the chunk methods, the fragments of each chunk are the cases of a {@code switch} on {@code selector}. The
+   * {@code default} case runs {@code otherwise}, except when the chunks are {@code chained}: a chunk then calls the
+   * next one and only the last chunk runs {@code otherwise}.
+   *
+   * @param writer the writer of the class
+   * @param selector the switch expression
+   * @param otherwise the statement of the {@code default} case, or {@code null} for no {@code default} case
+   * @param chained whether a chunk hands over the unknown values to the next chunk
+   */
+  public void writeSwitchMethods(PrintWriter writer, String selector, String otherwise, boolean chained) {
+    for (int i = 0; i < chunks.size(); i++) {
+      writeDeclaration(writer, i);
+      writer.print("    switch (" + selector + ") {\n");
+      writeFragments(writer, i);
+      if (chained && i + 1 < chunks.size()) {
+        writer.print("      default:\n");
+        writer.print("        " + call(i + 1) + ";\n");
+      } else if (otherwise != null) {
+        writer.print("      default:\n");
+        writer.print("        " + otherwise + "\n");
+      }
+      writer.print("    }\n");
+      writer.print(epilogue);
+      writer.print("  }\n");
+    }
+  }
+
+  private void writeDeclaration(PrintWriter writer, int index) {
+    writer.print("\n");
+    writer.print("  private static " + returnType + " " + name + index + "(" + parameters + ")" + (exceptions != null ? " throws " + exceptions : "") + " {\n");
+    writer.print(prologue);
+  }
+
+  private void writeFragments(PrintWriter writer, int index) {
+    for (String fragment : chunks.get(index)) {
+      for (int i = 0; i < outdent; i++) {
+        fragment = unindent(fragment);
+      }
+      writer.print(fragment);
+    }
+  }
+
+  /**
+   * Split the {@code fragments} in chunks of at most {@link #MAX_CHUNK_SIZE} estimated bytes.
+   *
+   * @param fragments the code fragments, in order
+   * @return the chunks, each chunk is the concatenation of consecutive fragments
+   */
+  public static List<String> split(List<String> fragments) {
+    return split(fragments, MAX_CHUNK_SIZE);
+  }
+
+  /**
+   * Split the {@code fragments} in chunks of at most {@code maxSize} estimated bytes, a fragment larger than
+   * {@code maxSize} is a chunk on its own.
+   *
+   * @param fragments the code fragments, in order
+   * @param maxSize the maximum estimated bytecode size of a chunk
+   * @return the chunks, each chunk is the concatenation of consecutive fragments
+   */
+  public static List<String> split(List<String> fragments, int maxSize) {
+    List<String> chunks = new ArrayList<>();
+    for (List<String> group : partition(fragments, maxSize)) {
+      chunks.add(String.join("", group));
+    }
+    return chunks;
+  }
+
+  /**
+   * Like {@link #split(List)} but keeps the fragments of each chunk apart, so the generator can decorate them.
+   *
+   * @param fragments the code fragments, in order
+   * @return the groups of consecutive fragments, there is always at least one group
+   */
+  public static List<List<String>> partition(List<String> fragments) {
+    return partition(fragments, MAX_CHUNK_SIZE);
+  }
+
+  /**
+   * Like {@link #split(List, int)} but keeps the fragments of each chunk apart, so the generator can decorate them.
+   *
+   * @param fragments the code fragments, in order
+   * @param maxSize the maximum estimated bytecode size of a chunk
+   * @return the groups of consecutive fragments, there is always at least one group
+   */
+  public static List<List<String>> partition(List<String> fragments, int maxSize) {
+    List<List<String>> groups = new ArrayList<>();
+    List<String> group = new ArrayList<>();
+    int groupSize = 0;
+    for (String fragment : fragments) {
+      int size = estimateSize(fragment);
+      if (!group.isEmpty() && groupSize + size > maxSize) {
+        groups.add(group);
+        group = new ArrayList<>();
+        groupSize = 0;
+      }
+      group.add(fragment);
+      groupSize += size;
+    }
+    if (!group.isEmpty() || groups.isEmpty()) {
+      groups.add(group);
+    }
+    return groups;
+  }
+
+  /**
+   * Remove one level of indentation from a chunk, when its code moves to a method nesting it one level less.
+   *
+   * @param code the chunk
+   * @return the unindented chunk
+   */
+  public static String unindent(String code) {
+    return code.replaceAll("(?m)^  ", "");
+  }
+
+  /**
+   * Estimate the bytecode size of Java statements, generously: a name or a literal costs a load, a field access or
+   * an invocation of at most 3 bytes and a {@code case} label of a string switch costs its hash lookup and
+   * its {@code equals} check, while the label of an int switch is a table entry.
+   *
+   * @param code the Java statements
+   * @return the estimated size in bytes
+   */
+  public static int estimateSize(String code) {
+    int size = 0;
+    int len = code.length();
+    int i = 0;
+    while (i < len) {
+      char c = code.charAt(i);
+      if (c == '/' && i + 1 < len && code.charAt(i + 1) == '/') {
+        while (i < len && code.charAt(i) != '\n') {
+          i++;
+        }
+      } else if (c == '"' || c == '\'') {
+        i++;
+        while (i < len && code.charAt(i) != c) {
+          i += code.charAt(i) == '\\' ? 2 : 1;
+        }
+        i++;
+        size += 3;
+      } else if (Character.isJavaIdentifierStart(c) || Character.isDigit(c)) {
+        int start = i;
+        while (i < len && Character.isJavaIdentifierPart(code.charAt(i))) {
+          i++;
+        }
+        size += i - start == 4 && code.startsWith("case \"", start) ? 24 : 3;
+      } else {
+        i++;
+      }
+    }
+    return size;
+  }
+}
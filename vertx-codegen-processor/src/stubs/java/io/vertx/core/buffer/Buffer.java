@@ -3,7 +3,9 @@ package io.vertx.core.buffer;
 import io.vertx.codegen.annotations.DataObject;
 import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.buffer.impl.BufferImpl;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Base64;
 
@@ -19,6 +21,10 @@ public interface Buffer {
     return buffer(bytes);
   }
 
+  static Buffer buffer() {
+    return new BufferImpl();
+  }
+
   @GenIgnore(GenIgnore.PERMITTED_TYPE)
   static Buffer buffer(byte[] bytes) {
     return new Buffer() {
@@ -40,6 +46,36 @@ public interface Buffer {
   @GenIgnore(GenIgnore.PERMITTED_TYPE)
   byte[] getBytes();
 
+  default int length() {
+    return getBytes().length;
+  }
+
+  default byte getByte(int pos) {
+    return getBytes()[pos];
+  }
+
+  default String getString(int start, int end) {
+    return new String(getBytes(), start, end - start, StandardCharsets.UTF_8);
+  }
+
+  default Buffer appendByte(byte b) {
+    throw new UnsupportedOperationException();
+  }
+
+  @GenIgnore(GenIgnore.PERMITTED_TYPE)
+  default Buffer appendBytes(byte[] bytes) {
+    throw new UnsupportedOperationException();
+  }
+
+  @GenIgnore(GenIgnore.PERMITTED_TYPE)
+  default Buffer appendBytes(byte[] bytes, int offset, int len) {
+    throw new UnsupportedOperationException();
+  }
+
+  default Buffer appendString(String str) {
+    throw new UnsupportedOperationException();
+  }
+
   default String toJson() {
     Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
     return encoder.encodeToString(getBytes());
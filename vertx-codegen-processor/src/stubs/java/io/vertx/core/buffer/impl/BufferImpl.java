@@ -0,0 +1,85 @@
+package io.vertx.core.buffer.impl;
+
+import io.vertx.core.buffer.Buffer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A growable buffer.
+ */
+public class BufferImpl implements Buffer {
+
+  private byte[] bytes = new byte[64];
+  private int length;
+
+  @Override
+  public byte[] getBytes() {
+    return Arrays.copyOf(bytes, length);
+  }
+
+  @Override
+  public int length() {
+    return length;
+  }
+
+  @Override
+  public byte getByte(int pos) {
+    if (pos >= length) {
+      throw new IndexOutOfBoundsException();
+    }
+    return bytes[pos];
+  }
+
+  @Override
+  public String getString(int start, int end) {
+    if (end > length) {
+      throw new IndexOutOfBoundsException();
+    }
+    return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public Buffer appendByte(byte b) {
+    ensureCapacity(1);
+    bytes[length++] = b;
+    return this;
+  }
+
+  @Override
+  public Buffer appendBytes(byte[] bytes) {
+    return appendBytes(bytes, 0, bytes.length);
+  }
+
+  @Override
+  public Buffer appendBytes(byte[] bytes, int offset, int len) {
+    ensureCapacity(len);
+    System.arraycopy(bytes, offset, this.bytes, length, len);
+    length += len;
+    return this;
+  }
+
+  @Override
+  public Buffer appendString(String str) {
+    return appendBytes(str.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj instanceof Buffer) {
+      return Arrays.equals(getBytes(), ((Buffer) obj).getBytes());
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(getBytes());
+  }
+
+  private void ensureCapacity(int n) {
+    if (length + n > bytes.length) {
+      bytes = Arrays.copyOf(bytes, Math.max(length + n, bytes.length * 2));
+    }
+  }
+}
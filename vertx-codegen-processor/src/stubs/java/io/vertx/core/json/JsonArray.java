@@ -54,7 +54,7 @@ public class JsonArray implements Iterable<Object> {
 //  public JsonArray add(JsonArray array) { throw new UnsupportedOperationException(); }
 // public JsonArray add(byte[] value) { throw new UnsupportedOperationException(); }
   public List getList() {
-    throw new UnsupportedOperationException();
+    return list;
   }
   public Stream<Object> stream() {
     throw new UnsupportedOperationException();
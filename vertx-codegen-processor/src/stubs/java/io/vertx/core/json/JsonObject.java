@@ -1,8 +1,8 @@
 package io.vertx.core.json;
 
 import java.time.Instant;
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.stream.Stream;
 
@@ -14,7 +14,7 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>> {
   private final Map<String, Object> map;
 
   public JsonObject() {
-    this(new HashMap<>());
+    this(new LinkedHashMap<>());
   }
 
   public JsonObject(Map<String, Object> map) {
@@ -43,7 +43,7 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>> {
   }
 
   public JsonObject copy() {
-    return new JsonObject(new HashMap<>(map));
+    return new JsonObject(new LinkedHashMap<>(map));
   }
 
   public int size() {
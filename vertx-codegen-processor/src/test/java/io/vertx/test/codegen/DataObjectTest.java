@@ -350,6 +350,29 @@ public class DataObjectTest {
     assertProperty(model.getPropertyMap().get("enumerated"), "enumerated", "setEnumerated", null, "getEnumerated", TypeReflectionFactory.create(Enumerated.class), true, PropertyKind.VALUE, true);
   }
 
+  @Test
+  public void testPropertyArrayGettersSetters() throws Exception {
+    DataObjectModel model = new GeneratorHelper().generateDataObject(PropertyArrayGettersSetters.class);
+    assertNotNull(model);
+    assertEquals(2, model.getPropertyMap().size());
+    PropertyInfo ints = model.getPropertyMap().get("ints");
+    assertEquals("setInts", ints.getSetterMethod());
+    assertEquals("getInts", ints.getGetterMethod());
+    assertEquals(PropertyKind.VALUE, ints.getKind());
+    assertFalse(ints.isJsonifiable());
+    assertEquals(TypeReflectionFactory.create(int.class), ((ArrayTypeInfo) ints.getType()).getComponentType());
+    PropertyInfo strings = model.getPropertyMap().get("strings");
+    assertEquals("setStrings", strings.getSetterMethod());
+    assertEquals("getStrings", strings.getGetterMethod());
+    assertFalse(strings.isJsonifiable());
+    assertEquals(TypeReflectionFactory.create(String.class), ((ArrayTypeInfo) strings.getType()).getComponentType());
+  }
+
+  @Test
+  public void testPropertyArrayGetterSetterMismatch() throws Exception {
+    assertInvalidDataObject(PropertyArrayGetterSetterMismatch.class);
+  }
+
   @Test
   public void testJsonObjectSetter() throws Exception {
     DataObjectModel model = new GeneratorHelper().generateDataObject(JsonObjectSetter.class);
@@ -0,0 +1,109 @@
+package io.vertx.test.codegen;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads the bytecode size of the methods of a compiled class.
+ */
+public class MethodSizes {
+
+  /**
+   * @return the bytecode size of the methods of the class file, indexed by the name and descriptor of the method
+   */
+  public static Map<String, Integer> of(File classFile) throws IOException {
+    return of(Files.readAllBytes(classFile.toPath()));
+  }
+
+  /**
+   * @return the bytecode size of the methods of the class file, indexed by the name and descriptor of the method
+   */
+  public static Map<String, Integer> of(byte[] classFile) throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(classFile));
+    if (in.readInt() != 0xCAFEBABE) {
+      throw new IOException("Not a class file");
+    }
+    in.readUnsignedShort();
+    in.readUnsignedShort();
+    int count = in.readUnsignedShort();
+    String[] utf8 = new String[count];
+    for (int i = 1; i < count; i++) {
+      int tag = in.readUnsignedByte();
+      switch (tag) {
+        case 1:
+          utf8[i] = in.readUTF();
+          break;
+        case 3:
+        case 4:
+        case 9:
+        case 10:
+        case 11:
+        case 12:
+        case 17:
+        case 18:
+          in.readInt();
+          break;
+        case 5:
+        case 6:
+          // Long and double constants take two entries
+          in.readLong();
+          i++;
+          break;
+        case 7:
+        case 8:
+        case 16:
+        case 19:
+        case 20:
+          in.readUnsignedShort();
+          break;
+        case 15:
+          in.readUnsignedByte();
+          in.readUnsignedShort();
+          break;
+        default:
+          throw new IOException("Unknown constant pool tag " + tag);
+      }
+    }
+    in.readUnsignedShort();
+    in.readUnsignedShort();
+    in.readUnsignedShort();
+    in.skipBytes(2 * in.readUnsignedShort());
+    int fields = in.readUnsignedShort();
+    for (int i = 0; i < fields; i++) {
+      in.skipBytes(6);
+      skipAttributes(in);
+    }
+    Map<String, Integer> sizes = new LinkedHashMap<>();
+    int methods = in.readUnsignedShort();
+    for (int i = 0; i < methods; i++) {
+      in.readUnsignedShort();
+      String name = utf8[in.readUnsignedShort()] + utf8[in.readUnsignedShort()];
+      int attributes = in.readUnsignedShort();
+      for (int j = 0; j < attributes; j++) {
+        String attribute = utf8[in.readUnsignedShort()];
+        int length = in.readInt();
+        if (attribute.equals("Code")) {
+          in.skipBytes(4);
+          sizes.put(name, in.readInt());
+          in.skipBytes(length - 8);
+        } else {
+          in.skipBytes(length);
+        }
+      }
+    }
+    return sizes;
+  }
+
+  private static void skipAttributes(DataInputStream in) throws IOException {
+    int attributes = in.readUnsignedShort();
+    for (int i = 0; i < attributes; i++) {
+      in.readUnsignedShort();
+      in.skipBytes(in.readInt());
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package io.vertx.test.codegen;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.codegen.processor.CodeGen;
+import io.vertx.codegen.processor.Compiler;
+import io.vertx.codegen.processor.Model;
+import io.vertx.codegen.processor.ModelProvider;
+import io.vertx.codegen.processor.type.TypeMirrorFactory;
+import io.vertx.test.codegen.testapi.VertxGenClass1;
+import io.vertx.test.codegen.testdataobject.EmptyDataObject;
+import io.vertx.test.codegen.testdataobject.NonDataObject;
+import io.vertx.test.codegen.testenum.ValidEnum;
+import org.junit.Test;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Selection of the root elements submitted to the {@link ModelProvider}s.
+ */
+public class ModelProviderTest {
+
+  private static final List<Class> TYPES = Arrays.asList(VertxGenClass1.class, EmptyDataObject.class, ValidEnum.class, NonDataObject.class);
+
+  private static class RecordingProvider implements ModelProvider {
+
+    private final Collection<Class<? extends Annotation>> annotations;
+    private final Set<String> candidates = new HashSet<>();
+
+    RecordingProvider(Collection<Class<? extends Annotation>> annotations) {
+      this.annotations = annotations;
+    }
+
+    @Override
+    public Collection<Class<? extends Annotation>> annotations() {
+      return annotations;
+    }
+
+    @Override
+    public Model getModel(ProcessingEnvironment env, TypeMirrorFactory typeFactory, TypeElement elt) {
+      candidates.add(elt.getQualifiedName().toString());
+      return null;
+    }
+  }
+
+  private static void process(List<ModelProvider> providers, Consumer<CodeGen> test) throws Exception {
+    List<CodeGen> processed = new ArrayList<>();
+    Compiler compiler = new Compiler(new AbstractProcessor() {
+      @Override
+      public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton("*");
+      }
+      @Override
+      public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+      }
+      @Override
+      public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (!roundEnv.processingOver()) {
+          CodeGen codegen = new CodeGen(processingEnv, providers);
+          codegen.init(roundEnv, Thread.currentThread().getContextClassLoader(), kind -> kind.equals("dataObject"));
+          test.accept(codegen);
+          processed.add(codegen);
+        }
+        return false;
+      }
+    });
+    assertTrue(compiler.compile(TYPES));
+    assertEquals(1, processed.size());
+  }
+
+  @Test
+  public void testAnnotationCandidates() throws Exception {
+    RecordingProvider vertxGen = new RecordingProvider(Collections.singleton(VertxGen.class));
+    RecordingProvider dataObject = new RecordingProvider(Collections.singleton(DataObject.class));
+    RecordingProvider both = new RecordingProvider(Arrays.asList(VertxGen.class, DataObject.class));
+    process(Arrays.asList(vertxGen, dataObject, both), codegen -> {});
+    assertEquals(names(VertxGenClass1.class, ValidEnum.class), vertxGen.candidates);
+    assertEquals(names(EmptyDataObject.class), dataObject.candidates);
+    assertEquals(names(VertxGenClass1.class, ValidEnum.class, EmptyDataObject.class), both.candidates);
+  }
+
+  @Test
+  public void testProviderWithoutAnnotations() throws Exception {
+    RecordingProvider provider = new RecordingProvider(Collections.emptySet());
+    process(Collections.singletonList(provider), codegen -> {});
+    assertEquals(names(TYPES.toArray(new Class[0])), provider.candidates);
+  }
+
+  @Test
+  public void testSkipUnwantedKinds() throws Exception {
+    process(Arrays.asList(ModelProvider.CLASS, ModelProvider.DATA_OBJECT, ModelProvider.ENUM), codegen -> {
+      Set<String> models = codegen.getModels().map(entry -> entry.getValue().getFqn()).collect(Collectors.toSet());
+      assertEquals(names(EmptyDataObject.class), models);
+      assertNotNull(codegen.getDataObjectModel(EmptyDataObject.class.getName()));
+      try {
+        codegen.getClassModel(VertxGenClass1.class.getName());
+        fail();
+      } catch (IllegalArgumentException expected) {
+      }
+      try {
+        codegen.getEnumModel(ValidEnum.class.getName());
+        fail();
+      } catch (IllegalArgumentException expected) {
+      }
+    });
+  }
+
+  private static Set<String> names(Class<?>... types) {
+    return Arrays.stream(types).map(Class::getName).collect(Collectors.toSet());
+  }
+}
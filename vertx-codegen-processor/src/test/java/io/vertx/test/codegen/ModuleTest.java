@@ -2,7 +2,9 @@ package io.vertx.test.codegen;
 
 import io.vertx.codegen.processor.ClassModel;
 import io.vertx.codegen.processor.GenException;
+import io.vertx.codegen.processor.ModuleInfo;
 import io.vertx.codegen.processor.ModuleModel;
+import io.vertx.codegen.processor.ModuleResolver;
 import io.vertx.codegen.processor.DataObjectModel;
 import io.vertx.codegen.processor.type.ApiTypeInfo;
 import io.vertx.codegen.processor.type.TypeNameTranslator;
@@ -19,6 +21,8 @@ import io.vertx.test.codegen.testmodule.vertx.core.VertxCoreModuleScopedApi;
 import io.vertx.test.codegen.testmodule.vertx.other.VertxOtherModuleScopedApi;
 import org.junit.Test;
 
+import javax.lang.model.element.PackageElement;
+
 import static org.junit.Assert.*;
 
 /**
@@ -197,4 +201,22 @@ public class ModuleTest {
 //    assertEquals("io.vertx.groovy.test.codegen.testmodule.vertx.other.VertxOtherModuleScopedApi", type.translateName("groovy"));
 //    assertEquals("io.vertx.ceylon.other.VertxOtherModuleScopedApi", type.translateName(TypeNameTranslator.composite("ceylon")));
   }
+
+  @Test
+  public void testModuleResolver() throws Exception {
+    Utils.assertProcess((proc, env) -> {
+      ModuleResolver resolver = new ModuleResolver(proc.getElementUtils());
+      PackageElement subPkg = proc.getElementUtils().getPackageOf(proc.getElementUtils().getTypeElement(ModuleScopedSubApi.class.getName()));
+      ModuleInfo module = resolver.resolve(subPkg);
+      assertNotNull(module);
+      assertEquals("io.vertx.test.codegen.testmodule.modulescoped", module.getPackageName());
+      assertEquals("simple", module.getName());
+      assertSame(module, resolver.resolve(subPkg));
+      PackageElement modulePkg = proc.getElementUtils().getPackageOf(proc.getElementUtils().getTypeElement(ModuleScopedApi.class.getName()));
+      assertSame(module, resolver.resolve(modulePkg));
+      PackageElement noModulePkg = proc.getElementUtils().getPackageOf(proc.getElementUtils().getTypeElement(NoModuleApi.class.getName()));
+      assertNull(resolver.resolve(noModulePkg));
+      assertNull(resolver.resolve(noModulePkg));
+    });
+  }
 }
@@ -11,6 +11,7 @@ import io.vertx.test.codegen.testapi.GenericInterface;
 import io.vertx.test.codegen.testtype.*;
 import org.junit.Test;
 
+import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -281,6 +282,29 @@ public class TypeInfoTest {
     });
   }
 
+  @Test
+  public void testRawTypeCache() throws Exception {
+    Utils.assertProcess((proc, env) -> {
+      TypeElement holderElt = proc.getElementUtils().getTypeElement(ApiHolder.class.getName());
+      TypeMirrorFactory factory = new TypeMirrorFactory(proc.getElementUtils(), proc.getTypeUtils());
+      List<ExecutableElement> methods = holderElt.getEnclosedElements().stream().
+          flatMap(Helper.FILTER_METHOD).
+          collect(Collectors.toList());
+      ExecutableElement api = methods.stream().filter(m -> m.getSimpleName().contentEquals("api")).findFirst().get();
+      ExecutableElement apiParameterizedByClass = methods.stream().filter(m -> m.getSimpleName().contentEquals("apiParameterizedByClass")).findFirst().get();
+      TypeInfo first = factory.create(api.getReturnType());
+      assertEquals(0, factory.getCacheHits());
+      assertEquals(1, factory.getCacheMisses());
+      assertSame(first, factory.create(api.getReturnType()));
+      assertEquals(1, factory.getCacheHits());
+      ParameterizedTypeInfo parameterized1 = (ParameterizedTypeInfo) factory.create(apiParameterizedByClass.getReturnType());
+      ParameterizedTypeInfo parameterized2 = (ParameterizedTypeInfo) factory.create(apiParameterizedByClass.getReturnType());
+      assertNotSame(parameterized1, parameterized2);
+      assertSame(parameterized1.getRaw(), parameterized2.getRaw());
+      assertSame(parameterized1.getArg(0), parameterized2.getArg(0));
+    });
+  }
+
   @Test
   public void testGetErased() {
     abstract class Container<M> implements AsyncResult<List<M>>  {}
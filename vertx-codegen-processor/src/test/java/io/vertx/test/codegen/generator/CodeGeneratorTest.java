@@ -4,6 +4,7 @@ import io.vertx.codegen.processor.Processor;
 import io.vertx.codegen.processor.Compiler;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.test.codegen.generator.gen8.TestGenerator;
 import io.vertx.test.codegen.testapi.InvalidInterfaceDataObject;
 import io.vertx.test.codegen.testapi.MethodWithValidVertxGenParams;
 import io.vertx.test.codegen.testapi.VertxGenClass1;
@@ -19,10 +20,15 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TestName;
 
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
 import java.io.File;
 import java.io.FileInputStream;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.Callable;
@@ -204,6 +210,180 @@ public class CodeGeneratorTest {
     assertFile("should_not_be_compiled", new File(testDir, "classes/file.txt".replace('/', File.separatorChar)));
   }
 
+  @Test
+  public void testSkipUnchanged() throws Exception {
+    File classes = assertMkDirs(new File(testDir, "classes"));
+    File sources = assertMkDirs(new File(testDir, "sources"));
+    File file = new File(classes, "file.txt");
+    for (int i = 0;i < 2;i++) {
+      Compiler compiler = new Compiler(new Processor());
+      compiler.setClassOutput(classes);
+      compiler.setSourceOutput(sources);
+      compiler.addOption("-Acodegen.generators=testgen4");
+      compiler.addOption("-Acodegen.skipUnchanged");
+      assertTrue(compiler.compile(VertxGenClass1.class));
+      assertFile("should_not_be_compiled", file);
+      if (i == 0) {
+        assertTrue(file.setLastModified(0));
+      }
+    }
+    assertEquals(0, file.lastModified());
+  }
+
+  @Test
+  public void testGradleIncrementalType() throws Exception {
+    Processor processor = new Processor();
+    Compiler compiler = new Compiler(processor);
+    compiler.setClassOutput(testDir);
+    compiler.addOption("-Acodegen.generators=testgen1");
+    assertTrue(compiler.compile(VertxGenClass1.class));
+    Set<String> options = processor.getSupportedOptions();
+    assertTrue(options.contains("org.gradle.annotation.processing.aggregating"));
+    assertFalse(options.contains("org.gradle.annotation.processing.isolating"));
+  }
+
+  private static String modelCacheStats(DiagnosticCollector<JavaFileObject> diagnostics) {
+    return diagnostics.getDiagnostics()
+      .stream()
+      .map(diagnostic -> diagnostic.getMessage(null))
+      .filter(msg -> msg.startsWith("Model cache: "))
+      .findFirst()
+      .orElseThrow(AssertionError::new);
+  }
+
+  @Test
+  public void testModelCache() throws Exception {
+    File cache = new File(testDir, "cache");
+    for (int i = 0;i < 2;i++) {
+      File classes = assertMkDirs(new File(testDir, "classes" + i));
+      DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+      Compiler compiler = new Compiler(new Processor(), diagnostics);
+      compiler.setClassOutput(classes);
+      compiler.setSourceOutput(classes);
+      compiler.addOption("-Acodegen.generators=testgen4");
+      compiler.addOption("-Acodegen.cache=" + cache.getAbsolutePath());
+      assertTrue(compiler.compile(VertxGenClass1.class));
+      assertTrue(new File(cache, VertxGenClass1.class.getName() + ".bin").isFile());
+      assertFile("should_not_be_compiled", new File(classes, "file.txt"));
+      // The second compilation re-emits the cached file
+      assertEquals(i == 0 ? "Model cache: 0 hits, 1 misses" : "Model cache: 1 hits, 0 misses", modelCacheStats(diagnostics));
+    }
+  }
+
+  @Test
+  public void testModelCacheReferencedTypeAncestor() throws Exception {
+    File cache = new File(testDir, "cache");
+    File sources = assertMkDirs(new File(testDir, "sources/cached"));
+    File holder = new File(sources, "Holder.java");
+    File nested = new File(sources, "Nested.java");
+    File base = new File(sources, "Base.java");
+    File module = new File(sources, "package-info.java");
+    Files.write(module.toPath(), ("@io.vertx.codegen.annotations.ModuleGen(name = \"cached\", groupPackage = \"cached\")\n" +
+      "package cached;\n").getBytes(StandardCharsets.UTF_8));
+    Files.write(holder.toPath(), ("package cached;\n" +
+      "@io.vertx.codegen.annotations.DataObject\n" +
+      "public class Holder {\n" +
+      "  public Holder(io.vertx.core.json.JsonObject json) {}\n" +
+      "  public Nested getNested() { return null; }\n" +
+      "  public Holder setNested(Nested nested) { return this; }\n" +
+      "}\n").getBytes(StandardCharsets.UTF_8));
+    Files.write(nested.toPath(), ("package cached;\n" +
+      "@io.vertx.codegen.annotations.DataObject\n" +
+      "public class Nested extends Base {\n" +
+      "  public Nested(io.vertx.core.json.JsonObject json) {}\n" +
+      "}\n").getBytes(StandardCharsets.UTF_8));
+    String[] bases = {
+      "package cached;\npublic class Base {\n}\n",
+      // Nested becomes serializable through its superclass
+      "package cached;\npublic class Base {\n  public io.vertx.core.json.JsonObject toJson() { return null; }\n}\n",
+      "package cached;\npublic class Base {\n  public io.vertx.core.json.JsonObject toJson() { return null; }\n}\n"
+    };
+    String[] expected = {
+      "Model cache: 0 hits, 2 misses",
+      "Model cache: 0 hits, 2 misses",
+      "Model cache: 2 hits, 0 misses"
+    };
+    for (int i = 0;i < bases.length;i++) {
+      Files.write(base.toPath(), bases[i].getBytes(StandardCharsets.UTF_8));
+      File classes = assertMkDirs(new File(testDir, "classes" + i));
+      DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+      Compiler compiler = new Compiler(new Processor(), diagnostics);
+      compiler.setClassOutput(classes);
+      compiler.setSourceOutput(classes);
+      compiler.addOption("-Acodegen.generators=testgen1");
+      compiler.addOption("-Acodegen.cache=" + cache.getAbsolutePath());
+      assertTrue(diagnostics.getDiagnostics().toString(), compiler.compile(module, holder, nested, base));
+      assertEquals(expected[i], modelCacheStats(diagnostics));
+    }
+  }
+
+  @Test
+  public void testStats() throws Exception {
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    Compiler compiler = new Compiler(new Processor(), diagnostics);
+    compiler.setClassOutput(testDir);
+    compiler.addOption("-Acodegen.generators=testgen4");
+    compiler.addOption("-Acodegen.stats");
+    assertTrue(compiler.compile(VertxGenClass1.class));
+    String summary = diagnostics.getDiagnostics()
+      .stream()
+      .map(diagnostic -> diagnostic.getMessage(null))
+      .filter(msg -> msg.startsWith("Codegen stats"))
+      .findFirst()
+      .orElseThrow(AssertionError::new);
+    assertTrue(summary.contains("generator testgen4: 1 rendered"));
+    assertTrue(summary.contains("model class: 1 processed"));
+  }
+
+  private Map<String, String> compileParallel(File classes, String parallelism) throws Exception {
+    Compiler compiler = new Compiler(new Processor());
+    compiler.setClassOutput(assertMkDirs(classes));
+    compiler.addOption("-Acodegen.generators=testgen8");
+    if (parallelism != null) {
+      compiler.addOption("-Acodegen.parallelism=" + parallelism);
+    }
+    assertTrue(compiler.compile(MethodWithValidVertxGenParams.class, VertxGenClass1.class, VertxGenClass2.class,
+      CommentedDataObject.class, PropertyGettersSetters.class, ValidEnum.class));
+    Map<String, String> files = new TreeMap<>();
+    for (File file : classes.listFiles((dir, name) -> name.endsWith(".txt"))) {
+      files.put(file.getName(), new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+    }
+    return files;
+  }
+
+  @Test
+  public void testParallelRendering() throws Exception {
+    TestGenerator.PREPARE_THREADS.clear();
+    TestGenerator.RENDER_THREADS.clear();
+    Map<String, String> serial = compileParallel(new File(testDir, "serial"), null);
+    assertEquals(6, serial.size());
+    assertEquals("enum " + ValidEnum.class.getName() + ": <init>,BLUE,GREEN,RED,valueOf,values\n", serial.get(ValidEnum.class.getName().replace('.', '_') + ".txt"));
+    assertEquals(Collections.singleton(Thread.currentThread()), TestGenerator.RENDER_THREADS);
+    Map<String, String> parallel = compileParallel(new File(testDir, "parallel"), "4");
+    assertEquals(serial, parallel);
+    // The javac API is only used on the compiler thread
+    assertEquals(Collections.singleton(Thread.currentThread()), TestGenerator.PREPARE_THREADS);
+    assertTrue(TestGenerator.RENDER_THREADS.size() > 1);
+  }
+
+  @Test
+  public void testParallelRenderingError() throws Exception {
+    TestGenerator.failure = new StackOverflowError();
+    try {
+      DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+      Compiler compiler = new Compiler(new Processor(), diagnostics);
+      compiler.setClassOutput(testDir);
+      compiler.addOption("-Acodegen.generators=testgen8");
+      compiler.addOption("-Acodegen.parallelism=4");
+      assertFalse(compiler.compile(VertxGenClass1.class, VertxGenClass2.class));
+      assertTrue(diagnostics.getDiagnostics()
+        .stream()
+        .anyMatch(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR && diagnostic.getMessage(null).contains(StackOverflowError.class.getName())));
+    } finally {
+      TestGenerator.failure = null;
+    }
+  }
+
   @Test
   public void testMultipleTypes() throws Exception {
     Compiler compiler = new Compiler(new Processor());
@@ -0,0 +1,65 @@
+package io.vertx.test.codegen.generator.gen8;
+
+import io.vertx.codegen.processor.Generator;
+import io.vertx.codegen.processor.Model;
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.annotations.VertxGen;
+
+import javax.lang.model.element.Element;
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * A thread safe generator resolving the members of the model element when the rendering is prepared.
+ */
+public class TestGenerator extends Generator<Model> {
+
+  public static final Set<Thread> PREPARE_THREADS = ConcurrentHashMap.newKeySet();
+  public static final Set<Thread> RENDER_THREADS = ConcurrentHashMap.newKeySet();
+  public static volatile Error failure;
+
+  public TestGenerator() {
+    name = "testgen8";
+    threadSafe = true;
+    kinds = new HashSet<>(Arrays.asList("class", "dataObject", "enum"));
+  }
+
+  @Override
+  public Collection<Class<? extends Annotation>> annotations() {
+    return Arrays.asList(DataObject.class, VertxGen.class);
+  }
+
+  @Override
+  public String filename(Model model) {
+    return model.getFqn().replace('.', '_') + ".txt";
+  }
+
+  @Override
+  public void prepare(Model model, Map<String, Object> session) {
+    PREPARE_THREADS.add(Thread.currentThread());
+    session.put("members", env.getElementUtils()
+      .getTypeElement(model.getFqn())
+      .getEnclosedElements()
+      .stream()
+      .map(Element::getSimpleName)
+      .map(Object::toString)
+      .sorted()
+      .collect(Collectors.joining(",")));
+  }
+
+  @Override
+  public String render(Model model, int index, int size, Map<String, Object> session) {
+    RENDER_THREADS.add(Thread.currentThread());
+    Error error = failure;
+    if (error != null) {
+      throw error;
+    }
+    return model.getKind() + " " + model.getFqn() + ": " + session.get("members") + "\n";
+  }
+}
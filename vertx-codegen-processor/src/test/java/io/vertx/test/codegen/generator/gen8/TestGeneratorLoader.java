@@ -0,0 +1,14 @@
+package io.vertx.test.codegen.generator.gen8;
+
+import io.vertx.codegen.processor.Generator;
+import io.vertx.codegen.processor.GeneratorLoader;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import java.util.stream.Stream;
+
+public class TestGeneratorLoader implements GeneratorLoader {
+  @Override
+  public Stream<Generator<?>> loadGenerators(ProcessingEnvironment processingEnv) {
+    return Stream.of(new TestGenerator());
+  }
+}
@@ -0,0 +1,16 @@
+package io.vertx.test.codegen.testdataobject;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+@DataObject
+public interface PropertyArrayGetterSetterMismatch {
+
+  static PropertyArrayGetterSetterMismatch dataObjectFromJson(JsonObject obj) {
+    throw new UnsupportedOperationException();
+  }
+
+  void setValues(int[] values);
+  long[] getValues();
+
+}
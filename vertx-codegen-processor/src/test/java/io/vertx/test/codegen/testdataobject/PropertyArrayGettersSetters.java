@@ -0,0 +1,18 @@
+package io.vertx.test.codegen.testdataobject;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+@DataObject
+public interface PropertyArrayGettersSetters {
+
+  static PropertyArrayGettersSetters dataObjectFromJson(JsonObject obj) {
+    throw new UnsupportedOperationException();
+  }
+
+  void setInts(int[] ints);
+  int[] getInts();
+  void setStrings(String[] strings);
+  String[] getStrings();
+
+}
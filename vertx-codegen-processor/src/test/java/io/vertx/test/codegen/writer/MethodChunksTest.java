@@ -0,0 +1,147 @@
+package io.vertx.test.codegen.writer;
+
+import io.vertx.codegen.processor.writer.MethodChunks;
+import org.junit.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MethodChunksTest {
+
+  @Test
+  public void testEstimateSize() {
+    assertEquals(0, MethodChunks.estimateSize(""));
+    assertEquals(0, MethodChunks.estimateSize("// obj.setName(json.getString(\"name\"));\n"));
+    // obj, setName, json, getString and the literal
+    assertEquals(15, MethodChunks.estimateSize("obj.setName(json.getString(\"name\"));\n"));
+    // The escaped quote does not end the literal
+    assertEquals(6, MethodChunks.estimateSize("append(\"\\\"a\\\" b\");"));
+    // A case label of a string switch costs more than a case label of an int switch
+    assertEquals(24 + 3, MethodChunks.estimateSize("case \"name\":"));
+    assertEquals(3 + 3, MethodChunks.estimateSize("case 1:"));
+  }
+
+  @Test
+  public void testSingleChunk() {
+    List<String> fragments = Arrays.asList("a();\n", "b();\n", "c();\n");
+    assertEquals(Collections.singletonList("a();\nb();\nc();\n"), MethodChunks.split(fragments));
+    assertEquals(Collections.singletonList(""), MethodChunks.split(Collections.emptyList()));
+    assertEquals(Collections.singletonList(Collections.emptyList()), MethodChunks.partition(Collections.emptyList()));
+  }
+
+  @Test
+  public void testSplit() {
+    // Each fragment is estimated to 6 bytes
+    List<String> fragments = Arrays.asList("a.b();\n", "c.d();\n", "e.f();\n", "g.h();\n", "i.j();\n");
+    assertEquals(Arrays.asList("a.b();\nc.d();\n", "e.f();\ng.h();\n", "i.j();\n"), MethodChunks.split(fragments, 12));
+    assertEquals(Arrays.asList(
+      Arrays.asList("a.b();\n", "c.d();\n"),
+      Arrays.asList("e.f();\n", "g.h();\n"),
+      Collections.singletonList("i.j();\n")), MethodChunks.partition(fragments, 12));
+  }
+
+  @Test
+  public void testOversizedFragment() {
+    List<String> fragments = Arrays.asList("a();\n", "b.c.d.e();\n", "f();\n");
+    assertEquals(Arrays.asList("a();\n", "b.c.d.e();\n", "f();\n"), MethodChunks.split(fragments, 6));
+  }
+
+  @Test
+  public void testChunkSizes() {
+    StringBuilder fragment = new StringBuilder();
+    for (int i = 0; i < 20; i++) {
+      fragment.append("obj.setValue").append(i).append("(json.getInteger(\"value").append(i).append("\"));\n");
+    }
+    List<String> chunks = MethodChunks.split(Collections.nCopies(100, fragment.toString()));
+    assertTrue(chunks.size() > 1);
+    for (String chunk : chunks) {
+      assertTrue(MethodChunks.estimateSize(chunk) <= MethodChunks.MAX_CHUNK_SIZE);
+    }
+  }
+
+  @Test
+  public void testUnindent() {
+    assertEquals("case 1:\n  break;\n", MethodChunks.unindent("  case 1:\n    break;\n"));
+  }
+
+  @Test
+  public void testCalls() {
+    // Each fragment is estimated to 6 bytes
+    MethodChunks chunks = MethodChunks.of(Arrays.asList("a.b();\n", "c.d();\n", "e.f();\n"), 12)
+      .method("int", "chunk", "Foo obj, int index", "obj, index")
+      .body("    int size = 0;\n", "    return index;\n");
+    assertTrue(chunks.isSplit());
+    assertEquals(2, chunks.size());
+    assertEquals("a.b();\nc.d();\ne.f();\n", chunks.code());
+    StringWriter buffer = new StringWriter();
+    PrintWriter writer = new PrintWriter(buffer);
+    chunks.writeCalls(writer, "    ", "index = ");
+    chunks.writeMethods(writer);
+    assertEquals(
+      "    index = chunk0(obj, index);\n" +
+      "    index = chunk1(obj, index);\n" +
+      "\n" +
+      "  private static int chunk0(Foo obj, int index) {\n" +
+      "    int size = 0;\n" +
+      "a.b();\nc.d();\n" +
+      "    return index;\n" +
+      "  }\n" +
+      "\n" +
+      "  private static int chunk1(Foo obj, int index) {\n" +
+      "    int size = 0;\n" +
+      "e.f();\n" +
+      "    return index;\n" +
+      "  }\n", buffer.toString());
+    assertFalse(MethodChunks.of(Collections.singletonList("a.b();\n")).isSplit());
+  }
+
+  @Test
+  public void testChainedSwitch() {
+    MethodChunks chunks = MethodChunks.of(Arrays.asList("        case \"a\":\n", "        case \"b\":\n"), 24)
+      .method("void", "member", "String name", "name")
+      .throwing("IOException")
+      .outdent(1);
+    StringWriter buffer = new StringWriter();
+    chunks.writeSwitchMethods(new PrintWriter(buffer), "name", "skip();", true);
+    assertEquals(
+      "\n" +
+      "  private static void member0(String name) throws IOException {\n" +
+      "    switch (name) {\n" +
+      "      case \"a\":\n" +
+      "      default:\n" +
+      "        member1(name);\n" +
+      "    }\n" +
+      "  }\n" +
+      "\n" +
+      "  private static void member1(String name) throws IOException {\n" +
+      "    switch (name) {\n" +
+      "      case \"b\":\n" +
+      "      default:\n" +
+      "        skip();\n" +
+      "    }\n" +
+      "  }\n", buffer.toString());
+  }
+
+  @Test
+  public void testRangeCalls() {
+    MethodChunks chunks = MethodChunks.of(Arrays.asList("case 1:\n", "case 4:\n", "case 9:\n"), 6)
+      .method("boolean", "readField", "int tag", "tag");
+    StringWriter buffer = new StringWriter();
+    chunks.writeRangeCalls(new PrintWriter(buffer), "    ", "fieldNumber", Arrays.asList(1, 4, 9), "return ");
+    assertEquals(
+      "    if (fieldNumber <= 1) {\n" +
+      "      return readField0(tag);\n" +
+      "    } else if (fieldNumber <= 4) {\n" +
+      "      return readField1(tag);\n" +
+      "    } else {\n" +
+      "      return readField2(tag);\n" +
+      "    }\n", buffer.toString());
+  }
+}
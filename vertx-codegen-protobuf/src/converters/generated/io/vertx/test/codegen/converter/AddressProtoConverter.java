@@ -5,18 +5,28 @@ import com.google.protobuf.CodedInputStream;
 import java.io.IOException;
 import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Arrays;
+import io.vertx.codegen.protobuf.FieldMask;
 import io.vertx.codegen.protobuf.ProtobufEncodingMode;
+import io.vertx.codegen.protobuf.ProtoStreamCodec;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
+import io.vertx.codegen.protobuf.utils.BufferStreams;
 import io.vertx.codegen.protobuf.utils.ExpandableIntArray;
+import io.vertx.codegen.protobuf.utils.PrimitiveArrays;
+import io.vertx.codegen.protobuf.utils.ProtoEncoderContext;
+import io.vertx.codegen.protobuf.utils.ProtoJsonWriter;
 import io.vertx.codegen.protobuf.impl.converters.*;
 
 public class AddressProtoConverter {
 
+  private static volatile int cacheCapacity = 1;
+
   public static void fromProto(CodedInputStream input, Address obj) throws IOException {
     fromProto(input, obj, ProtobufEncodingMode.VERTX);
   }
@@ -30,21 +40,89 @@ public class AddressProtoConverter {
     }
     int tag;
     while ((tag = input.readTag()) != 0) {
-      switch (tag) {
-        case 10: {
-          obj.setName(input.readString());
+      if (!readField(input, tag, obj)) {
+        input.skipField(tag);
+      }
+    }
+  }
+
+  public static void fromBuffer(Buffer buffer, Address obj) throws IOException {
+    fromProto(BufferStreams.input(buffer), obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static void fromBuffer(Buffer buffer, Address obj, ProtobufEncodingMode encodingMode) throws IOException {
+    fromProto(BufferStreams.input(buffer), obj, encodingMode);
+  }
+
+  public static FieldMask fieldMask(String... names) {
+    int[] fieldNumbers = new int[names.length];
+    for (int i = 0;i < names.length;i++) {
+      switch (names[i]) {
+        case "name":
+          fieldNumbers[i] = 1;
           break;
-        }
-        case 21: {
-          obj.setLongitude(input.readFloat());
+        case "longitude":
+          fieldNumbers[i] = 2;
           break;
-        }
-        case 29: {
-          obj.setLatitude(input.readFloat());
+        case "latitude":
+          fieldNumbers[i] = 3;
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown property " + names[i]);
+      }
+    }
+    return FieldMask.of(fieldNumbers);
+  }
+
+  public static void fromProto(CodedInputStream input, Address obj, FieldMask mask) throws IOException {
+    fromProto(input, obj, mask, ProtobufEncodingMode.VERTX);
+  }
+
+  public static void fromProto(CodedInputStream input, Address obj, FieldMask mask, ProtobufEncodingMode encodingMode) throws IOException {
+    boolean compatibleMode = encodingMode == ProtobufEncodingMode.GOOGLE_COMPATIBLE;
+    if (compatibleMode) {
+      if (mask.contains(1)) {
+        obj.setName("");
+      }
+      if (mask.contains(2)) {
+        obj.setLongitude(0f);
+      }
+      if (mask.contains(3)) {
+        obj.setLatitude(0f);
+      }
+    }
+    boolean stopAfterLastField = mask.isStopAfterLastField();
+    int tag;
+    while ((tag = input.readTag()) != 0) {
+      if (!mask.containsTag(tag)) {
+        if (stopAfterLastField && (tag >>> 3) > mask.maxFieldNumber()) {
           break;
         }
+        input.skipField(tag);
+      } else if (!readField(input, tag, obj)) {
+        input.skipField(tag);
+      }
+    }
+  }
+
+  private static boolean readField(CodedInputStream input, int tag, Address obj) throws IOException {
+    switch (tag) {
+      case 10: {
+        obj.setName(input.readString());
+        break;
+      }
+      case 21: {
+        obj.setLongitude(input.readFloat());
+        break;
       }
-    } // while loop
+      case 29: {
+        obj.setLatitude(input.readFloat());
+        break;
+      }
+      default:
+        return false;
+    }
+    return true;
   }
 
   public static void toProto(Address obj, CodedOutputStream output) throws IOException {
@@ -52,11 +130,80 @@ public class AddressProtoConverter {
   }
 
   public static void toProto(Address obj, CodedOutputStream output, ProtobufEncodingMode encodingMode) throws IOException {
-    ExpandableIntArray cache = new ExpandableIntArray(16);
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    toProto(obj, output, cache, encodingMode);
+    updateCacheCapacity(cache);
+  }
+
+  public static void toProto(Address obj, CodedOutputStream output, ExpandableIntArray cache, ProtobufEncodingMode encodingMode) throws IOException {
+    cache.reset();
     AddressProtoConverter.computeSize(obj, cache, 0, encodingMode);
     AddressProtoConverter.toProto(obj, output, cache, 0, encodingMode);
   }
 
+  public static byte[] toByteArray(Address obj) throws IOException {
+    return toByteArray(obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static byte[] toByteArray(Address obj, ProtobufEncodingMode encodingMode) throws IOException {
+    return ProtoEncoderContext.current().encode(obj, AddressProtoConverter::toProto, encodingMode);
+  }
+
+  public static Buffer toBuffer(Address obj) throws IOException {
+    return toBuffer(obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static Buffer toBuffer(Address obj, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    AddressProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return toBuffer(obj, Buffer.buffer(cache.get(0)), cache, false, encodingMode);
+  }
+
+  public static Buffer toBuffer(Address obj, Buffer buffer) throws IOException {
+    return toBuffer(obj, buffer, ProtobufEncodingMode.VERTX);
+  }
+
+  public static Buffer toBuffer(Address obj, Buffer buffer, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    AddressProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return toBuffer(obj, buffer, cache, false, encodingMode);
+  }
+
+  public static Buffer toDelimitedBuffer(Address obj, Buffer buffer) throws IOException {
+    return toDelimitedBuffer(obj, buffer, ProtobufEncodingMode.VERTX);
+  }
+
+  public static Buffer toDelimitedBuffer(Address obj, Buffer buffer, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    AddressProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return toBuffer(obj, buffer, cache, true, encodingMode);
+  }
+
+  private static Buffer toBuffer(Address obj, Buffer buffer, ExpandableIntArray cache, boolean delimited, ProtobufEncodingMode encodingMode) throws IOException {
+    int size = cache.get(0);
+    int length = delimited ? CodedOutputStream.computeUInt32SizeNoTag(size) + size : size;
+    BufferStreams.write(buffer, length, output -> {
+      if (delimited) {
+        output.writeUInt32NoTag(size);
+      }
+      AddressProtoConverter.toProto(obj, output, cache, 0, encodingMode);
+    });
+    updateCacheCapacity(cache);
+    return buffer;
+  }
+
+  public static ProtoStreamCodec<Address> streamCodec() {
+    return streamCodec(ProtobufEncodingMode.VERTX);
+  }
+
+  public static ProtoStreamCodec<Address> streamCodec(ProtobufEncodingMode encodingMode) {
+    return ProtoStreamCodec.create((obj, buffer) -> toDelimitedBuffer(obj, buffer, encodingMode), buffer -> {
+      Address obj = new Address();
+      fromBuffer(buffer, obj, encodingMode);
+      return obj;
+    });
+  }
+
   static int toProto(Address obj, CodedOutputStream output, ExpandableIntArray cache, int index, ProtobufEncodingMode encodingMode) throws IOException {
     boolean compatibleMode = encodingMode == ProtobufEncodingMode.GOOGLE_COMPATIBLE;
     index = index + 1;
@@ -89,7 +236,14 @@ public class AddressProtoConverter {
   }
 
   public static int computeSize(Address obj, ProtobufEncodingMode encodingMode) {
-    ExpandableIntArray cache = new ExpandableIntArray(16);
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    int size = computeSize(obj, cache, encodingMode);
+    updateCacheCapacity(cache);
+    return size;
+  }
+
+  public static int computeSize(Address obj, ExpandableIntArray cache, ProtobufEncodingMode encodingMode) {
+    cache.reset();
     AddressProtoConverter.computeSize(obj, cache, 0, encodingMode);
     return cache.get(0);
   }
@@ -110,4 +264,12 @@ public class AddressProtoConverter {
     return index;
   }
 
+  private static void updateCacheCapacity(ExpandableIntArray cache) {
+    int used = cache.size();
+    int capacity = cacheCapacity;
+    if (used > capacity && capacity < ExpandableIntArray.MAX_CAPACITY_HINT) {
+      cacheCapacity = Math.min(used, ExpandableIntArray.MAX_CAPACITY_HINT);
+    }
+  }
+
 }
@@ -0,0 +1,67 @@
+package io.vertx.test.codegen.converter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import io.vertx.codegen.protobuf.FieldMask;
+import io.vertx.codegen.protobuf.ProtoView;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.codegen.protobuf.impl.converters.*;
+
+public class AddressProtoView extends ProtoView {
+
+  public AddressProtoView(Buffer buffer) {
+    super(buffer);
+  }
+
+  public AddressProtoView(ByteBuffer buffer) {
+    super(buffer);
+  }
+
+  @Override
+  protected int slotCount() {
+    return 3;
+  }
+
+  @Override
+  protected int slot(int tag) {
+    switch (tag) {
+      case 10:
+        return 0;
+      case 21:
+        return 1;
+      case 29:
+        return 2;
+      default:
+        return -1;
+    }
+  }
+
+  public String getName() {
+    return readString(0);
+  }
+
+  public Float getLongitude() {
+    return has(1) ? readFloat(1) : null;
+  }
+
+  public Float getLatitude() {
+    return has(2) ? readFloat(2) : null;
+  }
+
+  public Address toDataObject() {
+    Address obj = new Address();
+    try {
+      AddressProtoConverter.fromProto(input(), obj);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return obj;
+  }
+}
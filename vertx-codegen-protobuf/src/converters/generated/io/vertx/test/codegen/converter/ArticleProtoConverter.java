@@ -0,0 +1,306 @@
+package io.vertx.test.codegen.converter;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.CodedInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Arrays;
+import io.vertx.codegen.protobuf.FieldMask;
+import io.vertx.codegen.protobuf.ProtobufEncodingMode;
+import io.vertx.codegen.protobuf.ProtoStreamCodec;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.codegen.protobuf.utils.BufferStreams;
+import io.vertx.codegen.protobuf.utils.ExpandableIntArray;
+import io.vertx.codegen.protobuf.utils.PrimitiveArrays;
+import io.vertx.codegen.protobuf.utils.ProtoEncoderContext;
+import io.vertx.codegen.protobuf.utils.ProtoJsonWriter;
+import io.vertx.codegen.protobuf.impl.converters.*;
+
+public class ArticleProtoConverter {
+
+  private static volatile int cacheCapacity = 3;
+
+  public static void fromProto(CodedInputStream input, Article obj) throws IOException {
+    fromProto(input, obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static void fromProto(CodedInputStream input, Article obj, ProtobufEncodingMode encodingMode) throws IOException {
+    boolean compatibleMode = encodingMode == ProtobufEncodingMode.GOOGLE_COMPATIBLE;
+    if (compatibleMode) {
+      obj.setTitle("");
+      obj.setBody("");
+    }
+    int tag;
+    while ((tag = input.readTag()) != 0) {
+      if (!readField(input, tag, obj)) {
+        input.skipField(tag);
+      }
+    }
+  }
+
+  public static void fromBuffer(Buffer buffer, Article obj) throws IOException {
+    fromProto(BufferStreams.input(buffer), obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static void fromBuffer(Buffer buffer, Article obj, ProtobufEncodingMode encodingMode) throws IOException {
+    fromProto(BufferStreams.input(buffer), obj, encodingMode);
+  }
+
+  public static FieldMask fieldMask(String... names) {
+    int[] fieldNumbers = new int[names.length];
+    for (int i = 0;i < names.length;i++) {
+      switch (names[i]) {
+        case "title":
+          fieldNumbers[i] = 1;
+          break;
+        case "body":
+          fieldNumbers[i] = 2;
+          break;
+        case "location":
+          fieldNumbers[i] = 3;
+          break;
+        case "reply":
+          fieldNumbers[i] = 4;
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown property " + names[i]);
+      }
+    }
+    return FieldMask.of(fieldNumbers);
+  }
+
+  public static void fromProto(CodedInputStream input, Article obj, FieldMask mask) throws IOException {
+    fromProto(input, obj, mask, ProtobufEncodingMode.VERTX);
+  }
+
+  public static void fromProto(CodedInputStream input, Article obj, FieldMask mask, ProtobufEncodingMode encodingMode) throws IOException {
+    boolean compatibleMode = encodingMode == ProtobufEncodingMode.GOOGLE_COMPATIBLE;
+    if (compatibleMode) {
+      if (mask.contains(1)) {
+        obj.setTitle("");
+      }
+      if (mask.contains(2)) {
+        obj.setBody("");
+      }
+    }
+    boolean stopAfterLastField = mask.isStopAfterLastField();
+    int tag;
+    while ((tag = input.readTag()) != 0) {
+      if (!mask.containsTag(tag)) {
+        if (stopAfterLastField && (tag >>> 3) > mask.maxFieldNumber()) {
+          break;
+        }
+        input.skipField(tag);
+      } else if (!readField(input, tag, obj)) {
+        input.skipField(tag);
+      }
+    }
+  }
+
+  private static boolean readField(CodedInputStream input, int tag, Article obj) throws IOException {
+    switch (tag) {
+      case 10: {
+        obj.setTitle(input.readString());
+        break;
+      }
+      case 18: {
+        obj.setBody(input.readString());
+        break;
+      }
+      case 26: {
+        int length = input.readUInt32();
+        int limit = input.pushLimit(length);
+        Address nested = new Address();
+        AddressProtoConverter.fromProto(input, nested);
+        obj.setLocation(nested);
+        input.popLimit(limit);
+        break;
+      }
+      case 34: {
+        int length = input.readUInt32();
+        int limit = input.pushLimit(length);
+        Article nested = new Article();
+        ArticleProtoConverter.fromProto(input, nested);
+        obj.setReply(nested);
+        input.popLimit(limit);
+        break;
+      }
+      default:
+        return false;
+    }
+    return true;
+  }
+
+  public static void toProto(Article obj, CodedOutputStream output) throws IOException {
+    toProto(obj, output, ProtobufEncodingMode.VERTX);
+  }
+
+  public static void toProto(Article obj, CodedOutputStream output, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    toProto(obj, output, cache, encodingMode);
+    updateCacheCapacity(cache);
+  }
+
+  public static void toProto(Article obj, CodedOutputStream output, ExpandableIntArray cache, ProtobufEncodingMode encodingMode) throws IOException {
+    cache.reset();
+    ArticleProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    ArticleProtoConverter.toProto(obj, output, cache, 0, encodingMode);
+  }
+
+  public static byte[] toByteArray(Article obj) throws IOException {
+    return toByteArray(obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static byte[] toByteArray(Article obj, ProtobufEncodingMode encodingMode) throws IOException {
+    return ProtoEncoderContext.current().encode(obj, ArticleProtoConverter::toProto, encodingMode);
+  }
+
+  public static Buffer toBuffer(Article obj) throws IOException {
+    return toBuffer(obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static Buffer toBuffer(Article obj, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    ArticleProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return toBuffer(obj, Buffer.buffer(cache.get(0)), cache, false, encodingMode);
+  }
+
+  public static Buffer toBuffer(Article obj, Buffer buffer) throws IOException {
+    return toBuffer(obj, buffer, ProtobufEncodingMode.VERTX);
+  }
+
+  public static Buffer toBuffer(Article obj, Buffer buffer, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    ArticleProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return toBuffer(obj, buffer, cache, false, encodingMode);
+  }
+
+  public static Buffer toDelimitedBuffer(Article obj, Buffer buffer) throws IOException {
+    return toDelimitedBuffer(obj, buffer, ProtobufEncodingMode.VERTX);
+  }
+
+  public static Buffer toDelimitedBuffer(Article obj, Buffer buffer, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    ArticleProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return toBuffer(obj, buffer, cache, true, encodingMode);
+  }
+
+  private static Buffer toBuffer(Article obj, Buffer buffer, ExpandableIntArray cache, boolean delimited, ProtobufEncodingMode encodingMode) throws IOException {
+    int size = cache.get(0);
+    int length = delimited ? CodedOutputStream.computeUInt32SizeNoTag(size) + size : size;
+    BufferStreams.write(buffer, length, output -> {
+      if (delimited) {
+        output.writeUInt32NoTag(size);
+      }
+      ArticleProtoConverter.toProto(obj, output, cache, 0, encodingMode);
+    });
+    updateCacheCapacity(cache);
+    return buffer;
+  }
+
+  public static ProtoStreamCodec<Article> streamCodec() {
+    return streamCodec(ProtobufEncodingMode.VERTX);
+  }
+
+  public static ProtoStreamCodec<Article> streamCodec(ProtobufEncodingMode encodingMode) {
+    return ProtoStreamCodec.create((obj, buffer) -> toDelimitedBuffer(obj, buffer, encodingMode), buffer -> {
+      Article obj = new Article();
+      fromBuffer(buffer, obj, encodingMode);
+      return obj;
+    });
+  }
+
+  static int toProto(Article obj, CodedOutputStream output, ExpandableIntArray cache, int index, ProtobufEncodingMode encodingMode) throws IOException {
+    boolean compatibleMode = encodingMode == ProtobufEncodingMode.GOOGLE_COMPATIBLE;
+    index = index + 1;
+    // title
+    if (compatibleMode && obj.getTitle() == null) {
+      throw new IllegalArgumentException("Null values are not allowed for boxed types in compatibility mode");
+    }
+    if ((!compatibleMode && obj.getTitle() != null) || (compatibleMode && !obj.getTitle().isEmpty())) {
+      cache.utf8().writeString(output, 1, obj.getTitle());
+    }
+    // body
+    if (compatibleMode && obj.getBody() == null) {
+      throw new IllegalArgumentException("Null values are not allowed for boxed types in compatibility mode");
+    }
+    if ((!compatibleMode && obj.getBody() != null) || (compatibleMode && !obj.getBody().isEmpty())) {
+      cache.utf8().writeString(output, 2, obj.getBody());
+    }
+    // location
+    if (obj.getLocation() != null) {
+      output.writeUInt32NoTag(26);
+      output.writeUInt32NoTag(cache.get(index));
+      index = AddressProtoConverter.toProto(obj.getLocation(), output, cache, index, encodingMode);
+    }
+    // reply
+    if (obj.getReply() != null) {
+      output.writeUInt32NoTag(34);
+      output.writeUInt32NoTag(cache.get(index));
+      index = ArticleProtoConverter.toProto(obj.getReply(), output, cache, index, encodingMode);
+    }
+    return index;
+  }
+
+  public static int computeSize(Article obj) {
+    return computeSize(obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static int computeSize(Article obj, ProtobufEncodingMode encodingMode) {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    int size = computeSize(obj, cache, encodingMode);
+    updateCacheCapacity(cache);
+    return size;
+  }
+
+  public static int computeSize(Article obj, ExpandableIntArray cache, ProtobufEncodingMode encodingMode) {
+    cache.reset();
+    ArticleProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return cache.get(0);
+  }
+
+  static int computeSize(Article obj, ExpandableIntArray cache, final int baseIndex, ProtobufEncodingMode encodingMode) {
+    int size = 0;
+    int index = baseIndex + 1;
+    if (obj.getTitle() != null) {
+      size += cache.utf8().computeStringSize(1, obj.getTitle());
+    }
+    if (obj.getBody() != null) {
+      size += cache.utf8().computeStringSize(2, obj.getBody());
+    }
+    if (obj.getLocation() != null) {
+      size += CodedOutputStream.computeUInt32SizeNoTag(26);
+      int savedIndex = index;
+      index = AddressProtoConverter.computeSize(obj.getLocation(), cache, index, encodingMode);
+      int dataSize = cache.get(savedIndex);
+      size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
+      size += dataSize;
+    }
+    if (obj.getReply() != null) {
+      size += CodedOutputStream.computeUInt32SizeNoTag(34);
+      int savedIndex = index;
+      index = ArticleProtoConverter.computeSize(obj.getReply(), cache, index, encodingMode);
+      int dataSize = cache.get(savedIndex);
+      size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
+      size += dataSize;
+    }
+    cache.set(baseIndex, size);
+    return index;
+  }
+
+  private static void updateCacheCapacity(ExpandableIntArray cache) {
+    int used = cache.size();
+    int capacity = cacheCapacity;
+    if (used > capacity && capacity < ExpandableIntArray.MAX_CAPACITY_HINT) {
+      cacheCapacity = Math.min(used, ExpandableIntArray.MAX_CAPACITY_HINT);
+    }
+  }
+
+}
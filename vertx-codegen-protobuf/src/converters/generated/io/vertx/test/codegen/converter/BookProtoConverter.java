@@ -5,18 +5,28 @@ import com.google.protobuf.CodedInputStream;
 import java.io.IOException;
 import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Arrays;
+import io.vertx.codegen.protobuf.FieldMask;
 import io.vertx.codegen.protobuf.ProtobufEncodingMode;
+import io.vertx.codegen.protobuf.ProtoStreamCodec;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
+import io.vertx.codegen.protobuf.utils.BufferStreams;
 import io.vertx.codegen.protobuf.utils.ExpandableIntArray;
+import io.vertx.codegen.protobuf.utils.PrimitiveArrays;
+import io.vertx.codegen.protobuf.utils.ProtoEncoderContext;
+import io.vertx.codegen.protobuf.utils.ProtoJsonWriter;
 import io.vertx.codegen.protobuf.impl.converters.*;
 
 public class BookProtoConverter {
 
+  private static volatile int cacheCapacity = 1;
+
   public static void fromProto(CodedInputStream input, Book obj) throws IOException {
     fromProto(input, obj, ProtobufEncodingMode.VERTX);
   }
@@ -31,25 +41,99 @@ public class BookProtoConverter {
     }
     int tag;
     while ((tag = input.readTag()) != 0) {
-      switch (tag) {
-        case 10: {
-          obj.setName(input.readString());
+      if (!readField(input, tag, obj)) {
+        input.skipField(tag);
+      }
+    }
+  }
+
+  public static void fromBuffer(Buffer buffer, Book obj) throws IOException {
+    fromProto(BufferStreams.input(buffer), obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static void fromBuffer(Buffer buffer, Book obj, ProtobufEncodingMode encodingMode) throws IOException {
+    fromProto(BufferStreams.input(buffer), obj, encodingMode);
+  }
+
+  public static FieldMask fieldMask(String... names) {
+    int[] fieldNumbers = new int[names.length];
+    for (int i = 0;i < names.length;i++) {
+      switch (names[i]) {
+        case "name":
+          fieldNumbers[i] = 1;
           break;
-        }
-        case 26: {
-          obj.setAuthor(input.readString());
+        case "author":
+          fieldNumbers[i] = 3;
           break;
-        }
-        case 82: {
-          obj.setIsbn(input.readString());
+        case "isbn":
+          fieldNumbers[i] = 10;
           break;
-        }
-        case 162: {
-          obj.setGenre(input.readString());
+        case "genre":
+          fieldNumbers[i] = 20;
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown property " + names[i]);
+      }
+    }
+    return FieldMask.of(fieldNumbers);
+  }
+
+  public static void fromProto(CodedInputStream input, Book obj, FieldMask mask) throws IOException {
+    fromProto(input, obj, mask, ProtobufEncodingMode.VERTX);
+  }
+
+  public static void fromProto(CodedInputStream input, Book obj, FieldMask mask, ProtobufEncodingMode encodingMode) throws IOException {
+    boolean compatibleMode = encodingMode == ProtobufEncodingMode.GOOGLE_COMPATIBLE;
+    if (compatibleMode) {
+      if (mask.contains(1)) {
+        obj.setName("");
+      }
+      if (mask.contains(3)) {
+        obj.setAuthor("");
+      }
+      if (mask.contains(10)) {
+        obj.setIsbn("");
+      }
+      if (mask.contains(20)) {
+        obj.setGenre("");
+      }
+    }
+    boolean stopAfterLastField = mask.isStopAfterLastField();
+    int tag;
+    while ((tag = input.readTag()) != 0) {
+      if (!mask.containsTag(tag)) {
+        if (stopAfterLastField && (tag >>> 3) > mask.maxFieldNumber()) {
           break;
         }
+        input.skipField(tag);
+      } else if (!readField(input, tag, obj)) {
+        input.skipField(tag);
       }
-    } // while loop
+    }
+  }
+
+  private static boolean readField(CodedInputStream input, int tag, Book obj) throws IOException {
+    switch (tag) {
+      case 10: {
+        obj.setName(input.readString());
+        break;
+      }
+      case 26: {
+        obj.setAuthor(input.readString());
+        break;
+      }
+      case 82: {
+        obj.setIsbn(input.readString());
+        break;
+      }
+      case 162: {
+        obj.setGenre(input.readString());
+        break;
+      }
+      default:
+        return false;
+    }
+    return true;
   }
 
   public static void toProto(Book obj, CodedOutputStream output) throws IOException {
@@ -57,11 +141,80 @@ public class BookProtoConverter {
   }
 
   public static void toProto(Book obj, CodedOutputStream output, ProtobufEncodingMode encodingMode) throws IOException {
-    ExpandableIntArray cache = new ExpandableIntArray(16);
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    toProto(obj, output, cache, encodingMode);
+    updateCacheCapacity(cache);
+  }
+
+  public static void toProto(Book obj, CodedOutputStream output, ExpandableIntArray cache, ProtobufEncodingMode encodingMode) throws IOException {
+    cache.reset();
     BookProtoConverter.computeSize(obj, cache, 0, encodingMode);
     BookProtoConverter.toProto(obj, output, cache, 0, encodingMode);
   }
 
+  public static byte[] toByteArray(Book obj) throws IOException {
+    return toByteArray(obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static byte[] toByteArray(Book obj, ProtobufEncodingMode encodingMode) throws IOException {
+    return ProtoEncoderContext.current().encode(obj, BookProtoConverter::toProto, encodingMode);
+  }
+
+  public static Buffer toBuffer(Book obj) throws IOException {
+    return toBuffer(obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static Buffer toBuffer(Book obj, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    BookProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return toBuffer(obj, Buffer.buffer(cache.get(0)), cache, false, encodingMode);
+  }
+
+  public static Buffer toBuffer(Book obj, Buffer buffer) throws IOException {
+    return toBuffer(obj, buffer, ProtobufEncodingMode.VERTX);
+  }
+
+  public static Buffer toBuffer(Book obj, Buffer buffer, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    BookProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return toBuffer(obj, buffer, cache, false, encodingMode);
+  }
+
+  public static Buffer toDelimitedBuffer(Book obj, Buffer buffer) throws IOException {
+    return toDelimitedBuffer(obj, buffer, ProtobufEncodingMode.VERTX);
+  }
+
+  public static Buffer toDelimitedBuffer(Book obj, Buffer buffer, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    BookProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return toBuffer(obj, buffer, cache, true, encodingMode);
+  }
+
+  private static Buffer toBuffer(Book obj, Buffer buffer, ExpandableIntArray cache, boolean delimited, ProtobufEncodingMode encodingMode) throws IOException {
+    int size = cache.get(0);
+    int length = delimited ? CodedOutputStream.computeUInt32SizeNoTag(size) + size : size;
+    BufferStreams.write(buffer, length, output -> {
+      if (delimited) {
+        output.writeUInt32NoTag(size);
+      }
+      BookProtoConverter.toProto(obj, output, cache, 0, encodingMode);
+    });
+    updateCacheCapacity(cache);
+    return buffer;
+  }
+
+  public static ProtoStreamCodec<Book> streamCodec() {
+    return streamCodec(ProtobufEncodingMode.VERTX);
+  }
+
+  public static ProtoStreamCodec<Book> streamCodec(ProtobufEncodingMode encodingMode) {
+    return ProtoStreamCodec.create((obj, buffer) -> toDelimitedBuffer(obj, buffer, encodingMode), buffer -> {
+      Book obj = new Book();
+      fromBuffer(buffer, obj, encodingMode);
+      return obj;
+    });
+  }
+
   static int toProto(Book obj, CodedOutputStream output, ExpandableIntArray cache, int index, ProtobufEncodingMode encodingMode) throws IOException {
     boolean compatibleMode = encodingMode == ProtobufEncodingMode.GOOGLE_COMPATIBLE;
     index = index + 1;
@@ -101,7 +254,14 @@ public class BookProtoConverter {
   }
 
   public static int computeSize(Book obj, ProtobufEncodingMode encodingMode) {
-    ExpandableIntArray cache = new ExpandableIntArray(16);
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    int size = computeSize(obj, cache, encodingMode);
+    updateCacheCapacity(cache);
+    return size;
+  }
+
+  public static int computeSize(Book obj, ExpandableIntArray cache, ProtobufEncodingMode encodingMode) {
+    cache.reset();
     BookProtoConverter.computeSize(obj, cache, 0, encodingMode);
     return cache.get(0);
   }
@@ -125,4 +285,12 @@ public class BookProtoConverter {
     return index;
   }
 
+  private static void updateCacheCapacity(ExpandableIntArray cache) {
+    int used = cache.size();
+    int capacity = cacheCapacity;
+    if (used > capacity && capacity < ExpandableIntArray.MAX_CAPACITY_HINT) {
+      cacheCapacity = Math.min(used, ExpandableIntArray.MAX_CAPACITY_HINT);
+    }
+  }
+
 }
@@ -0,0 +1,166 @@
+package io.vertx.test.codegen.converter;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Converter and mapper for {@link io.vertx.test.codegen.converter.Product}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.test.codegen.converter.Product} original class using Vert.x codegen.
+ */
+public class ProductConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, Product obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "name":
+          if (member.getValue() instanceof String) {
+            obj.setName((String)member.getValue());
+          }
+          break;
+        case "quantity":
+          if (member.getValue() instanceof Number) {
+            obj.setQuantity(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "stock":
+          if (member.getValue() instanceof Number) {
+            obj.setStock(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "available":
+          if (member.getValue() instanceof Boolean) {
+            obj.setAvailable((Boolean)member.getValue());
+          }
+          break;
+        case "price":
+          if (member.getValue() instanceof Number) {
+            obj.setPrice(((Number)member.getValue()).doubleValue());
+          }
+          break;
+        case "grade":
+          if (member.getValue() instanceof String) {
+            obj.setGrade(((String)member.getValue()).charAt(0));
+          }
+          break;
+        case "category":
+          if (member.getValue() instanceof String) {
+            obj.setCategory(io.vertx.test.codegen.converter.EnumType.valueOf((String)member.getValue()));
+          }
+          break;
+        case "created_at":
+          if (member.getValue() instanceof String) {
+            obj.setCreatedAt(Instant.from(DateTimeFormatter.ISO_INSTANT.parse((String)member.getValue())));
+          }
+          break;
+        case "tags":
+          if (member.getValue() instanceof JsonArray) {
+            java.util.ArrayList<java.lang.String> list =  new java.util.ArrayList<>();
+            ((Iterable<Object>)member.getValue()).forEach( item -> {
+              if (item instanceof String)
+                list.add((String)item);
+            });
+            obj.setTags(list);
+          }
+          break;
+        case "ratings":
+          if (member.getValue() instanceof JsonArray) {
+            java.util.ArrayList<java.lang.Integer> list =  new java.util.ArrayList<>();
+            ((Iterable<Object>)member.getValue()).forEach( item -> {
+              if (item instanceof Number)
+                list.add(((Number)item).intValue());
+            });
+            obj.setRatings(list);
+          }
+          break;
+        case "labels":
+          if (member.getValue() instanceof JsonArray) {
+            java.util.ArrayList<io.vertx.test.codegen.converter.EnumType> list =  new java.util.ArrayList<>();
+            ((Iterable<Object>)member.getValue()).forEach( item -> {
+              if (item instanceof String)
+                list.add(io.vertx.test.codegen.converter.EnumType.valueOf((String)item));
+            });
+            obj.setLabels(list);
+          }
+          break;
+        case "counters":
+          if (member.getValue() instanceof JsonObject) {
+            java.util.Map<String, java.lang.Long> map = new java.util.LinkedHashMap<>();
+            ((Iterable<java.util.Map.Entry<String, Object>>)member.getValue()).forEach(entry -> {
+              if (entry.getValue() instanceof Number)
+                map.put(entry.getKey(), ((Number)entry.getValue()).longValue());
+            });
+            obj.setCounters(map);
+          }
+          break;
+        case "attributes":
+          if (member.getValue() instanceof JsonObject) {
+            obj.setAttributes(((JsonObject)member.getValue()).copy());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(Product obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(Product obj, java.util.Map<String, Object> json) {
+    if (obj.getName() != null) {
+      json.put("name", obj.getName());
+    }
+    if (obj.getQuantity() != null) {
+      json.put("quantity", obj.getQuantity());
+    }
+    json.put("stock", obj.getStock());
+    json.put("available", obj.isAvailable());
+    json.put("price", obj.getPrice());
+    if (obj.getGrade() != null) {
+      json.put("grade", Character.toString(obj.getGrade()));
+    }
+    if (obj.getCategory() != null) {
+      json.put("category", obj.getCategory().name());
+    }
+    if (obj.getCreatedAt() != null) {
+      json.put("created_at", DateTimeFormatter.ISO_INSTANT.format(obj.getCreatedAt()));
+    }
+    if (obj.getTags() != null) {
+      JsonArray array = new JsonArray();
+      obj.getTags().forEach(item -> array.add(item));
+      json.put("tags", array);
+    }
+    if (obj.getRatings() != null) {
+      JsonArray array = new JsonArray();
+      obj.getRatings().forEach(item -> array.add(item));
+      json.put("ratings", array);
+    }
+    if (obj.getLabels() != null) {
+      JsonArray array = new JsonArray();
+      obj.getLabels().forEach(item -> array.add(item.name()));
+      json.put("labels", array);
+    }
+    if (obj.getCounters() != null) {
+      JsonObject map = new JsonObject();
+      obj.getCounters().forEach((key, value) -> map.put(key, value));
+      json.put("counters", map);
+    }
+    if (obj.getSupplier() != null) {
+      json.put("supplier", obj.getSupplier().toJson());
+    }
+    if (obj.getAlternates() != null) {
+      JsonArray array = new JsonArray();
+      obj.getAlternates().forEach(item -> array.add(item.toJson()));
+      json.put("alternates", array);
+    }
+    if (obj.getSuppliersByRegion() != null) {
+      JsonObject map = new JsonObject();
+      obj.getSuppliersByRegion().forEach((key, value) -> map.put(key, value.toJson()));
+      json.put("suppliers_by_region", map);
+    }
+    if (obj.getAttributes() != null) {
+      json.put("attributes", obj.getAttributes());
+    }
+  }
+}
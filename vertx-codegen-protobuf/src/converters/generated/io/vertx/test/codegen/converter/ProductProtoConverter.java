@@ -0,0 +1,987 @@
+package io.vertx.test.codegen.converter;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.CodedInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Arrays;
+import io.vertx.codegen.protobuf.FieldMask;
+import io.vertx.codegen.protobuf.ProtobufEncodingMode;
+import io.vertx.codegen.protobuf.ProtoStreamCodec;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.codegen.protobuf.utils.BufferStreams;
+import io.vertx.codegen.protobuf.utils.ExpandableIntArray;
+import io.vertx.codegen.protobuf.utils.PrimitiveArrays;
+import io.vertx.codegen.protobuf.utils.ProtoEncoderContext;
+import io.vertx.codegen.protobuf.utils.ProtoJsonWriter;
+import io.vertx.codegen.protobuf.impl.converters.*;
+
+public class ProductProtoConverter {
+
+  private static volatile int cacheCapacity = 9;
+
+  private static final byte[] JSON_NAME = ProtoJsonWriter.encodeName("name");
+  private static final byte[] JSON_QUANTITY = ProtoJsonWriter.encodeName("quantity");
+  private static final byte[] JSON_STOCK = ProtoJsonWriter.encodeName("stock");
+  private static final byte[] JSON_AVAILABLE = ProtoJsonWriter.encodeName("available");
+  private static final byte[] JSON_PRICE = ProtoJsonWriter.encodeName("price");
+  private static final byte[] JSON_GRADE = ProtoJsonWriter.encodeName("grade");
+  private static final byte[] JSON_CATEGORY = ProtoJsonWriter.encodeName("category");
+  private static final byte[] JSON_CREATED_AT = ProtoJsonWriter.encodeName("created_at");
+  private static final byte[] JSON_TAGS = ProtoJsonWriter.encodeName("tags");
+  private static final byte[] JSON_RATINGS = ProtoJsonWriter.encodeName("ratings");
+  private static final byte[] JSON_LABELS = ProtoJsonWriter.encodeName("labels");
+  private static final byte[] JSON_COUNTERS = ProtoJsonWriter.encodeName("counters");
+  private static final byte[] JSON_SUPPLIER = ProtoJsonWriter.encodeName("supplier");
+  private static final byte[] JSON_ALTERNATES = ProtoJsonWriter.encodeName("alternates");
+  private static final byte[] JSON_SUPPLIERS_BY_REGION = ProtoJsonWriter.encodeName("suppliers_by_region");
+  private static final byte[] JSON_ATTRIBUTES = ProtoJsonWriter.encodeName("attributes");
+
+  public static void fromProto(CodedInputStream input, Product obj) throws IOException {
+    fromProto(input, obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static void fromProto(CodedInputStream input, Product obj, ProtobufEncodingMode encodingMode) throws IOException {
+    boolean compatibleMode = encodingMode == ProtobufEncodingMode.GOOGLE_COMPATIBLE;
+    if (compatibleMode) {
+      obj.setName("");
+      obj.setQuantity(0);
+    }
+    int tag;
+    while ((tag = input.readTag()) != 0) {
+      if (!readField(input, tag, obj)) {
+        input.skipField(tag);
+      }
+    }
+  }
+
+  public static void fromBuffer(Buffer buffer, Product obj) throws IOException {
+    fromProto(BufferStreams.input(buffer), obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static void fromBuffer(Buffer buffer, Product obj, ProtobufEncodingMode encodingMode) throws IOException {
+    fromProto(BufferStreams.input(buffer), obj, encodingMode);
+  }
+
+  public static FieldMask fieldMask(String... names) {
+    int[] fieldNumbers = new int[names.length];
+    for (int i = 0;i < names.length;i++) {
+      switch (names[i]) {
+        case "name":
+          fieldNumbers[i] = 1;
+          break;
+        case "quantity":
+          fieldNumbers[i] = 2;
+          break;
+        case "stock":
+          fieldNumbers[i] = 3;
+          break;
+        case "available":
+          fieldNumbers[i] = 4;
+          break;
+        case "price":
+          fieldNumbers[i] = 5;
+          break;
+        case "grade":
+          fieldNumbers[i] = 6;
+          break;
+        case "category":
+          fieldNumbers[i] = 7;
+          break;
+        case "createdAt":
+          fieldNumbers[i] = 8;
+          break;
+        case "updatedAt":
+          fieldNumbers[i] = 9;
+          break;
+        case "tags":
+          fieldNumbers[i] = 10;
+          break;
+        case "ratings":
+          fieldNumbers[i] = 11;
+          break;
+        case "labels":
+          fieldNumbers[i] = 12;
+          break;
+        case "counters":
+          fieldNumbers[i] = 13;
+          break;
+        case "supplier":
+          fieldNumbers[i] = 14;
+          break;
+        case "alternates":
+          fieldNumbers[i] = 15;
+          break;
+        case "suppliersByRegion":
+          fieldNumbers[i] = 16;
+          break;
+        case "attributes":
+          fieldNumbers[i] = 17;
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown property " + names[i]);
+      }
+    }
+    return FieldMask.of(fieldNumbers);
+  }
+
+  public static void fromProto(CodedInputStream input, Product obj, FieldMask mask) throws IOException {
+    fromProto(input, obj, mask, ProtobufEncodingMode.VERTX);
+  }
+
+  public static void fromProto(CodedInputStream input, Product obj, FieldMask mask, ProtobufEncodingMode encodingMode) throws IOException {
+    boolean compatibleMode = encodingMode == ProtobufEncodingMode.GOOGLE_COMPATIBLE;
+    if (compatibleMode) {
+      if (mask.contains(1)) {
+        obj.setName("");
+      }
+      if (mask.contains(2)) {
+        obj.setQuantity(0);
+      }
+    }
+    boolean stopAfterLastField = mask.isStopAfterLastField();
+    int tag;
+    while ((tag = input.readTag()) != 0) {
+      if (!mask.containsTag(tag)) {
+        if (stopAfterLastField && (tag >>> 3) > mask.maxFieldNumber()) {
+          break;
+        }
+        input.skipField(tag);
+      } else if (!readField(input, tag, obj)) {
+        input.skipField(tag);
+      }
+    }
+  }
+
+  private static boolean readField(CodedInputStream input, int tag, Product obj) throws IOException {
+    switch (tag) {
+      case 10: {
+        obj.setName(input.readString());
+        break;
+      }
+      case 16: {
+        obj.setQuantity(input.readInt32());
+        break;
+      }
+      case 24: {
+        obj.setStock(input.readInt32());
+        break;
+      }
+      case 32: {
+        obj.setAvailable(input.readBool());
+        break;
+      }
+      case 41: {
+        obj.setPrice(input.readDouble());
+        break;
+      }
+      case 48: {
+        obj.setGrade((char) input.readInt32());
+        break;
+      }
+      case 56: {
+        switch (input.readEnum()) {
+          case 0:
+            obj.setCategory(EnumType.A);
+            break;
+          case 1:
+            obj.setCategory(EnumType.B);
+            break;
+          case 2:
+            obj.setCategory(EnumType.C);
+            break;
+        }
+        break;
+      }
+      case 66: {
+        int length = input.readUInt32();
+        int limit = input.pushLimit(length);
+        obj.setCreatedAt(InstantProtoConverter.fromProto(input));
+        input.popLimit(limit);
+        break;
+      }
+      case 74: {
+        int length = input.readUInt32();
+        int limit = input.pushLimit(length);
+        obj.setUpdatedAt(ZonedDateTimeProtoConverter.fromProto(input));
+        input.popLimit(limit);
+        break;
+      }
+      case 82: {
+        if (obj.getTags() == null) {
+          obj.setTags(new ArrayList<>());
+        }
+        obj.getTags().add(input.readString());
+        break;
+      }
+      case 90: {
+        int length = input.readRawVarint32();
+        int limit = input.pushLimit(length);
+        List<Integer> list = obj.getRatings();
+        if (list == null) {
+          list = new ArrayList<>();
+        }
+        while (input.getBytesUntilLimit() > 0) {
+          list.add(input.readInt32());
+        }
+        obj.setRatings(list);
+        input.popLimit(limit);
+        break;
+      }
+      case 88: {
+        List<Integer> list = obj.getRatings();
+        if (list == null) {
+          list = new ArrayList<>();
+        }
+        list.add(input.readInt32());
+        obj.setRatings(list);
+        break;
+      }
+      case 98: {
+        int length = input.readRawVarint32();
+        int limit = input.pushLimit(length);
+        List<EnumType> list = obj.getLabels();
+        if (list == null) {
+          list = new ArrayList<>();
+        }
+        while (input.getBytesUntilLimit() > 0) {
+          switch (input.readEnum()) {
+            case 0:
+              list.add(EnumType.A);
+              break;
+            case 1:
+              list.add(EnumType.B);
+              break;
+            case 2:
+              list.add(EnumType.C);
+              break;
+          }
+        }
+        obj.setLabels(list);
+        input.popLimit(limit);
+        break;
+      }
+      case 96: {
+        List<EnumType> list = obj.getLabels();
+        if (list == null) {
+          list = new ArrayList<>();
+        }
+        switch (input.readEnum()) {
+          case 0:
+            list.add(EnumType.A);
+            break;
+          case 1:
+            list.add(EnumType.B);
+            break;
+          case 2:
+            list.add(EnumType.C);
+            break;
+        }
+        obj.setLabels(list);
+        break;
+      }
+      case 106: {
+        int length = input.readRawVarint32();
+        int limit = input.pushLimit(length);
+        Map<String, Long> map = obj.getCounters();
+        if (map == null) {
+          map = new HashMap<>();
+        }
+        input.readTag();
+        String key = input.readString();
+        input.readTag();
+        Long value = input.readInt64();
+        map.put(key, value);
+        obj.setCounters(map);
+        input.popLimit(limit);
+        break;
+      }
+      case 114: {
+        int length = input.readUInt32();
+        int limit = input.pushLimit(length);
+        Supplier nested = new Supplier();
+        SupplierProtoConverter.fromProto(input, nested);
+        obj.setSupplier(nested);
+        input.popLimit(limit);
+        break;
+      }
+      case 122: {
+        int length = input.readUInt32();
+        int limit = input.pushLimit(length);
+        Supplier nested = new Supplier();
+        SupplierProtoConverter.fromProto(input, nested);
+        if (obj.getAlternates() == null) {
+          obj.setAlternates(new ArrayList<>());
+        }
+        obj.getAlternates().add(nested);
+        input.popLimit(limit);
+        break;
+      }
+      case 130: {
+        int length = input.readUInt32();
+        int limit = input.pushLimit(length);
+        Map<String, Supplier> map = obj.getSuppliersByRegion();
+        if (map == null) {
+          map = new HashMap<>();
+        }
+        input.readTag();
+        String key = input.readString();
+        input.readTag();
+        int vlength = input.readUInt32();
+        int vlimit = input.pushLimit(vlength);
+        Supplier value = new Supplier();
+        SupplierProtoConverter.fromProto(input, value);
+        map.put(key, value);
+        obj.setSuppliersByRegion(map);
+        input.popLimit(vlimit);
+        input.popLimit(limit);
+        break;
+      }
+      case 138: {
+        int length = input.readUInt32();
+        int limit = input.pushLimit(length);
+        obj.setAttributes(VertxStructProtoConverter.fromProto(input));
+        input.popLimit(limit);
+        break;
+      }
+      default:
+        return false;
+    }
+    return true;
+  }
+
+  public static Buffer transcodeToJson(Buffer proto) throws IOException {
+    ProtoJsonWriter writer = new ProtoJsonWriter(2 * proto.length());
+    transcodeToJson(BufferStreams.input(proto), writer);
+    return writer.writeTo(Buffer.buffer(writer.length()));
+  }
+
+  public static void transcodeToJson(CodedInputStream input, ProtoJsonWriter writer) throws IOException {
+    writer.beginObject();
+    // The number of the repeated field whose array or object is open
+    int open = 0;
+    int last = 0;
+    int tag;
+    while ((tag = input.readTag()) != 0) {
+      int fieldNumber = tag >>> 3;
+      if (open != 0 && open != fieldNumber) {
+        writer.end();
+        open = 0;
+      }
+      if (fieldNumber > last) {
+        transcodeDefaults(writer, last, fieldNumber);
+        last = fieldNumber;
+      }
+      switch (tag) {
+        case 10: {
+          writer.name(JSON_NAME).utf8Value(input.readByteArray());
+          break;
+        }
+        case 16: {
+          writer.name(JSON_QUANTITY).value(input.readInt32());
+          break;
+        }
+        case 24: {
+          writer.name(JSON_STOCK).value(input.readInt32());
+          break;
+        }
+        case 32: {
+          writer.name(JSON_AVAILABLE).value(input.readBool());
+          break;
+        }
+        case 41: {
+          writer.name(JSON_PRICE).value(input.readDouble());
+          break;
+        }
+        case 48: {
+          writer.name(JSON_GRADE).value((char) input.readInt32());
+          break;
+        }
+        case 56: {
+          switch (input.readEnum()) {
+            case 0:
+              writer.name(JSON_CATEGORY).value("A");
+              break;
+            case 1:
+              writer.name(JSON_CATEGORY).value("B");
+              break;
+            case 2:
+              writer.name(JSON_CATEGORY).value("C");
+              break;
+          }
+          break;
+        }
+        case 66: {
+          writer.name(JSON_CREATED_AT);
+          int length = input.readUInt32();
+          int limit = input.pushLimit(length);
+          writer.value(DateTimeFormatter.ISO_INSTANT.format(InstantProtoConverter.fromProto(input)));
+          input.popLimit(limit);
+          break;
+        }
+        case 82: {
+          if (open == 0) {
+            writer.name(JSON_TAGS).beginArray();
+            open = 10;
+          }
+          writer.utf8Value(input.readByteArray());
+          break;
+        }
+        case 90: {
+          if (open == 0) {
+            writer.name(JSON_RATINGS).beginArray();
+            open = 11;
+          }
+          int length = input.readRawVarint32();
+          int limit = input.pushLimit(length);
+          while (input.getBytesUntilLimit() > 0) {
+            writer.value(input.readInt32());
+          }
+          input.popLimit(limit);
+          break;
+        }
+        case 88: {
+          if (open == 0) {
+            writer.name(JSON_RATINGS).beginArray();
+            open = 11;
+          }
+          writer.value(input.readInt32());
+          break;
+        }
+        case 98: {
+          if (open == 0) {
+            writer.name(JSON_LABELS).beginArray();
+            open = 12;
+          }
+          int length = input.readRawVarint32();
+          int limit = input.pushLimit(length);
+          while (input.getBytesUntilLimit() > 0) {
+            switch (input.readEnum()) {
+              case 0:
+                writer.value("A");
+                break;
+              case 1:
+                writer.value("B");
+                break;
+              case 2:
+                writer.value("C");
+                break;
+            }
+          }
+          input.popLimit(limit);
+          break;
+        }
+        case 96: {
+          if (open == 0) {
+            writer.name(JSON_LABELS).beginArray();
+            open = 12;
+          }
+          switch (input.readEnum()) {
+            case 0:
+              writer.value("A");
+              break;
+            case 1:
+              writer.value("B");
+              break;
+            case 2:
+              writer.value("C");
+              break;
+          }
+          break;
+        }
+        case 106: {
+          if (open == 0) {
+            writer.name(JSON_COUNTERS).beginObject();
+            open = 13;
+          }
+          int length = input.readUInt32();
+          int limit = input.pushLimit(length);
+          input.readTag();
+          writer.name(input.readString());
+          input.readTag();
+          writer.value(input.readInt64());
+          input.popLimit(limit);
+          break;
+        }
+        case 114: {
+          writer.name(JSON_SUPPLIER);
+          int length = input.readUInt32();
+          int limit = input.pushLimit(length);
+          SupplierProtoConverter.transcodeToJson(input, writer);
+          input.popLimit(limit);
+          break;
+        }
+        case 122: {
+          if (open == 0) {
+            writer.name(JSON_ALTERNATES).beginArray();
+            open = 15;
+          }
+          int length = input.readUInt32();
+          int limit = input.pushLimit(length);
+          SupplierProtoConverter.transcodeToJson(input, writer);
+          input.popLimit(limit);
+          break;
+        }
+        case 130: {
+          if (open == 0) {
+            writer.name(JSON_SUPPLIERS_BY_REGION).beginObject();
+            open = 16;
+          }
+          int length = input.readUInt32();
+          int limit = input.pushLimit(length);
+          input.readTag();
+          writer.name(input.readString());
+          input.readTag();
+          int vlength = input.readUInt32();
+          int vlimit = input.pushLimit(vlength);
+          SupplierProtoConverter.transcodeToJson(input, writer);
+          input.popLimit(vlimit);
+          input.popLimit(limit);
+          break;
+        }
+        case 138: {
+          writer.name(JSON_ATTRIBUTES);
+          int length = input.readUInt32();
+          int limit = input.pushLimit(length);
+          writer.value(VertxStructProtoConverter.fromProto(input));
+          input.popLimit(limit);
+          break;
+        }
+        default:
+          input.skipField(tag);
+      }
+    }
+    if (open != 0) {
+      writer.end();
+    }
+    transcodeDefaults(writer, last, Integer.MAX_VALUE);
+    writer.end();
+  }
+
+  private static void transcodeDefaults(ProtoJsonWriter writer, int from, int to) {
+    if (from < 3 && 3 < to) {
+      writer.name(JSON_STOCK).value(0);
+    }
+    if (from < 4 && 4 < to) {
+      writer.name(JSON_AVAILABLE).value(false);
+    }
+    if (from < 5 && 5 < to) {
+      writer.name(JSON_PRICE).value(0D);
+    }
+  }
+
+  public static void toProto(Product obj, CodedOutputStream output) throws IOException {
+    toProto(obj, output, ProtobufEncodingMode.VERTX);
+  }
+
+  public static void toProto(Product obj, CodedOutputStream output, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    toProto(obj, output, cache, encodingMode);
+    updateCacheCapacity(cache);
+  }
+
+  public static void toProto(Product obj, CodedOutputStream output, ExpandableIntArray cache, ProtobufEncodingMode encodingMode) throws IOException {
+    cache.reset();
+    ProductProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    ProductProtoConverter.toProto(obj, output, cache, 0, encodingMode);
+  }
+
+  public static byte[] toByteArray(Product obj) throws IOException {
+    return toByteArray(obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static byte[] toByteArray(Product obj, ProtobufEncodingMode encodingMode) throws IOException {
+    return ProtoEncoderContext.current().encode(obj, ProductProtoConverter::toProto, encodingMode);
+  }
+
+  public static Buffer toBuffer(Product obj) throws IOException {
+    return toBuffer(obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static Buffer toBuffer(Product obj, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    ProductProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return toBuffer(obj, Buffer.buffer(cache.get(0)), cache, false, encodingMode);
+  }
+
+  public static Buffer toBuffer(Product obj, Buffer buffer) throws IOException {
+    return toBuffer(obj, buffer, ProtobufEncodingMode.VERTX);
+  }
+
+  public static Buffer toBuffer(Product obj, Buffer buffer, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    ProductProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return toBuffer(obj, buffer, cache, false, encodingMode);
+  }
+
+  public static Buffer toDelimitedBuffer(Product obj, Buffer buffer) throws IOException {
+    return toDelimitedBuffer(obj, buffer, ProtobufEncodingMode.VERTX);
+  }
+
+  public static Buffer toDelimitedBuffer(Product obj, Buffer buffer, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    ProductProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return toBuffer(obj, buffer, cache, true, encodingMode);
+  }
+
+  private static Buffer toBuffer(Product obj, Buffer buffer, ExpandableIntArray cache, boolean delimited, ProtobufEncodingMode encodingMode) throws IOException {
+    int size = cache.get(0);
+    int length = delimited ? CodedOutputStream.computeUInt32SizeNoTag(size) + size : size;
+    BufferStreams.write(buffer, length, output -> {
+      if (delimited) {
+        output.writeUInt32NoTag(size);
+      }
+      ProductProtoConverter.toProto(obj, output, cache, 0, encodingMode);
+    });
+    updateCacheCapacity(cache);
+    return buffer;
+  }
+
+  public static ProtoStreamCodec<Product> streamCodec() {
+    return streamCodec(ProtobufEncodingMode.VERTX);
+  }
+
+  public static ProtoStreamCodec<Product> streamCodec(ProtobufEncodingMode encodingMode) {
+    return ProtoStreamCodec.create((obj, buffer) -> toDelimitedBuffer(obj, buffer, encodingMode), buffer -> {
+      Product obj = new Product();
+      fromBuffer(buffer, obj, encodingMode);
+      return obj;
+    });
+  }
+
+  static int toProto(Product obj, CodedOutputStream output, ExpandableIntArray cache, int index, ProtobufEncodingMode encodingMode) throws IOException {
+    boolean compatibleMode = encodingMode == ProtobufEncodingMode.GOOGLE_COMPATIBLE;
+    index = index + 1;
+    // name
+    if (compatibleMode && obj.getName() == null) {
+      throw new IllegalArgumentException("Null values are not allowed for boxed types in compatibility mode");
+    }
+    if ((!compatibleMode && obj.getName() != null) || (compatibleMode && !obj.getName().isEmpty())) {
+      output.writeString(1, obj.getName());
+    }
+    // quantity
+    if (compatibleMode && obj.getQuantity() == null) {
+      throw new IllegalArgumentException("Null values are not allowed for boxed types in compatibility mode");
+    }
+    if ((!compatibleMode && obj.getQuantity() != null) || (compatibleMode && obj.getQuantity() != 0)) {
+      output.writeInt32(2, obj.getQuantity());
+    }
+    // stock
+    if (obj.getStock() != 0) {
+      output.writeInt32(3, obj.getStock());
+    }
+    // available
+    if (obj.isAvailable()) {
+      output.writeBool(4, obj.isAvailable());
+    }
+    // price
+    if (obj.getPrice() != 0) {
+      output.writeDouble(5, obj.getPrice());
+    }
+    // grade
+    if (obj.getGrade() != null) {
+      output.writeInt32(6, obj.getGrade());
+    }
+    // category
+    if (obj.getCategory() != null) {
+      switch (obj.getCategory()) {
+        case A:
+          output.writeEnum(7, 0);
+          break;
+        case B:
+          output.writeEnum(7, 1);
+          break;
+        case C:
+          output.writeEnum(7, 2);
+          break;
+      }
+    }
+    // createdAt
+    if (obj.getCreatedAt() != null) {
+      output.writeUInt32NoTag(66);
+      output.writeUInt32NoTag(cache.get(index));
+      index = InstantProtoConverter.toProto(obj.getCreatedAt(), output, cache, index);
+    }
+    // updatedAt
+    if (obj.getUpdatedAt() != null) {
+      output.writeUInt32NoTag(74);
+      output.writeUInt32NoTag(cache.get(index));
+      index = ZonedDateTimeProtoConverter.toProto(obj.getUpdatedAt(), output, cache, index);
+    }
+    // tags
+    if (obj.getTags() != null) {
+      // list[0] | tag | value |
+      // list[1] | tag | value |
+      for (String element: obj.getTags()) {
+        output.writeString(10, element);
+      }
+    }
+    // ratings
+    if (obj.getRatings() != null) {
+      // packed | tag | data size | value[0] | value[1] | value[2] |
+      if (obj.getRatings().size() > 0) {
+        output.writeUInt32NoTag(90);
+        output.writeUInt32NoTag(cache.get(index++));
+        for (Integer element: obj.getRatings()) {
+          output.writeInt32NoTag(element);
+        }
+      }
+    }
+    // labels
+    if (obj.getLabels() != null) {
+      // packed | tag | data size | value[0] | value[1] | value[2] |
+      if (obj.getLabels().size() > 0) {
+        output.writeUInt32NoTag(98);
+        output.writeUInt32NoTag(cache.get(index++));
+        for (EnumType element: obj.getLabels()) {
+          output.writeEnumNoTag(element.ordinal());
+        }
+      }
+    }
+    // counters
+    if (obj.getCounters() != null) {
+      // map[0] | tag | data size | key | value |
+      // map[1] | tag | data size | key | value |
+      for (Map.Entry<String, Long> entry : obj.getCounters().entrySet()) {
+        output.writeUInt32NoTag(106);
+        // calculate data size
+        int dataSize = 0;
+        dataSize += CodedOutputStream.computeStringSize(1, entry.getKey());
+        dataSize += CodedOutputStream.computeInt64Size(2, entry.getValue());
+        // key
+        output.writeUInt32NoTag(dataSize);
+        // value
+        output.writeString(1, entry.getKey());
+        output.writeInt64(2, entry.getValue());
+      }
+    }
+    // supplier
+    if (obj.getSupplier() != null) {
+      output.writeUInt32NoTag(114);
+      output.writeUInt32NoTag(cache.get(index));
+      index = SupplierProtoConverter.toProto(obj.getSupplier(), output, cache, index, encodingMode);
+    }
+    // alternates
+    if (obj.getAlternates() != null) {
+      // list[0] | tag | data size | value |
+      // list[1] | tag | data size | value |
+      for (Supplier element: obj.getAlternates()) {
+        output.writeUInt32NoTag(122);
+        output.writeUInt32NoTag(cache.get(index));
+        index = SupplierProtoConverter.toProto(element, output, cache, index, encodingMode);
+      }
+    }
+    // suppliersByRegion
+    if (obj.getSuppliersByRegion() != null) {
+      // map[0] | tag | data size | key | value |
+      // map[1] | tag | data size | key | value |
+      for (Map.Entry<String, Supplier> entry : obj.getSuppliersByRegion().entrySet()) {
+        output.writeUInt32NoTag(130);
+        // calculate data size
+        int elementSize = cache.get(index);
+        int dataSize = 0;
+        dataSize += CodedOutputStream.computeStringSize(1, entry.getKey());
+        dataSize += CodedOutputStream.computeInt32SizeNoTag(18);
+        dataSize += CodedOutputStream.computeInt32SizeNoTag(elementSize);
+        dataSize += elementSize;
+        // key
+        output.writeUInt32NoTag(dataSize);
+        // value
+        output.writeString(1, entry.getKey());
+        output.writeUInt32NoTag(18);
+        output.writeUInt32NoTag(elementSize);
+        index = SupplierProtoConverter.toProto(entry.getValue(), output, cache, index, encodingMode);
+      }
+    }
+    // attributes
+    if (obj.getAttributes() != null) {
+      output.writeUInt32NoTag(138);
+      output.writeUInt32NoTag(cache.get(index));
+      index = VertxStructProtoConverter.toProto(obj.getAttributes(), output, cache, index);
+    }
+    return index;
+  }
+
+  public static int computeSize(Product obj) {
+    return computeSize(obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static int computeSize(Product obj, ProtobufEncodingMode encodingMode) {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    int size = computeSize(obj, cache, encodingMode);
+    updateCacheCapacity(cache);
+    return size;
+  }
+
+  public static int computeSize(Product obj, ExpandableIntArray cache, ProtobufEncodingMode encodingMode) {
+    cache.reset();
+    ProductProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return cache.get(0);
+  }
+
+  static int computeSize(Product obj, ExpandableIntArray cache, final int baseIndex, ProtobufEncodingMode encodingMode) {
+    int size = 0;
+    int index = baseIndex + 1;
+    if (obj.getName() != null) {
+      size += CodedOutputStream.computeStringSize(1, obj.getName());
+    }
+    if (obj.getQuantity() != null) {
+      size += CodedOutputStream.computeInt32Size(2, obj.getQuantity());
+    }
+    if (obj.getStock() != 0) {
+      size += CodedOutputStream.computeInt32Size(3, obj.getStock());
+    }
+    if (obj.isAvailable()) {
+      size += CodedOutputStream.computeBoolSize(4, obj.isAvailable());
+    }
+    if (obj.getPrice() != 0) {
+      size += CodedOutputStream.computeDoubleSize(5, obj.getPrice());
+    }
+    if (obj.getGrade() != null) {
+      size += CodedOutputStream.computeInt32Size(6, obj.getGrade());
+    }
+    if (obj.getCategory() != null) {
+      switch (obj.getCategory()) {
+        case A:
+          size += CodedOutputStream.computeEnumSize(7, 0);
+          break;
+        case B:
+          size += CodedOutputStream.computeEnumSize(7, 1);
+          break;
+        case C:
+          size += CodedOutputStream.computeEnumSize(7, 2);
+          break;
+      }
+    }
+    if (obj.getCreatedAt() != null) {
+      size += CodedOutputStream.computeUInt32SizeNoTag(66);
+      int savedIndex = index;
+      index = InstantProtoConverter.computeSize(obj.getCreatedAt(), cache, index);
+      int dataSize = cache.get(savedIndex);
+      size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
+      size += dataSize;
+    }
+    if (obj.getUpdatedAt() != null) {
+      size += CodedOutputStream.computeUInt32SizeNoTag(74);
+      int savedIndex = index;
+      index = ZonedDateTimeProtoConverter.computeSize(obj.getUpdatedAt(), cache, index);
+      int dataSize = cache.get(savedIndex);
+      size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
+      size += dataSize;
+    }
+    if (obj.getTags() != null) {
+      // list[0] | tag | value |
+      // list[1] | tag | value |
+      for (String element: obj.getTags()) {
+        size += CodedOutputStream.computeStringSize(10, element);
+      }
+    }
+    if (obj.getRatings() != null) {
+      // packed | tag | data size | value[0] | value[1] | value[2] |
+      if (obj.getRatings().size() > 0) {
+        size += CodedOutputStream.computeUInt32SizeNoTag(90);
+        int dataSize = 0;
+        for (Integer element: obj.getRatings()) {
+          dataSize += CodedOutputStream.computeInt32SizeNoTag(element);
+        }
+        cache.set(index++, dataSize);
+        size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
+        size += dataSize;
+      }
+    }
+    if (obj.getLabels() != null) {
+      // packed | tag | data size | value[0] | value[1] | value[2] |
+      if (obj.getLabels().size() > 0) {
+        size += CodedOutputStream.computeUInt32SizeNoTag(98);
+        int dataSize = 0;
+        for (EnumType element: obj.getLabels()) {
+          dataSize += CodedOutputStream.computeEnumSizeNoTag(element.ordinal());
+        }
+        cache.set(index++, dataSize);
+        size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
+        size += dataSize;
+      }
+    }
+    if (obj.getCounters() != null) {
+      // map[0] | tag | data size | key | value |
+      // map[1] | tag | data size | key | value |
+      for (Map.Entry<String, Long> entry : obj.getCounters().entrySet()) {
+        size += CodedOutputStream.computeUInt32SizeNoTag(106);
+        int dataSize = 0;
+        dataSize += CodedOutputStream.computeStringSize(1, entry.getKey());
+        dataSize += CodedOutputStream.computeInt64Size(2, entry.getValue());
+        size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
+        size += dataSize;
+      }
+    }
+    if (obj.getSupplier() != null) {
+      size += CodedOutputStream.computeUInt32SizeNoTag(114);
+      int savedIndex = index;
+      index = SupplierProtoConverter.computeSize(obj.getSupplier(), cache, index, encodingMode);
+      int dataSize = cache.get(savedIndex);
+      size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
+      size += dataSize;
+    }
+    if (obj.getAlternates() != null) {
+      // list[0] | tag | data size | value |
+      // list[1] | tag | data size | value |
+      if (obj.getAlternates().size() > 0) {
+        for (Supplier element: obj.getAlternates()) {
+          size += CodedOutputStream.computeUInt32SizeNoTag(122);
+          int savedIndex = index;
+          index = SupplierProtoConverter.computeSize(element, cache, index, encodingMode);
+          int dataSize = cache.get(savedIndex);
+          size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
+          size += dataSize;
+        }
+      }
+    }
+    if (obj.getSuppliersByRegion() != null) {
+        // map[0] | tag | data size | key | value |
+        // map[1] | tag | data size | key | value |
+      for (Map.Entry<String, Supplier> entry : obj.getSuppliersByRegion().entrySet()) {
+        size += CodedOutputStream.computeUInt32SizeNoTag(130);
+        // calculate data size
+        int dataSize = 0;
+        // key
+        dataSize += CodedOutputStream.computeStringSize(1, entry.getKey());
+        // value
+        int savedIndex = index;
+        index = SupplierProtoConverter.computeSize(entry.getValue(), cache, index, encodingMode);
+        int elementSize = cache.get(savedIndex);
+        dataSize += CodedOutputStream.computeInt32SizeNoTag(18);
+        dataSize += CodedOutputStream.computeInt32SizeNoTag(elementSize);
+        dataSize += elementSize;
+        // data size
+        size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
+        size += dataSize;
+      }
+    }
+    if (obj.getAttributes() != null) {
+      size += CodedOutputStream.computeUInt32SizeNoTag(138);
+      int savedIndex = index;
+      index = VertxStructProtoConverter.computeSize(obj.getAttributes(), cache, index);
+      int dataSize = cache.get(savedIndex);
+      size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
+      size += dataSize;
+    }
+    cache.set(baseIndex, size);
+    return index;
+  }
+
+  private static void updateCacheCapacity(ExpandableIntArray cache) {
+    int used = cache.size();
+    int capacity = cacheCapacity;
+    if (used > capacity && capacity < ExpandableIntArray.MAX_CAPACITY_HINT) {
+      cacheCapacity = Math.min(used, ExpandableIntArray.MAX_CAPACITY_HINT);
+    }
+  }
+
+}
@@ -5,18 +5,28 @@ import com.google.protobuf.CodedInputStream;
 import java.io.IOException;
 import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Arrays;
+import io.vertx.codegen.protobuf.FieldMask;
 import io.vertx.codegen.protobuf.ProtobufEncodingMode;
+import io.vertx.codegen.protobuf.ProtoStreamCodec;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
+import io.vertx.codegen.protobuf.utils.BufferStreams;
 import io.vertx.codegen.protobuf.utils.ExpandableIntArray;
+import io.vertx.codegen.protobuf.utils.PrimitiveArrays;
+import io.vertx.codegen.protobuf.utils.ProtoEncoderContext;
+import io.vertx.codegen.protobuf.utils.ProtoJsonWriter;
 import io.vertx.codegen.protobuf.impl.converters.*;
 
 public class RecursiveItemProtoConverter {
 
+  private static volatile int cacheCapacity = 4;
+
   public static void fromProto(CodedInputStream input, RecursiveItem obj) throws IOException {
     fromProto(input, obj, ProtobufEncodingMode.VERTX);
   }
@@ -28,40 +38,105 @@ public class RecursiveItemProtoConverter {
     }
     int tag;
     while ((tag = input.readTag()) != 0) {
-      switch (tag) {
-        case 10: {
-          obj.setId(input.readString());
+      if (!readField(input, tag, obj)) {
+        input.skipField(tag);
+      }
+    }
+  }
+
+  public static void fromBuffer(Buffer buffer, RecursiveItem obj) throws IOException {
+    fromProto(BufferStreams.input(buffer), obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static void fromBuffer(Buffer buffer, RecursiveItem obj, ProtobufEncodingMode encodingMode) throws IOException {
+    fromProto(BufferStreams.input(buffer), obj, encodingMode);
+  }
+
+  public static FieldMask fieldMask(String... names) {
+    int[] fieldNumbers = new int[names.length];
+    for (int i = 0;i < names.length;i++) {
+      switch (names[i]) {
+        case "id":
+          fieldNumbers[i] = 1;
           break;
-        }
-        case 18: {
-          int length = input.readUInt32();
-          int limit = input.pushLimit(length);
-          RecursiveItem nested = new RecursiveItem();
-          RecursiveItemProtoConverter.fromProto(input, nested);
-          obj.setChildA(nested);
-          input.popLimit(limit);
+        case "childA":
+          fieldNumbers[i] = 2;
           break;
-        }
-        case 26: {
-          int length = input.readUInt32();
-          int limit = input.pushLimit(length);
-          RecursiveItem nested = new RecursiveItem();
-          RecursiveItemProtoConverter.fromProto(input, nested);
-          obj.setChildB(nested);
-          input.popLimit(limit);
+        case "childB":
+          fieldNumbers[i] = 3;
           break;
-        }
-        case 34: {
-          int length = input.readUInt32();
-          int limit = input.pushLimit(length);
-          RecursiveItem nested = new RecursiveItem();
-          RecursiveItemProtoConverter.fromProto(input, nested);
-          obj.setChildC(nested);
-          input.popLimit(limit);
+        case "childC":
+          fieldNumbers[i] = 4;
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown property " + names[i]);
+      }
+    }
+    return FieldMask.of(fieldNumbers);
+  }
+
+  public static void fromProto(CodedInputStream input, RecursiveItem obj, FieldMask mask) throws IOException {
+    fromProto(input, obj, mask, ProtobufEncodingMode.VERTX);
+  }
+
+  public static void fromProto(CodedInputStream input, RecursiveItem obj, FieldMask mask, ProtobufEncodingMode encodingMode) throws IOException {
+    boolean compatibleMode = encodingMode == ProtobufEncodingMode.GOOGLE_COMPATIBLE;
+    if (compatibleMode) {
+      if (mask.contains(1)) {
+        obj.setId("");
+      }
+    }
+    boolean stopAfterLastField = mask.isStopAfterLastField();
+    int tag;
+    while ((tag = input.readTag()) != 0) {
+      if (!mask.containsTag(tag)) {
+        if (stopAfterLastField && (tag >>> 3) > mask.maxFieldNumber()) {
           break;
         }
+        input.skipField(tag);
+      } else if (!readField(input, tag, obj)) {
+        input.skipField(tag);
       }
-    } // while loop
+    }
+  }
+
+  private static boolean readField(CodedInputStream input, int tag, RecursiveItem obj) throws IOException {
+    switch (tag) {
+      case 10: {
+        obj.setId(input.readString());
+        break;
+      }
+      case 18: {
+        int length = input.readUInt32();
+        int limit = input.pushLimit(length);
+        RecursiveItem nested = new RecursiveItem();
+        RecursiveItemProtoConverter.fromProto(input, nested);
+        obj.setChildA(nested);
+        input.popLimit(limit);
+        break;
+      }
+      case 26: {
+        int length = input.readUInt32();
+        int limit = input.pushLimit(length);
+        RecursiveItem nested = new RecursiveItem();
+        RecursiveItemProtoConverter.fromProto(input, nested);
+        obj.setChildB(nested);
+        input.popLimit(limit);
+        break;
+      }
+      case 34: {
+        int length = input.readUInt32();
+        int limit = input.pushLimit(length);
+        RecursiveItem nested = new RecursiveItem();
+        RecursiveItemProtoConverter.fromProto(input, nested);
+        obj.setChildC(nested);
+        input.popLimit(limit);
+        break;
+      }
+      default:
+        return false;
+    }
+    return true;
   }
 
   public static void toProto(RecursiveItem obj, CodedOutputStream output) throws IOException {
@@ -69,11 +144,80 @@ public class RecursiveItemProtoConverter {
   }
 
   public static void toProto(RecursiveItem obj, CodedOutputStream output, ProtobufEncodingMode encodingMode) throws IOException {
-    ExpandableIntArray cache = new ExpandableIntArray(16);
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    toProto(obj, output, cache, encodingMode);
+    updateCacheCapacity(cache);
+  }
+
+  public static void toProto(RecursiveItem obj, CodedOutputStream output, ExpandableIntArray cache, ProtobufEncodingMode encodingMode) throws IOException {
+    cache.reset();
     RecursiveItemProtoConverter.computeSize(obj, cache, 0, encodingMode);
     RecursiveItemProtoConverter.toProto(obj, output, cache, 0, encodingMode);
   }
 
+  public static byte[] toByteArray(RecursiveItem obj) throws IOException {
+    return toByteArray(obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static byte[] toByteArray(RecursiveItem obj, ProtobufEncodingMode encodingMode) throws IOException {
+    return ProtoEncoderContext.current().encode(obj, RecursiveItemProtoConverter::toProto, encodingMode);
+  }
+
+  public static Buffer toBuffer(RecursiveItem obj) throws IOException {
+    return toBuffer(obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static Buffer toBuffer(RecursiveItem obj, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    RecursiveItemProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return toBuffer(obj, Buffer.buffer(cache.get(0)), cache, false, encodingMode);
+  }
+
+  public static Buffer toBuffer(RecursiveItem obj, Buffer buffer) throws IOException {
+    return toBuffer(obj, buffer, ProtobufEncodingMode.VERTX);
+  }
+
+  public static Buffer toBuffer(RecursiveItem obj, Buffer buffer, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    RecursiveItemProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return toBuffer(obj, buffer, cache, false, encodingMode);
+  }
+
+  public static Buffer toDelimitedBuffer(RecursiveItem obj, Buffer buffer) throws IOException {
+    return toDelimitedBuffer(obj, buffer, ProtobufEncodingMode.VERTX);
+  }
+
+  public static Buffer toDelimitedBuffer(RecursiveItem obj, Buffer buffer, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    RecursiveItemProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return toBuffer(obj, buffer, cache, true, encodingMode);
+  }
+
+  private static Buffer toBuffer(RecursiveItem obj, Buffer buffer, ExpandableIntArray cache, boolean delimited, ProtobufEncodingMode encodingMode) throws IOException {
+    int size = cache.get(0);
+    int length = delimited ? CodedOutputStream.computeUInt32SizeNoTag(size) + size : size;
+    BufferStreams.write(buffer, length, output -> {
+      if (delimited) {
+        output.writeUInt32NoTag(size);
+      }
+      RecursiveItemProtoConverter.toProto(obj, output, cache, 0, encodingMode);
+    });
+    updateCacheCapacity(cache);
+    return buffer;
+  }
+
+  public static ProtoStreamCodec<RecursiveItem> streamCodec() {
+    return streamCodec(ProtobufEncodingMode.VERTX);
+  }
+
+  public static ProtoStreamCodec<RecursiveItem> streamCodec(ProtobufEncodingMode encodingMode) {
+    return ProtoStreamCodec.create((obj, buffer) -> toDelimitedBuffer(obj, buffer, encodingMode), buffer -> {
+      RecursiveItem obj = new RecursiveItem();
+      fromBuffer(buffer, obj, encodingMode);
+      return obj;
+    });
+  }
+
   static int toProto(RecursiveItem obj, CodedOutputStream output, ExpandableIntArray cache, int index, ProtobufEncodingMode encodingMode) throws IOException {
     boolean compatibleMode = encodingMode == ProtobufEncodingMode.GOOGLE_COMPATIBLE;
     index = index + 1;
@@ -110,7 +254,14 @@ public class RecursiveItemProtoConverter {
   }
 
   public static int computeSize(RecursiveItem obj, ProtobufEncodingMode encodingMode) {
-    ExpandableIntArray cache = new ExpandableIntArray(16);
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    int size = computeSize(obj, cache, encodingMode);
+    updateCacheCapacity(cache);
+    return size;
+  }
+
+  public static int computeSize(RecursiveItem obj, ExpandableIntArray cache, ProtobufEncodingMode encodingMode) {
+    cache.reset();
     RecursiveItemProtoConverter.computeSize(obj, cache, 0, encodingMode);
     return cache.get(0);
   }
@@ -149,4 +300,12 @@ public class RecursiveItemProtoConverter {
     return index;
   }
 
+  private static void updateCacheCapacity(ExpandableIntArray cache) {
+    int used = cache.size();
+    int capacity = cacheCapacity;
+    if (used > capacity && capacity < ExpandableIntArray.MAX_CAPACITY_HINT) {
+      cacheCapacity = Math.min(used, ExpandableIntArray.MAX_CAPACITY_HINT);
+    }
+  }
+
 }
@@ -0,0 +1,775 @@
+package io.vertx.test.codegen.converter;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.CodedInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Arrays;
+import io.vertx.codegen.protobuf.FieldMask;
+import io.vertx.codegen.protobuf.ProtobufEncodingMode;
+import io.vertx.codegen.protobuf.ProtoStreamCodec;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.codegen.protobuf.utils.BufferStreams;
+import io.vertx.codegen.protobuf.utils.ExpandableIntArray;
+import io.vertx.codegen.protobuf.utils.PrimitiveArrays;
+import io.vertx.codegen.protobuf.utils.ProtoEncoderContext;
+import io.vertx.codegen.protobuf.utils.ProtoJsonWriter;
+import io.vertx.codegen.protobuf.impl.converters.*;
+
+public class SeriesProtoConverter {
+
+  private static volatile int cacheCapacity = 6;
+
+  public static void fromProto(CodedInputStream input, Series obj) throws IOException {
+    fromProto(input, obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static void fromProto(CodedInputStream input, Series obj, ProtobufEncodingMode encodingMode) throws IOException {
+    boolean compatibleMode = encodingMode == ProtobufEncodingMode.GOOGLE_COMPATIBLE;
+    if (compatibleMode) {
+    }
+    PrimitiveArrays arrays = new PrimitiveArrays(5);
+    int tag;
+    while ((tag = input.readTag()) != 0) {
+      if (!readField(input, tag, obj, arrays)) {
+        input.skipField(tag);
+      }
+    }
+    if (arrays.has(0)) {
+      obj.setIntArrayField(arrays.ints(0));
+    }
+    if (arrays.has(1)) {
+      obj.setLongArrayField(arrays.longs(1));
+    }
+    if (arrays.has(2)) {
+      obj.setFloatArrayField(arrays.floats(2));
+    }
+    if (arrays.has(3)) {
+      obj.setDoubleArrayField(arrays.doubles(3));
+    }
+    if (arrays.has(4)) {
+      obj.setBoolArrayField(arrays.booleans(4));
+    }
+  }
+
+  public static void fromBuffer(Buffer buffer, Series obj) throws IOException {
+    fromProto(BufferStreams.input(buffer), obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static void fromBuffer(Buffer buffer, Series obj, ProtobufEncodingMode encodingMode) throws IOException {
+    fromProto(BufferStreams.input(buffer), obj, encodingMode);
+  }
+
+  public static FieldMask fieldMask(String... names) {
+    int[] fieldNumbers = new int[names.length];
+    for (int i = 0;i < names.length;i++) {
+      switch (names[i]) {
+        case "longListField":
+          fieldNumbers[i] = 1;
+          break;
+        case "doubleListField":
+          fieldNumbers[i] = 2;
+          break;
+        case "floatListField":
+          fieldNumbers[i] = 3;
+          break;
+        case "boolListField":
+          fieldNumbers[i] = 4;
+          break;
+        case "shortListField":
+          fieldNumbers[i] = 5;
+          break;
+        case "enumListField":
+          fieldNumbers[i] = 6;
+          break;
+        case "stringListField":
+          fieldNumbers[i] = 7;
+          break;
+        case "intArrayField":
+          fieldNumbers[i] = 8;
+          break;
+        case "longArrayField":
+          fieldNumbers[i] = 9;
+          break;
+        case "floatArrayField":
+          fieldNumbers[i] = 10;
+          break;
+        case "doubleArrayField":
+          fieldNumbers[i] = 11;
+          break;
+        case "boolArrayField":
+          fieldNumbers[i] = 12;
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown property " + names[i]);
+      }
+    }
+    return FieldMask.of(fieldNumbers);
+  }
+
+  public static void fromProto(CodedInputStream input, Series obj, FieldMask mask) throws IOException {
+    fromProto(input, obj, mask, ProtobufEncodingMode.VERTX);
+  }
+
+  public static void fromProto(CodedInputStream input, Series obj, FieldMask mask, ProtobufEncodingMode encodingMode) throws IOException {
+    boolean compatibleMode = encodingMode == ProtobufEncodingMode.GOOGLE_COMPATIBLE;
+    if (compatibleMode) {
+    }
+    boolean stopAfterLastField = mask.isStopAfterLastField();
+    PrimitiveArrays arrays = new PrimitiveArrays(5);
+    int tag;
+    while ((tag = input.readTag()) != 0) {
+      if (!mask.containsTag(tag)) {
+        if (stopAfterLastField && (tag >>> 3) > mask.maxFieldNumber()) {
+          break;
+        }
+        input.skipField(tag);
+      } else if (!readField(input, tag, obj, arrays)) {
+        input.skipField(tag);
+      }
+    }
+    if (arrays.has(0)) {
+      obj.setIntArrayField(arrays.ints(0));
+    }
+    if (arrays.has(1)) {
+      obj.setLongArrayField(arrays.longs(1));
+    }
+    if (arrays.has(2)) {
+      obj.setFloatArrayField(arrays.floats(2));
+    }
+    if (arrays.has(3)) {
+      obj.setDoubleArrayField(arrays.doubles(3));
+    }
+    if (arrays.has(4)) {
+      obj.setBoolArrayField(arrays.booleans(4));
+    }
+  }
+
+  private static boolean readField(CodedInputStream input, int tag, Series obj, PrimitiveArrays arrays) throws IOException {
+    switch (tag) {
+      case 10: {
+        int length = input.readRawVarint32();
+        int limit = input.pushLimit(length);
+        List<Long> list = obj.getLongListField();
+        if (list == null) {
+          list = new ArrayList<>();
+        }
+        while (input.getBytesUntilLimit() > 0) {
+          list.add(input.readInt64());
+        }
+        obj.setLongListField(list);
+        input.popLimit(limit);
+        break;
+      }
+      case 8: {
+        List<Long> list = obj.getLongListField();
+        if (list == null) {
+          list = new ArrayList<>();
+        }
+        list.add(input.readInt64());
+        obj.setLongListField(list);
+        break;
+      }
+      case 18: {
+        int length = input.readRawVarint32();
+        int limit = input.pushLimit(length);
+        List<Double> list = obj.getDoubleListField();
+        if (list == null) {
+          list = new ArrayList<>(Math.min(length / 8, 4096));
+        }
+        while (input.getBytesUntilLimit() > 0) {
+          list.add(input.readDouble());
+        }
+        obj.setDoubleListField(list);
+        input.popLimit(limit);
+        break;
+      }
+      case 17: {
+        List<Double> list = obj.getDoubleListField();
+        if (list == null) {
+          list = new ArrayList<>();
+        }
+        list.add(input.readDouble());
+        obj.setDoubleListField(list);
+        break;
+      }
+      case 26: {
+        int length = input.readRawVarint32();
+        int limit = input.pushLimit(length);
+        List<Float> list = obj.getFloatListField();
+        if (list == null) {
+          list = new ArrayList<>(Math.min(length / 4, 4096));
+        }
+        while (input.getBytesUntilLimit() > 0) {
+          list.add(input.readFloat());
+        }
+        obj.setFloatListField(list);
+        input.popLimit(limit);
+        break;
+      }
+      case 29: {
+        List<Float> list = obj.getFloatListField();
+        if (list == null) {
+          list = new ArrayList<>();
+        }
+        list.add(input.readFloat());
+        obj.setFloatListField(list);
+        break;
+      }
+      case 34: {
+        int length = input.readRawVarint32();
+        int limit = input.pushLimit(length);
+        List<Boolean> list = obj.getBoolListField();
+        if (list == null) {
+          list = new ArrayList<>(Math.min(length, 4096));
+        }
+        while (input.getBytesUntilLimit() > 0) {
+          list.add(input.readBool());
+        }
+        obj.setBoolListField(list);
+        input.popLimit(limit);
+        break;
+      }
+      case 32: {
+        List<Boolean> list = obj.getBoolListField();
+        if (list == null) {
+          list = new ArrayList<>();
+        }
+        list.add(input.readBool());
+        obj.setBoolListField(list);
+        break;
+      }
+      case 42: {
+        int length = input.readRawVarint32();
+        int limit = input.pushLimit(length);
+        List<Short> list = obj.getShortListField();
+        if (list == null) {
+          list = new ArrayList<>();
+        }
+        while (input.getBytesUntilLimit() > 0) {
+          list.add((short) input.readInt32());
+        }
+        obj.setShortListField(list);
+        input.popLimit(limit);
+        break;
+      }
+      case 40: {
+        List<Short> list = obj.getShortListField();
+        if (list == null) {
+          list = new ArrayList<>();
+        }
+        list.add((short) input.readInt32());
+        obj.setShortListField(list);
+        break;
+      }
+      case 50: {
+        int length = input.readRawVarint32();
+        int limit = input.pushLimit(length);
+        List<EnumType> list = obj.getEnumListField();
+        if (list == null) {
+          list = new ArrayList<>();
+        }
+        while (input.getBytesUntilLimit() > 0) {
+          switch (input.readEnum()) {
+            case 0:
+              list.add(EnumType.A);
+              break;
+            case 1:
+              list.add(EnumType.B);
+              break;
+            case 2:
+              list.add(EnumType.C);
+              break;
+          }
+        }
+        obj.setEnumListField(list);
+        input.popLimit(limit);
+        break;
+      }
+      case 48: {
+        List<EnumType> list = obj.getEnumListField();
+        if (list == null) {
+          list = new ArrayList<>();
+        }
+        switch (input.readEnum()) {
+          case 0:
+            list.add(EnumType.A);
+            break;
+          case 1:
+            list.add(EnumType.B);
+            break;
+          case 2:
+            list.add(EnumType.C);
+            break;
+        }
+        obj.setEnumListField(list);
+        break;
+      }
+      case 58: {
+        if (obj.getStringListField() == null) {
+          obj.setStringListField(new ArrayList<>());
+        }
+        obj.getStringListField().add(input.readString());
+        break;
+      }
+      case 66: {
+        int length = input.readRawVarint32();
+        int limit = input.pushLimit(length);
+        arrays.reserveInts(0, obj.getIntArrayField(), Math.min(length, 4096));
+        while (input.getBytesUntilLimit() > 0) {
+          arrays.addInt(0, input.readInt32());
+        }
+        input.popLimit(limit);
+        break;
+      }
+      case 64: {
+        arrays.reserveInts(0, obj.getIntArrayField(), 1);
+        arrays.addInt(0, input.readInt32());
+        break;
+      }
+      case 74: {
+        int length = input.readRawVarint32();
+        int limit = input.pushLimit(length);
+        arrays.reserveLongs(1, obj.getLongArrayField(), Math.min(length, 4096));
+        while (input.getBytesUntilLimit() > 0) {
+          arrays.addLong(1, input.readInt64());
+        }
+        input.popLimit(limit);
+        break;
+      }
+      case 72: {
+        arrays.reserveLongs(1, obj.getLongArrayField(), 1);
+        arrays.addLong(1, input.readInt64());
+        break;
+      }
+      case 82: {
+        int length = input.readRawVarint32();
+        int limit = input.pushLimit(length);
+        arrays.reserveFloats(2, obj.getFloatArrayField(), Math.min(length / 4, 4096));
+        while (input.getBytesUntilLimit() > 0) {
+          arrays.addFloat(2, input.readFloat());
+        }
+        input.popLimit(limit);
+        break;
+      }
+      case 85: {
+        arrays.reserveFloats(2, obj.getFloatArrayField(), 1);
+        arrays.addFloat(2, input.readFloat());
+        break;
+      }
+      case 90: {
+        int length = input.readRawVarint32();
+        int limit = input.pushLimit(length);
+        arrays.reserveDoubles(3, obj.getDoubleArrayField(), Math.min(length / 8, 4096));
+        while (input.getBytesUntilLimit() > 0) {
+          arrays.addDouble(3, input.readDouble());
+        }
+        input.popLimit(limit);
+        break;
+      }
+      case 89: {
+        arrays.reserveDoubles(3, obj.getDoubleArrayField(), 1);
+        arrays.addDouble(3, input.readDouble());
+        break;
+      }
+      case 98: {
+        int length = input.readRawVarint32();
+        int limit = input.pushLimit(length);
+        arrays.reserveBooleans(4, obj.getBoolArrayField(), Math.min(length, 4096));
+        while (input.getBytesUntilLimit() > 0) {
+          arrays.addBoolean(4, input.readBool());
+        }
+        input.popLimit(limit);
+        break;
+      }
+      case 96: {
+        arrays.reserveBooleans(4, obj.getBoolArrayField(), 1);
+        arrays.addBoolean(4, input.readBool());
+        break;
+      }
+      default:
+        return false;
+    }
+    return true;
+  }
+
+  public static void toProto(Series obj, CodedOutputStream output) throws IOException {
+    toProto(obj, output, ProtobufEncodingMode.VERTX);
+  }
+
+  public static void toProto(Series obj, CodedOutputStream output, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    toProto(obj, output, cache, encodingMode);
+    updateCacheCapacity(cache);
+  }
+
+  public static void toProto(Series obj, CodedOutputStream output, ExpandableIntArray cache, ProtobufEncodingMode encodingMode) throws IOException {
+    cache.reset();
+    SeriesProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    SeriesProtoConverter.toProto(obj, output, cache, 0, encodingMode);
+  }
+
+  public static byte[] toByteArray(Series obj) throws IOException {
+    return toByteArray(obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static byte[] toByteArray(Series obj, ProtobufEncodingMode encodingMode) throws IOException {
+    return ProtoEncoderContext.current().encode(obj, SeriesProtoConverter::toProto, encodingMode);
+  }
+
+  public static Buffer toBuffer(Series obj) throws IOException {
+    return toBuffer(obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static Buffer toBuffer(Series obj, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    SeriesProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return toBuffer(obj, Buffer.buffer(cache.get(0)), cache, false, encodingMode);
+  }
+
+  public static Buffer toBuffer(Series obj, Buffer buffer) throws IOException {
+    return toBuffer(obj, buffer, ProtobufEncodingMode.VERTX);
+  }
+
+  public static Buffer toBuffer(Series obj, Buffer buffer, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    SeriesProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return toBuffer(obj, buffer, cache, false, encodingMode);
+  }
+
+  public static Buffer toDelimitedBuffer(Series obj, Buffer buffer) throws IOException {
+    return toDelimitedBuffer(obj, buffer, ProtobufEncodingMode.VERTX);
+  }
+
+  public static Buffer toDelimitedBuffer(Series obj, Buffer buffer, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    SeriesProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return toBuffer(obj, buffer, cache, true, encodingMode);
+  }
+
+  private static Buffer toBuffer(Series obj, Buffer buffer, ExpandableIntArray cache, boolean delimited, ProtobufEncodingMode encodingMode) throws IOException {
+    int size = cache.get(0);
+    int length = delimited ? CodedOutputStream.computeUInt32SizeNoTag(size) + size : size;
+    BufferStreams.write(buffer, length, output -> {
+      if (delimited) {
+        output.writeUInt32NoTag(size);
+      }
+      SeriesProtoConverter.toProto(obj, output, cache, 0, encodingMode);
+    });
+    updateCacheCapacity(cache);
+    return buffer;
+  }
+
+  public static ProtoStreamCodec<Series> streamCodec() {
+    return streamCodec(ProtobufEncodingMode.VERTX);
+  }
+
+  public static ProtoStreamCodec<Series> streamCodec(ProtobufEncodingMode encodingMode) {
+    return ProtoStreamCodec.create((obj, buffer) -> toDelimitedBuffer(obj, buffer, encodingMode), buffer -> {
+      Series obj = new Series();
+      fromBuffer(buffer, obj, encodingMode);
+      return obj;
+    });
+  }
+
+  static int toProto(Series obj, CodedOutputStream output, ExpandableIntArray cache, int index, ProtobufEncodingMode encodingMode) throws IOException {
+    boolean compatibleMode = encodingMode == ProtobufEncodingMode.GOOGLE_COMPATIBLE;
+    index = index + 1;
+    // longListField
+    if (obj.getLongListField() != null) {
+      // packed | tag | data size | value[0] | value[1] | value[2] |
+      if (obj.getLongListField().size() > 0) {
+        output.writeUInt32NoTag(10);
+        output.writeUInt32NoTag(cache.get(index++));
+        for (Long element: obj.getLongListField()) {
+          output.writeInt64NoTag(element);
+        }
+      }
+    }
+    // doubleListField
+    if (obj.getDoubleListField() != null) {
+      // packed | tag | data size | value[0] | value[1] | value[2] |
+      if (obj.getDoubleListField().size() > 0) {
+        output.writeUInt32NoTag(18);
+        output.writeUInt32NoTag(obj.getDoubleListField().size() * 8);
+        for (Double element: obj.getDoubleListField()) {
+          output.writeDoubleNoTag(element);
+        }
+      }
+    }
+    // floatListField
+    if (obj.getFloatListField() != null) {
+      // packed | tag | data size | value[0] | value[1] | value[2] |
+      if (obj.getFloatListField().size() > 0) {
+        output.writeUInt32NoTag(26);
+        output.writeUInt32NoTag(obj.getFloatListField().size() * 4);
+        for (Float element: obj.getFloatListField()) {
+          output.writeFloatNoTag(element);
+        }
+      }
+    }
+    // boolListField
+    if (obj.getBoolListField() != null) {
+      // packed | tag | data size | value[0] | value[1] | value[2] |
+      if (obj.getBoolListField().size() > 0) {
+        output.writeUInt32NoTag(34);
+        output.writeUInt32NoTag(obj.getBoolListField().size() * 1);
+        for (Boolean element: obj.getBoolListField()) {
+          output.writeBoolNoTag(element);
+        }
+      }
+    }
+    // shortListField
+    if (obj.getShortListField() != null) {
+      // packed | tag | data size | value[0] | value[1] | value[2] |
+      if (obj.getShortListField().size() > 0) {
+        output.writeUInt32NoTag(42);
+        output.writeUInt32NoTag(cache.get(index++));
+        for (Short element: obj.getShortListField()) {
+          output.writeInt32NoTag(element);
+        }
+      }
+    }
+    // enumListField
+    if (obj.getEnumListField() != null) {
+      // packed | tag | data size | value[0] | value[1] | value[2] |
+      if (obj.getEnumListField().size() > 0) {
+        output.writeUInt32NoTag(50);
+        output.writeUInt32NoTag(cache.get(index++));
+        for (EnumType element: obj.getEnumListField()) {
+          output.writeEnumNoTag(element.ordinal());
+        }
+      }
+    }
+    // stringListField
+    if (obj.getStringListField() != null) {
+      // list[0] | tag | value |
+      // list[1] | tag | value |
+      for (String element: obj.getStringListField()) {
+        output.writeString(7, element);
+      }
+    }
+    // intArrayField
+    if (obj.getIntArrayField() != null) {
+      // packed | tag | data size | value[0] | value[1] | value[2] |
+      if (obj.getIntArrayField().length > 0) {
+        output.writeUInt32NoTag(66);
+        output.writeUInt32NoTag(cache.get(index++));
+        for (int element: obj.getIntArrayField()) {
+          output.writeInt32NoTag(element);
+        }
+      }
+    }
+    // longArrayField
+    if (obj.getLongArrayField() != null) {
+      // packed | tag | data size | value[0] | value[1] | value[2] |
+      if (obj.getLongArrayField().length > 0) {
+        output.writeUInt32NoTag(74);
+        output.writeUInt32NoTag(cache.get(index++));
+        for (long element: obj.getLongArrayField()) {
+          output.writeInt64NoTag(element);
+        }
+      }
+    }
+    // floatArrayField
+    if (obj.getFloatArrayField() != null) {
+      // packed | tag | data size | value[0] | value[1] | value[2] |
+      if (obj.getFloatArrayField().length > 0) {
+        output.writeUInt32NoTag(82);
+        output.writeUInt32NoTag(obj.getFloatArrayField().length * 4);
+        for (float element: obj.getFloatArrayField()) {
+          output.writeFloatNoTag(element);
+        }
+      }
+    }
+    // doubleArrayField
+    if (obj.getDoubleArrayField() != null) {
+      // packed | tag | data size | value[0] | value[1] | value[2] |
+      if (obj.getDoubleArrayField().length > 0) {
+        output.writeUInt32NoTag(90);
+        output.writeUInt32NoTag(obj.getDoubleArrayField().length * 8);
+        for (double element: obj.getDoubleArrayField()) {
+          output.writeDoubleNoTag(element);
+        }
+      }
+    }
+    // boolArrayField
+    if (obj.getBoolArrayField() != null) {
+      // packed | tag | data size | value[0] | value[1] | value[2] |
+      if (obj.getBoolArrayField().length > 0) {
+        output.writeUInt32NoTag(98);
+        output.writeUInt32NoTag(obj.getBoolArrayField().length * 1);
+        for (boolean element: obj.getBoolArrayField()) {
+          output.writeBoolNoTag(element);
+        }
+      }
+    }
+    return index;
+  }
+
+  public static int computeSize(Series obj) {
+    return computeSize(obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static int computeSize(Series obj, ProtobufEncodingMode encodingMode) {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    int size = computeSize(obj, cache, encodingMode);
+    updateCacheCapacity(cache);
+    return size;
+  }
+
+  public static int computeSize(Series obj, ExpandableIntArray cache, ProtobufEncodingMode encodingMode) {
+    cache.reset();
+    SeriesProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return cache.get(0);
+  }
+
+  static int computeSize(Series obj, ExpandableIntArray cache, final int baseIndex, ProtobufEncodingMode encodingMode) {
+    int size = 0;
+    int index = baseIndex + 1;
+    if (obj.getLongListField() != null) {
+      // packed | tag | data size | value[0] | value[1] | value[2] |
+      if (obj.getLongListField().size() > 0) {
+        size += CodedOutputStream.computeUInt32SizeNoTag(10);
+        int dataSize = 0;
+        for (Long element: obj.getLongListField()) {
+          dataSize += CodedOutputStream.computeInt64SizeNoTag(element);
+        }
+        cache.set(index++, dataSize);
+        size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
+        size += dataSize;
+      }
+    }
+    if (obj.getDoubleListField() != null) {
+      // packed | tag | data size | value[0] | value[1] | value[2] |
+      if (obj.getDoubleListField().size() > 0) {
+        size += CodedOutputStream.computeUInt32SizeNoTag(18);
+        int dataSize = obj.getDoubleListField().size() * 8;
+        size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
+        size += dataSize;
+      }
+    }
+    if (obj.getFloatListField() != null) {
+      // packed | tag | data size | value[0] | value[1] | value[2] |
+      if (obj.getFloatListField().size() > 0) {
+        size += CodedOutputStream.computeUInt32SizeNoTag(26);
+        int dataSize = obj.getFloatListField().size() * 4;
+        size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
+        size += dataSize;
+      }
+    }
+    if (obj.getBoolListField() != null) {
+      // packed | tag | data size | value[0] | value[1] | value[2] |
+      if (obj.getBoolListField().size() > 0) {
+        size += CodedOutputStream.computeUInt32SizeNoTag(34);
+        int dataSize = obj.getBoolListField().size() * 1;
+        size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
+        size += dataSize;
+      }
+    }
+    if (obj.getShortListField() != null) {
+      // packed | tag | data size | value[0] | value[1] | value[2] |
+      if (obj.getShortListField().size() > 0) {
+        size += CodedOutputStream.computeUInt32SizeNoTag(42);
+        int dataSize = 0;
+        for (Short element: obj.getShortListField()) {
+          dataSize += CodedOutputStream.computeInt32SizeNoTag(element);
+        }
+        cache.set(index++, dataSize);
+        size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
+        size += dataSize;
+      }
+    }
+    if (obj.getEnumListField() != null) {
+      // packed | tag | data size | value[0] | value[1] | value[2] |
+      if (obj.getEnumListField().size() > 0) {
+        size += CodedOutputStream.computeUInt32SizeNoTag(50);
+        int dataSize = 0;
+        for (EnumType element: obj.getEnumListField()) {
+          dataSize += CodedOutputStream.computeEnumSizeNoTag(element.ordinal());
+        }
+        cache.set(index++, dataSize);
+        size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
+        size += dataSize;
+      }
+    }
+    if (obj.getStringListField() != null) {
+      // list[0] | tag | value |
+      // list[1] | tag | value |
+      for (String element: obj.getStringListField()) {
+        size += CodedOutputStream.computeStringSize(7, element);
+      }
+    }
+    if (obj.getIntArrayField() != null) {
+      // packed | tag | data size | value[0] | value[1] | value[2] |
+      if (obj.getIntArrayField().length > 0) {
+        size += CodedOutputStream.computeUInt32SizeNoTag(66);
+        int dataSize = 0;
+        for (int element: obj.getIntArrayField()) {
+          dataSize += CodedOutputStream.computeInt32SizeNoTag(element);
+        }
+        cache.set(index++, dataSize);
+        size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
+        size += dataSize;
+      }
+    }
+    if (obj.getLongArrayField() != null) {
+      // packed | tag | data size | value[0] | value[1] | value[2] |
+      if (obj.getLongArrayField().length > 0) {
+        size += CodedOutputStream.computeUInt32SizeNoTag(74);
+        int dataSize = 0;
+        for (long element: obj.getLongArrayField()) {
+          dataSize += CodedOutputStream.computeInt64SizeNoTag(element);
+        }
+        cache.set(index++, dataSize);
+        size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
+        size += dataSize;
+      }
+    }
+    if (obj.getFloatArrayField() != null) {
+      // packed | tag | data size | value[0] | value[1] | value[2] |
+      if (obj.getFloatArrayField().length > 0) {
+        size += CodedOutputStream.computeUInt32SizeNoTag(82);
+        int dataSize = obj.getFloatArrayField().length * 4;
+        size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
+        size += dataSize;
+      }
+    }
+    if (obj.getDoubleArrayField() != null) {
+      // packed | tag | data size | value[0] | value[1] | value[2] |
+      if (obj.getDoubleArrayField().length > 0) {
+        size += CodedOutputStream.computeUInt32SizeNoTag(90);
+        int dataSize = obj.getDoubleArrayField().length * 8;
+        size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
+        size += dataSize;
+      }
+    }
+    if (obj.getBoolArrayField() != null) {
+      // packed | tag | data size | value[0] | value[1] | value[2] |
+      if (obj.getBoolArrayField().length > 0) {
+        size += CodedOutputStream.computeUInt32SizeNoTag(98);
+        int dataSize = obj.getBoolArrayField().length * 1;
+        size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
+        size += dataSize;
+      }
+    }
+    cache.set(baseIndex, size);
+    return index;
+  }
+
+  private static void updateCacheCapacity(ExpandableIntArray cache) {
+    int used = cache.size();
+    int capacity = cacheCapacity;
+    if (used > capacity && capacity < ExpandableIntArray.MAX_CAPACITY_HINT) {
+      cacheCapacity = Math.min(used, ExpandableIntArray.MAX_CAPACITY_HINT);
+    }
+  }
+
+}
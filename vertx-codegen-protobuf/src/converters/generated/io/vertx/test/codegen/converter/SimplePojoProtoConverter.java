@@ -5,18 +5,28 @@ import com.google.protobuf.CodedInputStream;
 import java.io.IOException;
 import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Arrays;
+import io.vertx.codegen.protobuf.FieldMask;
 import io.vertx.codegen.protobuf.ProtobufEncodingMode;
+import io.vertx.codegen.protobuf.ProtoStreamCodec;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
+import io.vertx.codegen.protobuf.utils.BufferStreams;
 import io.vertx.codegen.protobuf.utils.ExpandableIntArray;
+import io.vertx.codegen.protobuf.utils.PrimitiveArrays;
+import io.vertx.codegen.protobuf.utils.ProtoEncoderContext;
+import io.vertx.codegen.protobuf.utils.ProtoJsonWriter;
 import io.vertx.codegen.protobuf.impl.converters.*;
 
 public class SimplePojoProtoConverter {
 
+  private static volatile int cacheCapacity = 1;
+
   public static void fromProto(CodedInputStream input, SimplePojo obj) throws IOException {
     fromProto(input, obj, ProtobufEncodingMode.VERTX);
   }
@@ -31,25 +41,99 @@ public class SimplePojoProtoConverter {
     }
     int tag;
     while ((tag = input.readTag()) != 0) {
-      switch (tag) {
-        case 8: {
-          obj.setIntegerField(input.readInt32());
+      if (!readField(input, tag, obj)) {
+        input.skipField(tag);
+      }
+    }
+  }
+
+  public static void fromBuffer(Buffer buffer, SimplePojo obj) throws IOException {
+    fromProto(BufferStreams.input(buffer), obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static void fromBuffer(Buffer buffer, SimplePojo obj, ProtobufEncodingMode encodingMode) throws IOException {
+    fromProto(BufferStreams.input(buffer), obj, encodingMode);
+  }
+
+  public static FieldMask fieldMask(String... names) {
+    int[] fieldNumbers = new int[names.length];
+    for (int i = 0;i < names.length;i++) {
+      switch (names[i]) {
+        case "integerField":
+          fieldNumbers[i] = 1;
           break;
-        }
-        case 16: {
-          obj.setLongField(input.readInt64());
+        case "longField":
+          fieldNumbers[i] = 2;
           break;
-        }
-        case 24: {
-          obj.setBooleanField(input.readBool());
+        case "booleanField":
+          fieldNumbers[i] = 3;
           break;
-        }
-        case 34: {
-          obj.setStringField(input.readString());
+        case "stringField":
+          fieldNumbers[i] = 4;
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown property " + names[i]);
+      }
+    }
+    return FieldMask.of(fieldNumbers);
+  }
+
+  public static void fromProto(CodedInputStream input, SimplePojo obj, FieldMask mask) throws IOException {
+    fromProto(input, obj, mask, ProtobufEncodingMode.VERTX);
+  }
+
+  public static void fromProto(CodedInputStream input, SimplePojo obj, FieldMask mask, ProtobufEncodingMode encodingMode) throws IOException {
+    boolean compatibleMode = encodingMode == ProtobufEncodingMode.GOOGLE_COMPATIBLE;
+    if (compatibleMode) {
+      if (mask.contains(1)) {
+        obj.setIntegerField(0);
+      }
+      if (mask.contains(2)) {
+        obj.setLongField(0L);
+      }
+      if (mask.contains(3)) {
+        obj.setBooleanField(false);
+      }
+      if (mask.contains(4)) {
+        obj.setStringField("");
+      }
+    }
+    boolean stopAfterLastField = mask.isStopAfterLastField();
+    int tag;
+    while ((tag = input.readTag()) != 0) {
+      if (!mask.containsTag(tag)) {
+        if (stopAfterLastField && (tag >>> 3) > mask.maxFieldNumber()) {
           break;
         }
+        input.skipField(tag);
+      } else if (!readField(input, tag, obj)) {
+        input.skipField(tag);
       }
-    } // while loop
+    }
+  }
+
+  private static boolean readField(CodedInputStream input, int tag, SimplePojo obj) throws IOException {
+    switch (tag) {
+      case 8: {
+        obj.setIntegerField(input.readInt32());
+        break;
+      }
+      case 16: {
+        obj.setLongField(input.readInt64());
+        break;
+      }
+      case 24: {
+        obj.setBooleanField(input.readBool());
+        break;
+      }
+      case 34: {
+        obj.setStringField(input.readString());
+        break;
+      }
+      default:
+        return false;
+    }
+    return true;
   }
 
   public static void toProto(SimplePojo obj, CodedOutputStream output) throws IOException {
@@ -57,11 +141,80 @@ public class SimplePojoProtoConverter {
   }
 
   public static void toProto(SimplePojo obj, CodedOutputStream output, ProtobufEncodingMode encodingMode) throws IOException {
-    ExpandableIntArray cache = new ExpandableIntArray(16);
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    toProto(obj, output, cache, encodingMode);
+    updateCacheCapacity(cache);
+  }
+
+  public static void toProto(SimplePojo obj, CodedOutputStream output, ExpandableIntArray cache, ProtobufEncodingMode encodingMode) throws IOException {
+    cache.reset();
     SimplePojoProtoConverter.computeSize(obj, cache, 0, encodingMode);
     SimplePojoProtoConverter.toProto(obj, output, cache, 0, encodingMode);
   }
 
+  public static byte[] toByteArray(SimplePojo obj) throws IOException {
+    return toByteArray(obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static byte[] toByteArray(SimplePojo obj, ProtobufEncodingMode encodingMode) throws IOException {
+    return ProtoEncoderContext.current().encode(obj, SimplePojoProtoConverter::toProto, encodingMode);
+  }
+
+  public static Buffer toBuffer(SimplePojo obj) throws IOException {
+    return toBuffer(obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static Buffer toBuffer(SimplePojo obj, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    SimplePojoProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return toBuffer(obj, Buffer.buffer(cache.get(0)), cache, false, encodingMode);
+  }
+
+  public static Buffer toBuffer(SimplePojo obj, Buffer buffer) throws IOException {
+    return toBuffer(obj, buffer, ProtobufEncodingMode.VERTX);
+  }
+
+  public static Buffer toBuffer(SimplePojo obj, Buffer buffer, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    SimplePojoProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return toBuffer(obj, buffer, cache, false, encodingMode);
+  }
+
+  public static Buffer toDelimitedBuffer(SimplePojo obj, Buffer buffer) throws IOException {
+    return toDelimitedBuffer(obj, buffer, ProtobufEncodingMode.VERTX);
+  }
+
+  public static Buffer toDelimitedBuffer(SimplePojo obj, Buffer buffer, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    SimplePojoProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return toBuffer(obj, buffer, cache, true, encodingMode);
+  }
+
+  private static Buffer toBuffer(SimplePojo obj, Buffer buffer, ExpandableIntArray cache, boolean delimited, ProtobufEncodingMode encodingMode) throws IOException {
+    int size = cache.get(0);
+    int length = delimited ? CodedOutputStream.computeUInt32SizeNoTag(size) + size : size;
+    BufferStreams.write(buffer, length, output -> {
+      if (delimited) {
+        output.writeUInt32NoTag(size);
+      }
+      SimplePojoProtoConverter.toProto(obj, output, cache, 0, encodingMode);
+    });
+    updateCacheCapacity(cache);
+    return buffer;
+  }
+
+  public static ProtoStreamCodec<SimplePojo> streamCodec() {
+    return streamCodec(ProtobufEncodingMode.VERTX);
+  }
+
+  public static ProtoStreamCodec<SimplePojo> streamCodec(ProtobufEncodingMode encodingMode) {
+    return ProtoStreamCodec.create((obj, buffer) -> toDelimitedBuffer(obj, buffer, encodingMode), buffer -> {
+      SimplePojo obj = new SimplePojo();
+      fromBuffer(buffer, obj, encodingMode);
+      return obj;
+    });
+  }
+
   static int toProto(SimplePojo obj, CodedOutputStream output, ExpandableIntArray cache, int index, ProtobufEncodingMode encodingMode) throws IOException {
     boolean compatibleMode = encodingMode == ProtobufEncodingMode.GOOGLE_COMPATIBLE;
     index = index + 1;
@@ -101,7 +254,14 @@ public class SimplePojoProtoConverter {
   }
 
   public static int computeSize(SimplePojo obj, ProtobufEncodingMode encodingMode) {
-    ExpandableIntArray cache = new ExpandableIntArray(16);
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    int size = computeSize(obj, cache, encodingMode);
+    updateCacheCapacity(cache);
+    return size;
+  }
+
+  public static int computeSize(SimplePojo obj, ExpandableIntArray cache, ProtobufEncodingMode encodingMode) {
+    cache.reset();
     SimplePojoProtoConverter.computeSize(obj, cache, 0, encodingMode);
     return cache.get(0);
   }
@@ -125,4 +285,12 @@ public class SimplePojoProtoConverter {
     return index;
   }
 
+  private static void updateCacheCapacity(ExpandableIntArray cache) {
+    int used = cache.size();
+    int capacity = cacheCapacity;
+    if (used > capacity && capacity < ExpandableIntArray.MAX_CAPACITY_HINT) {
+      cacheCapacity = Math.min(used, ExpandableIntArray.MAX_CAPACITY_HINT);
+    }
+  }
+
 }
@@ -0,0 +1,41 @@
+package io.vertx.test.codegen.converter;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Converter and mapper for {@link io.vertx.test.codegen.converter.Supplier}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.test.codegen.converter.Supplier} original class using Vert.x codegen.
+ */
+public class SupplierConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, Supplier obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "name":
+          if (member.getValue() instanceof String) {
+            obj.setName((String)member.getValue());
+          }
+          break;
+        case "rank":
+          if (member.getValue() instanceof Number) {
+            obj.setRank(((Number)member.getValue()).intValue());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(Supplier obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(Supplier obj, java.util.Map<String, Object> json) {
+    if (obj.getName() != null) {
+      json.put("name", obj.getName());
+    }
+    json.put("rank", obj.getRank());
+  }
+}
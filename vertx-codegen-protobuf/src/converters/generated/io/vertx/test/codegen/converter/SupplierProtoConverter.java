@@ -0,0 +1,298 @@
+package io.vertx.test.codegen.converter;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.CodedInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Arrays;
+import io.vertx.codegen.protobuf.FieldMask;
+import io.vertx.codegen.protobuf.ProtobufEncodingMode;
+import io.vertx.codegen.protobuf.ProtoStreamCodec;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.codegen.protobuf.utils.BufferStreams;
+import io.vertx.codegen.protobuf.utils.ExpandableIntArray;
+import io.vertx.codegen.protobuf.utils.PrimitiveArrays;
+import io.vertx.codegen.protobuf.utils.ProtoEncoderContext;
+import io.vertx.codegen.protobuf.utils.ProtoJsonWriter;
+import io.vertx.codegen.protobuf.impl.converters.*;
+
+public class SupplierProtoConverter {
+
+  private static volatile int cacheCapacity = 1;
+
+  private static final byte[] JSON_NAME = ProtoJsonWriter.encodeName("name");
+  private static final byte[] JSON_RANK = ProtoJsonWriter.encodeName("rank");
+
+  public static void fromProto(CodedInputStream input, Supplier obj) throws IOException {
+    fromProto(input, obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static void fromProto(CodedInputStream input, Supplier obj, ProtobufEncodingMode encodingMode) throws IOException {
+    boolean compatibleMode = encodingMode == ProtobufEncodingMode.GOOGLE_COMPATIBLE;
+    if (compatibleMode) {
+      obj.setName("");
+    }
+    int tag;
+    while ((tag = input.readTag()) != 0) {
+      if (!readField(input, tag, obj)) {
+        input.skipField(tag);
+      }
+    }
+  }
+
+  public static void fromBuffer(Buffer buffer, Supplier obj) throws IOException {
+    fromProto(BufferStreams.input(buffer), obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static void fromBuffer(Buffer buffer, Supplier obj, ProtobufEncodingMode encodingMode) throws IOException {
+    fromProto(BufferStreams.input(buffer), obj, encodingMode);
+  }
+
+  public static FieldMask fieldMask(String... names) {
+    int[] fieldNumbers = new int[names.length];
+    for (int i = 0;i < names.length;i++) {
+      switch (names[i]) {
+        case "name":
+          fieldNumbers[i] = 1;
+          break;
+        case "rank":
+          fieldNumbers[i] = 2;
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown property " + names[i]);
+      }
+    }
+    return FieldMask.of(fieldNumbers);
+  }
+
+  public static void fromProto(CodedInputStream input, Supplier obj, FieldMask mask) throws IOException {
+    fromProto(input, obj, mask, ProtobufEncodingMode.VERTX);
+  }
+
+  public static void fromProto(CodedInputStream input, Supplier obj, FieldMask mask, ProtobufEncodingMode encodingMode) throws IOException {
+    boolean compatibleMode = encodingMode == ProtobufEncodingMode.GOOGLE_COMPATIBLE;
+    if (compatibleMode) {
+      if (mask.contains(1)) {
+        obj.setName("");
+      }
+    }
+    boolean stopAfterLastField = mask.isStopAfterLastField();
+    int tag;
+    while ((tag = input.readTag()) != 0) {
+      if (!mask.containsTag(tag)) {
+        if (stopAfterLastField && (tag >>> 3) > mask.maxFieldNumber()) {
+          break;
+        }
+        input.skipField(tag);
+      } else if (!readField(input, tag, obj)) {
+        input.skipField(tag);
+      }
+    }
+  }
+
+  private static boolean readField(CodedInputStream input, int tag, Supplier obj) throws IOException {
+    switch (tag) {
+      case 10: {
+        obj.setName(input.readString());
+        break;
+      }
+      case 16: {
+        obj.setRank(input.readInt32());
+        break;
+      }
+      default:
+        return false;
+    }
+    return true;
+  }
+
+  public static Buffer transcodeToJson(Buffer proto) throws IOException {
+    ProtoJsonWriter writer = new ProtoJsonWriter(2 * proto.length());
+    transcodeToJson(BufferStreams.input(proto), writer);
+    return writer.writeTo(Buffer.buffer(writer.length()));
+  }
+
+  public static void transcodeToJson(CodedInputStream input, ProtoJsonWriter writer) throws IOException {
+    writer.beginObject();
+    // The number of the repeated field whose array or object is open
+    int open = 0;
+    int last = 0;
+    int tag;
+    while ((tag = input.readTag()) != 0) {
+      int fieldNumber = tag >>> 3;
+      if (open != 0 && open != fieldNumber) {
+        writer.end();
+        open = 0;
+      }
+      if (fieldNumber > last) {
+        transcodeDefaults(writer, last, fieldNumber);
+        last = fieldNumber;
+      }
+      switch (tag) {
+        case 10: {
+          writer.name(JSON_NAME).utf8Value(input.readByteArray());
+          break;
+        }
+        case 16: {
+          writer.name(JSON_RANK).value(input.readInt32());
+          break;
+        }
+        default:
+          input.skipField(tag);
+      }
+    }
+    if (open != 0) {
+      writer.end();
+    }
+    transcodeDefaults(writer, last, Integer.MAX_VALUE);
+    writer.end();
+  }
+
+  private static void transcodeDefaults(ProtoJsonWriter writer, int from, int to) {
+    if (from < 2 && 2 < to) {
+      writer.name(JSON_RANK).value(0);
+    }
+  }
+
+  public static void toProto(Supplier obj, CodedOutputStream output) throws IOException {
+    toProto(obj, output, ProtobufEncodingMode.VERTX);
+  }
+
+  public static void toProto(Supplier obj, CodedOutputStream output, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    toProto(obj, output, cache, encodingMode);
+    updateCacheCapacity(cache);
+  }
+
+  public static void toProto(Supplier obj, CodedOutputStream output, ExpandableIntArray cache, ProtobufEncodingMode encodingMode) throws IOException {
+    cache.reset();
+    SupplierProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    SupplierProtoConverter.toProto(obj, output, cache, 0, encodingMode);
+  }
+
+  public static byte[] toByteArray(Supplier obj) throws IOException {
+    return toByteArray(obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static byte[] toByteArray(Supplier obj, ProtobufEncodingMode encodingMode) throws IOException {
+    return ProtoEncoderContext.current().encode(obj, SupplierProtoConverter::toProto, encodingMode);
+  }
+
+  public static Buffer toBuffer(Supplier obj) throws IOException {
+    return toBuffer(obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static Buffer toBuffer(Supplier obj, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    SupplierProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return toBuffer(obj, Buffer.buffer(cache.get(0)), cache, false, encodingMode);
+  }
+
+  public static Buffer toBuffer(Supplier obj, Buffer buffer) throws IOException {
+    return toBuffer(obj, buffer, ProtobufEncodingMode.VERTX);
+  }
+
+  public static Buffer toBuffer(Supplier obj, Buffer buffer, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    SupplierProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return toBuffer(obj, buffer, cache, false, encodingMode);
+  }
+
+  public static Buffer toDelimitedBuffer(Supplier obj, Buffer buffer) throws IOException {
+    return toDelimitedBuffer(obj, buffer, ProtobufEncodingMode.VERTX);
+  }
+
+  public static Buffer toDelimitedBuffer(Supplier obj, Buffer buffer, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    SupplierProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return toBuffer(obj, buffer, cache, true, encodingMode);
+  }
+
+  private static Buffer toBuffer(Supplier obj, Buffer buffer, ExpandableIntArray cache, boolean delimited, ProtobufEncodingMode encodingMode) throws IOException {
+    int size = cache.get(0);
+    int length = delimited ? CodedOutputStream.computeUInt32SizeNoTag(size) + size : size;
+    BufferStreams.write(buffer, length, output -> {
+      if (delimited) {
+        output.writeUInt32NoTag(size);
+      }
+      SupplierProtoConverter.toProto(obj, output, cache, 0, encodingMode);
+    });
+    updateCacheCapacity(cache);
+    return buffer;
+  }
+
+  public static ProtoStreamCodec<Supplier> streamCodec() {
+    return streamCodec(ProtobufEncodingMode.VERTX);
+  }
+
+  public static ProtoStreamCodec<Supplier> streamCodec(ProtobufEncodingMode encodingMode) {
+    return ProtoStreamCodec.create((obj, buffer) -> toDelimitedBuffer(obj, buffer, encodingMode), buffer -> {
+      Supplier obj = new Supplier();
+      fromBuffer(buffer, obj, encodingMode);
+      return obj;
+    });
+  }
+
+  static int toProto(Supplier obj, CodedOutputStream output, ExpandableIntArray cache, int index, ProtobufEncodingMode encodingMode) throws IOException {
+    boolean compatibleMode = encodingMode == ProtobufEncodingMode.GOOGLE_COMPATIBLE;
+    index = index + 1;
+    // name
+    if (compatibleMode && obj.getName() == null) {
+      throw new IllegalArgumentException("Null values are not allowed for boxed types in compatibility mode");
+    }
+    if ((!compatibleMode && obj.getName() != null) || (compatibleMode && !obj.getName().isEmpty())) {
+      output.writeString(1, obj.getName());
+    }
+    // rank
+    if (obj.getRank() != 0) {
+      output.writeInt32(2, obj.getRank());
+    }
+    return index;
+  }
+
+  public static int computeSize(Supplier obj) {
+    return computeSize(obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static int computeSize(Supplier obj, ProtobufEncodingMode encodingMode) {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    int size = computeSize(obj, cache, encodingMode);
+    updateCacheCapacity(cache);
+    return size;
+  }
+
+  public static int computeSize(Supplier obj, ExpandableIntArray cache, ProtobufEncodingMode encodingMode) {
+    cache.reset();
+    SupplierProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return cache.get(0);
+  }
+
+  static int computeSize(Supplier obj, ExpandableIntArray cache, final int baseIndex, ProtobufEncodingMode encodingMode) {
+    int size = 0;
+    int index = baseIndex + 1;
+    if (obj.getName() != null) {
+      size += CodedOutputStream.computeStringSize(1, obj.getName());
+    }
+    if (obj.getRank() != 0) {
+      size += CodedOutputStream.computeInt32Size(2, obj.getRank());
+    }
+    cache.set(baseIndex, size);
+    return index;
+  }
+
+  private static void updateCacheCapacity(ExpandableIntArray cache) {
+    int used = cache.size();
+    int capacity = cacheCapacity;
+    if (used > capacity && capacity < ExpandableIntArray.MAX_CAPACITY_HINT) {
+      cacheCapacity = Math.min(used, ExpandableIntArray.MAX_CAPACITY_HINT);
+    }
+  }
+
+}
@@ -5,18 +5,28 @@ import com.google.protobuf.CodedInputStream;
 import java.io.IOException;
 import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Arrays;
+import io.vertx.codegen.protobuf.FieldMask;
 import io.vertx.codegen.protobuf.ProtobufEncodingMode;
+import io.vertx.codegen.protobuf.ProtoStreamCodec;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
+import io.vertx.codegen.protobuf.utils.BufferStreams;
 import io.vertx.codegen.protobuf.utils.ExpandableIntArray;
+import io.vertx.codegen.protobuf.utils.PrimitiveArrays;
+import io.vertx.codegen.protobuf.utils.ProtoEncoderContext;
+import io.vertx.codegen.protobuf.utils.ProtoJsonWriter;
 import io.vertx.codegen.protobuf.impl.converters.*;
 
 public class UserProtoConverter {
 
+  private static volatile int cacheCapacity = 13;
+
   public static void fromProto(CodedInputStream input, User obj) throws IOException {
     fromProto(input, obj, ProtobufEncodingMode.VERTX);
   }
@@ -34,259 +44,438 @@ public class UserProtoConverter {
     }
     int tag;
     while ((tag = input.readTag()) != 0) {
-      switch (tag) {
-        case 10: {
-          obj.setUserName(input.readString());
+      if (!readField(input, tag, obj)) {
+        input.skipField(tag);
+      }
+    }
+  }
+
+  public static void fromBuffer(Buffer buffer, User obj) throws IOException {
+    fromProto(BufferStreams.input(buffer), obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static void fromBuffer(Buffer buffer, User obj, ProtobufEncodingMode encodingMode) throws IOException {
+    fromProto(BufferStreams.input(buffer), obj, encodingMode);
+  }
+
+  public static FieldMask fieldMask(String... names) {
+    int[] fieldNumbers = new int[names.length];
+    for (int i = 0;i < names.length;i++) {
+      switch (names[i]) {
+        case "userName":
+          fieldNumbers[i] = 1;
           break;
-        }
-        case 16: {
-          obj.setAge(input.readInt32());
+        case "age":
+          fieldNumbers[i] = 2;
           break;
-        }
-        case 26: {
-          int length = input.readRawVarint32();
-          int limit = input.pushLimit(length);
-          List<Integer> list = new ArrayList<>();
-          while (input.getBytesUntilLimit() > 0) {
-            list.add(input.readInt32());
-          }
-          obj.setIntegerListField(list);
-          input.popLimit(limit);
+        case "integerListField":
+          fieldNumbers[i] = 3;
           break;
-        }
-        case 34: {
-          int length = input.readUInt32();
-          int limit = input.pushLimit(length);
-          Address nested = new Address();
-          AddressProtoConverter.fromProto(input, nested);
-          if (obj.getStructListField() == null) {
-            obj.setStructListField(new ArrayList<>());
-          }
-          obj.getStructListField().add(nested);
-          input.popLimit(limit);
+        case "structListField":
+          fieldNumbers[i] = 4;
           break;
-        }
-        case 42: {
-          int length = input.readUInt32();
-          int limit = input.pushLimit(length);
-          if (obj.getZonedDateTimeListField() == null) {
-            obj.setZonedDateTimeListField(new ArrayList<>());
-          }
-          obj.getZonedDateTimeListField().add(ZonedDateTimeProtoConverter.fromProto(input));
-          input.popLimit(limit);
+        case "zonedDateTimeListField":
+          fieldNumbers[i] = 5;
           break;
-        }
-        case 50: {
-          int length = input.readUInt32();
-          int limit = input.pushLimit(length);
-          if (obj.getJsonListField() == null) {
-            obj.setJsonListField(new ArrayList<>());
-          }
-          obj.getJsonListField().add(VertxStructProtoConverter.fromProto(input));
-          input.popLimit(limit);
+        case "jsonListField":
+          fieldNumbers[i] = 6;
           break;
-        }
-        case 58: {
-          int length = input.readUInt32();
-          int limit = input.pushLimit(length);
-          Address nested = new Address();
-          AddressProtoConverter.fromProto(input, nested);
-          obj.setAddress(nested);
-          input.popLimit(limit);
+        case "address":
+          fieldNumbers[i] = 7;
           break;
-        }
-        case 64: {
-          obj.setByteField((byte) input.readInt32());
+        case "byteField":
+          fieldNumbers[i] = 8;
           break;
-        }
-        case 73: {
-          obj.setDoubleField(input.readDouble());
+        case "doubleField":
+          fieldNumbers[i] = 9;
           break;
-        }
-        case 85: {
-          obj.setFloatField(input.readFloat());
+        case "floatField":
+          fieldNumbers[i] = 10;
           break;
-        }
-        case 88: {
-          obj.setLongField(input.readInt64());
+        case "longField":
+          fieldNumbers[i] = 11;
           break;
-        }
-        case 96: {
-          obj.setBoolField(input.readBool());
+        case "boolField":
+          fieldNumbers[i] = 12;
           break;
-        }
-        case 104: {
-          obj.setShortField((short) input.readInt32());
+        case "shortField":
+          fieldNumbers[i] = 13;
           break;
-        }
-        case 112: {
-          obj.setCharField((char) input.readInt32());
+        case "charField":
+          fieldNumbers[i] = 14;
           break;
-        }
-        case 122: {
-          int length = input.readRawVarint32();
-          int limit = input.pushLimit(length);
-          Map<String, String> map = obj.getStringValueMap();
-          if (map == null) {
-            map = new HashMap<>();
-          }
-          input.readTag();
-          String key = input.readString();
-          input.readTag();
-          String value = input.readString();
-          map.put(key, value);
-          obj.setStringValueMap(map);
-          input.popLimit(limit);
+        case "stringValueMap":
+          fieldNumbers[i] = 15;
           break;
-        }
-        case 130: {
-          int length = input.readRawVarint32();
-          int limit = input.pushLimit(length);
-          Map<String, Integer> map = obj.getIntegerValueMap();
-          if (map == null) {
-            map = new HashMap<>();
-          }
-          input.readTag();
-          String key = input.readString();
-          input.readTag();
-          Integer value = input.readInt32();
-          map.put(key, value);
-          obj.setIntegerValueMap(map);
-          input.popLimit(limit);
+        case "integerValueMap":
+          fieldNumbers[i] = 16;
           break;
-        }
-        case 138: {
-          int length = input.readUInt32();
-          int limit = input.pushLimit(length);
-          Map<String, Address> map = obj.getStructValueMap();
-          if (map == null) {
-            map = new HashMap<>();
-          }
-          input.readTag();
-          String key = input.readString();
-          input.readTag();
-          int vlength = input.readUInt32();
-          int vlimit = input.pushLimit(vlength);
-          Address value = new Address();
-          AddressProtoConverter.fromProto(input, value);
-          map.put(key, value);
-          obj.setStructValueMap(map);
-          input.popLimit(vlimit);
-          input.popLimit(limit);
+        case "structValueMap":
+          fieldNumbers[i] = 17;
           break;
-        }
-        case 146: {
-          int length = input.readUInt32();
-          int limit = input.pushLimit(length);
-          Map<String, JsonObject> map = obj.getJsonValueMap();
-          if (map == null) {
-            map = new HashMap<>();
-          }
-          input.readTag();
-          String key = input.readString();
-          input.readTag();
-          int vlength = input.readUInt32();
-          int vlimit = input.pushLimit(vlength);
-          map.put(key, VertxStructProtoConverter.fromProto(input));
-          obj.setJsonValueMap(map);
-          input.popLimit(vlimit);
-          input.popLimit(limit);
+        case "jsonValueMap":
+          fieldNumbers[i] = 18;
           break;
-        }
-        case 154: {
-          int length = input.readUInt32();
-          int limit = input.pushLimit(length);
-          Map<String, ZonedDateTime> map = obj.getZonedDateTimeValueMap();
-          if (map == null) {
-            map = new HashMap<>();
-          }
-          input.readTag();
-          String key = input.readString();
-          input.readTag();
-          int vlength = input.readUInt32();
-          int vlimit = input.pushLimit(vlength);
-          map.put(key, ZonedDateTimeProtoConverter.fromProto(input));
-          obj.setZonedDateTimeValueMap(map);
-          input.popLimit(vlimit);
-          input.popLimit(limit);
+        case "zonedDateTimeValueMap":
+          fieldNumbers[i] = 19;
           break;
-        }
-        case 162: {
-          int length = input.readUInt32();
-          int limit = input.pushLimit(length);
-          obj.setZonedDateTimeField(ZonedDateTimeProtoConverter.fromProto(input));
-          input.popLimit(limit);
+        case "zonedDateTimeField":
+          fieldNumbers[i] = 20;
           break;
-        }
-        case 170: {
-          int length = input.readUInt32();
-          int limit = input.pushLimit(length);
-          obj.setInstantField(InstantProtoConverter.fromProto(input));
-          input.popLimit(limit);
+        case "instantField":
+          fieldNumbers[i] = 21;
           break;
-        }
-        case 178: {
-          int length = input.readUInt32();
-          int limit = input.pushLimit(length);
-          obj.setJsonObjectField(VertxStructProtoConverter.fromProto(input));
-          input.popLimit(limit);
+        case "jsonObjectField":
+          fieldNumbers[i] = 22;
           break;
-        }
-        case 186: {
-          int length = input.readUInt32();
-          int limit = input.pushLimit(length);
-          obj.setJsonArrayField(VertxStructListProtoConverter.fromProto(input));
-          input.popLimit(limit);
+        case "jsonArrayField":
+          fieldNumbers[i] = 23;
           break;
-        }
-        case 192: {
-          obj.setPrimitiveBoolean(input.readBool());
+        case "primitiveBoolean":
+          fieldNumbers[i] = 24;
           break;
-        }
-        case 200: {
-          obj.setPrimitiveByte((byte) input.readInt32());
+        case "primitiveByte":
+          fieldNumbers[i] = 25;
           break;
-        }
-        case 208: {
-          obj.setPrimitiveShort((short) input.readInt32());
+        case "primitiveShort":
+          fieldNumbers[i] = 26;
           break;
-        }
-        case 216: {
-          obj.setPrimitiveInt(input.readInt32());
+        case "primitiveInt":
+          fieldNumbers[i] = 27;
           break;
-        }
-        case 224: {
-          obj.setPrimitiveLong(input.readInt64());
+        case "primitiveLong":
+          fieldNumbers[i] = 28;
           break;
-        }
-        case 237: {
-          obj.setPrimitiveFloat(input.readFloat());
+        case "primitiveFloat":
+          fieldNumbers[i] = 29;
           break;
-        }
-        case 241: {
-          obj.setPrimitiveDouble(input.readDouble());
+        case "primitiveDouble":
+          fieldNumbers[i] = 30;
           break;
-        }
-        case 248: {
-          obj.setPrimitiveChar((char) input.readInt32());
+        case "primitiveChar":
+          fieldNumbers[i] = 31;
           break;
-        }
-        case 256: {
-          switch (input.readEnum()) {
-            case 0:
-              obj.setEnumType(EnumType.A);
-              break;
-            case 1:
-              obj.setEnumType(EnumType.B);
-              break;
-            case 2:
-              obj.setEnumType(EnumType.C);
-              break;
-          }
+        case "enumType":
+          fieldNumbers[i] = 32;
           break;
+        default:
+          throw new IllegalArgumentException("Unknown property " + names[i]);
+      }
+    }
+    return FieldMask.of(fieldNumbers);
+  }
+
+  public static void fromProto(CodedInputStream input, User obj, FieldMask mask) throws IOException {
+    fromProto(input, obj, mask, ProtobufEncodingMode.VERTX);
+  }
+
+  public static void fromProto(CodedInputStream input, User obj, FieldMask mask, ProtobufEncodingMode encodingMode) throws IOException {
+    boolean compatibleMode = encodingMode == ProtobufEncodingMode.GOOGLE_COMPATIBLE;
+    if (compatibleMode) {
+      if (mask.contains(1)) {
+        obj.setUserName("");
+      }
+      if (mask.contains(2)) {
+        obj.setAge(0);
+      }
+      if (mask.contains(9)) {
+        obj.setDoubleField(0d);
+      }
+      if (mask.contains(10)) {
+        obj.setFloatField(0f);
+      }
+      if (mask.contains(11)) {
+        obj.setLongField(0L);
+      }
+      if (mask.contains(12)) {
+        obj.setBoolField(false);
+      }
+      if (mask.contains(13)) {
+        obj.setShortField((short)0);
+      }
+    }
+    boolean stopAfterLastField = mask.isStopAfterLastField();
+    int tag;
+    while ((tag = input.readTag()) != 0) {
+      if (!mask.containsTag(tag)) {
+        if (stopAfterLastField && (tag >>> 3) > mask.maxFieldNumber()) {
+          break;
+        }
+        input.skipField(tag);
+      } else if (!readField(input, tag, obj)) {
+        input.skipField(tag);
+      }
+    }
+  }
+
+  private static boolean readField(CodedInputStream input, int tag, User obj) throws IOException {
+    switch (tag) {
+      case 10: {
+        obj.setUserName(input.readString());
+        break;
+      }
+      case 16: {
+        obj.setAge(input.readInt32());
+        break;
+      }
+      case 26: {
+        int length = input.readRawVarint32();
+        int limit = input.pushLimit(length);
+        List<Integer> list = obj.getIntegerListField();
+        if (list == null) {
+          list = new ArrayList<>();
+        }
+        while (input.getBytesUntilLimit() > 0) {
+          list.add(input.readInt32());
+        }
+        obj.setIntegerListField(list);
+        input.popLimit(limit);
+        break;
+      }
+      case 24: {
+        List<Integer> list = obj.getIntegerListField();
+        if (list == null) {
+          list = new ArrayList<>();
+        }
+        list.add(input.readInt32());
+        obj.setIntegerListField(list);
+        break;
+      }
+      case 34: {
+        int length = input.readUInt32();
+        int limit = input.pushLimit(length);
+        Address nested = new Address();
+        AddressProtoConverter.fromProto(input, nested);
+        if (obj.getStructListField() == null) {
+          obj.setStructListField(new ArrayList<>());
+        }
+        obj.getStructListField().add(nested);
+        input.popLimit(limit);
+        break;
+      }
+      case 42: {
+        int length = input.readUInt32();
+        int limit = input.pushLimit(length);
+        if (obj.getZonedDateTimeListField() == null) {
+          obj.setZonedDateTimeListField(new ArrayList<>());
+        }
+        obj.getZonedDateTimeListField().add(ZonedDateTimeProtoConverter.fromProto(input));
+        input.popLimit(limit);
+        break;
+      }
+      case 50: {
+        int length = input.readUInt32();
+        int limit = input.pushLimit(length);
+        if (obj.getJsonListField() == null) {
+          obj.setJsonListField(new ArrayList<>());
+        }
+        obj.getJsonListField().add(VertxStructProtoConverter.fromProto(input));
+        input.popLimit(limit);
+        break;
+      }
+      case 58: {
+        int length = input.readUInt32();
+        int limit = input.pushLimit(length);
+        Address nested = new Address();
+        AddressProtoConverter.fromProto(input, nested);
+        obj.setAddress(nested);
+        input.popLimit(limit);
+        break;
+      }
+      case 64: {
+        obj.setByteField((byte) input.readInt32());
+        break;
+      }
+      case 73: {
+        obj.setDoubleField(input.readDouble());
+        break;
+      }
+      case 85: {
+        obj.setFloatField(input.readFloat());
+        break;
+      }
+      case 88: {
+        obj.setLongField(input.readInt64());
+        break;
+      }
+      case 96: {
+        obj.setBoolField(input.readBool());
+        break;
+      }
+      case 104: {
+        obj.setShortField((short) input.readInt32());
+        break;
+      }
+      case 112: {
+        obj.setCharField((char) input.readInt32());
+        break;
+      }
+      case 122: {
+        int length = input.readRawVarint32();
+        int limit = input.pushLimit(length);
+        Map<String, String> map = obj.getStringValueMap();
+        if (map == null) {
+          map = new HashMap<>();
         }
+        input.readTag();
+        String key = input.readString();
+        input.readTag();
+        String value = input.readString();
+        map.put(key, value);
+        obj.setStringValueMap(map);
+        input.popLimit(limit);
+        break;
       }
-    } // while loop
+      case 130: {
+        int length = input.readRawVarint32();
+        int limit = input.pushLimit(length);
+        Map<String, Integer> map = obj.getIntegerValueMap();
+        if (map == null) {
+          map = new HashMap<>();
+        }
+        input.readTag();
+        String key = input.readString();
+        input.readTag();
+        Integer value = input.readInt32();
+        map.put(key, value);
+        obj.setIntegerValueMap(map);
+        input.popLimit(limit);
+        break;
+      }
+      case 138: {
+        int length = input.readUInt32();
+        int limit = input.pushLimit(length);
+        Map<String, Address> map = obj.getStructValueMap();
+        if (map == null) {
+          map = new HashMap<>();
+        }
+        input.readTag();
+        String key = input.readString();
+        input.readTag();
+        int vlength = input.readUInt32();
+        int vlimit = input.pushLimit(vlength);
+        Address value = new Address();
+        AddressProtoConverter.fromProto(input, value);
+        map.put(key, value);
+        obj.setStructValueMap(map);
+        input.popLimit(vlimit);
+        input.popLimit(limit);
+        break;
+      }
+      case 146: {
+        int length = input.readUInt32();
+        int limit = input.pushLimit(length);
+        Map<String, JsonObject> map = obj.getJsonValueMap();
+        if (map == null) {
+          map = new HashMap<>();
+        }
+        input.readTag();
+        String key = input.readString();
+        input.readTag();
+        int vlength = input.readUInt32();
+        int vlimit = input.pushLimit(vlength);
+        map.put(key, VertxStructProtoConverter.fromProto(input));
+        obj.setJsonValueMap(map);
+        input.popLimit(vlimit);
+        input.popLimit(limit);
+        break;
+      }
+      case 154: {
+        int length = input.readUInt32();
+        int limit = input.pushLimit(length);
+        Map<String, ZonedDateTime> map = obj.getZonedDateTimeValueMap();
+        if (map == null) {
+          map = new HashMap<>();
+        }
+        input.readTag();
+        String key = input.readString();
+        input.readTag();
+        int vlength = input.readUInt32();
+        int vlimit = input.pushLimit(vlength);
+        map.put(key, ZonedDateTimeProtoConverter.fromProto(input));
+        obj.setZonedDateTimeValueMap(map);
+        input.popLimit(vlimit);
+        input.popLimit(limit);
+        break;
+      }
+      case 162: {
+        int length = input.readUInt32();
+        int limit = input.pushLimit(length);
+        obj.setZonedDateTimeField(ZonedDateTimeProtoConverter.fromProto(input));
+        input.popLimit(limit);
+        break;
+      }
+      case 170: {
+        int length = input.readUInt32();
+        int limit = input.pushLimit(length);
+        obj.setInstantField(InstantProtoConverter.fromProto(input));
+        input.popLimit(limit);
+        break;
+      }
+      case 178: {
+        int length = input.readUInt32();
+        int limit = input.pushLimit(length);
+        obj.setJsonObjectField(VertxStructProtoConverter.fromProto(input));
+        input.popLimit(limit);
+        break;
+      }
+      case 186: {
+        int length = input.readUInt32();
+        int limit = input.pushLimit(length);
+        obj.setJsonArrayField(VertxStructListProtoConverter.fromProto(input));
+        input.popLimit(limit);
+        break;
+      }
+      case 192: {
+        obj.setPrimitiveBoolean(input.readBool());
+        break;
+      }
+      case 200: {
+        obj.setPrimitiveByte((byte) input.readInt32());
+        break;
+      }
+      case 208: {
+        obj.setPrimitiveShort((short) input.readInt32());
+        break;
+      }
+      case 216: {
+        obj.setPrimitiveInt(input.readInt32());
+        break;
+      }
+      case 224: {
+        obj.setPrimitiveLong(input.readInt64());
+        break;
+      }
+      case 237: {
+        obj.setPrimitiveFloat(input.readFloat());
+        break;
+      }
+      case 241: {
+        obj.setPrimitiveDouble(input.readDouble());
+        break;
+      }
+      case 248: {
+        obj.setPrimitiveChar((char) input.readInt32());
+        break;
+      }
+      case 256: {
+        switch (input.readEnum()) {
+          case 0:
+            obj.setEnumType(EnumType.A);
+            break;
+          case 1:
+            obj.setEnumType(EnumType.B);
+            break;
+          case 2:
+            obj.setEnumType(EnumType.C);
+            break;
+        }
+        break;
+      }
+      default:
+        return false;
+    }
+    return true;
   }
 
   public static void toProto(User obj, CodedOutputStream output) throws IOException {
@@ -294,11 +483,80 @@ public class UserProtoConverter {
   }
 
   public static void toProto(User obj, CodedOutputStream output, ProtobufEncodingMode encodingMode) throws IOException {
-    ExpandableIntArray cache = new ExpandableIntArray(16);
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    toProto(obj, output, cache, encodingMode);
+    updateCacheCapacity(cache);
+  }
+
+  public static void toProto(User obj, CodedOutputStream output, ExpandableIntArray cache, ProtobufEncodingMode encodingMode) throws IOException {
+    cache.reset();
     UserProtoConverter.computeSize(obj, cache, 0, encodingMode);
     UserProtoConverter.toProto(obj, output, cache, 0, encodingMode);
   }
 
+  public static byte[] toByteArray(User obj) throws IOException {
+    return toByteArray(obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static byte[] toByteArray(User obj, ProtobufEncodingMode encodingMode) throws IOException {
+    return ProtoEncoderContext.current().encode(obj, UserProtoConverter::toProto, encodingMode);
+  }
+
+  public static Buffer toBuffer(User obj) throws IOException {
+    return toBuffer(obj, ProtobufEncodingMode.VERTX);
+  }
+
+  public static Buffer toBuffer(User obj, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    UserProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return toBuffer(obj, Buffer.buffer(cache.get(0)), cache, false, encodingMode);
+  }
+
+  public static Buffer toBuffer(User obj, Buffer buffer) throws IOException {
+    return toBuffer(obj, buffer, ProtobufEncodingMode.VERTX);
+  }
+
+  public static Buffer toBuffer(User obj, Buffer buffer, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    UserProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return toBuffer(obj, buffer, cache, false, encodingMode);
+  }
+
+  public static Buffer toDelimitedBuffer(User obj, Buffer buffer) throws IOException {
+    return toDelimitedBuffer(obj, buffer, ProtobufEncodingMode.VERTX);
+  }
+
+  public static Buffer toDelimitedBuffer(User obj, Buffer buffer, ProtobufEncodingMode encodingMode) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    UserProtoConverter.computeSize(obj, cache, 0, encodingMode);
+    return toBuffer(obj, buffer, cache, true, encodingMode);
+  }
+
+  private static Buffer toBuffer(User obj, Buffer buffer, ExpandableIntArray cache, boolean delimited, ProtobufEncodingMode encodingMode) throws IOException {
+    int size = cache.get(0);
+    int length = delimited ? CodedOutputStream.computeUInt32SizeNoTag(size) + size : size;
+    BufferStreams.write(buffer, length, output -> {
+      if (delimited) {
+        output.writeUInt32NoTag(size);
+      }
+      UserProtoConverter.toProto(obj, output, cache, 0, encodingMode);
+    });
+    updateCacheCapacity(cache);
+    return buffer;
+  }
+
+  public static ProtoStreamCodec<User> streamCodec() {
+    return streamCodec(ProtobufEncodingMode.VERTX);
+  }
+
+  public static ProtoStreamCodec<User> streamCodec(ProtobufEncodingMode encodingMode) {
+    return ProtoStreamCodec.create((obj, buffer) -> toDelimitedBuffer(obj, buffer, encodingMode), buffer -> {
+      User obj = new User();
+      fromBuffer(buffer, obj, encodingMode);
+      return obj;
+    });
+  }
+
   static int toProto(User obj, CodedOutputStream output, ExpandableIntArray cache, int index, ProtobufEncodingMode encodingMode) throws IOException {
     boolean compatibleMode = encodingMode == ProtobufEncodingMode.GOOGLE_COMPATIBLE;
     index = index + 1;
@@ -318,14 +576,10 @@ public class UserProtoConverter {
     }
     // integerListField
     if (obj.getIntegerListField() != null) {
-      // list | tag | data size | value[0] | value[1] | value[2] |
+      // packed | tag | data size | value[0] | value[1] | value[2] |
       if (obj.getIntegerListField().size() > 0) {
         output.writeUInt32NoTag(26);
-        int dataSize = 0;
-        for (Integer element: obj.getIntegerListField()) {
-          dataSize += CodedOutputStream.computeInt32SizeNoTag(element);
-        }
-        output.writeUInt32NoTag(dataSize);
+        output.writeUInt32NoTag(cache.get(index++));
         for (Integer element: obj.getIntegerListField()) {
           output.writeInt32NoTag(element);
         }
@@ -347,8 +601,8 @@ public class UserProtoConverter {
       // list[1] | tag | data size | value |
       for (ZonedDateTime element: obj.getZonedDateTimeListField()) {
         output.writeUInt32NoTag(42);
-        output.writeUInt32NoTag(ZonedDateTimeProtoConverter.computeSize(element));
-        ZonedDateTimeProtoConverter.toProto(element, output);
+        output.writeUInt32NoTag(cache.get(index));
+        index = ZonedDateTimeProtoConverter.toProto(element, output, cache, index);
       }
     }
     // jsonListField
@@ -357,8 +611,8 @@ public class UserProtoConverter {
       // list[1] | tag | data size | value |
       for (JsonObject element: obj.getJsonListField()) {
         output.writeUInt32NoTag(50);
-        output.writeUInt32NoTag(VertxStructProtoConverter.computeSize(element));
-        VertxStructProtoConverter.toProto(element, output);
+        output.writeUInt32NoTag(cache.get(index));
+        index = VertxStructProtoConverter.toProto(element, output, cache, index);
       }
     }
     // address
@@ -473,7 +727,7 @@ public class UserProtoConverter {
       for (Map.Entry<String, JsonObject> entry : obj.getJsonValueMap().entrySet()) {
         output.writeUInt32NoTag(146);
         // calculate data size
-        int elementSize = VertxStructProtoConverter.computeSize(entry.getValue());
+        int elementSize = cache.get(index);
         int dataSize = 0;
         dataSize += CodedOutputStream.computeStringSize(1, entry.getKey());
         dataSize += CodedOutputStream.computeInt32SizeNoTag(18);
@@ -485,7 +739,7 @@ public class UserProtoConverter {
         output.writeString(1, entry.getKey());
         output.writeUInt32NoTag(18);
         output.writeUInt32NoTag(elementSize);
-        VertxStructProtoConverter.toProto(entry.getValue(), output);
+        index = VertxStructProtoConverter.toProto(entry.getValue(), output, cache, index);
       }
     }
     // zonedDateTimeValueMap
@@ -495,7 +749,7 @@ public class UserProtoConverter {
       for (Map.Entry<String, ZonedDateTime> entry : obj.getZonedDateTimeValueMap().entrySet()) {
         output.writeUInt32NoTag(154);
         // calculate data size
-        int elementSize = ZonedDateTimeProtoConverter.computeSize(entry.getValue());
+        int elementSize = cache.get(index);
         int dataSize = 0;
         dataSize += CodedOutputStream.computeStringSize(1, entry.getKey());
         dataSize += CodedOutputStream.computeInt32SizeNoTag(18);
@@ -507,32 +761,32 @@ public class UserProtoConverter {
         output.writeString(1, entry.getKey());
         output.writeUInt32NoTag(18);
         output.writeUInt32NoTag(elementSize);
-        ZonedDateTimeProtoConverter.toProto(entry.getValue(), output);
+        index = ZonedDateTimeProtoConverter.toProto(entry.getValue(), output, cache, index);
       }
     }
     // zonedDateTimeField
     if (obj.getZonedDateTimeField() != null) {
       output.writeUInt32NoTag(162);
-      output.writeUInt32NoTag(ZonedDateTimeProtoConverter.computeSize(obj.getZonedDateTimeField()));
-      ZonedDateTimeProtoConverter.toProto(obj.getZonedDateTimeField(), output);
+      output.writeUInt32NoTag(cache.get(index));
+      index = ZonedDateTimeProtoConverter.toProto(obj.getZonedDateTimeField(), output, cache, index);
     }
     // instantField
     if (obj.getInstantField() != null) {
       output.writeUInt32NoTag(170);
-      output.writeUInt32NoTag(InstantProtoConverter.computeSize(obj.getInstantField()));
-      InstantProtoConverter.toProto(obj.getInstantField(), output);
+      output.writeUInt32NoTag(cache.get(index));
+      index = InstantProtoConverter.toProto(obj.getInstantField(), output, cache, index);
     }
     // jsonObjectField
     if (obj.getJsonObjectField() != null) {
       output.writeUInt32NoTag(178);
-      output.writeUInt32NoTag(VertxStructProtoConverter.computeSize(obj.getJsonObjectField()));
-      VertxStructProtoConverter.toProto(obj.getJsonObjectField(), output);
+      output.writeUInt32NoTag(cache.get(index));
+      index = VertxStructProtoConverter.toProto(obj.getJsonObjectField(), output, cache, index);
     }
     // jsonArrayField
     if (obj.getJsonArrayField() != null) {
       output.writeUInt32NoTag(186);
-      output.writeUInt32NoTag(VertxStructListProtoConverter.computeSize(obj.getJsonArrayField()));
-      VertxStructListProtoConverter.toProto(obj.getJsonArrayField(), output);
+      output.writeUInt32NoTag(cache.get(index));
+      index = VertxStructListProtoConverter.toProto(obj.getJsonArrayField(), output, cache, index);
     }
     // primitiveBoolean
     if (obj.isPrimitiveBoolean()) {
@@ -588,7 +842,14 @@ public class UserProtoConverter {
   }
 
   public static int computeSize(User obj, ProtobufEncodingMode encodingMode) {
-    ExpandableIntArray cache = new ExpandableIntArray(16);
+    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);
+    int size = computeSize(obj, cache, encodingMode);
+    updateCacheCapacity(cache);
+    return size;
+  }
+
+  public static int computeSize(User obj, ExpandableIntArray cache, ProtobufEncodingMode encodingMode) {
+    cache.reset();
     UserProtoConverter.computeSize(obj, cache, 0, encodingMode);
     return cache.get(0);
   }
@@ -603,13 +864,14 @@ public class UserProtoConverter {
       size += CodedOutputStream.computeInt32Size(2, obj.getAge());
     }
     if (obj.getIntegerListField() != null) {
-      // list | tag | data size | value[0] | value[1] | value[2] |
+      // packed | tag | data size | value[0] | value[1] | value[2] |
       if (obj.getIntegerListField().size() > 0) {
         size += CodedOutputStream.computeUInt32SizeNoTag(26);
         int dataSize = 0;
         for (Integer element: obj.getIntegerListField()) {
           dataSize += CodedOutputStream.computeInt32SizeNoTag(element);
         }
+        cache.set(index++, dataSize);
         size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
         size += dataSize;
       }
@@ -634,7 +896,9 @@ public class UserProtoConverter {
       if (obj.getZonedDateTimeListField().size() > 0) {
         for (ZonedDateTime element: obj.getZonedDateTimeListField()) {
           size += CodedOutputStream.computeUInt32SizeNoTag(42);
-          int dataSize = ZonedDateTimeProtoConverter.computeSize(element);
+          int savedIndex = index;
+          index = ZonedDateTimeProtoConverter.computeSize(element, cache, index);
+          int dataSize = cache.get(savedIndex);
           size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
           size += dataSize;
         }
@@ -646,7 +910,9 @@ public class UserProtoConverter {
       if (obj.getJsonListField().size() > 0) {
         for (JsonObject element: obj.getJsonListField()) {
           size += CodedOutputStream.computeUInt32SizeNoTag(50);
-          int dataSize = VertxStructProtoConverter.computeSize(element);
+          int savedIndex = index;
+          index = VertxStructProtoConverter.computeSize(element, cache, index);
+          int dataSize = cache.get(savedIndex);
           size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
           size += dataSize;
         }
@@ -736,7 +1002,9 @@ public class UserProtoConverter {
         // key
         dataSize += CodedOutputStream.computeStringSize(1, entry.getKey());
         // value
-        int elementSize = VertxStructProtoConverter.computeSize(entry.getValue());
+        int savedIndex = index;
+        index = VertxStructProtoConverter.computeSize(entry.getValue(), cache, index);
+        int elementSize = cache.get(savedIndex);
         dataSize += CodedOutputStream.computeInt32SizeNoTag(18);
         dataSize += CodedOutputStream.computeInt32SizeNoTag(elementSize);
         dataSize += elementSize;
@@ -755,7 +1023,9 @@ public class UserProtoConverter {
         // key
         dataSize += CodedOutputStream.computeStringSize(1, entry.getKey());
         // value
-        int elementSize = ZonedDateTimeProtoConverter.computeSize(entry.getValue());
+        int savedIndex = index;
+        index = ZonedDateTimeProtoConverter.computeSize(entry.getValue(), cache, index);
+        int elementSize = cache.get(savedIndex);
         dataSize += CodedOutputStream.computeInt32SizeNoTag(18);
         dataSize += CodedOutputStream.computeInt32SizeNoTag(elementSize);
         dataSize += elementSize;
@@ -766,25 +1036,33 @@ public class UserProtoConverter {
     }
     if (obj.getZonedDateTimeField() != null) {
       size += CodedOutputStream.computeUInt32SizeNoTag(162);
-      int dataSize = ZonedDateTimeProtoConverter.computeSize(obj.getZonedDateTimeField());
+      int savedIndex = index;
+      index = ZonedDateTimeProtoConverter.computeSize(obj.getZonedDateTimeField(), cache, index);
+      int dataSize = cache.get(savedIndex);
       size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
       size += dataSize;
     }
     if (obj.getInstantField() != null) {
       size += CodedOutputStream.computeUInt32SizeNoTag(170);
-      int dataSize = InstantProtoConverter.computeSize(obj.getInstantField());
+      int savedIndex = index;
+      index = InstantProtoConverter.computeSize(obj.getInstantField(), cache, index);
+      int dataSize = cache.get(savedIndex);
       size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
       size += dataSize;
     }
     if (obj.getJsonObjectField() != null) {
       size += CodedOutputStream.computeUInt32SizeNoTag(178);
-      int dataSize = VertxStructProtoConverter.computeSize(obj.getJsonObjectField());
+      int savedIndex = index;
+      index = VertxStructProtoConverter.computeSize(obj.getJsonObjectField(), cache, index);
+      int dataSize = cache.get(savedIndex);
       size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
       size += dataSize;
     }
     if (obj.getJsonArrayField() != null) {
       size += CodedOutputStream.computeUInt32SizeNoTag(186);
-      int dataSize = VertxStructListProtoConverter.computeSize(obj.getJsonArrayField());
+      int savedIndex = index;
+      index = VertxStructListProtoConverter.computeSize(obj.getJsonArrayField(), cache, index);
+      int dataSize = cache.get(savedIndex);
       size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);
       size += dataSize;
     }
@@ -829,4 +1107,12 @@ public class UserProtoConverter {
     return index;
   }
 
+  private static void updateCacheCapacity(ExpandableIntArray cache) {
+    int used = cache.size();
+    int capacity = cacheCapacity;
+    if (used > capacity && capacity < ExpandableIntArray.MAX_CAPACITY_HINT) {
+      cacheCapacity = Math.min(used, ExpandableIntArray.MAX_CAPACITY_HINT);
+    }
+  }
+
 }
@@ -0,0 +1,293 @@
+package io.vertx.test.codegen.converter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import io.vertx.codegen.protobuf.FieldMask;
+import io.vertx.codegen.protobuf.ProtoView;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.codegen.protobuf.impl.converters.*;
+
+public class UserProtoView extends ProtoView {
+
+  private static final FieldMask INTEGER_LIST_FIELD_MASK = FieldMask.of(3);
+  private static final FieldMask STRUCT_LIST_FIELD_MASK = FieldMask.of(4);
+  private static final FieldMask ZONED_DATE_TIME_LIST_FIELD_MASK = FieldMask.of(5);
+  private static final FieldMask JSON_LIST_FIELD_MASK = FieldMask.of(6);
+  private static final FieldMask STRING_VALUE_MAP_MASK = FieldMask.of(15);
+  private static final FieldMask INTEGER_VALUE_MAP_MASK = FieldMask.of(16);
+  private static final FieldMask STRUCT_VALUE_MAP_MASK = FieldMask.of(17);
+  private static final FieldMask JSON_VALUE_MAP_MASK = FieldMask.of(18);
+  private static final FieldMask ZONED_DATE_TIME_VALUE_MAP_MASK = FieldMask.of(19);
+
+  private User integerListFieldProjection;
+  private User structListFieldProjection;
+  private User zonedDateTimeListFieldProjection;
+  private User jsonListFieldProjection;
+  private User stringValueMapProjection;
+  private User integerValueMapProjection;
+  private User structValueMapProjection;
+  private User jsonValueMapProjection;
+  private User zonedDateTimeValueMapProjection;
+
+  public UserProtoView(Buffer buffer) {
+    super(buffer);
+  }
+
+  public UserProtoView(ByteBuffer buffer) {
+    super(buffer);
+  }
+
+  @Override
+  protected int slotCount() {
+    return 23;
+  }
+
+  @Override
+  protected int slot(int tag) {
+    switch (tag) {
+      case 10:
+        return 0;
+      case 16:
+        return 1;
+      case 58:
+        return 2;
+      case 64:
+        return 3;
+      case 73:
+        return 4;
+      case 85:
+        return 5;
+      case 88:
+        return 6;
+      case 96:
+        return 7;
+      case 104:
+        return 8;
+      case 112:
+        return 9;
+      case 162:
+        return 10;
+      case 170:
+        return 11;
+      case 178:
+        return 12;
+      case 186:
+        return 13;
+      case 192:
+        return 14;
+      case 200:
+        return 15;
+      case 208:
+        return 16;
+      case 216:
+        return 17;
+      case 224:
+        return 18;
+      case 237:
+        return 19;
+      case 241:
+        return 20;
+      case 248:
+        return 21;
+      case 256:
+        return 22;
+      default:
+        return -1;
+    }
+  }
+
+  public String getUserName() {
+    return readString(0);
+  }
+
+  public Integer getAge() {
+    return has(1) ? readInt32(1) : null;
+  }
+
+  public List<Integer> getIntegerListField() {
+    if (integerListFieldProjection == null) {
+      integerListFieldProjection = project(INTEGER_LIST_FIELD_MASK);
+    }
+    return integerListFieldProjection.getIntegerListField();
+  }
+
+  public List<Address> getStructListField() {
+    if (structListFieldProjection == null) {
+      structListFieldProjection = project(STRUCT_LIST_FIELD_MASK);
+    }
+    return structListFieldProjection.getStructListField();
+  }
+
+  public List<ZonedDateTime> getZonedDateTimeListField() {
+    if (zonedDateTimeListFieldProjection == null) {
+      zonedDateTimeListFieldProjection = project(ZONED_DATE_TIME_LIST_FIELD_MASK);
+    }
+    return zonedDateTimeListFieldProjection.getZonedDateTimeListField();
+  }
+
+  public List<JsonObject> getJsonListField() {
+    if (jsonListFieldProjection == null) {
+      jsonListFieldProjection = project(JSON_LIST_FIELD_MASK);
+    }
+    return jsonListFieldProjection.getJsonListField();
+  }
+
+  public AddressProtoView getAddress() {
+    ByteBuffer message = readMessage(2);
+    return message != null ? new AddressProtoView(message) : null;
+  }
+
+  public Byte getByteField() {
+    return has(3) ? (byte) readInt32(3) : null;
+  }
+
+  public Double getDoubleField() {
+    return has(4) ? readDouble(4) : null;
+  }
+
+  public Float getFloatField() {
+    return has(5) ? readFloat(5) : null;
+  }
+
+  public Long getLongField() {
+    return has(6) ? readInt64(6) : null;
+  }
+
+  public Boolean getBoolField() {
+    return has(7) ? readBool(7) : null;
+  }
+
+  public Short getShortField() {
+    return has(8) ? (short) readInt32(8) : null;
+  }
+
+  public Character getCharField() {
+    return has(9) ? (char) readInt32(9) : null;
+  }
+
+  public Map<String, String> getStringValueMap() {
+    if (stringValueMapProjection == null) {
+      stringValueMapProjection = project(STRING_VALUE_MAP_MASK);
+    }
+    return stringValueMapProjection.getStringValueMap();
+  }
+
+  public Map<String, Integer> getIntegerValueMap() {
+    if (integerValueMapProjection == null) {
+      integerValueMapProjection = project(INTEGER_VALUE_MAP_MASK);
+    }
+    return integerValueMapProjection.getIntegerValueMap();
+  }
+
+  public Map<String, Address> getStructValueMap() {
+    if (structValueMapProjection == null) {
+      structValueMapProjection = project(STRUCT_VALUE_MAP_MASK);
+    }
+    return structValueMapProjection.getStructValueMap();
+  }
+
+  public Map<String, JsonObject> getJsonValueMap() {
+    if (jsonValueMapProjection == null) {
+      jsonValueMapProjection = project(JSON_VALUE_MAP_MASK);
+    }
+    return jsonValueMapProjection.getJsonValueMap();
+  }
+
+  public Map<String, ZonedDateTime> getZonedDateTimeValueMap() {
+    if (zonedDateTimeValueMapProjection == null) {
+      zonedDateTimeValueMapProjection = project(ZONED_DATE_TIME_VALUE_MAP_MASK);
+    }
+    return zonedDateTimeValueMapProjection.getZonedDateTimeValueMap();
+  }
+
+  public ZonedDateTime getZonedDateTimeField() {
+    return readMessage(10, ZonedDateTimeProtoConverter::fromProto);
+  }
+
+  public Instant getInstantField() {
+    return readMessage(11, InstantProtoConverter::fromProto);
+  }
+
+  public JsonObject getJsonObjectField() {
+    return readMessage(12, VertxStructProtoConverter::fromProto);
+  }
+
+  public JsonArray getJsonArrayField() {
+    return readMessage(13, VertxStructListProtoConverter::fromProto);
+  }
+
+  public boolean isPrimitiveBoolean() {
+    return readBool(14);
+  }
+
+  public byte getPrimitiveByte() {
+    return (byte) readInt32(15);
+  }
+
+  public short getPrimitiveShort() {
+    return (short) readInt32(16);
+  }
+
+  public int getPrimitiveInt() {
+    return readInt32(17);
+  }
+
+  public long getPrimitiveLong() {
+    return readInt64(18);
+  }
+
+  public float getPrimitiveFloat() {
+    return readFloat(19);
+  }
+
+  public double getPrimitiveDouble() {
+    return readDouble(20);
+  }
+
+  public char getPrimitiveChar() {
+    return (char) readInt32(21);
+  }
+
+  public EnumType getEnumType() {
+    if (!has(22)) {
+      return null;
+    }
+    switch (readEnum(22)) {
+      case 0:
+        return EnumType.A;
+      case 1:
+        return EnumType.B;
+      case 2:
+        return EnumType.C;
+      default:
+        return null;
+    }
+  }
+
+  private User project(FieldMask mask) {
+    User obj = new User();
+    try {
+      UserProtoConverter.fromProto(input(), obj, mask);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return obj;
+  }
+
+  public User toDataObject() {
+    User obj = new User();
+    try {
+      UserProtoConverter.fromProto(input(), obj);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return obj;
+  }
+}
@@ -7,7 +7,7 @@ import io.vertx.codegen.protobuf.annotations.ProtobufGen;
 import java.util.Objects;
 
 @DataObject
-@ProtobufGen(fieldNumberStrategy = FieldNumberStrategy.COMPACT)
+@ProtobufGen(fieldNumberStrategy = FieldNumberStrategy.COMPACT, generateView = true)
 public class Address {
   private String name;
   private Float longitude;
@@ -0,0 +1,70 @@
+package io.vertx.test.codegen.converter;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.protobuf.annotations.FieldNumberStrategy;
+import io.vertx.codegen.protobuf.annotations.ProtobufGen;
+
+import java.util.Objects;
+
+@DataObject
+@ProtobufGen(fieldNumberStrategy = FieldNumberStrategy.COMPACT, cacheStringEncoding = true)
+public class Article {
+
+  private String title;
+  private String body;
+  private Address location;
+  private Article reply;
+
+  public Article() {
+  }
+
+  public Article(String title, String body) {
+    this.title = title;
+    this.body = body;
+  }
+
+  public String getTitle() {
+    return title;
+  }
+
+  public void setTitle(String title) {
+    this.title = title;
+  }
+
+  public String getBody() {
+    return body;
+  }
+
+  public void setBody(String body) {
+    this.body = body;
+  }
+
+  public Address getLocation() {
+    return location;
+  }
+
+  public void setLocation(Address location) {
+    this.location = location;
+  }
+
+  public Article getReply() {
+    return reply;
+  }
+
+  public void setReply(Article reply) {
+    this.reply = reply;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    Article that = (Article) o;
+    return Objects.equals(title, that.title) && Objects.equals(body, that.body) && Objects.equals(location, that.location) && Objects.equals(reply, that.reply);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(title, body, location, reply);
+  }
+}
@@ -0,0 +1,178 @@
+package io.vertx.test.codegen.converter;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.format.SnakeCase;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.codegen.protobuf.annotations.FieldNumberStrategy;
+import io.vertx.codegen.protobuf.annotations.ProtobufGen;
+import io.vertx.core.json.JsonObject;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+
+@DataObject
+@JsonGen(publicConverter = false, jsonPropertyNameFormatter = SnakeCase.class)
+@ProtobufGen(fieldNumberStrategy = FieldNumberStrategy.COMPACT, transcodeToJson = true)
+public class Product {
+  private String name;
+  private Integer quantity;
+  private int stock;
+  private boolean available;
+  private double price;
+  private Character grade;
+  private EnumType category;
+  private Instant createdAt;
+  private ZonedDateTime updatedAt;
+  private List<String> tags;
+  private List<Integer> ratings;
+  private List<EnumType> labels;
+  private Map<String, Long> counters;
+  private Supplier supplier;
+  private List<Supplier> alternates;
+  private Map<String, Supplier> suppliersByRegion;
+  private JsonObject attributes;
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public Integer getQuantity() {
+    return quantity;
+  }
+
+  public void setQuantity(Integer quantity) {
+    this.quantity = quantity;
+  }
+
+  public int getStock() {
+    return stock;
+  }
+
+  public void setStock(int stock) {
+    this.stock = stock;
+  }
+
+  public boolean isAvailable() {
+    return available;
+  }
+
+  public void setAvailable(boolean available) {
+    this.available = available;
+  }
+
+  public double getPrice() {
+    return price;
+  }
+
+  public void setPrice(double price) {
+    this.price = price;
+  }
+
+  public Character getGrade() {
+    return grade;
+  }
+
+  public void setGrade(Character grade) {
+    this.grade = grade;
+  }
+
+  public EnumType getCategory() {
+    return category;
+  }
+
+  public void setCategory(EnumType category) {
+    this.category = category;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(Instant createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public ZonedDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(ZonedDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
+  public List<String> getTags() {
+    return tags;
+  }
+
+  public void setTags(List<String> tags) {
+    this.tags = tags;
+  }
+
+  public List<Integer> getRatings() {
+    return ratings;
+  }
+
+  public void setRatings(List<Integer> ratings) {
+    this.ratings = ratings;
+  }
+
+  public List<EnumType> getLabels() {
+    return labels;
+  }
+
+  public void setLabels(List<EnumType> labels) {
+    this.labels = labels;
+  }
+
+  public Map<String, Long> getCounters() {
+    return counters;
+  }
+
+  public void setCounters(Map<String, Long> counters) {
+    this.counters = counters;
+  }
+
+  public Supplier getSupplier() {
+    return supplier;
+  }
+
+  public void setSupplier(Supplier supplier) {
+    this.supplier = supplier;
+  }
+
+  public List<Supplier> getAlternates() {
+    return alternates;
+  }
+
+  public void setAlternates(List<Supplier> alternates) {
+    this.alternates = alternates;
+  }
+
+  public Map<String, Supplier> getSuppliersByRegion() {
+    return suppliersByRegion;
+  }
+
+  public void setSuppliersByRegion(Map<String, Supplier> suppliersByRegion) {
+    this.suppliersByRegion = suppliersByRegion;
+  }
+
+  public JsonObject getAttributes() {
+    return attributes;
+  }
+
+  public void setAttributes(JsonObject attributes) {
+    this.attributes = attributes;
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    ProductConverter.toJson(this, json);
+    return json;
+  }
+}
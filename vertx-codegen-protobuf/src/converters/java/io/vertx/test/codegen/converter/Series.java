@@ -0,0 +1,141 @@
+package io.vertx.test.codegen.converter;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.protobuf.annotations.FieldNumberStrategy;
+import io.vertx.codegen.protobuf.annotations.ProtobufGen;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+@DataObject
+@ProtobufGen(fieldNumberStrategy = FieldNumberStrategy.COMPACT)
+public class Series {
+  private List<Long> longListField;
+  private List<Double> doubleListField;
+  private List<Float> floatListField;
+  private List<Boolean> boolListField;
+  private List<Short> shortListField;
+  private List<EnumType> enumListField;
+  private List<String> stringListField;
+  private int[] intArrayField;
+  private long[] longArrayField;
+  private float[] floatArrayField;
+  private double[] doubleArrayField;
+  private boolean[] boolArrayField;
+
+  public List<Long> getLongListField() {
+    return longListField;
+  }
+
+  public void setLongListField(List<Long> longListField) {
+    this.longListField = longListField;
+  }
+
+  public List<Double> getDoubleListField() {
+    return doubleListField;
+  }
+
+  public void setDoubleListField(List<Double> doubleListField) {
+    this.doubleListField = doubleListField;
+  }
+
+  public List<Float> getFloatListField() {
+    return floatListField;
+  }
+
+  public void setFloatListField(List<Float> floatListField) {
+    this.floatListField = floatListField;
+  }
+
+  public List<Boolean> getBoolListField() {
+    return boolListField;
+  }
+
+  public void setBoolListField(List<Boolean> boolListField) {
+    this.boolListField = boolListField;
+  }
+
+  public List<Short> getShortListField() {
+    return shortListField;
+  }
+
+  public void setShortListField(List<Short> shortListField) {
+    this.shortListField = shortListField;
+  }
+
+  public List<EnumType> getEnumListField() {
+    return enumListField;
+  }
+
+  public void setEnumListField(List<EnumType> enumListField) {
+    this.enumListField = enumListField;
+  }
+
+  public List<String> getStringListField() {
+    return stringListField;
+  }
+
+  public void setStringListField(List<String> stringListField) {
+    this.stringListField = stringListField;
+  }
+
+  public int[] getIntArrayField() {
+    return intArrayField;
+  }
+
+  public void setIntArrayField(int[] intArrayField) {
+    this.intArrayField = intArrayField;
+  }
+
+  public long[] getLongArrayField() {
+    return longArrayField;
+  }
+
+  public void setLongArrayField(long[] longArrayField) {
+    this.longArrayField = longArrayField;
+  }
+
+  public float[] getFloatArrayField() {
+    return floatArrayField;
+  }
+
+  public void setFloatArrayField(float[] floatArrayField) {
+    this.floatArrayField = floatArrayField;
+  }
+
+  public double[] getDoubleArrayField() {
+    return doubleArrayField;
+  }
+
+  public void setDoubleArrayField(double[] doubleArrayField) {
+    this.doubleArrayField = doubleArrayField;
+  }
+
+  public boolean[] getBoolArrayField() {
+    return boolArrayField;
+  }
+
+  public void setBoolArrayField(boolean[] boolArrayField) {
+    this.boolArrayField = boolArrayField;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    Series that = (Series) o;
+    return Objects.equals(longListField, that.longListField) && Objects.equals(doubleListField, that.doubleListField) && Objects.equals(floatListField, that.floatListField) && Objects.equals(boolListField, that.boolListField) && Objects.equals(shortListField, that.shortListField) && Objects.equals(enumListField, that.enumListField) && Objects.equals(stringListField, that.stringListField) && Arrays.equals(intArrayField, that.intArrayField) && Arrays.equals(longArrayField, that.longArrayField) && Arrays.equals(floatArrayField, that.floatArrayField) && Arrays.equals(doubleArrayField, that.doubleArrayField) && Arrays.equals(boolArrayField, that.boolArrayField);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = Objects.hash(longListField, doubleListField, floatListField, boolListField, shortListField, enumListField, stringListField);
+    result = 31 * result + Arrays.hashCode(intArrayField);
+    result = 31 * result + Arrays.hashCode(longArrayField);
+    result = 31 * result + Arrays.hashCode(floatArrayField);
+    result = 31 * result + Arrays.hashCode(doubleArrayField);
+    result = 31 * result + Arrays.hashCode(boolArrayField);
+    return result;
+  }
+}
@@ -0,0 +1,52 @@
+package io.vertx.test.codegen.converter;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.codegen.protobuf.annotations.FieldNumberStrategy;
+import io.vertx.codegen.protobuf.annotations.ProtobufGen;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Objects;
+
+@DataObject
+@JsonGen(publicConverter = false)
+@ProtobufGen(fieldNumberStrategy = FieldNumberStrategy.COMPACT, transcodeToJson = true)
+public class Supplier {
+  private String name;
+  private int rank;
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public int getRank() {
+    return rank;
+  }
+
+  public void setRank(int rank) {
+    this.rank = rank;
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    SupplierConverter.toJson(this, json);
+    return json;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    Supplier supplier = (Supplier) o;
+    return rank == supplier.rank && Objects.equals(name, supplier.name);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(name, rank);
+  }
+}
@@ -13,7 +13,7 @@ import java.util.Map;
 import java.util.Objects;
 
 @DataObject
-@ProtobufGen(fieldNumberStrategy = FieldNumberStrategy.COMPACT)
+@ProtobufGen(fieldNumberStrategy = FieldNumberStrategy.COMPACT, generateView = true)
 public class User {
   private String userName;
   private Integer age;
@@ -0,0 +1,96 @@
+package io.vertx.codegen.protobuf;
+
+import java.util.Arrays;
+
+/**
+ * A set of field numbers selecting the fields decoded by a projected {@code fromProto}, the other fields are skipped.
+ * <p>
+ * A mask is immutable, it is meant to be built once, usually from property names with the {@code fieldMask} method
+ * of a generated converter, and shared.
+ */
+public final class FieldMask {
+
+  /**
+   * @param fieldNumbers the selected field numbers
+   * @return the mask
+   */
+  public static FieldMask of(int... fieldNumbers) {
+    int max = 0;
+    for (int fieldNumber : fieldNumbers) {
+      if (fieldNumber < 1) {
+        throw new IllegalArgumentException("Field number " + fieldNumber + " is invalid");
+      }
+      max = Math.max(max, fieldNumber);
+    }
+    long[] bits = new long[(max >> 6) + 1];
+    for (int fieldNumber : fieldNumbers) {
+      bits[fieldNumber >> 6] |= 1L << fieldNumber;
+    }
+    return new FieldMask(bits, max, false);
+  }
+
+  private final long[] bits;
+  private final int maxFieldNumber;
+  private final boolean stopAfterLastField;
+
+  private FieldMask(long[] bits, int maxFieldNumber, boolean stopAfterLastField) {
+    this.bits = bits;
+    this.maxFieldNumber = maxFieldNumber;
+    this.stopAfterLastField = stopAfterLastField;
+  }
+
+  /**
+   * Return a mask that stops the decoding at the first field numbered after the last selected field, leaving
+   * the rest of the input unread.
+   * <p>
+   * This is only correct when the fields are encoded in field number order, as the generated converters and protoc do.
+   *
+   * @return the mask stopping early
+   */
+  public FieldMask stopAfterLastField() {
+    return new FieldMask(bits, maxFieldNumber, true);
+  }
+
+  /**
+   * @return whether the decoding stops after the last selected field
+   */
+  public boolean isStopAfterLastField() {
+    return stopAfterLastField;
+  }
+
+  /**
+   * @return the highest selected field number
+   */
+  public int maxFieldNumber() {
+    return maxFieldNumber;
+  }
+
+  /**
+   * @return whether the field {@code fieldNumber} is selected
+   */
+  public boolean contains(int fieldNumber) {
+    int word = fieldNumber >>> 6;
+    return word < bits.length && (bits[word] & (1L << fieldNumber)) != 0;
+  }
+
+  /**
+   * @return whether the field of the wire {@code tag} is selected
+   */
+  public boolean containsTag(int tag) {
+    return contains(tag >>> 3);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj instanceof FieldMask) {
+      FieldMask that = (FieldMask) obj;
+      return stopAfterLastField == that.stopAfterLastField && Arrays.equals(bits, that.bits);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(bits) * 31 + (stopAfterLastField ? 1 : 0);
+  }
+}
@@ -0,0 +1,229 @@
+package io.vertx.codegen.protobuf;
+
+import io.vertx.codegen.protobuf.impl.ProtoStreamParser;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.core.streams.WriteStream;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Frames a sequence of data objects as length-delimited protobuf messages, each message is prefixed with its size
+ * encoded as a varint like {@code writeDelimitedTo} / {@code parseDelimitedFrom} do.
+ * <p>
+ * A codec is obtained from the {@code streamCodec} method of a generated converter, e.g.
+ * {@code UserProtoConverter.streamCodec()}, and is configured before use.
+ */
+public final class ProtoStreamCodec<T> {
+
+  /**
+   * The default maximum size of a message: 4 MiB.
+   */
+  public static final int DEFAULT_MAX_MESSAGE_SIZE = 4 * 1024 * 1024;
+
+  /**
+   * The default size of the batches written to a stream: 16 KiB.
+   */
+  public static final int DEFAULT_BATCH_SIZE = 16 * 1024;
+
+  /**
+   * Append a length-delimited message to a buffer, e.g. {@code UserProtoConverter::toDelimitedBuffer}.
+   */
+  @FunctionalInterface
+  public interface Encoder<T> {
+    void encode(T obj, Buffer buffer) throws IOException;
+  }
+
+  /**
+   * Decode a message, without its length prefix, from a buffer.
+   */
+  @FunctionalInterface
+  public interface Decoder<T> {
+    T decode(Buffer buffer) throws IOException;
+  }
+
+  /**
+   * @param encoder the delimited message encoder
+   * @param decoder the message decoder
+   * @return a codec with the default limits
+   */
+  public static <T> ProtoStreamCodec<T> create(Encoder<T> encoder, Decoder<T> decoder) {
+    return new ProtoStreamCodec<>(encoder, decoder);
+  }
+
+  private final Encoder<T> encoder;
+  private final Decoder<T> decoder;
+  private int maxMessageSize = DEFAULT_MAX_MESSAGE_SIZE;
+  private int batchSize = DEFAULT_BATCH_SIZE;
+
+  private ProtoStreamCodec(Encoder<T> encoder, Decoder<T> decoder) {
+    this.encoder = encoder;
+    this.decoder = decoder;
+  }
+
+  /**
+   * @return the maximum size of a decoded message
+   */
+  public int getMaxMessageSize() {
+    return maxMessageSize;
+  }
+
+  /**
+   * Set the maximum size of a decoded message, a larger message fails the parsed stream before it is buffered.
+   *
+   * @param maxMessageSize the maximum size in bytes
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ProtoStreamCodec<T> setMaxMessageSize(int maxMessageSize) {
+    if (maxMessageSize < 1) {
+      throw new IllegalArgumentException("Max message size must be > 0");
+    }
+    this.maxMessageSize = maxMessageSize;
+    return this;
+  }
+
+  /**
+   * @return the size of the batches written to a stream
+   */
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Set the size above which a batch of messages is written to a stream, a message is never split across batches.
+   *
+   * @param batchSize the batch size in bytes
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ProtoStreamCodec<T> setBatchSize(int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Batch size must be > 0");
+    }
+    this.batchSize = batchSize;
+    return this;
+  }
+
+  /**
+   * @param obj the object to encode
+   * @return a buffer containing the length-delimited message
+   */
+  public Buffer encode(T obj) throws IOException {
+    Buffer buffer = Buffer.buffer();
+    encoder.encode(obj, buffer);
+    return buffer;
+  }
+
+  /**
+   * Append the length-delimited message of {@code obj} to {@code buffer}.
+   *
+   * @return the {@code buffer}
+   */
+  public Buffer encode(T obj, Buffer buffer) throws IOException {
+    encoder.encode(obj, buffer);
+    return buffer;
+  }
+
+  /**
+   * Write the length-delimited messages of {@code objects} to {@code stream}, the messages are written in batches
+   * of about {@link #getBatchSize()} bytes.
+   * <p>
+   * The stream back-pressure is respected: when {@link WriteStream#writeQueueFull()} after a batch, the remaining
+   * objects are encoded and written once the stream {@link WriteStream#drainHandler(Handler) drains}, replacing the
+   * drain handler of the stream until then.
+   *
+   * @param stream the stream to write to
+   * @param objects the objects to write
+   * @return the future completed by the last write, or failed when an object cannot be encoded
+   */
+  public Future<Void> write(WriteStream<Buffer> stream, Iterable<? extends T> objects) {
+    Promise<Void> promise = Promise.promise();
+    new BatchWrite(stream, objects.iterator(), promise).run();
+    return promise.future();
+  }
+
+  private class BatchWrite implements Handler<Void> {
+
+    private final WriteStream<Buffer> stream;
+    private final Iterator<? extends T> objects;
+    private final Promise<Void> promise;
+
+    private BatchWrite(WriteStream<Buffer> stream, Iterator<? extends T> objects, Promise<Void> promise) {
+      this.stream = stream;
+      this.objects = objects;
+      this.promise = promise;
+    }
+
+    @Override
+    public void handle(Void event) {
+      stream.drainHandler(null);
+      run();
+    }
+
+    void run() {
+      Future<Void> last = null;
+      try {
+        while (objects.hasNext()) {
+          Buffer batch = Buffer.buffer(batchSize);
+          while (objects.hasNext() && batch.length() < batchSize) {
+            encoder.encode(objects.next(), batch);
+          }
+          last = stream.write(batch);
+          if (objects.hasNext() && stream.writeQueueFull()) {
+            stream.drainHandler(this);
+            return;
+          }
+        }
+      } catch (IOException | RuntimeException e) {
+        promise.fail(e);
+        return;
+      }
+      if (last == null) {
+        promise.complete();
+      } else {
+        last.onComplete(ar -> {
+          if (ar.succeeded()) {
+            promise.complete();
+          } else {
+            promise.fail(ar.cause());
+          }
+        });
+      }
+    }
+  }
+
+  /**
+   * Write the length-delimited message of {@code obj} to {@code stream}.
+   *
+   * @param stream the stream to write to
+   * @param obj the object to write
+   * @return the future of the write
+   */
+  public Future<Void> write(WriteStream<Buffer> stream, T obj) {
+    Buffer buffer;
+    try {
+      buffer = encode(obj);
+    } catch (IOException | RuntimeException e) {
+      return Future.failedFuture(e);
+    }
+    return stream.write(buffer);
+  }
+
+  /**
+   * Parse the length-delimited messages of {@code source}, the messages can be split across the buffers of the
+   * source in any way.
+   * <p>
+   * The parsed stream pauses the source when it has no demand, so at most one buffer of the source and one
+   * incomplete message are retained. A message larger than {@link #getMaxMessageSize()} or a truncated last
+   * message fails the parsed stream.
+   *
+   * @param source the stream of buffers
+   * @return the stream of decoded objects
+   */
+  public ReadStream<T> parse(ReadStream<Buffer> source) {
+    return new ProtoStreamParser<>(source, decoder, maxMessageSize);
+  }
+}
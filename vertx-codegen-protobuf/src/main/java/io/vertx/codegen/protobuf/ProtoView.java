@@ -0,0 +1,193 @@
+package io.vertx.codegen.protobuf;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.vertx.codegen.protobuf.utils.BufferStreams;
+import io.vertx.core.buffer.Buffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Base class of the generated {@code XxxProtoView}, a read-only view decoding the properties of an encoded message
+ * on demand.
+ * <p>
+ * The offsets of the fields are indexed with a single scan of the message on the first access, each access then
+ * decodes its field from its offset: scalar values are decoded in place, strings and messages with a
+ * {@link CodedInputStream}. The encoded bytes are not copied, they must not be modified while the view is in use.
+ * A view is not thread safe.
+ */
+public abstract class ProtoView {
+
+  /**
+   * Decode the content of a length-delimited field, e.g. {@code InstantProtoConverter::fromProto}.
+   */
+  @FunctionalInterface
+  protected interface MessageDecoder<V> {
+    V decode(CodedInputStream input) throws IOException;
+  }
+
+  // Little endian for the fixed32/fixed64 values
+  private final ByteBuffer data;
+  // The offset of the value of each indexed field, 0 when the field is absent
+  private int[] offsets;
+
+  protected ProtoView(ByteBuffer data) {
+    this.data = data.slice().order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  protected ProtoView(Buffer buffer) {
+    this(BufferStreams.byteBuffer(buffer));
+  }
+
+  /**
+   * @return the number of indexed fields
+   */
+  protected abstract int slotCount();
+
+  /**
+   * @return the slot of the indexed field of {@code tag}, or {@code -1} when the field is not indexed
+   */
+  protected abstract int slot(int tag);
+
+  /**
+   * @return a read-only buffer of the encoded message
+   */
+  public ByteBuffer buffer() {
+    return data.asReadOnlyBuffer();
+  }
+
+  /**
+   * @return a stream reading the whole message
+   */
+  protected final CodedInputStream input() {
+    return CodedInputStream.newInstance(data.duplicate());
+  }
+
+  private int[] offsets() {
+    int[] result = offsets;
+    if (result == null) {
+      result = new int[slotCount()];
+      try {
+        CodedInputStream input = input();
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+          int slot = slot(tag);
+          if (slot >= 0) {
+            // Last one wins, like the decoding of a data object
+            result[slot] = input.getTotalBytesRead();
+          }
+          input.skipField(tag);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      offsets = result;
+    }
+    return result;
+  }
+
+  /**
+   * @return whether the field of {@code slot} is present in the message
+   */
+  protected final boolean has(int slot) {
+    return offsets()[slot] != 0;
+  }
+
+  private CodedInputStream field(int offset) {
+    ByteBuffer value = data.duplicate();
+    value.position(offset);
+    return CodedInputStream.newInstance(value.slice());
+  }
+
+  // The scan of the offsets skipped the varint, so it is well-formed and ends before the limit
+  private long readVarint(int offset) {
+    long result = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = data.get(offset++);
+      result |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        return result;
+      }
+    }
+    throw new UncheckedIOException(new InvalidProtocolBufferException("Malformed varint"));
+  }
+
+  protected final int readInt32(int slot) {
+    int offset = offsets()[slot];
+    return offset != 0 ? (int) readVarint(offset) : 0;
+  }
+
+  protected final long readInt64(int slot) {
+    int offset = offsets()[slot];
+    return offset != 0 ? readVarint(offset) : 0L;
+  }
+
+  protected final float readFloat(int slot) {
+    int offset = offsets()[slot];
+    return offset != 0 ? Float.intBitsToFloat(data.getInt(offset)) : 0f;
+  }
+
+  protected final double readDouble(int slot) {
+    int offset = offsets()[slot];
+    return offset != 0 ? Double.longBitsToDouble(data.getLong(offset)) : 0d;
+  }
+
+  protected final boolean readBool(int slot) {
+    int offset = offsets()[slot];
+    return offset != 0 && readVarint(offset) != 0;
+  }
+
+  protected final int readEnum(int slot) {
+    return readInt32(slot);
+  }
+
+  protected final String readString(int slot) {
+    int offset = offsets()[slot];
+    if (offset == 0) {
+      return null;
+    }
+    try {
+      return field(offset).readString();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * @return the bytes of the length-delimited field of {@code slot} without copying them, or {@code null} when absent
+   */
+  protected final ByteBuffer readMessage(int slot) {
+    int offset = offsets()[slot];
+    if (offset == 0) {
+      return null;
+    }
+    int length = (int) readVarint(offset);
+    int start = offset;
+    while (data.get(start++) < 0) {
+      // The bytes of the length
+    }
+    ByteBuffer message = data.duplicate();
+    message.position(start);
+    message.limit(start + length);
+    return message.slice();
+  }
+
+  /**
+   * @return the content of the length-delimited field of {@code slot} decoded by {@code decoder}, or {@code null}
+   * when absent
+   */
+  protected final <V> V readMessage(int slot, MessageDecoder<V> decoder) {
+    ByteBuffer message = readMessage(slot);
+    if (message == null) {
+      return null;
+    }
+    try {
+      return decoder.decode(CodedInputStream.newInstance(message));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
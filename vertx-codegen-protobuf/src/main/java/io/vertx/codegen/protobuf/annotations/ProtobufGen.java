@@ -39,6 +39,27 @@ public @interface ProtobufGen {
 
   JsonProtoEncoding jsonProtoEncoding() default JsonProtoEncoding.VERTX_STRUCT;
 
+  /**
+   * Whether the size computation keeps the UTF-8 encoding of long {@code String} properties in the size cache, so the
+   * encoding writes these bytes instead of encoding the strings a second time. This trades an allocation per long
+   * string for an encoding, which pays off for data objects carrying long texts.
+   */
+  boolean cacheStringEncoding() default false;
+
+  /**
+   * Whether a read-only {@code XxxProtoView} is generated alongside the converter. A view wraps the encoded bytes of
+   * a message and decodes a property only when its getter is called, nested data objects are exposed as views, so
+   * their data objects must generate a view as well.
+   */
+  boolean generateView() default false;
+
+  /**
+   * Whether the converter of a data object also annotated with {@code @JsonGen} generates {@code transcodeToJson},
+   * writing the JSON text of {@code toJson} from an encoded message. The members are streamed in field number order,
+   * so the field numbers must follow the order of the properties.
+   */
+  boolean transcodeToJson() default false;
+
   /**
    * The strategy of field number assignment. Use {@link FieldNumberStrategy#MANUAL},
    * {@link FieldNumberStrategy#COMPACT}, or {@link FieldNumberStrategy#SEGMENTED}.
@@ -0,0 +1,279 @@
+package io.vertx.codegen.protobuf.generator;
+
+import io.vertx.codegen.processor.DataObjectModel;
+import io.vertx.codegen.processor.GenException;
+import io.vertx.codegen.processor.Generator;
+import io.vertx.codegen.processor.PropertyInfo;
+import io.vertx.codegen.protobuf.annotations.FieldNumberStrategy;
+import io.vertx.codegen.protobuf.annotations.JsonProtoEncoding;
+import io.vertx.codegen.protobuf.annotations.ProtobufGen;
+import io.vertx.codegen.processor.type.ArrayTypeInfo;
+import io.vertx.codegen.processor.type.ClassKind;
+import io.vertx.codegen.processor.type.EnumTypeInfo;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates the read-only {@code XxxProtoView} of the data objects annotated with
+ * {@code @ProtobufGen(generateView = true)}.
+ * <p>
+ * Singular fields are indexed and decoded from their offset, repeated and map fields are decoded with a projected
+ * {@code fromProto} of the converter the first time their getter is called. A nested data object is returned as
+ * its own view, so it must generate a view as well.
+ */
+public class DataObjectProtoViewGen extends Generator<DataObjectModel> {
+
+  private static final String NESTED_VIEWS = "protoNestedViews";
+
+  public DataObjectProtoViewGen() {
+    kinds = Collections.singleton("dataObject");
+    name = "data_object_proto_views";
+    threadSafe = true;
+    isolating = true;
+  }
+
+  @Override
+  public Collection<Class<? extends Annotation>> annotations() {
+    return Collections.singletonList(ProtobufGen.class);
+  }
+
+  @Override
+  public String filename(DataObjectModel model) {
+    if (model.isClass() && model.isConcrete() && ProtobufGenAnnotation.generateView(model)) {
+      return model.getFqn() + "ProtoView.java";
+    }
+    return null;
+  }
+
+  @Override
+  public void prepare(DataObjectModel model, Map<String, Object> session) {
+    if (env != null) {
+      Collection<PropertyInfo> properties = model.getPropertyMap().values();
+      Map<String, Integer> fieldNumbers = ProtobufFields.fieldNumbers(properties, ProtobufGenAnnotation.fieldNumberStrategy(model), ProtobufGenAnnotation.reservedFieldNumbers(model));
+      for (PropertyInfo prop : properties) {
+        if (isNestedView(prop, ProtoProperty.getProtoProperty(prop, fieldNumbers.get(prop.getName()))) && !ProtobufGenAnnotation.isSet(env, prop.getType().getName(), "generateView")) {
+          throw new GenException(model.getElement(), "The view cannot return the nested data object property " +
+            prop.getName() + ", " + prop.getType().getName() + " must be annotated with @ProtobufGen(generateView = true)");
+        }
+      }
+    }
+    session.put(NESTED_VIEWS, Boolean.TRUE);
+  }
+
+  @Override
+  public String render(DataObjectModel model, int index, int size, Map<String, Object> session) {
+    if (!session.containsKey(NESTED_VIEWS)) {
+      prepare(model, session);
+    }
+    StringWriter buffer = new StringWriter();
+    PrintWriter writer = new PrintWriter(buffer);
+
+    JsonProtoEncoding jsonProtoEncoding = ProtobufGenAnnotation.jsonProtoEncoding(model);
+    FieldNumberStrategy fieldNumberStrategy = ProtobufGenAnnotation.fieldNumberStrategy(model);
+    String simpleName = model.getType().getSimpleName();
+    String viewName = simpleName + "ProtoView";
+
+    Collection<PropertyInfo> properties = model.getPropertyMap().values();
+    Map<String, Integer> fieldNumbers = ProtobufFields.fieldNumbers(properties, fieldNumberStrategy, ProtobufGenAnnotation.reservedFieldNumbers(model));
+    List<PropertyInfo> orderedProperties = ProtobufFields.inFieldNumberOrder(properties, fieldNumbers);
+
+    // Singular fields get a slot in the offset index
+    List<PropertyInfo> indexed = new ArrayList<>();
+    for (PropertyInfo prop : orderedProperties) {
+      if (isIndexed(prop)) {
+        indexed.add(prop);
+      }
+    }
+
+    writer.print("package " + model.getType().getPackageName() + ";\n");
+    writer.print("\n");
+    writer.print("import java.io.IOException;\n");
+    writer.print("import java.io.UncheckedIOException;\n");
+    writer.print("import java.nio.ByteBuffer;\n");
+    writer.print("import java.time.Instant;\n");
+    writer.print("import java.time.ZonedDateTime;\n");
+    writer.print("import java.util.List;\n");
+    writer.print("import java.util.Map;\n");
+    writer.print("import io.vertx.codegen.protobuf.FieldMask;\n");
+    writer.print("import io.vertx.codegen.protobuf.ProtoView;\n");
+    writer.print("import io.vertx.core.buffer.Buffer;\n");
+    writer.print("import io.vertx.core.json.JsonArray;\n");
+    writer.print("import io.vertx.core.json.JsonObject;\n");
+    writer.print("import io.vertx.codegen.protobuf.impl.converters.*;\n");
+    writer.print("\n");
+    writer.print("public class " + viewName + " extends ProtoView {\n");
+    writer.print("\n");
+    for (PropertyInfo prop : orderedProperties) {
+      if (!isIndexed(prop)) {
+        writer.print("  private static final FieldMask " + maskName(prop) + " = FieldMask.of(" + fieldNumbers.get(prop.getName()) + ");\n");
+      }
+    }
+    if (indexed.size() < orderedProperties.size()) {
+      writer.print("\n");
+      // The data objects projected on each repeated or map field, decoded once
+      for (PropertyInfo prop : orderedProperties) {
+        if (!isIndexed(prop)) {
+          writer.print("  private " + simpleName + " " + projectionName(prop) + ";\n");
+        }
+      }
+      writer.print("\n");
+    }
+    writer.print("  public " + viewName + "(Buffer buffer) {\n");
+    writer.print("    super(buffer);\n");
+    writer.print("  }\n");
+    writer.print("\n");
+    writer.print("  public " + viewName + "(ByteBuffer buffer) {\n");
+    writer.print("    super(buffer);\n");
+    writer.print("  }\n");
+    writer.print("\n");
+    writer.print("  @Override\n");
+    writer.print("  protected int slotCount() {\n");
+    writer.print("    return " + indexed.size() + ";\n");
+    writer.print("  }\n");
+    writer.print("\n");
+    writer.print("  @Override\n");
+    writer.print("  protected int slot(int tag) {\n");
+    writer.print("    switch (tag) {\n");
+    for (int slot = 0; slot < indexed.size(); slot++) {
+      PropertyInfo prop = indexed.get(slot);
+      ProtoProperty protoProperty = ProtoProperty.getProtoProperty(prop, fieldNumbers.get(prop.getName()));
+      writer.print("      case " + protoProperty.getTag() + ":\n");
+      writer.print("        return " + slot + ";\n");
+    }
+    writer.print("      default:\n");
+    writer.print("        return -1;\n");
+    writer.print("    }\n");
+    writer.print("  }\n");
+    writer.print("\n");
+
+    for (PropertyInfo prop : orderedProperties) {
+      if (prop.getGetterMethod() == null) {
+        continue;
+      }
+      int slot = indexed.indexOf(prop);
+      ProtoProperty protoProperty = ProtoProperty.getProtoProperty(prop, fieldNumbers.get(prop.getName()));
+      ClassKind propKind = prop.getType().getKind();
+      if (slot < 0) {
+        writer.print("  public " + javaType(prop) + " " + prop.getGetterMethod() + "() {\n");
+        writer.print("    if (" + projectionName(prop) + " == null) {\n");
+        writer.print("      " + projectionName(prop) + " = project(" + maskName(prop) + ");\n");
+        writer.print("    }\n");
+        writer.print("    return " + projectionName(prop) + "." + prop.getGetterMethod() + "();\n");
+        writer.print("  }\n");
+      } else if (propKind == ClassKind.ENUM) {
+        EnumTypeInfo enumTypeInfo = (EnumTypeInfo) prop.getType();
+        writer.print("  public " + enumTypeInfo.getSimpleName() + " " + prop.getGetterMethod() + "() {\n");
+        writer.print("    if (!has(" + slot + ")) {\n");
+        writer.print("      return null;\n");
+        writer.print("    }\n");
+        writer.print("    switch (readEnum(" + slot + ")) {\n");
+        int enumIntValue = 0;
+        for (String enumValue : enumTypeInfo.getValues()) {
+          writer.print("      case " + enumIntValue + ":\n");
+          writer.print("        return " + enumTypeInfo.getSimpleName() + "." + enumValue + ";\n");
+          enumIntValue++;
+        }
+        writer.print("      default:\n");
+        writer.print("        return null;\n");
+        writer.print("    }\n");
+        writer.print("  }\n");
+      } else if (propKind.basic) {
+        String javaDataType = prop.getType().getName();
+        String casting = "";
+        if ("java.lang.Short".equals(javaDataType) || "short".equals(javaDataType)) {
+          casting = "(short) ";
+        } else if ("java.lang.Character".equals(javaDataType) || "char".equals(javaDataType)) {
+          casting = "(char) ";
+        } else if ("java.lang.Byte".equals(javaDataType) || "byte".equals(javaDataType)) {
+          casting = "(byte) ";
+        }
+        String read = casting + protoProperty.getProtoType().read() + "(" + slot + ")";
+        writer.print("  public " + javaType(prop) + " " + prop.getGetterMethod() + "() {\n");
+        if (propKind == ClassKind.BOXED_PRIMITIVE) {
+          writer.print("    return has(" + slot + ") ? " + read + " : null;\n");
+        } else {
+          writer.print("    return " + read + ";\n");
+        }
+        writer.print("  }\n");
+      } else if (protoProperty.isBuiltinType()) {
+        String converter = ProtoProperty.getBuiltInProtoConverter(prop.getType().getSimpleName(), jsonProtoEncoding);
+        writer.print("  public " + javaType(prop) + " " + prop.getGetterMethod() + "() {\n");
+        writer.print("    return readMessage(" + slot + ", " + converter + "::fromProto);\n");
+        writer.print("  }\n");
+      } else {
+        String nestedView = protoProperty.getMessage() + "ProtoView";
+        writer.print("  public " + nestedView + " " + prop.getGetterMethod() + "() {\n");
+        writer.print("    ByteBuffer message = readMessage(" + slot + ");\n");
+        writer.print("    return message != null ? new " + nestedView + "(message) : null;\n");
+        writer.print("  }\n");
+      }
+      writer.print("\n");
+    }
+
+    if (indexed.size() < orderedProperties.size()) {
+      writer.print("  private " + simpleName + " project(FieldMask mask) {\n");
+      writer.print("    " + simpleName + " obj = new " + simpleName + "();\n");
+      writer.print("    try {\n");
+      writer.print("      " + simpleName + "ProtoConverter.fromProto(input(), obj, mask);\n");
+      writer.print("    } catch (IOException e) {\n");
+      writer.print("      throw new UncheckedIOException(e);\n");
+      writer.print("    }\n");
+      writer.print("    return obj;\n");
+      writer.print("  }\n");
+      writer.print("\n");
+    }
+    writer.print("  public " + simpleName + " toDataObject() {\n");
+    writer.print("    " + simpleName + " obj = new " + simpleName + "();\n");
+    writer.print("    try {\n");
+    writer.print("      " + simpleName + "ProtoConverter.fromProto(input(), obj);\n");
+    writer.print("    } catch (IOException e) {\n");
+    writer.print("      throw new UncheckedIOException(e);\n");
+    writer.print("    }\n");
+    writer.print("    return obj;\n");
+    writer.print("  }\n");
+    writer.print("}\n");
+    return buffer.toString();
+  }
+
+  private static boolean isIndexed(PropertyInfo prop) {
+    return !prop.getKind().isList() && !prop.getKind().isMap() && !(prop.getType() instanceof ArrayTypeInfo);
+  }
+
+  private static boolean isNestedView(PropertyInfo prop, ProtoProperty protoProperty) {
+    ClassKind kind = prop.getType().getKind();
+    return prop.getGetterMethod() != null && isIndexed(prop) && kind != ClassKind.ENUM && !kind.basic &&
+      !protoProperty.isBuiltinType();
+  }
+
+  private static String projectionName(PropertyInfo prop) {
+    return prop.getName() + "Projection";
+  }
+
+  private static String maskName(PropertyInfo prop) {
+    StringBuilder sb = new StringBuilder();
+    for (char c : prop.getName().toCharArray()) {
+      if (Character.isUpperCase(c)) {
+        sb.append('_');
+      }
+      sb.append(Character.toUpperCase(c));
+    }
+    return sb.append("_MASK").toString();
+  }
+
+  private static String javaType(PropertyInfo prop) {
+    String type = prop.getType().getSimpleName();
+    if (prop.getKind().isList()) {
+      return "List<" + type + ">";
+    } else if (prop.getKind().isMap()) {
+      return "Map<String, " + type + ">";
+    }
+    return type;
+  }
+}
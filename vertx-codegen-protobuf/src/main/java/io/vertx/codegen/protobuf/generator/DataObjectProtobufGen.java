@@ -1,15 +1,24 @@
 package io.vertx.codegen.protobuf.generator;
 
+import io.vertx.codegen.format.Case;
+import io.vertx.codegen.format.LowerCamelCase;
 import io.vertx.codegen.processor.DataObjectModel;
+import io.vertx.codegen.processor.GenException;
 import io.vertx.codegen.processor.Generator;
+import io.vertx.codegen.processor.MapperKind;
 import io.vertx.codegen.processor.PropertyInfo;
+import io.vertx.codegen.processor.PropertyKind;
 import io.vertx.codegen.protobuf.annotations.FieldNumberStrategy;
 import io.vertx.codegen.protobuf.annotations.JsonProtoEncoding;
 import io.vertx.codegen.protobuf.annotations.ProtobufGen;
 import io.vertx.codegen.processor.type.AnnotationValueInfo;
+import io.vertx.codegen.processor.type.ArrayTypeInfo;
 import io.vertx.codegen.processor.type.ClassKind;
+import io.vertx.codegen.processor.type.DataObjectInfo;
 import io.vertx.codegen.processor.type.EnumTypeInfo;
+import io.vertx.codegen.processor.type.MapperInfo;
 import io.vertx.codegen.processor.writer.CodeWriter;
+import io.vertx.codegen.processor.writer.MethodChunks;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
@@ -21,11 +30,18 @@ import java.util.*;
  */
 public class DataObjectProtobufGen extends Generator<DataObjectModel> {
 
-  public static int CACHE_INITIAL_CAPACITY = 16;
+  /**
+   * Upper bound of the elements pre-allocated from the length of a packed field, larger fields grow as they are read.
+   */
+  private static final int PACKED_PRESIZE_LIMIT = 4096;
+
+  private static final String TRANSCODED_NESTED = "protoTranscodedNested";
 
   public DataObjectProtobufGen() {
     kinds = Collections.singleton("dataObject");
     name = "data_object_converters";
+    threadSafe = true;
+    isolating = true;
   }
 
   @Override
@@ -41,8 +57,26 @@ public class DataObjectProtobufGen extends Generator<DataObjectModel> {
     return null;
   }
 
+  @Override
+  public void prepare(DataObjectModel model, Map<String, Object> session) {
+    // The nested data objects transcoding themselves, the others are decoded and written with their toJson
+    Set<String> transcoded = new HashSet<>();
+    if (env != null && ProtobufGenAnnotation.transcodeToJson(model)) {
+      for (PropertyInfo prop : model.getPropertyMap().values()) {
+        DataObjectInfo dataObject = prop.getType().getDataObject();
+        if (dataObject != null && ProtobufGenAnnotation.isSet(env, prop.getType().getName(), "transcodeToJson")) {
+          transcoded.add(prop.getType().getName());
+        }
+      }
+    }
+    session.put(TRANSCODED_NESTED, transcoded);
+  }
+
   @Override
   public String render(DataObjectModel model, int index, int size, Map<String, Object> session) {
+    if (!session.containsKey(TRANSCODED_NESTED)) {
+      prepare(model, session);
+    }
     AnnotationValueInfo protobufGen = model.getAnnotation(ProtobufGen.class).get();
     return renderProto(model, protobufGen.getMember("publicConverter") == Boolean.TRUE, index, size, session);
   }
@@ -54,6 +88,7 @@ public class DataObjectProtobufGen extends Generator<DataObjectModel> {
     String visibility = isPublic ? "public" : "";
 
     JsonProtoEncoding jsonProtoEncoding = ProtobufGenAnnotation.jsonProtoEncoding(model);
+    boolean cacheStringEncoding = ProtobufGenAnnotation.cacheStringEncoding(model);
     FieldNumberStrategy fieldNumberStrategy = ProtobufGenAnnotation.fieldNumberStrategy(model);
     Set<Integer> reservedFieldNumbers = ProtobufGenAnnotation.reservedFieldNumbers(model);
     Set<String> reservedFieldNames = ProtobufGenAnnotation.reservedFieldNames(model);
@@ -65,14 +100,22 @@ public class DataObjectProtobufGen extends Generator<DataObjectModel> {
     writer.print("import java.io.IOException;\n");
     writer.print("import java.time.Instant;\n");
     writer.print("import java.time.ZonedDateTime;\n");
+    writer.print("import java.time.format.DateTimeFormatter;\n");
     writer.print("import java.util.ArrayList;\n");
     writer.print("import java.util.List;\n");
     writer.print("import java.util.HashMap;\n");
     writer.print("import java.util.Map;\n");
     writer.print("import java.util.Arrays;\n");
+    writer.print("import io.vertx.codegen.protobuf.FieldMask;\n");
     writer.print("import io.vertx.codegen.protobuf.ProtobufEncodingMode;\n");
+    writer.print("import io.vertx.codegen.protobuf.ProtoStreamCodec;\n");
+    writer.print("import io.vertx.core.buffer.Buffer;\n");
     writer.print("import io.vertx.core.json.JsonObject;\n");
+    writer.print("import io.vertx.codegen.protobuf.utils.BufferStreams;\n");
     writer.print("import io.vertx.codegen.protobuf.utils.ExpandableIntArray;\n");
+    writer.print("import io.vertx.codegen.protobuf.utils.PrimitiveArrays;\n");
+    writer.print("import io.vertx.codegen.protobuf.utils.ProtoEncoderContext;\n");
+    writer.print("import io.vertx.codegen.protobuf.utils.ProtoJsonWriter;\n");
     writer.print("import io.vertx.codegen.protobuf.impl.converters.*;\n");
     writer.print("\n");
     code
@@ -86,6 +129,43 @@ public class DataObjectProtobufGen extends Generator<DataObjectModel> {
     Map<String, Integer> fieldNumbers = ProtobufFields.fieldNumbers(properties, fieldNumberStrategy, reservedFieldNumbers);
     List<PropertyInfo> orderedProperties = ProtobufFields.inFieldNumberOrder(properties, fieldNumbers);
 
+    // The elements of the primitive array properties are decoded into growable buffers, set once the message ends
+    List<PropertyInfo> arrayProperties = new ArrayList<>();
+    for (PropertyInfo prop : orderedProperties) {
+      if (prop.getType() instanceof ArrayTypeInfo) {
+        arrayProperties.add(prop);
+      }
+    }
+    String readFieldArgs = arrayProperties.isEmpty() ? "input, tag, obj" : "input, tag, obj, arrays";
+    String readFieldParams = "CodedInputStream input, int tag, " + simpleName + " obj" + (arrayProperties.isEmpty() ? "" : ", PrimitiveArrays arrays");
+
+    // Size cache capacity, starts with the slots of a message with one element per nested message property
+    // and grows to the largest size seen so far, converters are shared between threads so the hint is volatile
+    writer.print("  private static volatile int cacheCapacity = " + initialCacheCapacity(orderedProperties, fieldNumbers) + ";\n");
+    writer.print("\n");
+
+    // The JSON names of the properties mapped by the JSON converter, when the data object also has one
+    boolean transcodeToJson = ProtobufGenAnnotation.transcodeToJson(model);
+    Optional<AnnotationValueInfo> jsonGen = JsonGenAnnotation.jsonGen(model);
+    if (transcodeToJson && !jsonGen.isPresent()) {
+      throw new GenException(model.getElement(), "transcodeToJson requires the data object to be annotated with @JsonGen");
+    }
+    List<PropertyInfo> jsonProperties = new ArrayList<>();
+    if (transcodeToJson) {
+      Case formatter = JsonGenAnnotation.jsonPropertyNameFormatter(jsonGen.get());
+      boolean inheritConverter = JsonGenAnnotation.inheritConverter(jsonGen.get());
+      for (PropertyInfo prop : orderedProperties) {
+        if ((prop.isDeclared() || inheritConverter) && prop.getGetterMethod() != null && prop.isJsonifiable() && isJsonMapped(prop)) {
+          jsonProperties.add(prop);
+          writer.print("  private static final byte[] " + jsonNameConstant(prop) + " = ProtoJsonWriter.encodeName(\"" + LowerCamelCase.INSTANCE.to(formatter, prop.getName()) + "\");\n");
+        }
+      }
+      if (!jsonProperties.isEmpty()) {
+        writer.print("\n");
+      }
+      checkTranscodeOrder(model, jsonProperties);
+    }
+
     // fromProto()
     {
       writer.print("  " + visibility + " static void fromProto(CodedInputStream input, " + simpleName + " obj) throws IOException {\n");
@@ -94,10 +174,11 @@ public class DataObjectProtobufGen extends Generator<DataObjectModel> {
       writer.print("\n");
       writer.print("  " + visibility + " static void fromProto(CodedInputStream input, " + simpleName + " obj, ProtobufEncodingMode encodingMode) throws IOException {\n");
       writer.print("    boolean compatibleMode = encodingMode == ProtobufEncodingMode.GOOGLE_COMPATIBLE;\n");
-      // Compatible Mode
+      // Compatible Mode, the chunk methods of the default values are rendered after fromProto
+      StringWriter defaultChunks = new StringWriter();
       {
         int fieldNumber = 1;
-        writer.print("    if (compatibleMode) {\n");
+        List<String> defaults = new ArrayList<>();
         for (PropertyInfo prop : model.getPropertyMap().values()) {
           ProtoProperty protoProperty = ProtoProperty.getProtoProperty(prop, fieldNumber);
           ClassKind propKind = prop.getType().getKind();
@@ -105,123 +186,216 @@ public class DataObjectProtobufGen extends Generator<DataObjectModel> {
           if (!prop.getKind().isList() && !prop.getKind().isMap() && propKind.basic) {
             String defaultValue = protoProperty.getDefaultValue();
             if (protoProperty.isBoxedType() && defaultValue != null) {
-              writer.print("      obj." + prop.getSetterMethod() + "(" + defaultValue + ");\n");
+              defaults.add("      obj." + prop.getSetterMethod() + "(" + defaultValue + ");\n");
             }
           }
           fieldNumber++;
         }
-        writer.print("    }\n");
+        renderDefaults(writer, defaults, "setDefaults", simpleName + " obj", "obj", new PrintWriter(defaultChunks));
       }
+      renderArraysStart(writer, arrayProperties);
       writer.print("    int tag;\n");
       writer.print("    while ((tag = input.readTag()) != 0) {\n");
-      writer.print("      switch (tag) {\n");
+      writer.print("      if (!readField(" + readFieldArgs + ")) {\n");
+      writer.print("        input.skipField(tag);\n");
+      writer.print("      }\n");
+      writer.print("    }\n");
+      renderArraysEnd(writer, arrayProperties);
+      writer.print("  }\n");
+      writer.print("\n");
+      writer.print("  " + visibility + " static void fromBuffer(Buffer buffer, " + simpleName + " obj) throws IOException {\n");
+      writer.print("    fromProto(BufferStreams.input(buffer), obj, ProtobufEncodingMode.VERTX);\n");
+      writer.print("  }\n");
+      writer.print("\n");
+      writer.print("  " + visibility + " static void fromBuffer(Buffer buffer, " + simpleName + " obj, ProtobufEncodingMode encodingMode) throws IOException {\n");
+      writer.print("    fromProto(BufferStreams.input(buffer), obj, encodingMode);\n");
+      writer.print("  }\n");
+      writer.print("\n");
+
+      // Projected decoding
+      writer.print("  " + visibility + " static FieldMask fieldMask(String... names) {\n");
+      writer.print("    int[] fieldNumbers = new int[names.length];\n");
+      writer.print("    for (int i = 0;i < names.length;i++) {\n");
+      List<String> names = new ArrayList<>();
+      for (PropertyInfo prop : orderedProperties) {
+        names.add(
+          "        case \"" + prop.getName() + "\":\n" +
+          "          fieldNumbers[i] = " + fieldNumbers.get(prop.getName()) + ";\n" +
+          "          break;\n");
+      }
+      MethodChunks nameChunks = MethodChunks.of(names)
+        .method("void", "fieldMask", "String[] names, int[] fieldNumbers, int i", "names, fieldNumbers, i")
+        .outdent(1);
+      if (!nameChunks.isSplit()) {
+        writer.print("      switch (names[i]) {\n");
+        writer.print(nameChunks.code());
+        writer.print("        default:\n");
+        writer.print("          throw new IllegalArgumentException(\"Unknown property \" + names[i]);\n");
+        writer.print("      }\n");
+      } else {
+        writer.print("      " + nameChunks.call(0) + ";\n");
+      }
+      writer.print("    }\n");
+      writer.print("    return FieldMask.of(fieldNumbers);\n");
+      writer.print("  }\n");
+      if (nameChunks.isSplit()) {
+        nameChunks.writeSwitchMethods(writer, "names[i]", "throw new IllegalArgumentException(\"Unknown property \" + names[i]);", true);
+      }
+      writer.print("\n");
+      writer.print("  " + visibility + " static void fromProto(CodedInputStream input, " + simpleName + " obj, FieldMask mask) throws IOException {\n");
+      writer.print("    fromProto(input, obj, mask, ProtobufEncodingMode.VERTX);\n");
+      writer.print("  }\n");
+      writer.print("\n");
+      writer.print("  " + visibility + " static void fromProto(CodedInputStream input, " + simpleName + " obj, FieldMask mask, ProtobufEncodingMode encodingMode) throws IOException {\n");
+      writer.print("    boolean compatibleMode = encodingMode == ProtobufEncodingMode.GOOGLE_COMPATIBLE;\n");
+      List<String> maskDefaults = new ArrayList<>();
+      for (PropertyInfo prop : orderedProperties) {
+        ProtoProperty protoProperty = ProtoProperty.getProtoProperty(prop, fieldNumbers.get(prop.getName()));
+        ClassKind propKind = prop.getType().getKind();
+        // Only applicable to Boxed type
+        if (!prop.getKind().isList() && !prop.getKind().isMap() && propKind.basic) {
+          String defaultValue = protoProperty.getDefaultValue();
+          if (protoProperty.isBoxedType() && defaultValue != null) {
+            maskDefaults.add(
+              "      if (mask.contains(" + protoProperty.getFieldNumber() + ")) {\n" +
+              "        obj." + prop.getSetterMethod() + "(" + defaultValue + ");\n" +
+              "      }\n");
+          }
+        }
+      }
+      renderDefaults(writer, maskDefaults, "setMaskDefaults", simpleName + " obj, FieldMask mask", "obj, mask", new PrintWriter(defaultChunks));
+      writer.print("    boolean stopAfterLastField = mask.isStopAfterLastField();\n");
+      renderArraysStart(writer, arrayProperties);
+      writer.print("    int tag;\n");
+      writer.print("    while ((tag = input.readTag()) != 0) {\n");
+      writer.print("      if (!mask.containsTag(tag)) {\n");
+      writer.print("        if (stopAfterLastField && (tag >>> 3) > mask.maxFieldNumber()) {\n");
+      writer.print("          break;\n");
+      writer.print("        }\n");
+      writer.print("        input.skipField(tag);\n");
+      writer.print("      } else if (!readField(" + readFieldArgs + ")) {\n");
+      writer.print("        input.skipField(tag);\n");
+      writer.print("      }\n");
+      writer.print("    }\n");
+      renderArraysEnd(writer, arrayProperties);
+      writer.print("  }\n");
+      writer.print(defaultChunks);
+      writer.print("\n");
+
+      // Decode the field of the tag, return false when the tag is unknown
+      List<String> fragments = new ArrayList<>();
+      List<Integer> fragmentFieldNumbers = new ArrayList<>();
       for (PropertyInfo prop : orderedProperties) {
+        StringWriter fragment = new StringWriter();
+        PrintWriter out = new PrintWriter(fragment);
         ClassKind propKind = prop.getType().getKind();
         int fieldNumber = fieldNumbers.get(prop.getName());
+        fragmentFieldNumbers.add(fieldNumber);
         ProtoProperty protoProperty = ProtoProperty.getProtoProperty(prop, fieldNumber);
-        writer.print("        case " + protoProperty.getTag() + ": {\n");
+        if (protoProperty.isPacked()) {
+          renderPackedFromProto(out, prop, protoProperty, arrayProperties.indexOf(prop));
+          fragments.add(fragment.toString());
+          continue;
+        }
+        out.print("      case " + protoProperty.getTag() + ": {\n");
         if (prop.getType().getKind() == ClassKind.ENUM) {
-          writer.print("          switch (input.readEnum()) {\n");
+          out.print("        switch (input.readEnum()) {\n");
           EnumTypeInfo enumTypeInfo = (EnumTypeInfo) prop.getType();
           int enumIntValue = 0;
           for (String enumValue : enumTypeInfo.getValues()) {
-            writer.print("            case " + enumIntValue + ":\n" );
-            writer.print("              obj." + prop.getSetterMethod() +"(" + enumTypeInfo.getSimpleName() + "." + enumValue +");\n");
-            writer.print("              break;\n");
+            out.print("          case " + enumIntValue + ":\n" );
+            out.print("            obj." + prop.getSetterMethod() +"(" + enumTypeInfo.getSimpleName() + "." + enumValue +");\n");
+            out.print("            break;\n");
             enumIntValue++;
           }
-          writer.print("          }\n");
-          writer.print("          break;\n");
+          out.print("        }\n");
+          out.print("        break;\n");
         } else { // Not Enum
           if (prop.getKind().isList()) {
             if (propKind.basic) {
-              writer.print("          int length = input.readRawVarint32();\n");
-              writer.print("          int limit = input.pushLimit(length);\n");
-              writer.print("          List<Integer> list = new ArrayList<>();\n");
-              writer.print("          while (input.getBytesUntilLimit() > 0) {\n");
-              writer.print("            list.add(input." + protoProperty.getProtoType().read() + "());\n");
-              writer.print("          }\n");
-              writer.print("          obj." + prop.getSetterMethod() + "(list);\n");
-              writer.print("          input.popLimit(limit);\n");
-              writer.print("          break;\n");
+              out.print("        if (obj." + prop.getGetterMethod() + "() == null) {\n");
+              out.print("          obj." + prop.getSetterMethod() + "(new ArrayList<>());\n");
+              out.print("        }\n");
+              out.print("        obj." + prop.getGetterMethod() + "().add(input." + protoProperty.getProtoType().read() + "());\n");
+              out.print("        break;\n");
             } else {
               if (protoProperty.isBuiltinType()) {
                 String builtInType = prop.getType().getSimpleName();
-                writer.print("          int length = input.readUInt32();\n");
-                writer.print("          int limit = input.pushLimit(length);\n");
-                writer.print("          if (obj." + prop.getGetterMethod() + "() == null) {\n");
-                writer.print("            obj." + prop.getSetterMethod() + "(new ArrayList<>());\n");
-                writer.print("          }\n");
-                writer.print("          obj." + prop.getGetterMethod() + "().add(" + ProtoProperty.getBuiltInProtoConverter(builtInType, jsonProtoEncoding) + ".fromProto(input));\n");
-                writer.print("          input.popLimit(limit);\n");
-                writer.print("          break;\n");
+                out.print("        int length = input.readUInt32();\n");
+                out.print("        int limit = input.pushLimit(length);\n");
+                out.print("        if (obj." + prop.getGetterMethod() + "() == null) {\n");
+                out.print("          obj." + prop.getSetterMethod() + "(new ArrayList<>());\n");
+                out.print("        }\n");
+                out.print("        obj." + prop.getGetterMethod() + "().add(" + ProtoProperty.getBuiltInProtoConverter(builtInType, jsonProtoEncoding) + ".fromProto(input));\n");
+                out.print("        input.popLimit(limit);\n");
+                out.print("        break;\n");
               } else {
-                writer.print("          int length = input.readUInt32();\n");
-                writer.print("          int limit = input.pushLimit(length);\n");
-                writer.print("          " + protoProperty.getMessage() + " nested = new " + protoProperty.getMessage() + "();\n");
-                writer.print("          " + protoProperty.getMessage() + "ProtoConverter.fromProto(input, nested);\n");
-                writer.print("          if (obj." + prop.getGetterMethod() + "() == null) {\n");
-                writer.print("            obj." + prop.getSetterMethod() + "(new ArrayList<>());\n");
-                writer.print("          }\n");
-                writer.print("          obj." + prop.getGetterMethod() + "().add(nested);\n");
-                writer.print("          input.popLimit(limit);\n");
-                writer.print("          break;\n");
+                out.print("        int length = input.readUInt32();\n");
+                out.print("        int limit = input.pushLimit(length);\n");
+                out.print("        " + protoProperty.getMessage() + " nested = new " + protoProperty.getMessage() + "();\n");
+                out.print("        " + protoProperty.getMessage() + "ProtoConverter.fromProto(input, nested);\n");
+                out.print("        if (obj." + prop.getGetterMethod() + "() == null) {\n");
+                out.print("          obj." + prop.getSetterMethod() + "(new ArrayList<>());\n");
+                out.print("        }\n");
+                out.print("        obj." + prop.getGetterMethod() + "().add(nested);\n");
+                out.print("        input.popLimit(limit);\n");
+                out.print("        break;\n");
               }
             }
           } else if (prop.getKind().isMap()) {
             if (propKind.basic) {
-              writer.print("          int length = input.readRawVarint32();\n");
-              writer.print("          int limit = input.pushLimit(length);\n");
-              writer.print("          Map<String, " + prop.getType().getSimpleName() + "> map = obj." + prop.getGetterMethod() + "();\n");
-              writer.print("          if (map == null) {\n");
-              writer.print("            map = new HashMap<>();\n");
-              writer.print("          }\n");
-              writer.print("          input.readTag();\n");
-              writer.print("          String key = input.readString();\n");
-              writer.print("          input.readTag();\n");
-              writer.print("          " + prop.getType().getSimpleName() + " value = input." + protoProperty.getProtoType().read() + "();\n");
-              writer.print("          map.put(key, value);\n");
-              writer.print("          obj." + prop.getSetterMethod() + "(map);\n");
-              writer.print("          input.popLimit(limit);\n");
-              writer.print("          break;\n");
+              out.print("        int length = input.readRawVarint32();\n");
+              out.print("        int limit = input.pushLimit(length);\n");
+              out.print("        Map<String, " + prop.getType().getSimpleName() + "> map = obj." + prop.getGetterMethod() + "();\n");
+              out.print("        if (map == null) {\n");
+              out.print("          map = new HashMap<>();\n");
+              out.print("        }\n");
+              out.print("        input.readTag();\n");
+              out.print("        String key = input.readString();\n");
+              out.print("        input.readTag();\n");
+              out.print("        " + prop.getType().getSimpleName() + " value = input." + protoProperty.getProtoType().read() + "();\n");
+              out.print("        map.put(key, value);\n");
+              out.print("        obj." + prop.getSetterMethod() + "(map);\n");
+              out.print("        input.popLimit(limit);\n");
+              out.print("        break;\n");
             } else {
               if (protoProperty.isBuiltinType()) {
                 String builtInType = prop.getType().getSimpleName();
-                writer.print("          int length = input.readUInt32();\n");
-                writer.print("          int limit = input.pushLimit(length);\n");
-                writer.print("          Map<String, " + builtInType + "> map = obj." + prop.getGetterMethod() + "();\n");
-                writer.print("          if (map == null) {\n");
-                writer.print("            map = new HashMap<>();\n");
-                writer.print("          }\n");
-                writer.print("          input.readTag();\n");
-                writer.print("          String key = input.readString();\n");
-                writer.print("          input.readTag();\n");
-                writer.print("          int vlength = input.readUInt32();\n");
-                writer.print("          int vlimit = input.pushLimit(vlength);\n");
-                writer.print("          map.put(key, " + ProtoProperty.getBuiltInProtoConverter(builtInType, jsonProtoEncoding) + ".fromProto(input));\n");
-                writer.print("          obj." + prop.getSetterMethod() + "(map);\n");
-                writer.print("          input.popLimit(vlimit);\n");
-                writer.print("          input.popLimit(limit);\n");
-                writer.print("          break;\n");
+                out.print("        int length = input.readUInt32();\n");
+                out.print("        int limit = input.pushLimit(length);\n");
+                out.print("        Map<String, " + builtInType + "> map = obj." + prop.getGetterMethod() + "();\n");
+                out.print("        if (map == null) {\n");
+                out.print("          map = new HashMap<>();\n");
+                out.print("        }\n");
+                out.print("        input.readTag();\n");
+                out.print("        String key = input.readString();\n");
+                out.print("        input.readTag();\n");
+                out.print("        int vlength = input.readUInt32();\n");
+                out.print("        int vlimit = input.pushLimit(vlength);\n");
+                out.print("        map.put(key, " + ProtoProperty.getBuiltInProtoConverter(builtInType, jsonProtoEncoding) + ".fromProto(input));\n");
+                out.print("        obj." + prop.getSetterMethod() + "(map);\n");
+                out.print("        input.popLimit(vlimit);\n");
+                out.print("        input.popLimit(limit);\n");
+                out.print("        break;\n");
               } else {
-                writer.print("          int length = input.readUInt32();\n");
-                writer.print("          int limit = input.pushLimit(length);\n");
-                writer.print("          Map<String, " + protoProperty.getMessage() + "> map = obj." + prop.getGetterMethod() + "();\n");
-                writer.print("          if (map == null) {\n");
-                writer.print("            map = new HashMap<>();\n");
-                writer.print("          }\n");
-                writer.print("          input.readTag();\n");
-                writer.print("          String key = input.readString();\n");
-                writer.print("          input.readTag();\n");
-                writer.print("          int vlength = input.readUInt32();\n");
-                writer.print("          int vlimit = input.pushLimit(vlength);\n");
-                writer.print("          " + protoProperty.getMessage() + " value = new " + protoProperty.getMessage() + "();\n");
-                writer.print("          " + protoProperty.getMessage() + "ProtoConverter.fromProto(input, value);\n");
-                writer.print("          map.put(key, value);\n");
-                writer.print("          obj." + prop.getSetterMethod() + "(map);\n");
-                writer.print("          input.popLimit(vlimit);\n");
-                writer.print("          input.popLimit(limit);\n");
-                writer.print("          break;\n");
+                out.print("        int length = input.readUInt32();\n");
+                out.print("        int limit = input.pushLimit(length);\n");
+                out.print("        Map<String, " + protoProperty.getMessage() + "> map = obj." + prop.getGetterMethod() + "();\n");
+                out.print("        if (map == null) {\n");
+                out.print("          map = new HashMap<>();\n");
+                out.print("        }\n");
+                out.print("        input.readTag();\n");
+                out.print("        String key = input.readString();\n");
+                out.print("        input.readTag();\n");
+                out.print("        int vlength = input.readUInt32();\n");
+                out.print("        int vlimit = input.pushLimit(vlength);\n");
+                out.print("        " + protoProperty.getMessage() + " value = new " + protoProperty.getMessage() + "();\n");
+                out.print("        " + protoProperty.getMessage() + "ProtoConverter.fromProto(input, value);\n");
+                out.print("        map.put(key, value);\n");
+                out.print("        obj." + prop.getSetterMethod() + "(map);\n");
+                out.print("        input.popLimit(vlimit);\n");
+                out.print("        input.popLimit(limit);\n");
+                out.print("        break;\n");
               }
             }
           } else {
@@ -235,34 +409,56 @@ public class DataObjectProtobufGen extends Generator<DataObjectModel> {
               } else if ("java.lang.Byte".equals(javaDataType) || "byte".equals(javaDataType)) {
                 casting = "(byte) ";
               }
-              writer.print("          obj." + prop.getSetterMethod() + "(" + casting + "input." + protoProperty.getProtoType().read() + "());\n");
+              out.print("        obj." + prop.getSetterMethod() + "(" + casting + "input." + protoProperty.getProtoType().read() + "());\n");
             } else {
               if (protoProperty.isBuiltinType()) {
                 String builtInType = prop.getType().getSimpleName();
-                writer.print("          int length = input.readUInt32();\n");
-                writer.print("          int limit = input.pushLimit(length);\n");
-                writer.print("          obj." + prop.getSetterMethod() + "(" + ProtoProperty.getBuiltInProtoConverter(builtInType, jsonProtoEncoding) + ".fromProto(input));\n");
-                writer.print("          input.popLimit(limit);\n");
+                out.print("        int length = input.readUInt32();\n");
+                out.print("        int limit = input.pushLimit(length);\n");
+                out.print("        obj." + prop.getSetterMethod() + "(" + ProtoProperty.getBuiltInProtoConverter(builtInType, jsonProtoEncoding) + ".fromProto(input));\n");
+                out.print("        input.popLimit(limit);\n");
               } else {
-                writer.print("          int length = input.readUInt32();\n");
-                writer.print("          int limit = input.pushLimit(length);\n");
-                writer.print("          " + protoProperty.getMessage() + " nested = new " + protoProperty.getMessage() + "();\n");
-                writer.print("          " + protoProperty.getMessage() + "ProtoConverter.fromProto(input, nested);\n");
-                writer.print("          obj." + prop.getSetterMethod() + "(nested);\n");
-                writer.print("          input.popLimit(limit);\n");
+                out.print("        int length = input.readUInt32();\n");
+                out.print("        int limit = input.pushLimit(length);\n");
+                out.print("        " + protoProperty.getMessage() + " nested = new " + protoProperty.getMessage() + "();\n");
+                out.print("        " + protoProperty.getMessage() + "ProtoConverter.fromProto(input, nested);\n");
+                out.print("        obj." + prop.getSetterMethod() + "(nested);\n");
+                out.print("        input.popLimit(limit);\n");
               }
             }
-            writer.print("          break;\n");
+            out.print("        break;\n");
           }
         } // Not Enum
-        writer.print("        }\n");
+        out.print("      }\n");
+        fragments.add(fragment.toString());
+      }
+      MethodChunks chunks = MethodChunks.of(fragments)
+        .method("boolean", "readField", readFieldParams, readFieldArgs)
+        .throwing("IOException")
+        .body("", "    return true;\n");
+      writer.print("  private static boolean readField(" + readFieldParams + ") throws IOException {\n");
+      if (!chunks.isSplit()) {
+        writer.print("    switch (tag) {\n");
+        writer.print(chunks.code());
+        writer.print("      default:\n");
+        writer.print("        return false;\n");
+        writer.print("    }\n");
+        writer.print("    return true;\n");
+        writer.print("  }\n");
+      } else {
+        writer.print("    int fieldNumber = tag >>> 3;\n");
+        chunks.writeRangeCalls(writer, "    ", "fieldNumber", fragmentFieldNumbers, "return ");
+        writer.print("  }\n");
+        chunks.writeSwitchMethods(writer, "tag", "return false;", false);
       }
-      writer.print("      }\n");
-      writer.print("    } // while loop\n");
-      writer.print("  }\n");
       writer.print("\n");
     }
 
+    // transcodeToJson()
+    if (transcodeToJson) {
+      renderTranscodeToJson(writer, visibility, jsonProperties, fieldNumbers, jsonProtoEncoding, (Set<String>) session.get(TRANSCODED_NESTED));
+    }
+
     // toProto()
     {
       writer.print("  " + visibility + " static void toProto(" + simpleName + " obj, CodedOutputStream output) throws IOException {\n");
@@ -270,170 +466,260 @@ public class DataObjectProtobufGen extends Generator<DataObjectModel> {
       writer.print("  }\n");
       writer.print("\n");
       writer.print("  " + visibility + " static void toProto(" + simpleName + " obj, CodedOutputStream output, ProtobufEncodingMode encodingMode) throws IOException {\n");
-      writer.print("    ExpandableIntArray cache = new ExpandableIntArray(" + CACHE_INITIAL_CAPACITY + ");\n");
+      writer.print("    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);\n");
+      writer.print("    toProto(obj, output, cache, encodingMode);\n");
+      writer.print("    updateCacheCapacity(cache);\n");
+      writer.print("  }\n");
+      writer.print("\n");
+      writer.print("  " + visibility + " static void toProto(" + simpleName + " obj, CodedOutputStream output, ExpandableIntArray cache, ProtobufEncodingMode encodingMode) throws IOException {\n");
+      writer.print("    cache.reset();\n");
       writer.print("    " + simpleName + "ProtoConverter.computeSize(obj, cache, 0, encodingMode);\n");
       writer.print("    " + simpleName + "ProtoConverter.toProto(obj, output, cache, 0, encodingMode);\n");
       writer.print("  }\n");
       writer.print("\n");
+      writer.print("  " + visibility + " static byte[] toByteArray(" + simpleName + " obj) throws IOException {\n");
+      writer.print("    return toByteArray(obj, ProtobufEncodingMode.VERTX);\n");
+      writer.print("  }\n");
+      writer.print("\n");
+      writer.print("  " + visibility + " static byte[] toByteArray(" + simpleName + " obj, ProtobufEncodingMode encodingMode) throws IOException {\n");
+      writer.print("    return ProtoEncoderContext.current().encode(obj, " + simpleName + "ProtoConverter::toProto, encodingMode);\n");
+      writer.print("  }\n");
+      writer.print("\n");
+      // Encode in place in a buffer sized with the computed size
+      writer.print("  " + visibility + " static Buffer toBuffer(" + simpleName + " obj) throws IOException {\n");
+      writer.print("    return toBuffer(obj, ProtobufEncodingMode.VERTX);\n");
+      writer.print("  }\n");
+      writer.print("\n");
+      writer.print("  " + visibility + " static Buffer toBuffer(" + simpleName + " obj, ProtobufEncodingMode encodingMode) throws IOException {\n");
+      writer.print("    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);\n");
+      writer.print("    " + simpleName + "ProtoConverter.computeSize(obj, cache, 0, encodingMode);\n");
+      writer.print("    return toBuffer(obj, Buffer.buffer(cache.get(0)), cache, false, encodingMode);\n");
+      writer.print("  }\n");
+      writer.print("\n");
+      writer.print("  " + visibility + " static Buffer toBuffer(" + simpleName + " obj, Buffer buffer) throws IOException {\n");
+      writer.print("    return toBuffer(obj, buffer, ProtobufEncodingMode.VERTX);\n");
+      writer.print("  }\n");
+      writer.print("\n");
+      writer.print("  " + visibility + " static Buffer toBuffer(" + simpleName + " obj, Buffer buffer, ProtobufEncodingMode encodingMode) throws IOException {\n");
+      writer.print("    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);\n");
+      writer.print("    " + simpleName + "ProtoConverter.computeSize(obj, cache, 0, encodingMode);\n");
+      writer.print("    return toBuffer(obj, buffer, cache, false, encodingMode);\n");
+      writer.print("  }\n");
+      writer.print("\n");
+      // Length-delimited message, the size prefix is written with the message in the reserved bytes
+      writer.print("  " + visibility + " static Buffer toDelimitedBuffer(" + simpleName + " obj, Buffer buffer) throws IOException {\n");
+      writer.print("    return toDelimitedBuffer(obj, buffer, ProtobufEncodingMode.VERTX);\n");
+      writer.print("  }\n");
+      writer.print("\n");
+      writer.print("  " + visibility + " static Buffer toDelimitedBuffer(" + simpleName + " obj, Buffer buffer, ProtobufEncodingMode encodingMode) throws IOException {\n");
+      writer.print("    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);\n");
+      writer.print("    " + simpleName + "ProtoConverter.computeSize(obj, cache, 0, encodingMode);\n");
+      writer.print("    return toBuffer(obj, buffer, cache, true, encodingMode);\n");
+      writer.print("  }\n");
+      writer.print("\n");
+      writer.print("  private static Buffer toBuffer(" + simpleName + " obj, Buffer buffer, ExpandableIntArray cache, boolean delimited, ProtobufEncodingMode encodingMode) throws IOException {\n");
+      writer.print("    int size = cache.get(0);\n");
+      writer.print("    int length = delimited ? CodedOutputStream.computeUInt32SizeNoTag(size) + size : size;\n");
+      writer.print("    BufferStreams.write(buffer, length, output -> {\n");
+      writer.print("      if (delimited) {\n");
+      writer.print("        output.writeUInt32NoTag(size);\n");
+      writer.print("      }\n");
+      writer.print("      " + simpleName + "ProtoConverter.toProto(obj, output, cache, 0, encodingMode);\n");
+      writer.print("    });\n");
+      writer.print("    updateCacheCapacity(cache);\n");
+      writer.print("    return buffer;\n");
+      writer.print("  }\n");
+      writer.print("\n");
+      if (model.isConcrete()) {
+        writer.print("  " + visibility + " static ProtoStreamCodec<" + simpleName + "> streamCodec() {\n");
+        writer.print("    return streamCodec(ProtobufEncodingMode.VERTX);\n");
+        writer.print("  }\n");
+        writer.print("\n");
+        writer.print("  " + visibility + " static ProtoStreamCodec<" + simpleName + "> streamCodec(ProtobufEncodingMode encodingMode) {\n");
+        writer.print("    return ProtoStreamCodec.create((obj, buffer) -> toDelimitedBuffer(obj, buffer, encodingMode), buffer -> {\n");
+        writer.print("      " + simpleName + " obj = new " + simpleName + "();\n");
+        writer.print("      fromBuffer(buffer, obj, encodingMode);\n");
+        writer.print("      return obj;\n");
+        writer.print("    });\n");
+        writer.print("  }\n");
+        writer.print("\n");
+      }
       writer.print("  static int toProto(" + simpleName + " obj, CodedOutputStream output, ExpandableIntArray cache, int index, ProtobufEncodingMode encodingMode) throws IOException {\n");
-      writer.print("    boolean compatibleMode = encodingMode == ProtobufEncodingMode.GOOGLE_COMPATIBLE;\n");
-      writer.print("    index = index + 1;\n");
+      List<String> fragments = new ArrayList<>();
       for (PropertyInfo prop : orderedProperties) {
+        StringWriter fragment = new StringWriter();
+        PrintWriter out = new PrintWriter(fragment);
         ClassKind propKind = prop.getType().getKind();
         int fieldNumber = fieldNumbers.get(prop.getName());
         ProtoProperty protoProperty = ProtoProperty.getProtoProperty(prop, fieldNumber);
-          writer.print("    // " + prop.getName() + "\n");
+          out.print("    // " + prop.getName() + "\n");
           if (!prop.getKind().isList() && !prop.getKind().isMap() && propKind.basic && protoProperty.isBoxedType()) {
-            writer.print("    if (compatibleMode && obj." + prop.getGetterMethod() + "() == null) {\n");
-            writer.print("      throw new IllegalArgumentException(\"Null values are not allowed for boxed types in compatibility mode\");\n");
-            writer.print("    }\n");
+            out.print("    if (compatibleMode && obj." + prop.getGetterMethod() + "() == null) {\n");
+            out.print("      throw new IllegalArgumentException(\"Null values are not allowed for boxed types in compatibility mode\");\n");
+            out.print("    }\n");
             String javaDataType = prop.getType().getName();
             String defaultValue = protoProperty.getDefaultValue();
             if ("java.lang.Boolean".equals(javaDataType) || "Boolean".equals(javaDataType)) {
-              writer.print("    if ((!compatibleMode && obj." + prop.getGetterMethod() + "() != null) || (compatibleMode && !obj." + prop.getGetterMethod() + "())) {\n");
+              out.print("    if ((!compatibleMode && obj." + prop.getGetterMethod() + "() != null) || (compatibleMode && !obj." + prop.getGetterMethod() + "())) {\n");
             } else if ("java.lang.String".equals(javaDataType) || "String".equals(javaDataType)) {
-              writer.print("    if ((!compatibleMode && obj." + prop.getGetterMethod() + "() != null) || (compatibleMode && !obj." + prop.getGetterMethod() + "().isEmpty())) {\n");
+              out.print("    if ((!compatibleMode && obj." + prop.getGetterMethod() + "() != null) || (compatibleMode && !obj." + prop.getGetterMethod() + "().isEmpty())) {\n");
             } else {
               if (defaultValue != null) {
-                writer.print("    if ((!compatibleMode && obj." + prop.getGetterMethod() + "() != null) || (compatibleMode && obj." + prop.getGetterMethod() + "() != " + defaultValue + ")) {\n");
+                out.print("    if ((!compatibleMode && obj." + prop.getGetterMethod() + "() != null) || (compatibleMode && obj." + prop.getGetterMethod() + "() != " + defaultValue + ")) {\n");
               } else {
                 throw new RuntimeException();
               }
             }
           } else {
             if (protoProperty.isNullable()) {
-              writer.print("    if (obj." + prop.getGetterMethod() + "() != null) {\n");
+              out.print("    if (obj." + prop.getGetterMethod() + "() != null) {\n");
             } else {
               if ("boolean".equals(prop.getType().getName())) {
-                writer.print("    if (obj." + prop.getGetterMethod() + "()) {\n");
+                out.print("    if (obj." + prop.getGetterMethod() + "()) {\n");
               } else {
-                writer.print("    if (obj." + prop.getGetterMethod() + "() != 0) {\n");
+                out.print("    if (obj." + prop.getGetterMethod() + "() != 0) {\n");
               }
             }
           }
-        if (prop.getType().getKind() == ClassKind.ENUM) {
-          writer.print("      switch (obj." + prop.getGetterMethod() + "()) {\n");
+        if (protoProperty.isPacked()) {
+          renderPackedToProto(out, prop, protoProperty);
+        } else if (prop.getType().getKind() == ClassKind.ENUM) {
+          out.print("      switch (obj." + prop.getGetterMethod() + "()) {\n");
           EnumTypeInfo enumTypeInfo = (EnumTypeInfo) prop.getType();
           int enumIntValue = 0;
           for (String enumValue : enumTypeInfo.getValues()) {
-            writer.print("        case " + enumValue + ":\n" );
-            writer.print("          output.writeEnum(" + fieldNumber + ", " + enumIntValue +");\n");
-            writer.print("          break;\n");
+            out.print("        case " + enumValue + ":\n" );
+            out.print("          output.writeEnum(" + fieldNumber + ", " + enumIntValue +");\n");
+            out.print("          break;\n");
             enumIntValue++;
           }
-          writer.print("      }\n");
+          out.print("      }\n");
         } else { // Not Enum
           if (prop.getKind().isList()) {
             if (propKind.basic) {
-              writer.print("      // list | tag | data size | value[0] | value[1] | value[2] |\n");
-              writer.print("      if (obj." + prop.getGetterMethod() + "().size() > 0) {\n");
-              writer.print("        output.writeUInt32NoTag(" + protoProperty.getTag() + ");\n");
-              writer.print("        int dataSize = 0;\n");
-              writer.print("        for (Integer element: obj." + prop.getGetterMethod() + "()) {\n");
-              writer.print("          dataSize += CodedOutputStream.computeInt32SizeNoTag(element);\n");
-              writer.print("        }\n");
-              writer.print("        output.writeUInt32NoTag(dataSize);\n");
-              writer.print("        for (Integer element: obj." + prop.getGetterMethod() + "()) {\n");
-              writer.print("          output." + protoProperty.getProtoType().writeNoTag() + "(element);\n");
-              writer.print("        }\n");
-              writer.print("      }\n");
+              out.print("      // list[0] | tag | value |\n");
+              out.print("      // list[1] | tag | value |\n");
+              out.print("      for (" + prop.getType().getSimpleName() + " element: obj." + prop.getGetterMethod() + "()) {\n");
+              out.print("        output." + protoProperty.getProtoType().write() + "(" + fieldNumber + ", element);\n");
+              out.print("      }\n");
             } else {
-              writer.print("      // list[0] | tag | data size | value |\n");
-              writer.print("      // list[1] | tag | data size | value |\n");
+              out.print("      // list[0] | tag | data size | value |\n");
+              out.print("      // list[1] | tag | data size | value |\n");
               if (protoProperty.isBuiltinType()) {
                 String builtInType = prop.getType().getSimpleName();
-                writer.print("      for (" + protoProperty.getMessage() + " element: obj." + prop.getGetterMethod() + "()) {\n");
-                writer.print("        output.writeUInt32NoTag(" + protoProperty.getTag() + ");\n");
-                writer.print("        output.writeUInt32NoTag(" + ProtoProperty.getBuiltInProtoConverter(builtInType, jsonProtoEncoding) + ".computeSize(element));\n");
-                writer.print("        " + ProtoProperty.getBuiltInProtoConverter(builtInType, jsonProtoEncoding) + ".toProto(element, output);\n");
-                writer.print("      }\n");
+                out.print("      for (" + protoProperty.getMessage() + " element: obj." + prop.getGetterMethod() + "()) {\n");
+                out.print("        output.writeUInt32NoTag(" + protoProperty.getTag() + ");\n");
+                out.print("        output.writeUInt32NoTag(cache.get(index));\n");
+                out.print("        index = " + ProtoProperty.getBuiltInProtoConverter(builtInType, jsonProtoEncoding) + ".toProto(element, output, cache, index);\n");
+                out.print("      }\n");
               } else {
-                writer.print("      for (" + protoProperty.getMessage() + " element: obj." + prop.getGetterMethod() + "()) {\n");
-                writer.print("        output.writeUInt32NoTag(" + protoProperty.getTag() + ");\n");
-                writer.print("        output.writeUInt32NoTag(cache.get(index));\n");
-                writer.print("        index = " + protoProperty.getMessage() + "ProtoConverter.toProto(element, output, cache, index, encodingMode);\n");
-                writer.print("      }\n");
+                out.print("      for (" + protoProperty.getMessage() + " element: obj." + prop.getGetterMethod() + "()) {\n");
+                out.print("        output.writeUInt32NoTag(" + protoProperty.getTag() + ");\n");
+                out.print("        output.writeUInt32NoTag(cache.get(index));\n");
+                out.print("        index = " + protoProperty.getMessage() + "ProtoConverter.toProto(element, output, cache, index, encodingMode);\n");
+                out.print("      }\n");
               }
             }
           } else if (prop.getKind().isMap()) {
             if (propKind.basic) {
-              writer.print("      // map[0] | tag | data size | key | value |\n");
-              writer.print("      // map[1] | tag | data size | key | value |\n");
-              writer.print("      for (Map.Entry<String, " + prop.getType().getSimpleName() + "> entry : obj." + prop.getGetterMethod() + "().entrySet()) {\n");
-              writer.print("        output.writeUInt32NoTag(" + protoProperty.getTag() + ");\n");
-              writer.print("        // calculate data size\n");
-              writer.print("        int dataSize = 0;\n");
-              writer.print("        dataSize += CodedOutputStream.computeStringSize(1, entry.getKey());\n");
-              writer.print("        dataSize += CodedOutputStream." + protoProperty.getProtoType().computeSize() + "(2, entry.getValue());\n");
-              writer.print("        // key\n");
-              writer.print("        output.writeUInt32NoTag(dataSize);\n");
-              writer.print("        // value\n");
-              writer.print("        output.writeString(1, entry.getKey());\n");
-              writer.print("        output." + protoProperty.getProtoType().write() + "(2, entry.getValue());\n");
-              writer.print("      }\n");
+              out.print("      // map[0] | tag | data size | key | value |\n");
+              out.print("      // map[1] | tag | data size | key | value |\n");
+              out.print("      for (Map.Entry<String, " + prop.getType().getSimpleName() + "> entry : obj." + prop.getGetterMethod() + "().entrySet()) {\n");
+              out.print("        output.writeUInt32NoTag(" + protoProperty.getTag() + ");\n");
+              out.print("        // calculate data size\n");
+              out.print("        int dataSize = 0;\n");
+              out.print("        dataSize += CodedOutputStream.computeStringSize(1, entry.getKey());\n");
+              out.print("        dataSize += CodedOutputStream." + protoProperty.getProtoType().computeSize() + "(2, entry.getValue());\n");
+              out.print("        // key\n");
+              out.print("        output.writeUInt32NoTag(dataSize);\n");
+              out.print("        // value\n");
+              out.print("        output.writeString(1, entry.getKey());\n");
+              out.print("        output." + protoProperty.getProtoType().write() + "(2, entry.getValue());\n");
+              out.print("      }\n");
             } else {
-              writer.print("      // map[0] | tag | data size | key | value |\n");
-              writer.print("      // map[1] | tag | data size | key | value |\n");
+              out.print("      // map[0] | tag | data size | key | value |\n");
+              out.print("      // map[1] | tag | data size | key | value |\n");
               if (protoProperty.isBuiltinType()) {
                 String builtInType = prop.getType().getSimpleName();
-                writer.print("      for (Map.Entry<String, " + builtInType + "> entry : obj." + prop.getGetterMethod() + "().entrySet()) {\n");
-                writer.print("        output.writeUInt32NoTag(" + protoProperty.getTag() + ");\n");
-                writer.print("        // calculate data size\n");
-                writer.print("        int elementSize = " + ProtoProperty.getBuiltInProtoConverter(builtInType, jsonProtoEncoding) + ".computeSize(entry.getValue());\n");
-                writer.print("        int dataSize = 0;\n");
-                writer.print("        dataSize += CodedOutputStream.computeStringSize(1, entry.getKey());\n");
-                writer.print("        dataSize += CodedOutputStream.computeInt32SizeNoTag(18);\n");
-                writer.print("        dataSize += CodedOutputStream.computeInt32SizeNoTag(elementSize);\n");
-                writer.print("        dataSize += elementSize;\n");
-                writer.print("        // key\n");
-                writer.print("        output.writeUInt32NoTag(dataSize);\n");
-                writer.print("        // value\n");
-                writer.print("        output.writeString(1, entry.getKey());\n");
-                writer.print("        output.writeUInt32NoTag(18);\n");
-                writer.print("        output.writeUInt32NoTag(elementSize);\n");
-                writer.print("        " + ProtoProperty.getBuiltInProtoConverter(builtInType, jsonProtoEncoding) + ".toProto(entry.getValue(), output);\n");
-                writer.print("      }\n");
+                out.print("      for (Map.Entry<String, " + builtInType + "> entry : obj." + prop.getGetterMethod() + "().entrySet()) {\n");
+                out.print("        output.writeUInt32NoTag(" + protoProperty.getTag() + ");\n");
+                out.print("        // calculate data size\n");
+                out.print("        int elementSize = cache.get(index);\n");
+                out.print("        int dataSize = 0;\n");
+                out.print("        dataSize += CodedOutputStream.computeStringSize(1, entry.getKey());\n");
+                out.print("        dataSize += CodedOutputStream.computeInt32SizeNoTag(18);\n");
+                out.print("        dataSize += CodedOutputStream.computeInt32SizeNoTag(elementSize);\n");
+                out.print("        dataSize += elementSize;\n");
+                out.print("        // key\n");
+                out.print("        output.writeUInt32NoTag(dataSize);\n");
+                out.print("        // value\n");
+                out.print("        output.writeString(1, entry.getKey());\n");
+                out.print("        output.writeUInt32NoTag(18);\n");
+                out.print("        output.writeUInt32NoTag(elementSize);\n");
+                out.print("        index = " + ProtoProperty.getBuiltInProtoConverter(builtInType, jsonProtoEncoding) + ".toProto(entry.getValue(), output, cache, index);\n");
+                out.print("      }\n");
               } else {
-                writer.print("      for (Map.Entry<String, " + protoProperty.getMessage() + "> entry : obj." + prop.getGetterMethod() + "().entrySet()) {\n");
-                writer.print("        output.writeUInt32NoTag(" + protoProperty.getTag() + ");\n");
-                writer.print("        // calculate data size\n");
-                writer.print("        int elementSize = cache.get(index);\n");
-                writer.print("        int dataSize = 0;\n");
-                writer.print("        dataSize += CodedOutputStream.computeStringSize(1, entry.getKey());\n");
-                writer.print("        dataSize += CodedOutputStream.computeInt32SizeNoTag(18);\n");
-                writer.print("        dataSize += CodedOutputStream.computeInt32SizeNoTag(elementSize);\n");
-                writer.print("        dataSize += elementSize;\n");
-                writer.print("        // key\n");
-                writer.print("        output.writeUInt32NoTag(dataSize);\n");
-                writer.print("        // value\n");
-                writer.print("        output.writeString(1, entry.getKey());\n");
-                writer.print("        output.writeUInt32NoTag(18);\n");
-                writer.print("        output.writeUInt32NoTag(elementSize);\n");
-                writer.print("        index = " + protoProperty.getMessage() + "ProtoConverter.toProto(entry.getValue(), output, cache, index, encodingMode);\n");
-                writer.print("      }\n");
+                out.print("      for (Map.Entry<String, " + protoProperty.getMessage() + "> entry : obj." + prop.getGetterMethod() + "().entrySet()) {\n");
+                out.print("        output.writeUInt32NoTag(" + protoProperty.getTag() + ");\n");
+                out.print("        // calculate data size\n");
+                out.print("        int elementSize = cache.get(index);\n");
+                out.print("        int dataSize = 0;\n");
+                out.print("        dataSize += CodedOutputStream.computeStringSize(1, entry.getKey());\n");
+                out.print("        dataSize += CodedOutputStream.computeInt32SizeNoTag(18);\n");
+                out.print("        dataSize += CodedOutputStream.computeInt32SizeNoTag(elementSize);\n");
+                out.print("        dataSize += elementSize;\n");
+                out.print("        // key\n");
+                out.print("        output.writeUInt32NoTag(dataSize);\n");
+                out.print("        // value\n");
+                out.print("        output.writeString(1, entry.getKey());\n");
+                out.print("        output.writeUInt32NoTag(18);\n");
+                out.print("        output.writeUInt32NoTag(elementSize);\n");
+                out.print("        index = " + protoProperty.getMessage() + "ProtoConverter.toProto(entry.getValue(), output, cache, index, encodingMode);\n");
+                out.print("      }\n");
               }
             }
           } else {
             if (propKind.basic) {
-              writer.print("      output." + protoProperty.getProtoType().write() + "(" + fieldNumber + ", obj." + prop.getGetterMethod() + "());\n");
+              if (cacheStringEncoding && protoProperty.getProtoType() == ProtoType.STRING) {
+                out.print("      cache.utf8().writeString(output, " + fieldNumber + ", obj." + prop.getGetterMethod() + "());\n");
+              } else {
+                out.print("      output." + protoProperty.getProtoType().write() + "(" + fieldNumber + ", obj." + prop.getGetterMethod() + "());\n");
+              }
             } else {
               if (protoProperty.isBuiltinType()) {
                 String builtInType = prop.getType().getSimpleName();
-                writer.print("      output.writeUInt32NoTag(" + protoProperty.getTag() + ");\n");
-                writer.print("      output.writeUInt32NoTag(" + ProtoProperty.getBuiltInProtoConverter(builtInType, jsonProtoEncoding) + ".computeSize(obj." + prop.getGetterMethod() + "()));\n");
-                writer.print("      " + ProtoProperty.getBuiltInProtoConverter(builtInType, jsonProtoEncoding) + ".toProto(obj." + prop.getGetterMethod() + "(), output);\n");
+                out.print("      output.writeUInt32NoTag(" + protoProperty.getTag() + ");\n");
+                out.print("      output.writeUInt32NoTag(cache.get(index));\n");
+                out.print("      index = " + ProtoProperty.getBuiltInProtoConverter(builtInType, jsonProtoEncoding) + ".toProto(obj." + prop.getGetterMethod() + "(), output, cache, index);\n");
               } else {
-                writer.print("      output.writeUInt32NoTag(" + protoProperty.getTag() + ");\n");
-                writer.print("      output.writeUInt32NoTag(cache.get(index));\n");
-                writer.print("      index = " + protoProperty.getMessage() + "ProtoConverter.toProto(obj." + prop.getGetterMethod() + "(), output, cache, index, encodingMode);\n");
+                out.print("      output.writeUInt32NoTag(" + protoProperty.getTag() + ");\n");
+                out.print("      output.writeUInt32NoTag(cache.get(index));\n");
+                out.print("      index = " + protoProperty.getMessage() + "ProtoConverter.toProto(obj." + prop.getGetterMethod() + "(), output, cache, index, encodingMode);\n");
               }
             }
           }
         } // Not Enum
-        writer.print("    }\n");
+        out.print("    }\n");
+        fragments.add(fragment.toString());
+      }
+      // Each chunk writes its fields and returns the index of the size cache
+      MethodChunks chunks = MethodChunks.of(fragments)
+        .method("int", "toProtoFields", simpleName + " obj, CodedOutputStream output, ExpandableIntArray cache, int index, ProtobufEncodingMode encodingMode", "obj, output, cache, index, encodingMode")
+        .throwing("IOException")
+        .body("    boolean compatibleMode = encodingMode == ProtobufEncodingMode.GOOGLE_COMPATIBLE;\n", "    return index;\n");
+      if (!chunks.isSplit()) {
+        writer.print("    boolean compatibleMode = encodingMode == ProtobufEncodingMode.GOOGLE_COMPATIBLE;\n");
+        writer.print("    index = index + 1;\n");
+        writer.print(chunks.code());
+      } else {
+        writer.print("    index = index + 1;\n");
+        chunks.writeCalls(writer, "    ", "index = ");
       }
       writer.print("    return index;\n");
       writer.print("  }\n");
+      if (chunks.isSplit()) {
+        chunks.writeMethods(writer);
+      }
       writer.print("\n");
     }
 
@@ -444,155 +730,195 @@ public class DataObjectProtobufGen extends Generator<DataObjectModel> {
       writer.print("  }\n");
       writer.print("\n");
       writer.print("  " + visibility + " static int computeSize(" + simpleName + " obj, ProtobufEncodingMode encodingMode) {\n");
-      writer.print("    ExpandableIntArray cache = new ExpandableIntArray(" + CACHE_INITIAL_CAPACITY + ");\n");
+      writer.print("    ExpandableIntArray cache = new ExpandableIntArray(cacheCapacity);\n");
+      writer.print("    int size = computeSize(obj, cache, encodingMode);\n");
+      writer.print("    updateCacheCapacity(cache);\n");
+      writer.print("    return size;\n");
+      writer.print("  }\n");
+      writer.print("\n");
+      writer.print("  " + visibility + " static int computeSize(" + simpleName + " obj, ExpandableIntArray cache, ProtobufEncodingMode encodingMode) {\n");
+      writer.print("    cache.reset();\n");
       writer.print("    " + simpleName + "ProtoConverter.computeSize(obj, cache, 0, encodingMode);\n");
       writer.print("    return cache.get(0);\n");
       writer.print("  }\n");
       writer.print("\n");
       writer.print("  static int computeSize(" + simpleName + " obj, ExpandableIntArray cache, final int baseIndex, ProtobufEncodingMode encodingMode) {\n");
-      writer.print("    int size = 0;\n");
-      writer.print("    int index = baseIndex + 1;\n");
+      List<String> fragments = new ArrayList<>();
       for (PropertyInfo prop : orderedProperties) {
+        StringWriter fragment = new StringWriter();
+        PrintWriter out = new PrintWriter(fragment);
         ClassKind propKind = prop.getType().getKind();
         int fieldNumber = fieldNumbers.get(prop.getName());
         ProtoProperty protoProperty = ProtoProperty.getProtoProperty(prop, fieldNumber);
         if (protoProperty.isNullable()) {
-          writer.print("    if (obj." + prop.getGetterMethod() + "() != null) {\n");
+          out.print("    if (obj." + prop.getGetterMethod() + "() != null) {\n");
         } else {
           if ("boolean".equals(prop.getType().getName())) {
-            writer.print("    if (obj." + prop.getGetterMethod() + "()) {\n");
+            out.print("    if (obj." + prop.getGetterMethod() + "()) {\n");
           } else {
-            writer.print("    if (obj." + prop.getGetterMethod() + "() != 0) {\n");
+            out.print("    if (obj." + prop.getGetterMethod() + "() != 0) {\n");
           }
         }
-        if (prop.getType().getKind() == ClassKind.ENUM) {
-          writer.print("      switch (obj." + prop.getGetterMethod() + "()) {\n");
+        if (protoProperty.isPacked()) {
+          renderPackedComputeSize(out, prop, protoProperty);
+        } else if (prop.getType().getKind() == ClassKind.ENUM) {
+          out.print("      switch (obj." + prop.getGetterMethod() + "()) {\n");
           EnumTypeInfo enumTypeInfo = (EnumTypeInfo) prop.getType();
           int enumIntValue = 0;
           for (String enumValue : enumTypeInfo.getValues()) {
-            writer.print("        case " + enumValue + ":\n" );
-            writer.print("          size += CodedOutputStream.computeEnumSize(" + fieldNumber + ", " + enumIntValue +");\n");
-            writer.print("          break;\n");
+            out.print("        case " + enumValue + ":\n" );
+            out.print("          size += CodedOutputStream.computeEnumSize(" + fieldNumber + ", " + enumIntValue +");\n");
+            out.print("          break;\n");
             enumIntValue++;
           }
-          writer.print("      }\n");
+          out.print("      }\n");
         } else { // Not Enum
           if (prop.getKind().isList()) {
             if (propKind.basic) {
-              writer.print("      // list | tag | data size | value[0] | value[1] | value[2] |\n");
-              writer.print("      if (obj." + prop.getGetterMethod() + "().size() > 0) {\n");
-              writer.print("        size += CodedOutputStream.computeUInt32SizeNoTag(" + protoProperty.getTag() + ");\n");
-              writer.print("        int dataSize = 0;\n");
-              writer.print("        for (Integer element: obj." + prop.getGetterMethod() + "()) {\n");
-              writer.print("          dataSize += CodedOutputStream." + protoProperty.getProtoType().computeSizeNoTag() + "(element);\n");
-              writer.print("        }\n");
-              writer.print("        size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);\n");
-              writer.print("        size += dataSize;\n");
-              writer.print("      }\n");
+              out.print("      // list[0] | tag | value |\n");
+              out.print("      // list[1] | tag | value |\n");
+              out.print("      for (" + prop.getType().getSimpleName() + " element: obj." + prop.getGetterMethod() + "()) {\n");
+              out.print("        size += CodedOutputStream." + protoProperty.getProtoType().computeSize() + "(" + fieldNumber + ", element);\n");
+              out.print("      }\n");
             } else {
-              writer.print("      // list[0] | tag | data size | value |\n");
-              writer.print("      // list[1] | tag | data size | value |\n");
+              out.print("      // list[0] | tag | data size | value |\n");
+              out.print("      // list[1] | tag | data size | value |\n");
               if (protoProperty.isBuiltinType()) {
                 String builtInType = prop.getType().getSimpleName();
-                writer.print("      if (obj." + prop.getGetterMethod() + "().size() > 0) {\n");
-                writer.print("        for (" + builtInType + " element: obj." + prop.getGetterMethod() + "()) {\n");
-                writer.print("          size += CodedOutputStream.computeUInt32SizeNoTag(" + protoProperty.getTag() + ");\n");
-                writer.print("          int dataSize = " + ProtoProperty.getBuiltInProtoConverter(builtInType, jsonProtoEncoding) + ".computeSize(element);\n");
-                writer.print("          size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);\n");
-                writer.print("          size += dataSize;\n");
-                writer.print("        }\n");
-                writer.print("      }\n");
+                out.print("      if (obj." + prop.getGetterMethod() + "().size() > 0) {\n");
+                out.print("        for (" + builtInType + " element: obj." + prop.getGetterMethod() + "()) {\n");
+                out.print("          size += CodedOutputStream.computeUInt32SizeNoTag(" + protoProperty.getTag() + ");\n");
+                out.print("          int savedIndex = index;\n");
+                out.print("          index = " + ProtoProperty.getBuiltInProtoConverter(builtInType, jsonProtoEncoding) + ".computeSize(element, cache, index);\n");
+                out.print("          int dataSize = cache.get(savedIndex);\n");
+                out.print("          size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);\n");
+                out.print("          size += dataSize;\n");
+                out.print("        }\n");
+                out.print("      }\n");
               } else {
-                writer.print("      if (obj." + prop.getGetterMethod() + "().size() > 0) {\n");
-                writer.print("        for (" + protoProperty.getMessage() + " element: obj." + prop.getGetterMethod() + "()) {\n");
-                writer.print("          size += CodedOutputStream.computeUInt32SizeNoTag(" + protoProperty.getTag() + ");\n");
-                writer.print("          int savedIndex = index;\n");
-                writer.print("          index = " + protoProperty.getMessage() + "ProtoConverter.computeSize(element, cache, index, encodingMode);\n");
-                writer.print("          int dataSize = cache.get(savedIndex);\n");
-                writer.print("          size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);\n");
-                writer.print("          size += dataSize;\n");
-                writer.print("        }\n");
-                writer.print("      }\n");
+                out.print("      if (obj." + prop.getGetterMethod() + "().size() > 0) {\n");
+                out.print("        for (" + protoProperty.getMessage() + " element: obj." + prop.getGetterMethod() + "()) {\n");
+                out.print("          size += CodedOutputStream.computeUInt32SizeNoTag(" + protoProperty.getTag() + ");\n");
+                out.print("          int savedIndex = index;\n");
+                out.print("          index = " + protoProperty.getMessage() + "ProtoConverter.computeSize(element, cache, index, encodingMode);\n");
+                out.print("          int dataSize = cache.get(savedIndex);\n");
+                out.print("          size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);\n");
+                out.print("          size += dataSize;\n");
+                out.print("        }\n");
+                out.print("      }\n");
               }
             }
           } else if (prop.getKind().isMap()) {
             if (propKind.basic) {
-              writer.print("      // map[0] | tag | data size | key | value |\n");
-              writer.print("      // map[1] | tag | data size | key | value |\n");
-              writer.print("      for (Map.Entry<String, " + prop.getType().getSimpleName() + "> entry : obj." + prop.getGetterMethod() + "().entrySet()) {\n");
-              writer.print("        size += CodedOutputStream.computeUInt32SizeNoTag(" + protoProperty.getTag() + ");\n");
-              writer.print("        int dataSize = 0;\n");
-              writer.print("        dataSize += CodedOutputStream.computeStringSize(1, entry.getKey());\n");
-              writer.print("        dataSize += CodedOutputStream." + protoProperty.getProtoType().computeSize() + "(2, entry.getValue());\n");
-              writer.print("        size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);\n");
-              writer.print("        size += dataSize;\n");
-              writer.print("      }\n");
+              out.print("      // map[0] | tag | data size | key | value |\n");
+              out.print("      // map[1] | tag | data size | key | value |\n");
+              out.print("      for (Map.Entry<String, " + prop.getType().getSimpleName() + "> entry : obj." + prop.getGetterMethod() + "().entrySet()) {\n");
+              out.print("        size += CodedOutputStream.computeUInt32SizeNoTag(" + protoProperty.getTag() + ");\n");
+              out.print("        int dataSize = 0;\n");
+              out.print("        dataSize += CodedOutputStream.computeStringSize(1, entry.getKey());\n");
+              out.print("        dataSize += CodedOutputStream." + protoProperty.getProtoType().computeSize() + "(2, entry.getValue());\n");
+              out.print("        size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);\n");
+              out.print("        size += dataSize;\n");
+              out.print("      }\n");
             } else {
-              writer.print("        // map[0] | tag | data size | key | value |\n");
-              writer.print("        // map[1] | tag | data size | key | value |\n");
+              out.print("        // map[0] | tag | data size | key | value |\n");
+              out.print("        // map[1] | tag | data size | key | value |\n");
               if (protoProperty.isBuiltinType()) {
                 String builtInType = prop.getType().getSimpleName();
-                writer.print("      for (Map.Entry<String, " + builtInType + "> entry : obj." + prop.getGetterMethod() + "().entrySet()) {\n");
-                writer.print("        size += CodedOutputStream.computeUInt32SizeNoTag(" + protoProperty.getTag() + ");\n");
-                writer.print("        // calculate data size\n");
-                writer.print("        int dataSize = 0;\n");
-                writer.print("        // key\n");
-                writer.print("        dataSize += CodedOutputStream.computeStringSize(1, entry.getKey());\n");
-                writer.print("        // value\n");
-                writer.print("        int elementSize = " + ProtoProperty.getBuiltInProtoConverter(builtInType, jsonProtoEncoding) + ".computeSize(entry.getValue());\n");
-                writer.print("        dataSize += CodedOutputStream.computeInt32SizeNoTag(18);\n");
-                writer.print("        dataSize += CodedOutputStream.computeInt32SizeNoTag(elementSize);\n");
-                writer.print("        dataSize += elementSize;\n");
-                writer.print("        // data size\n");
-                writer.print("        size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);\n");
-                writer.print("        size += dataSize;\n");
-                writer.print("      }\n");
+                out.print("      for (Map.Entry<String, " + builtInType + "> entry : obj." + prop.getGetterMethod() + "().entrySet()) {\n");
+                out.print("        size += CodedOutputStream.computeUInt32SizeNoTag(" + protoProperty.getTag() + ");\n");
+                out.print("        // calculate data size\n");
+                out.print("        int dataSize = 0;\n");
+                out.print("        // key\n");
+                out.print("        dataSize += CodedOutputStream.computeStringSize(1, entry.getKey());\n");
+                out.print("        // value\n");
+                out.print("        int savedIndex = index;\n");
+                out.print("        index = " + ProtoProperty.getBuiltInProtoConverter(builtInType, jsonProtoEncoding) + ".computeSize(entry.getValue(), cache, index);\n");
+                out.print("        int elementSize = cache.get(savedIndex);\n");
+                out.print("        dataSize += CodedOutputStream.computeInt32SizeNoTag(18);\n");
+                out.print("        dataSize += CodedOutputStream.computeInt32SizeNoTag(elementSize);\n");
+                out.print("        dataSize += elementSize;\n");
+                out.print("        // data size\n");
+                out.print("        size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);\n");
+                out.print("        size += dataSize;\n");
+                out.print("      }\n");
               } else {
-                writer.print("      for (Map.Entry<String, " + protoProperty.getMessage() + "> entry : obj." + prop.getGetterMethod() + "().entrySet()) {\n");
-                writer.print("        size += CodedOutputStream.computeUInt32SizeNoTag(" + protoProperty.getTag() + ");\n");
-                writer.print("        // calculate data size\n");
-                writer.print("        int dataSize = 0;\n");
-                writer.print("        // key\n");
-                writer.print("        dataSize += CodedOutputStream.computeStringSize(1, entry.getKey());\n");
-                writer.print("        // value\n");
-                writer.print("        int savedIndex = index;\n");
-                writer.print("        index = " + protoProperty.getMessage() + "ProtoConverter.computeSize(entry.getValue(), cache, index, encodingMode);\n");
-                writer.print("        int elementSize = cache.get(savedIndex);\n");
-                writer.print("        dataSize += CodedOutputStream.computeInt32SizeNoTag(18);\n");
-                writer.print("        dataSize += CodedOutputStream.computeInt32SizeNoTag(elementSize);\n");
-                writer.print("        dataSize += elementSize;\n");
-                writer.print("        // data size\n");
-                writer.print("        size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);\n");
-                writer.print("        size += dataSize;\n");
-                writer.print("      }\n");
+                out.print("      for (Map.Entry<String, " + protoProperty.getMessage() + "> entry : obj." + prop.getGetterMethod() + "().entrySet()) {\n");
+                out.print("        size += CodedOutputStream.computeUInt32SizeNoTag(" + protoProperty.getTag() + ");\n");
+                out.print("        // calculate data size\n");
+                out.print("        int dataSize = 0;\n");
+                out.print("        // key\n");
+                out.print("        dataSize += CodedOutputStream.computeStringSize(1, entry.getKey());\n");
+                out.print("        // value\n");
+                out.print("        int savedIndex = index;\n");
+                out.print("        index = " + protoProperty.getMessage() + "ProtoConverter.computeSize(entry.getValue(), cache, index, encodingMode);\n");
+                out.print("        int elementSize = cache.get(savedIndex);\n");
+                out.print("        dataSize += CodedOutputStream.computeInt32SizeNoTag(18);\n");
+                out.print("        dataSize += CodedOutputStream.computeInt32SizeNoTag(elementSize);\n");
+                out.print("        dataSize += elementSize;\n");
+                out.print("        // data size\n");
+                out.print("        size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);\n");
+                out.print("        size += dataSize;\n");
+                out.print("      }\n");
               }
             }
           } else {
             if (propKind.basic) {
-              writer.print("      size += CodedOutputStream." + protoProperty.getProtoType().computeSize() + "(" + fieldNumber + ", obj." + prop.getGetterMethod() + "());\n");
+              if (cacheStringEncoding && protoProperty.getProtoType() == ProtoType.STRING) {
+                out.print("      size += cache.utf8().computeStringSize(" + fieldNumber + ", obj." + prop.getGetterMethod() + "());\n");
+              } else {
+                out.print("      size += CodedOutputStream." + protoProperty.getProtoType().computeSize() + "(" + fieldNumber + ", obj." + prop.getGetterMethod() + "());\n");
+              }
             } else {
               if (protoProperty.isBuiltinType()) {
                 String builtInType = prop.getType().getSimpleName();
-                writer.print("      size += CodedOutputStream.computeUInt32SizeNoTag(" + protoProperty.getTag() + ");\n");
-                writer.print("      int dataSize = " + ProtoProperty.getBuiltInProtoConverter(builtInType, jsonProtoEncoding) + ".computeSize(obj." + prop.getGetterMethod() + "());\n");
-                writer.print("      size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);\n");
-                writer.print("      size += dataSize;\n");
+                out.print("      size += CodedOutputStream.computeUInt32SizeNoTag(" + protoProperty.getTag() + ");\n");
+                out.print("      int savedIndex = index;\n");
+                out.print("      index = " + ProtoProperty.getBuiltInProtoConverter(builtInType, jsonProtoEncoding) + ".computeSize(obj." + prop.getGetterMethod() + "(), cache, index);\n");
+                out.print("      int dataSize = cache.get(savedIndex);\n");
+                out.print("      size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);\n");
+                out.print("      size += dataSize;\n");
               } else {
-                writer.print("      size += CodedOutputStream.computeUInt32SizeNoTag(" + protoProperty.getTag() + ");\n");
-                writer.print("      int savedIndex = index;\n");
-                writer.print("      index = " + protoProperty.getMessage() + "ProtoConverter.computeSize(obj." + prop.getGetterMethod() + "(), cache, index, encodingMode);\n");
-                writer.print("      int dataSize = cache.get(savedIndex);\n");
-                writer.print("      size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);\n");
-                writer.print("      size += dataSize;\n");
+                out.print("      size += CodedOutputStream.computeUInt32SizeNoTag(" + protoProperty.getTag() + ");\n");
+                out.print("      int savedIndex = index;\n");
+                out.print("      index = " + protoProperty.getMessage() + "ProtoConverter.computeSize(obj." + prop.getGetterMethod() + "(), cache, index, encodingMode);\n");
+                out.print("      int dataSize = cache.get(savedIndex);\n");
+                out.print("      size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);\n");
+                out.print("      size += dataSize;\n");
               }
             }
           }
         } // Not Enum
-        writer.print("    }\n");
+        out.print("    }\n");
+        fragments.add(fragment.toString());
+      }
+      // Each chunk adds the size of its fields to the size of the message
+      MethodChunks chunks = MethodChunks.of(fragments)
+        .method("int", "computeSizeFields", simpleName + " obj, ExpandableIntArray cache, int baseIndex, int index, ProtobufEncodingMode encodingMode", "obj, cache, baseIndex, index, encodingMode")
+        .body("    int size = 0;\n", "    cache.set(baseIndex, cache.get(baseIndex) + size);\n    return index;\n");
+      if (!chunks.isSplit()) {
+        writer.print("    int size = 0;\n");
+        writer.print("    int index = baseIndex + 1;\n");
+        writer.print(chunks.code());
+        writer.print("    cache.set(baseIndex, size);\n");
+      } else {
+        writer.print("    int index = baseIndex + 1;\n");
+        writer.print("    cache.set(baseIndex, 0);\n");
+        chunks.writeCalls(writer, "    ", "index = ");
       }
-      writer.print("    cache.set(baseIndex, size);\n");
       writer.print("    return index;\n");
       writer.print("  }\n");
+      if (chunks.isSplit()) {
+        chunks.writeMethods(writer);
+      }
+      writer.print("\n");
+      writer.print("  private static void updateCacheCapacity(ExpandableIntArray cache) {\n");
+      writer.print("    int used = cache.size();\n");
+      writer.print("    int capacity = cacheCapacity;\n");
+      writer.print("    if (used > capacity && capacity < ExpandableIntArray.MAX_CAPACITY_HINT) {\n");
+      writer.print("      cacheCapacity = Math.min(used, ExpandableIntArray.MAX_CAPACITY_HINT);\n");
+      writer.print("    }\n");
+      writer.print("  }\n");
       writer.print("\n");
       writer.print("}\n");
     }
@@ -600,6 +926,461 @@ public class DataObjectProtobufGen extends Generator<DataObjectModel> {
     return buffer.toString();
   }
 
+  // Properties written by the JSON converter: JSON mapped types, data objects with a serializer, enums and Instant
+  private static boolean isJsonMapped(PropertyInfo prop) {
+    if (prop.getKind() != PropertyKind.VALUE && !prop.getKind().isList() && !prop.getKind().isMap()) {
+      return false;
+    }
+    ClassKind propKind = prop.getType().getKind();
+    if (propKind.basic) {
+      return true;
+    }
+    DataObjectInfo dataObject = prop.getType().getDataObject();
+    if (dataObject != null) {
+      return dataObject.isSerializable();
+    }
+    switch (propKind) {
+      case ENUM:
+      case JSON_OBJECT:
+      case JSON_ARRAY:
+        return true;
+      case OTHER:
+        return prop.getType().getName().equals("java.time.Instant");
+      default:
+        return false;
+    }
+  }
+
+  private static String jsonNameConstant(PropertyInfo prop) {
+    StringBuilder sb = new StringBuilder("JSON");
+    for (char c : prop.getName().toCharArray()) {
+      if (Character.isUpperCase(c) || sb.length() == 4) {
+        sb.append('_');
+      }
+      sb.append(Character.toUpperCase(c));
+    }
+    return sb.toString();
+  }
+
+  // Sets the default values of the boxed fields in compatible mode
+  private static void renderDefaults(PrintWriter writer, List<String> defaults, String method, String params, String args, PrintWriter methods) {
+    MethodChunks chunks = MethodChunks.of(defaults)
+      .method("void", method, params, args)
+      .outdent(1);
+    writer.print("    if (compatibleMode) {\n");
+    if (!chunks.isSplit()) {
+      writer.print(chunks.code());
+    } else {
+      chunks.writeCalls(writer, "      ", "");
+      chunks.writeMethods(methods);
+    }
+    writer.print("    }\n");
+  }
+
+  // transcodeToJson streams the members in field number order, toJson writes them in property order, the generation
+  // fails when both orders differ rather than transcoding a JSON text different from toJson
+  private static void checkTranscodeOrder(DataObjectModel model, List<PropertyInfo> jsonProperties) {
+    Iterator<PropertyInfo> inFieldNumberOrder = jsonProperties.iterator();
+    for (PropertyInfo prop : model.getPropertyMap().values()) {
+      if (jsonProperties.contains(prop)) {
+        PropertyInfo next = inFieldNumberOrder.next();
+        if (next != prop) {
+          throw new GenException(model.getElement(), "The JSON members cannot be transcoded in the order of toJson, " +
+            "property " + next.getName() + " has a field number lower than property " + prop.getName() +
+            " declared before it, the field numbers must follow the property order");
+        }
+      }
+    }
+  }
+
+  // Transcodes the fields in wire order, which is the order of toJson as checked by checkTranscodeOrder. The elements of a repeated field are expected to be contiguous, the array or object of the field is closed
+  // by the next field. A primitive field is not encoded when it has its default value, the default values of the
+  // fields numbered between two fields are written before the second field.
+  private static void renderTranscodeToJson(PrintWriter writer, String visibility, List<PropertyInfo> jsonProperties, Map<String, Integer> fieldNumbers, JsonProtoEncoding jsonProtoEncoding, Set<String> transcoded) {
+    List<PropertyInfo> primitives = new ArrayList<>();
+    for (PropertyInfo prop : jsonProperties) {
+      if (prop.getType().getKind() == ClassKind.PRIMITIVE) {
+        primitives.add(prop);
+      }
+    }
+    writer.print("  " + visibility + " static Buffer transcodeToJson(Buffer proto) throws IOException {\n");
+    writer.print("    ProtoJsonWriter writer = new ProtoJsonWriter(2 * proto.length());\n");
+    writer.print("    transcodeToJson(BufferStreams.input(proto), writer);\n");
+    writer.print("    return writer.writeTo(Buffer.buffer(writer.length()));\n");
+    writer.print("  }\n");
+    writer.print("\n");
+    writer.print("  " + visibility + " static void transcodeToJson(CodedInputStream input, ProtoJsonWriter writer) throws IOException {\n");
+    writer.print("    writer.beginObject();\n");
+    writer.print("    // The number of the repeated field whose array or object is open\n");
+    writer.print("    int open = 0;\n");
+    if (!primitives.isEmpty()) {
+      writer.print("    int last = 0;\n");
+    }
+    writer.print("    int tag;\n");
+    writer.print("    while ((tag = input.readTag()) != 0) {\n");
+    writer.print("      int fieldNumber = tag >>> 3;\n");
+    writer.print("      if (open != 0 && open != fieldNumber) {\n");
+    writer.print("        writer.end();\n");
+    writer.print("        open = 0;\n");
+    writer.print("      }\n");
+    if (!primitives.isEmpty()) {
+      writer.print("      if (fieldNumber > last) {\n");
+      writer.print("        transcodeDefaults(writer, last, fieldNumber);\n");
+      writer.print("        last = fieldNumber;\n");
+      writer.print("      }\n");
+    }
+    List<String> fragments = new ArrayList<>();
+    List<Integer> fragmentFieldNumbers = new ArrayList<>();
+    for (PropertyInfo prop : jsonProperties) {
+      int fieldNumber = fieldNumbers.get(prop.getName());
+      StringWriter fragment = new StringWriter();
+      PrintWriter out = new PrintWriter(fragment);
+      ProtoProperty protoProperty = ProtoProperty.getProtoProperty(prop, fieldNumber);
+      String name = jsonNameConstant(prop);
+      if (prop.getKind().isList()) {
+        if (protoProperty.isPacked()) {
+          out.print("        case " + protoProperty.getTag() + ": {\n");
+          out.print("          if (open == 0) {\n");
+          out.print("            writer.name(" + name + ").beginArray();\n");
+          out.print("            open = " + fieldNumber + ";\n");
+          out.print("          }\n");
+          out.print("          int length = input.readRawVarint32();\n");
+          out.print("          int limit = input.pushLimit(length);\n");
+          out.print("          while (input.getBytesUntilLimit() > 0) {\n");
+          renderTranscodeValue(out, prop, protoProperty, jsonProtoEncoding, transcoded, null, "", "            ");
+          out.print("          }\n");
+          out.print("          input.popLimit(limit);\n");
+          out.print("          break;\n");
+          out.print("        }\n");
+        }
+        out.print("        case " + (protoProperty.isPacked() ? protoProperty.getUnpackedTag() : protoProperty.getTag()) + ": {\n");
+        out.print("          if (open == 0) {\n");
+        out.print("            writer.name(" + name + ").beginArray();\n");
+        out.print("            open = " + fieldNumber + ";\n");
+        out.print("          }\n");
+        renderTranscodeValue(out, prop, protoProperty, jsonProtoEncoding, transcoded, null, "", "          ");
+        out.print("          break;\n");
+        out.print("        }\n");
+      } else if (prop.getKind().isMap()) {
+        out.print("        case " + protoProperty.getTag() + ": {\n");
+        out.print("          if (open == 0) {\n");
+        out.print("            writer.name(" + name + ").beginObject();\n");
+        out.print("            open = " + fieldNumber + ";\n");
+        out.print("          }\n");
+        out.print("          int length = input.readUInt32();\n");
+        out.print("          int limit = input.pushLimit(length);\n");
+        out.print("          input.readTag();\n");
+        out.print("          writer.name(input.readString());\n");
+        out.print("          input.readTag();\n");
+        renderTranscodeValue(out, prop, protoProperty, jsonProtoEncoding, transcoded, null, "v", "          ");
+        out.print("          input.popLimit(limit);\n");
+        out.print("          break;\n");
+        out.print("        }\n");
+      } else {
+        out.print("        case " + protoProperty.getTag() + ": {\n");
+        renderTranscodeValue(out, prop, protoProperty, jsonProtoEncoding, transcoded, name, "", "          ");
+        out.print("          break;\n");
+        out.print("        }\n");
+      }
+      fragments.add(fragment.toString());
+      fragmentFieldNumbers.add(fieldNumber);
+    }
+    // Each chunk transcodes a range of field numbers and returns the number of the open field
+    MethodChunks chunks = MethodChunks.of(fragments)
+      .method("int", "transcodeFields", "CodedInputStream input, ProtoJsonWriter writer, int tag, int open", "input, writer, tag, open")
+      .throwing("IOException")
+      .outdent(2)
+      .body("", "    return open;\n");
+    if (!chunks.isSplit()) {
+      writer.print("      switch (tag) {\n");
+      writer.print(chunks.code());
+      writer.print("        default:\n");
+      writer.print("          input.skipField(tag);\n");
+      writer.print("      }\n");
+    } else {
+      chunks.writeRangeCalls(writer, "      ", "fieldNumber", fragmentFieldNumbers, "open = ");
+    }
+    writer.print("    }\n");
+    writer.print("    if (open != 0) {\n");
+    writer.print("      writer.end();\n");
+    writer.print("    }\n");
+    if (!primitives.isEmpty()) {
+      writer.print("    transcodeDefaults(writer, last, Integer.MAX_VALUE);\n");
+    }
+    writer.print("    writer.end();\n");
+    writer.print("  }\n");
+    if (chunks.isSplit()) {
+      chunks.writeSwitchMethods(writer, "tag", "input.skipField(tag);", false);
+    }
+    writer.print("\n");
+    if (!primitives.isEmpty()) {
+      // The default values of the primitive fields numbered between from and to excluded
+      List<String> defaults = new ArrayList<>();
+      for (PropertyInfo prop : primitives) {
+        int fieldNumber = fieldNumbers.get(prop.getName());
+        String value;
+        switch (prop.getType().getName()) {
+          case "boolean":
+            value = "false";
+            break;
+          case "char":
+            value = "(char) 0";
+            break;
+          case "long":
+            value = "0L";
+            break;
+          case "float":
+            value = "0F";
+            break;
+          case "double":
+            value = "0D";
+            break;
+          default:
+            value = "0";
+        }
+        defaults.add(
+          "    if (from < " + fieldNumber + " && " + fieldNumber + " < to) {\n" +
+          "      writer.name(" + jsonNameConstant(prop) + ").value(" + value + ");\n" +
+          "    }\n");
+      }
+      MethodChunks defaultChunks = MethodChunks.of(defaults)
+        .method("void", "transcodeDefaults", "ProtoJsonWriter writer, int from, int to", "writer, from, to");
+      writer.print("  private static void transcodeDefaults(ProtoJsonWriter writer, int from, int to) {\n");
+      if (!defaultChunks.isSplit()) {
+        writer.print(defaultChunks.code());
+      } else {
+        defaultChunks.writeCalls(writer, "    ", "");
+      }
+      writer.print("  }\n");
+      if (defaultChunks.isSplit()) {
+        defaultChunks.writeMethods(writer);
+      }
+      writer.print("\n");
+    }
+  }
+
+  // Writes a value read from the input, preceded by the name when it is not null
+  private static void renderTranscodeValue(PrintWriter writer, PropertyInfo prop, ProtoProperty protoProperty, JsonProtoEncoding jsonProtoEncoding, Set<String> transcoded, String name, String prefix, String indent) {
+    ClassKind propKind = prop.getType().getKind();
+    String target = name != null ? "writer.name(" + name + ")" : "writer";
+    if (propKind == ClassKind.ENUM) {
+      // Unknown values are skipped, the name is written with the value
+      writer.print(indent + "switch (input.readEnum()) {\n");
+      EnumTypeInfo enumTypeInfo = (EnumTypeInfo) prop.getType();
+      int enumIntValue = 0;
+      for (String enumValue : enumTypeInfo.getValues()) {
+        writer.print(indent + "  case " + enumIntValue + ":\n");
+        writer.print(indent + "    " + target + ".value(\"" + enumValue + "\");\n");
+        writer.print(indent + "    break;\n");
+        enumIntValue++;
+      }
+      writer.print(indent + "}\n");
+      return;
+    }
+    if (propKind.basic) {
+      String javaDataType = prop.getType().getName();
+      if (protoProperty.getProtoType() == ProtoType.STRING) {
+        writer.print(indent + target + ".utf8Value(input.readByteArray());\n");
+      } else if ("java.lang.Character".equals(javaDataType) || "char".equals(javaDataType)) {
+        writer.print(indent + target + ".value((char) input." + protoProperty.getProtoType().read() + "());\n");
+      } else {
+        writer.print(indent + target + ".value(" + getString(prop) + "input." + protoProperty.getProtoType().read() + "());\n");
+      }
+      return;
+    }
+    if (name != null) {
+      writer.print(indent + target + ";\n");
+    }
+    writer.print(indent + "int " + prefix + "length = input.readUInt32();\n");
+    writer.print(indent + "int " + prefix + "limit = input.pushLimit(" + prefix + "length);\n");
+    if (protoProperty.isBuiltinType()) {
+      String converter = ProtoProperty.getBuiltInProtoConverter(prop.getType().getSimpleName(), jsonProtoEncoding);
+      if (propKind == ClassKind.OTHER) {
+        writer.print(indent + "writer.value(DateTimeFormatter.ISO_INSTANT.format(" + converter + ".fromProto(input)));\n");
+      } else {
+        writer.print(indent + "writer.value(" + converter + ".fromProto(input));\n");
+      }
+    } else {
+      MapperInfo serializer = prop.getType().getDataObject().getSerializer();
+      if (serializer.getKind() == MapperKind.SELF && transcoded.contains(prop.getType().getName())) {
+        // The nested data object is transcoded as well, its toJson is expected to use its generated converter
+        writer.print(indent + protoProperty.getMessage() + "ProtoConverter.transcodeToJson(input, writer);\n");
+      } else {
+        writer.print(indent + protoProperty.getMessage() + " " + prefix + "nested = new " + protoProperty.getMessage() + "();\n");
+        writer.print(indent + protoProperty.getMessage() + "ProtoConverter.fromProto(input, " + prefix + "nested);\n");
+        if (serializer.getKind() == MapperKind.SELF) {
+          writer.print(indent + "writer.value(" + prefix + "nested." + String.join(".", serializer.getSelectors()) + "());\n");
+        } else {
+          writer.print(indent + "writer.value(" + serializer.getQualifiedName() + "." + String.join(".", serializer.getSelectors()) + "(" + prefix + "nested));\n");
+        }
+      }
+    }
+    writer.print(indent + "input.popLimit(" + prefix + "limit);\n");
+  }
+
+  private static int initialCacheCapacity(List<PropertyInfo> properties, Map<String, Integer> fieldNumbers) {
+    int capacity = 1;
+    for (PropertyInfo prop : properties) {
+      ClassKind propKind = prop.getType().getKind();
+      ProtoProperty protoProperty = ProtoProperty.getProtoProperty(prop, fieldNumbers.get(prop.getName()));
+      if (protoProperty.isPacked()) {
+        // The data size of varint elements
+        if (protoProperty.getProtoType() == null || protoProperty.getProtoType().fixedSize == 0) {
+          capacity++;
+        }
+      } else if (!propKind.basic && propKind != ClassKind.ENUM) {
+        capacity++;
+      }
+    }
+    return capacity;
+  }
+
+  private static void renderArraysStart(PrintWriter writer, List<PropertyInfo> arrayProperties) {
+    if (!arrayProperties.isEmpty()) {
+      writer.print("    PrimitiveArrays arrays = new PrimitiveArrays(" + arrayProperties.size() + ");\n");
+    }
+  }
+
+  private static void renderArraysEnd(PrintWriter writer, List<PropertyInfo> arrayProperties) {
+    for (int i = 0; i < arrayProperties.size(); i++) {
+      PropertyInfo prop = arrayProperties.get(i);
+      String accessor = ((ArrayTypeInfo) prop.getType()).getComponentType().getName() + "s";
+      writer.print("    if (arrays.has(" + i + ")) {\n");
+      writer.print("      obj." + prop.getSetterMethod() + "(arrays." + accessor + "(" + i + "));\n");
+      writer.print("    }\n");
+    }
+  }
+
+  // packed | tag | data size | value[0] | value[1] | value[2] |
+  // Decoders accept both packed and unpacked elements. The packed length is not trusted to pre-size the elements
+  // beyond PACKED_PRESIZE_LIMIT, the elements of arrays are collected in the PrimitiveArrays of the message.
+  private static void renderPackedFromProto(PrintWriter writer, PropertyInfo prop, ProtoProperty protoProperty, int arrayIndex) {
+    ProtoType protoType = protoProperty.getProtoType();
+    String elementType = packedElementType(prop, protoProperty);
+    String getter = "obj." + prop.getGetterMethod() + "()";
+    String setter = "obj." + prop.getSetterMethod();
+    // Upper bound of the element count, every value takes at least one byte
+    String capacity = protoType != null && protoType.fixedSize > 1 ? "length / " + protoType.fixedSize : "length";
+    if (protoProperty.isArray()) {
+      String suffix = Character.toUpperCase(elementType.charAt(0)) + elementType.substring(1);
+      writer.print("      case " + protoProperty.getTag() + ": {\n");
+      writer.print("        int length = input.readRawVarint32();\n");
+      writer.print("        int limit = input.pushLimit(length);\n");
+      writer.print("        arrays.reserve" + suffix + "s(" + arrayIndex + ", " + getter + ", Math.min(" + capacity + ", " + PACKED_PRESIZE_LIMIT + "));\n");
+      writer.print("        while (input.getBytesUntilLimit() > 0) {\n");
+      writer.print("          arrays.add" + suffix + "(" + arrayIndex + ", input." + protoType.read() + "());\n");
+      writer.print("        }\n");
+      writer.print("        input.popLimit(limit);\n");
+      writer.print("        break;\n");
+      writer.print("      }\n");
+      writer.print("      case " + protoProperty.getUnpackedTag() + ": {\n");
+      writer.print("        arrays.reserve" + suffix + "s(" + arrayIndex + ", " + getter + ", 1);\n");
+      writer.print("        arrays.add" + suffix + "(" + arrayIndex + ", input." + protoType.read() + "());\n");
+      writer.print("        break;\n");
+      writer.print("      }\n");
+    } else {
+      writer.print("      case " + protoProperty.getTag() + ": {\n");
+      writer.print("        int length = input.readRawVarint32();\n");
+      writer.print("        int limit = input.pushLimit(length);\n");
+      writer.print("        List<" + elementType + "> list = " + getter + ";\n");
+      writer.print("        if (list == null) {\n");
+      if (protoType != null && protoType.fixedSize > 0) {
+        writer.print("          list = new ArrayList<>(Math.min(" + capacity + ", " + PACKED_PRESIZE_LIMIT + "));\n");
+      } else {
+        writer.print("          list = new ArrayList<>();\n");
+      }
+      writer.print("        }\n");
+      writer.print("        while (input.getBytesUntilLimit() > 0) {\n");
+      renderPackedElementRead(writer, prop, protoProperty, "          ");
+      writer.print("        }\n");
+      writer.print("        " + setter + "(list);\n");
+      writer.print("        input.popLimit(limit);\n");
+      writer.print("        break;\n");
+      writer.print("      }\n");
+      writer.print("      case " + protoProperty.getUnpackedTag() + ": {\n");
+      writer.print("        List<" + elementType + "> list = " + getter + ";\n");
+      writer.print("        if (list == null) {\n");
+      writer.print("          list = new ArrayList<>();\n");
+      writer.print("        }\n");
+      renderPackedElementRead(writer, prop, protoProperty, "        ");
+      writer.print("        " + setter + "(list);\n");
+      writer.print("        break;\n");
+      writer.print("      }\n");
+    }
+  }
+
+  private static void renderPackedElementRead(PrintWriter writer, PropertyInfo prop, ProtoProperty protoProperty, String indent) {
+    if (prop.getType().getKind() == ClassKind.ENUM) {
+      writer.print(indent + "switch (input.readEnum()) {\n");
+      EnumTypeInfo enumTypeInfo = (EnumTypeInfo) prop.getType();
+      int enumIntValue = 0;
+      for (String enumValue : enumTypeInfo.getValues()) {
+        writer.print(indent + "  case " + enumIntValue + ":\n");
+        writer.print(indent + "    list.add(" + enumTypeInfo.getSimpleName() + "." + enumValue + ");\n");
+        writer.print(indent + "    break;\n");
+        enumIntValue++;
+      }
+      writer.print(indent + "}\n");
+    } else {
+      writer.print(indent + "list.add(" + getString(prop) + "input." + protoProperty.getProtoType().read() + "());\n");
+    }
+  }
+
+  // The data size of varint elements is computed by the size pass and kept in the size cache
+  private static void renderPackedComputeSize(PrintWriter writer, PropertyInfo prop, ProtoProperty protoProperty) {
+    ProtoType protoType = protoProperty.getProtoType();
+    String getter = "obj." + prop.getGetterMethod() + "()";
+    String count = getter + (protoProperty.isArray() ? ".length" : ".size()");
+    writer.print("      // packed | tag | data size | value[0] | value[1] | value[2] |\n");
+    writer.print("      if (" + count + " > 0) {\n");
+    writer.print("        size += CodedOutputStream.computeUInt32SizeNoTag(" + protoProperty.getTag() + ");\n");
+    if (protoType != null && protoType.fixedSize > 0) {
+      writer.print("        int dataSize = " + count + " * " + protoType.fixedSize + ";\n");
+    } else {
+      writer.print("        int dataSize = 0;\n");
+      writer.print("        for (" + packedElementType(prop, protoProperty) + " element: " + getter + ") {\n");
+      if (protoType == null) {
+        writer.print("          dataSize += CodedOutputStream.computeEnumSizeNoTag(element.ordinal());\n");
+      } else {
+        writer.print("          dataSize += CodedOutputStream." + protoType.computeSizeNoTag() + "(element);\n");
+      }
+      writer.print("        }\n");
+      writer.print("        cache.set(index++, dataSize);\n");
+    }
+    writer.print("        size += CodedOutputStream.computeUInt32SizeNoTag(dataSize);\n");
+    writer.print("        size += dataSize;\n");
+    writer.print("      }\n");
+  }
+
+  private static void renderPackedToProto(PrintWriter writer, PropertyInfo prop, ProtoProperty protoProperty) {
+    ProtoType protoType = protoProperty.getProtoType();
+    String getter = "obj." + prop.getGetterMethod() + "()";
+    String count = getter + (protoProperty.isArray() ? ".length" : ".size()");
+    writer.print("      // packed | tag | data size | value[0] | value[1] | value[2] |\n");
+    writer.print("      if (" + count + " > 0) {\n");
+    writer.print("        output.writeUInt32NoTag(" + protoProperty.getTag() + ");\n");
+    if (protoType != null && protoType.fixedSize > 0) {
+      writer.print("        output.writeUInt32NoTag(" + count + " * " + protoType.fixedSize + ");\n");
+    } else {
+      writer.print("        output.writeUInt32NoTag(cache.get(index++));\n");
+    }
+    writer.print("        for (" + packedElementType(prop, protoProperty) + " element: " + getter + ") {\n");
+    if (protoType == null) {
+      writer.print("          output.writeEnumNoTag(element.ordinal());\n");
+    } else {
+      writer.print("          output." + protoType.writeNoTag() + "(element);\n");
+    }
+    writer.print("        }\n");
+    writer.print("      }\n");
+  }
+
+  private static String packedElementType(PropertyInfo prop, ProtoProperty protoProperty) {
+    if (protoProperty.isArray()) {
+      return ((ArrayTypeInfo) prop.getType()).getComponentType().getName();
+    }
+    return prop.getType().getSimpleName();
+  }
+
   private static String getString(PropertyInfo prop) {
     String javaDataType = prop.getType().getName();
     String casting = "";
@@ -0,0 +1,50 @@
+package io.vertx.codegen.protobuf.generator;
+
+import io.vertx.codegen.format.CamelCase;
+import io.vertx.codegen.format.Case;
+import io.vertx.codegen.format.KebabCase;
+import io.vertx.codegen.format.LowerCamelCase;
+import io.vertx.codegen.format.QualifiedCase;
+import io.vertx.codegen.format.SnakeCase;
+import io.vertx.codegen.processor.Model;
+import io.vertx.codegen.processor.type.AnnotationValueInfo;
+import io.vertx.codegen.processor.type.ClassTypeInfo;
+
+import java.util.Optional;
+
+/**
+ * The {@code @JsonGen} annotation of {@code vertx-codegen-json}, read by name since this module does not depend on it.
+ */
+class JsonGenAnnotation {
+
+  static final String JSON_GEN = "io.vertx.codegen.json.annotations.JsonGen";
+
+  static Optional<AnnotationValueInfo> jsonGen(Model model) {
+    return model.getAnnotations().stream().filter(ann -> ann.getName().equals(JSON_GEN)).findFirst();
+  }
+
+  static boolean inheritConverter(AnnotationValueInfo jsonGen) {
+    return Boolean.TRUE.equals(jsonGen.getMember("inheritConverter"));
+  }
+
+  static Case jsonPropertyNameFormatter(AnnotationValueInfo jsonGen) {
+    ClassTypeInfo formatter = (ClassTypeInfo) jsonGen.getMember("jsonPropertyNameFormatter");
+    if (formatter == null) {
+      return LowerCamelCase.INSTANCE;
+    }
+    switch (formatter.getName()) {
+      case "io.vertx.codegen.format.CamelCase":
+        return CamelCase.INSTANCE;
+      case "io.vertx.codegen.format.SnakeCase":
+        return SnakeCase.INSTANCE;
+      case "io.vertx.codegen.format.LowerCamelCase":
+        return LowerCamelCase.INSTANCE;
+      case "io.vertx.codegen.format.KebabCase":
+        return KebabCase.INSTANCE;
+      case "io.vertx.codegen.format.QualifiedCase":
+        return QualifiedCase.INSTANCE;
+      default:
+        throw new UnsupportedOperationException("Unsupported JSON property name formatter " + formatter.getName());
+    }
+  }
+}
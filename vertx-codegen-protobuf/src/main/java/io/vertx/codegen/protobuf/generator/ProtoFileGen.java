@@ -25,6 +25,7 @@ public class ProtoFileGen extends Generator<Model> {
     kinds.add("dataObject");
     kinds.add("enum");
     incremental = true;
+    threadSafe = true;
   }
 
   @Override
@@ -126,7 +127,7 @@ public class ProtoFileGen extends Generator<Model> {
       ProtoProperty protoProperty = ProtoProperty.getProtoProperty(prop, fieldNumber);
 
       String protoFieldType;
-      if (propKind.basic) {
+      if (propKind.basic || protoProperty.isArray()) {
         protoFieldType = protoProperty.getProtoType().value;
       } else {
         if (prop.getType().getKind() == ClassKind.ENUM) {
@@ -140,7 +141,8 @@ public class ProtoFileGen extends Generator<Model> {
         }
       }
 
-      if (prop.getKind().isList()) {
+      if (prop.getKind().isList() || protoProperty.isArray()) {
+        // proto3 repeated scalar numeric fields are packed by default
         writer.print("  repeated " + protoFieldType + " " + prop.getName() + " = " + fieldNumber + ";\n");
       } else if (prop.getKind().isMap()) {
         writer.print("  map<string, " + protoFieldType + "> " + prop.getName() + " = " + fieldNumber + ";\n");
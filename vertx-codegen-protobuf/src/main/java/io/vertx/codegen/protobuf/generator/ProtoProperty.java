@@ -3,14 +3,22 @@ package io.vertx.codegen.protobuf.generator;
 import io.vertx.codegen.processor.PropertyInfo;
 import io.vertx.codegen.processor.PropertyKind;
 import io.vertx.codegen.protobuf.annotations.JsonProtoEncoding;
+import io.vertx.codegen.processor.type.ArrayTypeInfo;
 import io.vertx.codegen.processor.type.ClassKind;
+import io.vertx.codegen.processor.type.TypeInfo;
 
 // This class store the protobuf properties of a given field
 public class ProtoProperty {
   private int fieldNumber;
   private int wireType;
   private int tag;
+  // Tag of a single element of a packed field, decoders must accept packed and unpacked elements
+  private int unpackedTag;
   private ProtoType protoType;
+  // Indicate if field is a repeated numeric, bool or enum field encoded packed
+  private boolean isPacked;
+  // Indicate if field is a Java primitive array, e.g. int[]
+  private boolean isArray;
   // Indicate if field is nullable.
   private boolean isNullable;
   // Indicate if field is Java boxed type
@@ -37,7 +45,13 @@ public class ProtoProperty {
     String enumType = null;
     String builtInProtoType = null;
     int wireType;
-    if (prop.getType().getKind() == ClassKind.ENUM) {
+    boolean isArray = false;
+    if (prop.getType() instanceof ArrayTypeInfo) {
+      TypeInfo componentType = ((ArrayTypeInfo) prop.getType()).getComponentType();
+      protoType = determinePrimitiveArrayProtoType(componentType.getName());
+      isArray = true;
+      wireType = protoType.fixedSize == 8 ? 1 : protoType.fixedSize == 4 ? 5 : 0;
+    } else if (prop.getType().getKind() == ClassKind.ENUM) {
       enumType = prop.getType().getSimpleName();
       wireType = 0;
     } else { // Not Enum
@@ -68,21 +82,30 @@ public class ProtoProperty {
       }
     } // Not Enum
 
-    // Override wire type if property is a list, map or set
-    if (prop.getKind() == PropertyKind.LIST ||
+    boolean isPacked = isArray ||
+      (prop.getKind() == PropertyKind.LIST && (enumType != null || (protoType != null && protoType.isPackable())));
+
+    checkFieldNumber(fieldNumber);
+
+    int unpackedTag = (fieldNumber << 3) | wireType;
+
+    // Override wire type if property is a list, map, set or array
+    if (isArray ||
+      prop.getKind() == PropertyKind.LIST ||
       prop.getKind() == PropertyKind.MAP ||
       prop.getKind() == PropertyKind.SET) {
       wireType = 2;
     }
 
-    checkFieldNumber(fieldNumber);
-
     int tag = (fieldNumber << 3) | wireType;
 
     protoProperty.fieldNumber = fieldNumber;
     protoProperty.wireType = wireType;
     protoProperty.tag = tag;
+    protoProperty.unpackedTag = unpackedTag;
     protoProperty.protoType = protoType;
+    protoProperty.isPacked = isPacked;
+    protoProperty.isArray = isArray;
     protoProperty.isNullable = isNullable;
     protoProperty.isBoxedType = isBoxedType;
     protoProperty.defaultValue = defaultValue;
@@ -126,6 +149,23 @@ public class ProtoProperty {
     }
   }
 
+  private static ProtoType determinePrimitiveArrayProtoType(String componentType) {
+    switch (componentType) {
+      case "int":
+        return ProtoType.INT32;
+      case "long":
+        return ProtoType.INT64;
+      case "float":
+        return ProtoType.FLOAT;
+      case "double":
+        return ProtoType.DOUBLE;
+      case "boolean":
+        return ProtoType.BOOL;
+      default:
+        throw new UnsupportedOperationException("Unsupported array data-type " + componentType + "[]");
+    }
+  }
+
   // Anything other than java primitive type should be nullable
   private static boolean determineIsNullable(String javaDataType) {
     switch (javaDataType) {
@@ -256,6 +296,18 @@ public class ProtoProperty {
     return tag;
   }
 
+  public int getUnpackedTag() {
+    return unpackedTag;
+  }
+
+  public boolean isPacked() {
+    return isPacked;
+  }
+
+  public boolean isArray() {
+    return isArray;
+  }
+
   public ProtoType getProtoType() {
     return protoType;
   }
@@ -1,20 +1,30 @@
 package io.vertx.codegen.protobuf.generator;
 
 public enum ProtoType {
-  STRING  ("string",  "String"),
-  INT32   ("int32",   "Int32"),
-  INT64   ("int64",   "Int64"),
-  DOUBLE  ("double",  "Double"),
-  FLOAT   ("float",   "Float"),
-  BOOL    ("bool",    "Bool"),
-  BYTES   ("bytes",   "Bytes");
+  STRING  ("string",  "String", 0),
+  INT32   ("int32",   "Int32",  0),
+  INT64   ("int64",   "Int64",  0),
+  DOUBLE  ("double",  "Double", 8),
+  FLOAT   ("float",   "Float",  4),
+  BOOL    ("bool",    "Bool",   1),
+  BYTES   ("bytes",   "Bytes",  0);
 
   public final String value;
   public final String camelValue;
+  // Encoded size of a value, 0 for variable length values
+  public final int fixedSize;
 
-  ProtoType(String value, String camelValue) {
+  ProtoType(String value, String camelValue, int fixedSize) {
     this.value = value;
     this.camelValue = camelValue;
+    this.fixedSize = fixedSize;
+  }
+
+  /**
+   * @return whether repeated values of this type are encoded packed
+   */
+  public boolean isPackable() {
+    return this != STRING && this != BYTES;
   }
 
   public String read() {
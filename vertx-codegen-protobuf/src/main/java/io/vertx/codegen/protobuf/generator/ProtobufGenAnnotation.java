@@ -6,8 +6,16 @@ import io.vertx.codegen.protobuf.annotations.FieldNumberStrategy;
 import io.vertx.codegen.protobuf.annotations.JsonProtoEncoding;
 import io.vertx.codegen.protobuf.annotations.ProtobufGen;
 
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 
@@ -19,6 +27,45 @@ class ProtobufGenAnnotation {
       .orElse(JsonProtoEncoding.VERTX_STRUCT); // Default to VERTX_STRUCT
   }
 
+  static boolean cacheStringEncoding(Model model) {
+    return model.getAnnotation(ProtobufGen.class)
+      .map(ann -> Boolean.TRUE.equals(ann.getMember("cacheStringEncoding")))
+      .orElse(false);
+  }
+
+  static boolean generateView(Model model) {
+    return model.getAnnotation(ProtobufGen.class)
+      .map(ann -> Boolean.TRUE.equals(ann.getMember("generateView")))
+      .orElse(false);
+  }
+
+  static boolean transcodeToJson(Model model) {
+    return model.getAnnotation(ProtobufGen.class)
+      .map(ann -> Boolean.TRUE.equals(ann.getMember("transcodeToJson")))
+      .orElse(false);
+  }
+
+  /**
+   * @return whether the concrete class {@code name} is annotated with {@code @ProtobufGen} and its boolean
+   * {@code member} is set, resolved from the compiler since the class may belong to another round
+   */
+  static boolean isSet(ProcessingEnvironment env, String name, String member) {
+    TypeElement elt = env.getElementUtils().getTypeElement(name);
+    if (elt == null || elt.getKind() != ElementKind.CLASS || elt.getModifiers().contains(Modifier.ABSTRACT)) {
+      return false;
+    }
+    for (AnnotationMirror mirror : elt.getAnnotationMirrors()) {
+      if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(ProtobufGen.class.getName())) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : env.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+          if (value.getKey().getSimpleName().contentEquals(member)) {
+            return Boolean.TRUE.equals(value.getValue().getValue());
+          }
+        }
+      }
+    }
+    return false;
+  }
+
   static FieldNumberStrategy fieldNumberStrategy(Model model) {
     return model.getAnnotation(ProtobufGen.class)
       .map(ann -> (String) ann.getMember("fieldNumberStrategy"))
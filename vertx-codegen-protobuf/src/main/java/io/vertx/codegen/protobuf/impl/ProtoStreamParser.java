@@ -0,0 +1,284 @@
+package io.vertx.codegen.protobuf.impl;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.vertx.codegen.protobuf.ProtoStreamCodec;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+
+/**
+ * Parses a stream of buffers into a stream of length-delimited messages.
+ * <p>
+ * The bytes of the current buffer not yet parsed are retained and complete messages are decoded from slices of the
+ * buffer. When a buffer ends in the middle of a message, this message is accumulated in a buffer sized from its length
+ * prefix, the following buffers only append the bytes missing to the message, so each byte is copied at most once.
+ */
+public class ProtoStreamParser<T> implements ReadStream<T>, Handler<Buffer> {
+
+  private final ReadStream<Buffer> source;
+  private final ProtoStreamCodec.Decoder<T> decoder;
+  private final int maxMessageSize;
+  private Buffer pending;
+  private int position;
+  // The message spanning several buffers, its length prefix included
+  private Buffer partial;
+  // The offset of the message in partial and its length, -1 while the length prefix is incomplete
+  private int partialOffset;
+  private int partialLength = -1;
+  // The size of the message whose length prefix was last parsed by messageOffset
+  private int messageSize;
+  private long demand = Long.MAX_VALUE;
+  private boolean parsing;
+  private boolean sourcePaused;
+  private boolean sourceEnded;
+  private boolean ended;
+  private boolean failed;
+  private Handler<T> handler;
+  private Handler<Throwable> exceptionHandler;
+  private Handler<Void> endHandler;
+
+  public ProtoStreamParser(ReadStream<Buffer> source, ProtoStreamCodec.Decoder<T> decoder, int maxMessageSize) {
+    this.source = source;
+    this.decoder = decoder;
+    this.maxMessageSize = maxMessageSize;
+  }
+
+  @Override
+  public ProtoStreamParser<T> exceptionHandler(Handler<Throwable> handler) {
+    exceptionHandler = handler;
+    return this;
+  }
+
+  @Override
+  public ProtoStreamParser<T> handler(Handler<T> handler) {
+    this.handler = handler;
+    if (handler != null) {
+      source.endHandler(v -> {
+        sourceEnded = true;
+        drain();
+      });
+      source.exceptionHandler(err -> {
+        Handler<Throwable> h = exceptionHandler;
+        if (h != null) {
+          h.handle(err);
+        }
+      });
+      source.handler(this);
+    } else {
+      source.handler(null);
+      source.endHandler(null);
+      source.exceptionHandler(null);
+    }
+    return this;
+  }
+
+  @Override
+  public ProtoStreamParser<T> endHandler(Handler<Void> endHandler) {
+    this.endHandler = endHandler;
+    return this;
+  }
+
+  @Override
+  public ProtoStreamParser<T> pause() {
+    demand = 0L;
+    if (!sourcePaused) {
+      sourcePaused = true;
+      source.pause();
+    }
+    return this;
+  }
+
+  @Override
+  public ProtoStreamParser<T> resume() {
+    return fetch(Long.MAX_VALUE);
+  }
+
+  @Override
+  public ProtoStreamParser<T> fetch(long amount) {
+    if (amount < 0L) {
+      throw new IllegalArgumentException("Invalid fetch amount " + amount);
+    }
+    demand += amount;
+    if (demand < 0L) {
+      demand = Long.MAX_VALUE;
+    }
+    drain();
+    return this;
+  }
+
+  @Override
+  public void handle(Buffer buffer) {
+    if (failed) {
+      return;
+    }
+    pending = buffer;
+    position = 0;
+    drain();
+  }
+
+  private int remaining() {
+    return pending == null ? 0 : pending.length() - position;
+  }
+
+  private void drain() {
+    if (parsing || failed || ended) {
+      return;
+    }
+    parsing = true;
+    try {
+      boolean incomplete = false;
+      while (demand > 0L) {
+        T message;
+        try {
+          message = next();
+        } catch (Exception e) {
+          fail(e);
+          return;
+        }
+        if (message == null) {
+          incomplete = true;
+          break;
+        }
+        if (demand != Long.MAX_VALUE) {
+          demand--;
+        }
+        Handler<T> h = handler;
+        if (h != null) {
+          h.handle(message);
+        }
+        if (failed) {
+          return;
+        }
+      }
+      if (sourceEnded) {
+        if (remaining() == 0 && partial == null) {
+          ended = true;
+          pending = null;
+          Handler<Void> h = endHandler;
+          if (h != null) {
+            h.handle(null);
+          }
+        } else if (incomplete) {
+          fail(new InvalidProtocolBufferException("Stream ended in the middle of a message"));
+        }
+      } else if (demand == 0L) {
+        if (!sourcePaused) {
+          sourcePaused = true;
+          source.pause();
+        }
+      } else if (sourcePaused) {
+        sourcePaused = false;
+        source.resume();
+      }
+    } finally {
+      parsing = false;
+    }
+  }
+
+  /**
+   * @return the next message or {@code null} when the pending bytes do not contain a complete message
+   */
+  private T next() throws Exception {
+    if (partial != null) {
+      return nextPartial();
+    }
+    if (remaining() == 0) {
+      return null;
+    }
+    int limit = pending.length();
+    int offset = messageOffset(pending, position);
+    if (offset == -1 || limit - offset < messageSize) {
+      // Accumulate the message, sized once its length prefix is known
+      int available = limit - position;
+      partial = Buffer.buffer(offset == -1 ? 5 : offset - position + messageSize).appendBuffer(pending, position, available);
+      partialOffset = offset == -1 ? -1 : offset - position;
+      partialLength = offset == -1 ? -1 : messageSize;
+      consume(available);
+      return null;
+    }
+    Buffer message = pending.slice(offset, offset + messageSize);
+    consume(offset + messageSize - position);
+    return decoder.decode(message);
+  }
+
+  private T nextPartial() throws Exception {
+    while (partialLength == -1) {
+      // The length prefix is at most 5 bytes
+      if (remaining() == 0) {
+        return null;
+      }
+      partial.appendBuffer(pending, position, 1);
+      consume(1);
+      int offset = messageOffset(partial, 0);
+      if (offset != -1) {
+        Buffer prefix = partial;
+        partial = Buffer.buffer(offset + messageSize).appendBuffer(prefix);
+        partialOffset = offset;
+        partialLength = messageSize;
+      }
+    }
+    int missing = partialOffset + partialLength - partial.length();
+    int available = Math.min(missing, remaining());
+    if (available > 0) {
+      partial.appendBuffer(pending, position, available);
+      consume(available);
+    }
+    if (available < missing) {
+      return null;
+    }
+    Buffer message = partial.slice(partialOffset, partialOffset + partialLength);
+    partial = null;
+    partialLength = -1;
+    return decoder.decode(message);
+  }
+
+  private void consume(int amount) {
+    position += amount;
+    if (position == pending.length()) {
+      pending = null;
+      position = 0;
+    }
+  }
+
+  /**
+   * Parse the length prefix at {@code index} of {@code buffer}.
+   *
+   * @return the offset of the message, following its length prefix, or {@code -1} when the prefix is incomplete
+   */
+  private int messageOffset(Buffer buffer, int index) throws InvalidProtocolBufferException {
+    int limit = buffer.length();
+    int size = 0;
+    for (int shift = 0; ; shift += 7) {
+      if (index == limit) {
+        return -1;
+      }
+      if (shift == 35) {
+        throw new InvalidProtocolBufferException("Malformed message size");
+      }
+      byte b = buffer.getByte(index++);
+      size |= (b & 0x7F) << shift;
+      if (b >= 0) {
+        break;
+      }
+    }
+    if (size < 0 || size > maxMessageSize) {
+      throw new InvalidProtocolBufferException("Message size " + (size & 0xFFFFFFFFL) + " exceeds the maximum size " + maxMessageSize);
+    }
+    messageSize = size;
+    return index;
+  }
+
+  private void fail(Throwable cause) {
+    failed = true;
+    pending = null;
+    partial = null;
+    if (!sourcePaused) {
+      sourcePaused = true;
+      source.pause();
+    }
+    Handler<Throwable> h = exceptionHandler;
+    if (h != null) {
+      h.handle(cause);
+    }
+  }
+}
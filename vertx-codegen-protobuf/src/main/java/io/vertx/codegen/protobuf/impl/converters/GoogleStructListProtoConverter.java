@@ -2,6 +2,7 @@ package io.vertx.codegen.protobuf.impl.converters;
 
 import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.CodedOutputStream;
+import io.vertx.codegen.protobuf.utils.ExpandableIntArray;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
@@ -54,26 +55,26 @@ public class GoogleStructListProtoConverter {
   }
 
   public static void toProto(JsonArray array, CodedOutputStream output) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(16);
+    computeSize(array, cache, 0);
+    toProto(array, output, cache, 0);
+  }
+
+  /**
+   * Write {@code array} using the sizes of the nested structs computed by {@link #computeSize(JsonArray, ExpandableIntArray, int)}.
+   *
+   * @return the index following the slots of {@code array}
+   */
+  public static int toProto(JsonArray array, CodedOutputStream output, ExpandableIntArray cache, int index) throws IOException {
+    index = index + 1;
     for (Object value : array.getList()) {
-      // Calculate value length
-      int valueLength = 0;
       int structSize = 0;
-
-      if (value == null) {
-        throw new UnsupportedOperationException("Unsupported null type");
-      } else if (value instanceof String) {
-        valueLength = CodedOutputStream.computeStringSize(STRING_FIELD_NUMBER, (String) value);
-      } else if (value instanceof Integer){
-        valueLength = CodedOutputStream.computeDoubleSize(NUMBER_FIELD_NUMBER, (Integer) value);
-      } else if (value instanceof Long) {
-        valueLength = CodedOutputStream.computeDoubleSize(NUMBER_FIELD_NUMBER, (Long) value);
-      } else if (value instanceof JsonObject) {
-        structSize = GoogleStructProtoConverter.computeSize((JsonObject) value);
-        valueLength += CodedOutputStream.computeTagSize(STRUCT_FIELD_NUMBER);
-        valueLength += CodedOutputStream.computeUInt32SizeNoTag(structSize);
-        valueLength += structSize;
+      int valueLength;
+      if (value instanceof JsonObject) {
+        structSize = cache.get(index);
+        valueLength = GoogleStructProtoConverter.structValueLength(STRUCT_FIELD_NUMBER, structSize);
       } else {
-        throw new UnsupportedOperationException("Unsupported type " + value.getClass().getTypeName());
+        valueLength = valueLength(value);
       }
 
       output.writeTag(TOP_LEVEL_FIELD_NUMBER, WIRETYPE_LENGTH_DELIMITED);   // top-level tag, always 0xa
@@ -85,42 +86,65 @@ public class GoogleStructListProtoConverter {
         output.writeDouble(NUMBER_FIELD_NUMBER, (Integer) value);
       } else if (value instanceof Long) {
         output.writeDouble(NUMBER_FIELD_NUMBER, (Long) value);
-      } else if (value instanceof JsonObject) {
+      } else {
         output.writeTag(STRUCT_FIELD_NUMBER, WIRETYPE_LENGTH_DELIMITED);      // value
         output.writeUInt32NoTag(structSize);                                  //
-        GoogleStructProtoConverter.toProto((JsonObject) value, output);       //
-      } else {
-        throw new UnsupportedOperationException("Unsupported type " + value.getClass().getTypeName());
+        index = GoogleStructProtoConverter.toProto((JsonObject) value, output, cache, index);
       }
     }
+    return index;
   }
 
   public static int computeSize(JsonArray array) {
     int totalSize = 0;
     for (Object value : array) {
-      // Calculate value length
-      int valueLength = 0;
-      if (value == null) {
-        throw new UnsupportedOperationException("Unsupported null type");
-      } else if (value instanceof String) {
-        valueLength = CodedOutputStream.computeStringSize(STRING_FIELD_NUMBER, (String) value);
-      } else if (value instanceof Integer){
-        valueLength = CodedOutputStream.computeDoubleSize(NUMBER_FIELD_NUMBER, (Integer) value);
-      } else if (value instanceof Long) {
-        valueLength = CodedOutputStream.computeDoubleSize(NUMBER_FIELD_NUMBER, (Long) value);
-      } else if (value instanceof JsonObject) {
-        int structSize = GoogleStructProtoConverter.computeSize((JsonObject) value);
-        valueLength += CodedOutputStream.computeTagSize(STRUCT_FIELD_NUMBER);
-        valueLength += CodedOutputStream.computeUInt32SizeNoTag(structSize);
-        valueLength += structSize;
+      int valueLength;
+      if (value instanceof JsonObject) {
+        valueLength = GoogleStructProtoConverter.structValueLength(STRUCT_FIELD_NUMBER, GoogleStructProtoConverter.computeSize((JsonObject) value));
       } else {
-        throw new UnsupportedOperationException("Unsupported type " + value.getClass().getTypeName());
+        valueLength = valueLength(value);
       }
-
-      totalSize += CodedOutputStream.computeTagSize(TOP_LEVEL_FIELD_NUMBER);      // top-level tag
-      totalSize += CodedOutputStream.computeUInt32SizeNoTag(valueLength);         // value length
-      totalSize += valueLength;                                                   // value
+      totalSize += GoogleStructProtoConverter.topLevelSize(valueLength);
     }
     return totalSize;
   }
+
+  /**
+   * Compute the size of {@code array} and of its nested structs in pre-order: the size of {@code array} is stored at
+   * {@code baseIndex} and the nested structs use the following slots.
+   *
+   * @return the index following the slots of {@code array}
+   */
+  public static int computeSize(JsonArray array, ExpandableIntArray cache, int baseIndex) {
+    int totalSize = 0;
+    int index = baseIndex + 1;
+    for (Object value : array.getList()) {
+      int valueLength;
+      if (value instanceof JsonObject) {
+        int savedIndex = index;
+        index = GoogleStructProtoConverter.computeSize((JsonObject) value, cache, index);
+        valueLength = GoogleStructProtoConverter.structValueLength(STRUCT_FIELD_NUMBER, cache.get(savedIndex));
+      } else {
+        valueLength = valueLength(value);
+      }
+      totalSize += GoogleStructProtoConverter.topLevelSize(valueLength);
+    }
+    cache.set(baseIndex, totalSize);
+    return index;
+  }
+
+  // Length of a non struct element
+  private static int valueLength(Object value) {
+    if (value == null) {
+      throw new UnsupportedOperationException("Unsupported null type");
+    } else if (value instanceof String) {
+      return CodedOutputStream.computeStringSize(STRING_FIELD_NUMBER, (String) value);
+    } else if (value instanceof Integer){
+      return CodedOutputStream.computeDoubleSize(NUMBER_FIELD_NUMBER, (Integer) value);
+    } else if (value instanceof Long) {
+      return CodedOutputStream.computeDoubleSize(NUMBER_FIELD_NUMBER, (Long) value);
+    } else {
+      throw new UnsupportedOperationException("Unsupported type " + value.getClass().getTypeName());
+    }
+  }
 }
@@ -2,6 +2,7 @@ package io.vertx.codegen.protobuf.impl.converters;
 
 import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.CodedOutputStream;
+import io.vertx.codegen.protobuf.utils.ExpandableIntArray;
 
 import java.io.IOException;
 import java.time.Instant;
@@ -43,4 +44,14 @@ public class InstantProtoConverter {
     size += CodedOutputStream.computeInt64Size(SECONDS_FIELD_NUMBER, obj.getEpochSecond());
     return size;
   }
+
+  public static int toProto(Instant obj, CodedOutputStream output, ExpandableIntArray cache, int index) throws IOException {
+    toProto(obj, output);
+    return index + 1;
+  }
+
+  public static int computeSize(Instant obj, ExpandableIntArray cache, int baseIndex) {
+    cache.set(baseIndex, computeSize(obj));
+    return baseIndex + 1;
+  }
 }
@@ -2,6 +2,7 @@ package io.vertx.codegen.protobuf.impl.converters;
 
 import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.CodedOutputStream;
+import io.vertx.codegen.protobuf.utils.ExpandableIntArray;
 import io.vertx.core.json.JsonArray;
 
 import java.io.IOException;
@@ -79,6 +80,26 @@ public class VertxStructListProtoConverter {
     }
   }
 
+  /**
+   * Write {@code array}, its elements are not structs so it uses a single slot.
+   *
+   * @return the index following the slot of {@code array}
+   */
+  public static int toProto(JsonArray array, CodedOutputStream output, ExpandableIntArray cache, int index) throws IOException {
+    toProto(array, output);
+    return index + 1;
+  }
+
+  /**
+   * Store the size of {@code array} at {@code baseIndex}.
+   *
+   * @return the index following the slot of {@code array}
+   */
+  public static int computeSize(JsonArray array, ExpandableIntArray cache, int baseIndex) {
+    cache.set(baseIndex, computeSize(array));
+    return baseIndex + 1;
+  }
+
   public static int computeSize(JsonArray array) {
     int totalSize = 0;
     for (Object value : array) {
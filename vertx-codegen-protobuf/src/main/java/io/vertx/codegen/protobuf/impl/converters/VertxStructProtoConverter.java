@@ -1,8 +1,8 @@
 package io.vertx.codegen.protobuf.impl.converters;
 
-import com.google.protobuf.ByteString;
 import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.CodedOutputStream;
+import io.vertx.codegen.protobuf.utils.ExpandableIntArray;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
@@ -125,161 +125,173 @@ public class VertxStructProtoConverter {
   }
 
   public static void toProto(JsonObject obj, CodedOutputStream output) throws IOException {
+    ExpandableIntArray cache = new ExpandableIntArray(16);
+    computeSize(obj, cache, 0);
+    toProto(obj, output, cache, 0);
+  }
+
+  /**
+   * Write {@code obj} using the sizes of the nested structs computed by {@link #computeSize(JsonObject, ExpandableIntArray, int)}.
+   *
+   * @return the index following the slots of {@code obj}
+   */
+  public static int toProto(JsonObject obj, CodedOutputStream output, ExpandableIntArray cache, int index) throws IOException {
+    index = index + 1;
     Map<String, Object> fields = obj.getMap();
     for (Map.Entry<String, Object> entry : fields.entrySet()) {
       String key = entry.getKey();
       Object value = entry.getValue();
 
-      // calculate dataSize
       int structSize = 0;
-      int dataSize = 0;
-      int valueLength = 0;
-      if (value == null) {
-        valueLength = CodedOutputStream.computeEnumSize(NULL_FIELD_NUMBER, 0);
-      } else if (value instanceof String) {
-        valueLength = CodedOutputStream.computeStringSize(STRING_FIELD_NUMBER, (String) value);
-      } else if (value instanceof Integer){
-        valueLength = CodedOutputStream.computeInt32Size(INTEGER_FIELD_NUMBER, (Integer) value);
-      } else if (value instanceof Long){
-        valueLength = CodedOutputStream.computeInt64Size(LONG_FIELD_NUMBER, (Long) value);
-      } else if (value instanceof Boolean) {
-        valueLength = CodedOutputStream.computeBoolSize(BOOLEAN_FIELD_NUMBER, (Boolean) value);
-      } else if (value instanceof Double) {
-        valueLength = CodedOutputStream.computeDoubleSize(DOUBLE_FIELD_NUMBER, (Double) value);
-      } else if (value instanceof Float) {
-        valueLength = CodedOutputStream.computeFloatSize(FLOAT_FIELD_NUMBER, (Float) value);
-      } else if (value instanceof JsonObject) {
-        structSize = VertxStructProtoConverter.computeSize((JsonObject) value);
-        valueLength += CodedOutputStream.computeTagSize(JSON_OBJECT_FIELD_NUMBER);
-        valueLength += CodedOutputStream.computeUInt32SizeNoTag(structSize);
-        valueLength += structSize;
+      int valueLength;
+      if (value instanceof JsonObject) {
+        structSize = cache.get(index);
+        valueLength = structValueLength(JSON_OBJECT_FIELD_NUMBER, structSize);
       } else if (value instanceof JsonArray) {
-        structSize = VertxStructListProtoConverter.computeSize((JsonArray) value);
-        valueLength += CodedOutputStream.computeTagSize(JSON_ARRAY_FIELD_NUMBER);
-        valueLength += CodedOutputStream.computeUInt32SizeNoTag(structSize);
-        valueLength += structSize;
-      } else if (value instanceof Instant) {
-        structSize = InstantProtoConverter.computeSize((Instant) value);
-        valueLength += CodedOutputStream.computeTagSize(INSTANT_FIELD_NUMBER);
-        valueLength += CodedOutputStream.computeUInt32SizeNoTag(structSize);
-        valueLength += structSize;
-      } else if (value instanceof byte[]) {
-        valueLength = CodedOutputStream.computeBytesSize(BYTES_FIELD_NUMBER, ByteString.copyFrom((byte[]) value));
+        structSize = cache.get(index);
+        valueLength = structValueLength(JSON_ARRAY_FIELD_NUMBER, structSize);
       } else {
-        throw new UnsupportedOperationException("Unsupported type " + value.getClass().getTypeName());
+        valueLength = valueLength(value);
       }
-      dataSize += CodedOutputStream.computeStringSize(MAP_KEY_FIELD_NUMBER, key);
-      dataSize += CodedOutputStream.computeTagSize(MAP_VALUE_FIELD_NUMBER);           // value tag
-      dataSize += CodedOutputStream.computeUInt32SizeNoTag(valueLength);              // value length
-      dataSize += valueLength;                                                        // value
 
       // top level
       output.writeTag(TOP_LEVEL_FIELD_NUMBER, WIRETYPE_LENGTH_DELIMITED);             // top-level tag, always 0xa
-      output.writeUInt32NoTag(dataSize);                                              // top-level length
+      output.writeUInt32NoTag(entrySize(key, valueLength));                           // top-level length
 
       // key
       output.writeString(MAP_KEY_FIELD_NUMBER, key);
 
       // value
       output.writeTag(MAP_VALUE_FIELD_NUMBER, WIRETYPE_LENGTH_DELIMITED);             // value tag, always 0x12
-      if (value == null) {
-        output.writeUInt32NoTag(valueLength);                                         // value length
-        output.writeEnum(NULL_FIELD_NUMBER, 0);                                 // value
-      } else if (value instanceof String) {
-        output.writeUInt32NoTag(valueLength);                                         // value length
-        output.writeString(STRING_FIELD_NUMBER, (String) value);                      // value
-      } else if (value instanceof Integer){
-        output.writeUInt32NoTag(valueLength);                                         // value length
-        output.writeInt32(INTEGER_FIELD_NUMBER, (Integer) value);                     // value
-      } else if (value instanceof Long){
-        output.writeUInt32NoTag(valueLength);                                         // value length
-        output.writeInt64(LONG_FIELD_NUMBER, (Long) value);                           // value
-      } else if (value instanceof Boolean){
-        output.writeUInt32NoTag(valueLength);                                         // value length
-        output.writeBool(BOOLEAN_FIELD_NUMBER, (Boolean) value);                      // value
-      } else if (value instanceof Double) {
-        output.writeUInt32NoTag(valueLength);                                         // value length
-        output.writeDouble(DOUBLE_FIELD_NUMBER, (Double) value);                      // value
-      } else if (value instanceof Float) {
-        output.writeUInt32NoTag(valueLength);                                         // value length
-        output.writeFloat(FLOAT_FIELD_NUMBER, (Float) value);                         // value
-      } else if (value instanceof JsonObject) {
-        output.writeUInt32NoTag(valueLength);                                         // value length
+      output.writeUInt32NoTag(valueLength);                                           // value length
+      if (value instanceof JsonObject) {
         output.writeTag(JSON_OBJECT_FIELD_NUMBER, WIRETYPE_LENGTH_DELIMITED);         // value
         output.writeUInt32NoTag(structSize);                                          //
-        VertxStructProtoConverter.toProto((JsonObject) value, output);                      //
+        index = VertxStructProtoConverter.toProto((JsonObject) value, output, cache, index);
       } else if (value instanceof JsonArray) {
-        output.writeUInt32NoTag(valueLength);                                         // value length
         output.writeTag(JSON_ARRAY_FIELD_NUMBER, WIRETYPE_LENGTH_DELIMITED);          // value
         output.writeUInt32NoTag(structSize);                                          //
-        VertxStructListProtoConverter.toProto((JsonArray) value, output);
-      } else if (value instanceof Instant) {
-        output.writeUInt32NoTag(valueLength);                                         // value length
-        output.writeTag(INSTANT_FIELD_NUMBER, WIRETYPE_LENGTH_DELIMITED);             // value
-        output.writeUInt32NoTag(structSize);                                          //
-        InstantProtoConverter.toProto((Instant) value, output);                       //
-      } else if (value instanceof byte[]) {
-        output.writeUInt32NoTag(valueLength);                                         // value length
-        output.writeBytes(BYTES_FIELD_NUMBER, ByteString.copyFrom((byte[]) value));   // value
+        index = VertxStructListProtoConverter.toProto((JsonArray) value, output, cache, index);
       } else {
-        throw new UnsupportedOperationException("Unsupported type " + value.getClass().getTypeName());
+        writeValue(value, output);                                                    // value
       }
     }
+    return index;
   }
 
   public static int computeSize(JsonObject obj) {
     int totalSize = 0;
     Map<String, Object> fields = obj.getMap();
     for (Map.Entry<String, Object> entry : fields.entrySet()) {
-      String key = entry.getKey();
       Object value = entry.getValue();
+      int valueLength;
+      if (value instanceof JsonObject) {
+        valueLength = structValueLength(JSON_OBJECT_FIELD_NUMBER, VertxStructProtoConverter.computeSize((JsonObject) value));
+      } else if (value instanceof JsonArray) {
+        valueLength = structValueLength(JSON_ARRAY_FIELD_NUMBER, VertxStructListProtoConverter.computeSize((JsonArray) value));
+      } else {
+        valueLength = valueLength(value);
+      }
+      totalSize += topLevelSize(entrySize(entry.getKey(), valueLength));
+    }
+    return totalSize;
+  }
 
-      int dataSize = 0;
-      int valueLength = 0;
-      if (value == null) {
-        valueLength = CodedOutputStream.computeEnumSize(NULL_FIELD_NUMBER, 0);
-      } else if (value instanceof String) {
-        valueLength = CodedOutputStream.computeStringSize(STRING_FIELD_NUMBER, (String) value);
-      } else if (value instanceof Integer) {
-        valueLength = CodedOutputStream.computeInt32Size(INTEGER_FIELD_NUMBER, (Integer) value);
-      } else if (value instanceof Long) {
-        valueLength = CodedOutputStream.computeInt64Size(LONG_FIELD_NUMBER, (Long) value);
-      } else if (value instanceof Boolean) {
-        valueLength = CodedOutputStream.computeBoolSize(BOOLEAN_FIELD_NUMBER, (Boolean) value);
-      } else if (value instanceof Double) {
-        valueLength = CodedOutputStream.computeDoubleSize(DOUBLE_FIELD_NUMBER, (Double) value);
-      } else if (value instanceof Float) {
-        valueLength = CodedOutputStream.computeFloatSize(FLOAT_FIELD_NUMBER, (Float) value);
-      } else if (value instanceof JsonObject) {
-        int structSize = VertxStructProtoConverter.computeSize((JsonObject) value);
-        valueLength += CodedOutputStream.computeTagSize(JSON_OBJECT_FIELD_NUMBER);
-        valueLength += CodedOutputStream.computeUInt32SizeNoTag(structSize);
-        valueLength += structSize;
+  /**
+   * Compute the size of {@code obj} and of its nested structs in pre-order: the size of {@code obj} is stored at
+   * {@code baseIndex} and the nested structs use the following slots.
+   *
+   * @return the index following the slots of {@code obj}
+   */
+  public static int computeSize(JsonObject obj, ExpandableIntArray cache, int baseIndex) {
+    int totalSize = 0;
+    int index = baseIndex + 1;
+    Map<String, Object> fields = obj.getMap();
+    for (Map.Entry<String, Object> entry : fields.entrySet()) {
+      Object value = entry.getValue();
+      int valueLength;
+      if (value instanceof JsonObject) {
+        int savedIndex = index;
+        index = VertxStructProtoConverter.computeSize((JsonObject) value, cache, index);
+        valueLength = structValueLength(JSON_OBJECT_FIELD_NUMBER, cache.get(savedIndex));
       } else if (value instanceof JsonArray) {
-        int structSize = VertxStructListProtoConverter.computeSize((JsonArray) value);
-        valueLength += CodedOutputStream.computeTagSize(JSON_ARRAY_FIELD_NUMBER);
-        valueLength += CodedOutputStream.computeUInt32SizeNoTag(structSize);
-        valueLength += structSize;
-      } else if (value instanceof Instant) {
-        int structSize = InstantProtoConverter.computeSize((Instant) value);
-        valueLength += CodedOutputStream.computeTagSize(INSTANT_FIELD_NUMBER);
-        valueLength += CodedOutputStream.computeUInt32SizeNoTag(structSize);
-        valueLength += structSize;
-      } else if (value instanceof byte[]) {
-        valueLength = CodedOutputStream.computeBytesSize(BYTES_FIELD_NUMBER, ByteString.copyFrom((byte[]) value));
+        int savedIndex = index;
+        index = VertxStructListProtoConverter.computeSize((JsonArray) value, cache, index);
+        valueLength = structValueLength(JSON_ARRAY_FIELD_NUMBER, cache.get(savedIndex));
       } else {
-        throw new UnsupportedOperationException("Unsupported type " + value.getClass().getTypeName());
+        valueLength = valueLength(value);
       }
-      dataSize += CodedOutputStream.computeStringSize(MAP_KEY_FIELD_NUMBER, key);
-      dataSize += CodedOutputStream.computeTagSize(MAP_VALUE_FIELD_NUMBER);         // value tag
-      dataSize += CodedOutputStream.computeUInt32SizeNoTag(valueLength);            // value length
-      dataSize += valueLength;                                                      // value
+      totalSize += topLevelSize(entrySize(entry.getKey(), valueLength));
+    }
+    cache.set(baseIndex, totalSize);
+    return index;
+  }
 
-      totalSize += CodedOutputStream.computeTagSize(TOP_LEVEL_FIELD_NUMBER);        // top-level tag
-      totalSize += CodedOutputStream.computeUInt32SizeNoTag(dataSize);              // top-level length
-      totalSize += dataSize;                                                        // key and value
+  private static int valueLength(Object value) {
+    if (value == null) {
+      return CodedOutputStream.computeEnumSize(NULL_FIELD_NUMBER, 0);
+    } else if (value instanceof String) {
+      return CodedOutputStream.computeStringSize(STRING_FIELD_NUMBER, (String) value);
+    } else if (value instanceof Integer) {
+      return CodedOutputStream.computeInt32Size(INTEGER_FIELD_NUMBER, (Integer) value);
+    } else if (value instanceof Long) {
+      return CodedOutputStream.computeInt64Size(LONG_FIELD_NUMBER, (Long) value);
+    } else if (value instanceof Boolean) {
+      return CodedOutputStream.computeBoolSize(BOOLEAN_FIELD_NUMBER, (Boolean) value);
+    } else if (value instanceof Double) {
+      return CodedOutputStream.computeDoubleSize(DOUBLE_FIELD_NUMBER, (Double) value);
+    } else if (value instanceof Float) {
+      return CodedOutputStream.computeFloatSize(FLOAT_FIELD_NUMBER, (Float) value);
+    } else if (value instanceof Instant) {
+      return structValueLength(INSTANT_FIELD_NUMBER, InstantProtoConverter.computeSize((Instant) value));
+    } else if (value instanceof byte[]) {
+      return CodedOutputStream.computeByteArraySize(BYTES_FIELD_NUMBER, (byte[]) value);
+    } else {
+      throw new UnsupportedOperationException("Unsupported type " + value.getClass().getTypeName());
     }
-    return totalSize;
   }
 
+  private static void writeValue(Object value, CodedOutputStream output) throws IOException {
+    if (value == null) {
+      output.writeEnum(NULL_FIELD_NUMBER, 0);
+    } else if (value instanceof String) {
+      output.writeString(STRING_FIELD_NUMBER, (String) value);
+    } else if (value instanceof Integer) {
+      output.writeInt32(INTEGER_FIELD_NUMBER, (Integer) value);
+    } else if (value instanceof Long) {
+      output.writeInt64(LONG_FIELD_NUMBER, (Long) value);
+    } else if (value instanceof Boolean) {
+      output.writeBool(BOOLEAN_FIELD_NUMBER, (Boolean) value);
+    } else if (value instanceof Double) {
+      output.writeDouble(DOUBLE_FIELD_NUMBER, (Double) value);
+    } else if (value instanceof Float) {
+      output.writeFloat(FLOAT_FIELD_NUMBER, (Float) value);
+    } else if (value instanceof Instant) {
+      output.writeTag(INSTANT_FIELD_NUMBER, WIRETYPE_LENGTH_DELIMITED);
+      output.writeUInt32NoTag(InstantProtoConverter.computeSize((Instant) value));
+      InstantProtoConverter.toProto((Instant) value, output);
+    } else if (value instanceof byte[]) {
+      output.writeByteArray(BYTES_FIELD_NUMBER, (byte[]) value);
+    } else {
+      throw new UnsupportedOperationException("Unsupported type " + value.getClass().getTypeName());
+    }
+  }
+
+  static int structValueLength(int fieldNumber, int structSize) {
+    return CodedOutputStream.computeTagSize(fieldNumber) + CodedOutputStream.computeUInt32SizeNoTag(structSize) + structSize;
+  }
+
+  private static int entrySize(String key, int valueLength) {
+    int dataSize = CodedOutputStream.computeStringSize(MAP_KEY_FIELD_NUMBER, key);
+    dataSize += CodedOutputStream.computeTagSize(MAP_VALUE_FIELD_NUMBER);             // value tag
+    dataSize += CodedOutputStream.computeUInt32SizeNoTag(valueLength);                // value length
+    dataSize += valueLength;                                                          // value
+    return dataSize;
+  }
+
+  static int topLevelSize(int dataSize) {
+    return CodedOutputStream.computeTagSize(TOP_LEVEL_FIELD_NUMBER)                    // top-level tag
+      + CodedOutputStream.computeUInt32SizeNoTag(dataSize)                            // top-level length
+      + dataSize;                                                                     // key and value
+  }
 }
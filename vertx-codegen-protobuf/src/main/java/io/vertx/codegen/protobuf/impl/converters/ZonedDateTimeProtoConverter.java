@@ -2,6 +2,7 @@ package io.vertx.codegen.protobuf.impl.converters;
 
 import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.CodedOutputStream;
+import io.vertx.codegen.protobuf.utils.ExpandableIntArray;
 
 import java.io.IOException;
 import java.time.Instant;
@@ -56,4 +57,14 @@ public class ZonedDateTimeProtoConverter {
     size += CodedOutputStream.computeStringSize(ZONE_FIELD_NUMBER, obj.getZone().toString());
     return size;
   }
+
+  public static int toProto(ZonedDateTime obj, CodedOutputStream output, ExpandableIntArray cache, int index) throws IOException {
+    toProto(obj, output);
+    return index + 1;
+  }
+
+  public static int computeSize(ZonedDateTime obj, ExpandableIntArray cache, int baseIndex) {
+    cache.set(baseIndex, computeSize(obj));
+    return baseIndex + 1;
+  }
 }
@@ -0,0 +1,72 @@
+package io.vertx.codegen.protobuf.utils;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import io.netty.buffer.ByteBuf;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.internal.buffer.BufferInternal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Coded streams reading and writing the memory backing a {@link Buffer} in place, without copying through a
+ * {@code byte[]}.
+ */
+public final class BufferStreams {
+
+  /**
+   * The encoding of a message of a known size.
+   */
+  @FunctionalInterface
+  public interface MessageWriter {
+    void write(CodedOutputStream output) throws IOException;
+  }
+
+  /**
+   * Append a message of exactly {@code size} bytes to {@code buffer}. The message is written in the memory of the
+   * buffer when the bytes after its writer index are backed by a single NIO buffer. Otherwise, e.g. for a composite
+   * buffer spanning several components, the NIO view would be a copy, so the message is encoded in a {@code byte[]}
+   * that is then appended.
+   *
+   * @param buffer the buffer to append to
+   * @param size the exact size of the message
+   * @param writer the message encoding
+   */
+  public static void write(Buffer buffer, int size, MessageWriter writer) throws IOException {
+    ByteBuf byteBuf = ((BufferInternal) buffer).unwrap();
+    byteBuf.ensureWritable(size);
+    if (byteBuf.nioBufferCount() == 1) {
+      CodedOutputStream output = CodedOutputStream.newInstance(byteBuf.nioBuffer(byteBuf.writerIndex(), size));
+      writer.write(output);
+      output.flush();
+      output.checkNoSpaceLeft();
+      byteBuf.writerIndex(byteBuf.writerIndex() + size);
+    } else {
+      byte[] bytes = new byte[size];
+      CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+      writer.write(output);
+      output.checkNoSpaceLeft();
+      byteBuf.writeBytes(bytes);
+    }
+  }
+
+  /**
+   * @return a stream reading the content of {@code buffer}, {@code bytes} fields are copied since the decoded data
+   *         object can outlive the buffer
+   */
+  public static CodedInputStream input(Buffer buffer) {
+    return CodedInputStream.newInstance(byteBuffer(buffer));
+  }
+
+  /**
+   * @return a view of the content of {@code buffer}, sharing its memory unless the content spans several components
+   */
+  public static ByteBuffer byteBuffer(Buffer buffer) {
+    ByteBuf byteBuf = ((BufferInternal) buffer).unwrap();
+    return byteBuf.nioBuffer(byteBuf.readerIndex(), byteBuf.readableBytes());
+  }
+
+  private BufferStreams() {
+  }
+}
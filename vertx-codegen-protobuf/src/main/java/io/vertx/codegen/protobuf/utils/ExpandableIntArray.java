@@ -3,8 +3,15 @@ package io.vertx.codegen.protobuf.utils;
 import java.util.Arrays;
 
 public class ExpandableIntArray {
+
+  /**
+   * Upper bound of the capacity hint a converter remembers for its message type.
+   */
+  public static final int MAX_CAPACITY_HINT = 1024;
+
   private int[] data;
   private int size;
+  private Utf8Cache utf8;
 
   public ExpandableIntArray(int initialCapacity) {
     data = new int[initialCapacity];
@@ -29,6 +36,31 @@ public class ExpandableIntArray {
     data[index] = v;
   }
 
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Clear the array and its string encodings so it can be reused for another encoding, the backing storage is retained.
+   */
+  public void reset() {
+    size = 0;
+    if (utf8 != null) {
+      utf8.reset();
+    }
+  }
+
+  /**
+   * @return the string encodings recorded next to the sizes, used by converters generated with
+   *         {@code cacheStringEncoding}
+   */
+  public Utf8Cache utf8() {
+    if (utf8 == null) {
+      utf8 = new Utf8Cache();
+    }
+    return utf8;
+  }
+
   public void add(int v) {
     ensureCapacity(size + 1);
     data[size++] = v;
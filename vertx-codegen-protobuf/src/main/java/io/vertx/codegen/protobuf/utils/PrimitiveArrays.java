@@ -0,0 +1,164 @@
+package io.vertx.codegen.protobuf.utils;
+
+import java.util.Arrays;
+
+/**
+ * The primitive array properties of a message being decoded, the elements of a property are appended to a buffer
+ * that grows geometrically and is trimmed once when the message ends. Packed and unpacked elements of the same
+ * field can be interleaved, a property starts with the elements of the array already set on the data object.
+ */
+public final class PrimitiveArrays {
+
+  private final Object[] buffers;
+  private final int[] sizes;
+
+  /**
+   * @param fields the number of array properties of the message
+   */
+  public PrimitiveArrays(int fields) {
+    buffers = new Object[fields];
+    sizes = new int[fields];
+  }
+
+  /**
+   * @return whether elements of the {@code field} were decoded
+   */
+  public boolean has(int field) {
+    return buffers[field] != null;
+  }
+
+  public void reserveInts(int field, int[] previous, int expected) {
+    int[] buffer = (int[]) buffers[field];
+    if (buffer == null) {
+      int size = previous == null ? 0 : previous.length;
+      buffers[field] = previous == null ? new int[expected] : Arrays.copyOf(previous, size + expected);
+      sizes[field] = size;
+    } else if (sizes[field] + expected > buffer.length) {
+      buffers[field] = Arrays.copyOf(buffer, newCapacity(buffer.length, sizes[field] + expected));
+    }
+  }
+
+  public void addInt(int field, int value) {
+    int[] buffer = (int[]) buffers[field];
+    int size = sizes[field];
+    if (size == buffer.length) {
+      buffers[field] = buffer = Arrays.copyOf(buffer, newCapacity(size, size + 1));
+    }
+    buffer[size] = value;
+    sizes[field] = size + 1;
+  }
+
+  public int[] ints(int field) {
+    int[] buffer = (int[]) buffers[field];
+    return sizes[field] == buffer.length ? buffer : Arrays.copyOf(buffer, sizes[field]);
+  }
+
+  public void reserveLongs(int field, long[] previous, int expected) {
+    long[] buffer = (long[]) buffers[field];
+    if (buffer == null) {
+      int size = previous == null ? 0 : previous.length;
+      buffers[field] = previous == null ? new long[expected] : Arrays.copyOf(previous, size + expected);
+      sizes[field] = size;
+    } else if (sizes[field] + expected > buffer.length) {
+      buffers[field] = Arrays.copyOf(buffer, newCapacity(buffer.length, sizes[field] + expected));
+    }
+  }
+
+  public void addLong(int field, long value) {
+    long[] buffer = (long[]) buffers[field];
+    int size = sizes[field];
+    if (size == buffer.length) {
+      buffers[field] = buffer = Arrays.copyOf(buffer, newCapacity(size, size + 1));
+    }
+    buffer[size] = value;
+    sizes[field] = size + 1;
+  }
+
+  public long[] longs(int field) {
+    long[] buffer = (long[]) buffers[field];
+    return sizes[field] == buffer.length ? buffer : Arrays.copyOf(buffer, sizes[field]);
+  }
+
+  public void reserveFloats(int field, float[] previous, int expected) {
+    float[] buffer = (float[]) buffers[field];
+    if (buffer == null) {
+      int size = previous == null ? 0 : previous.length;
+      buffers[field] = previous == null ? new float[expected] : Arrays.copyOf(previous, size + expected);
+      sizes[field] = size;
+    } else if (sizes[field] + expected > buffer.length) {
+      buffers[field] = Arrays.copyOf(buffer, newCapacity(buffer.length, sizes[field] + expected));
+    }
+  }
+
+  public void addFloat(int field, float value) {
+    float[] buffer = (float[]) buffers[field];
+    int size = sizes[field];
+    if (size == buffer.length) {
+      buffers[field] = buffer = Arrays.copyOf(buffer, newCapacity(size, size + 1));
+    }
+    buffer[size] = value;
+    sizes[field] = size + 1;
+  }
+
+  public float[] floats(int field) {
+    float[] buffer = (float[]) buffers[field];
+    return sizes[field] == buffer.length ? buffer : Arrays.copyOf(buffer, sizes[field]);
+  }
+
+  public void reserveDoubles(int field, double[] previous, int expected) {
+    double[] buffer = (double[]) buffers[field];
+    if (buffer == null) {
+      int size = previous == null ? 0 : previous.length;
+      buffers[field] = previous == null ? new double[expected] : Arrays.copyOf(previous, size + expected);
+      sizes[field] = size;
+    } else if (sizes[field] + expected > buffer.length) {
+      buffers[field] = Arrays.copyOf(buffer, newCapacity(buffer.length, sizes[field] + expected));
+    }
+  }
+
+  public void addDouble(int field, double value) {
+    double[] buffer = (double[]) buffers[field];
+    int size = sizes[field];
+    if (size == buffer.length) {
+      buffers[field] = buffer = Arrays.copyOf(buffer, newCapacity(size, size + 1));
+    }
+    buffer[size] = value;
+    sizes[field] = size + 1;
+  }
+
+  public double[] doubles(int field) {
+    double[] buffer = (double[]) buffers[field];
+    return sizes[field] == buffer.length ? buffer : Arrays.copyOf(buffer, sizes[field]);
+  }
+
+  public void reserveBooleans(int field, boolean[] previous, int expected) {
+    boolean[] buffer = (boolean[]) buffers[field];
+    if (buffer == null) {
+      int size = previous == null ? 0 : previous.length;
+      buffers[field] = previous == null ? new boolean[expected] : Arrays.copyOf(previous, size + expected);
+      sizes[field] = size;
+    } else if (sizes[field] + expected > buffer.length) {
+      buffers[field] = Arrays.copyOf(buffer, newCapacity(buffer.length, sizes[field] + expected));
+    }
+  }
+
+  public void addBoolean(int field, boolean value) {
+    boolean[] buffer = (boolean[]) buffers[field];
+    int size = sizes[field];
+    if (size == buffer.length) {
+      buffers[field] = buffer = Arrays.copyOf(buffer, newCapacity(size, size + 1));
+    }
+    buffer[size] = value;
+    sizes[field] = size + 1;
+  }
+
+  public boolean[] booleans(int field) {
+    boolean[] buffer = (boolean[]) buffers[field];
+    return sizes[field] == buffer.length ? buffer : Arrays.copyOf(buffer, sizes[field]);
+  }
+
+  private static int newCapacity(int oldCapacity, int minCapacity) {
+    int newCapacity = oldCapacity + (oldCapacity >> 1); // grow by 1.5 times
+    return Math.max(newCapacity, Math.max(minCapacity, 8));
+  }
+}
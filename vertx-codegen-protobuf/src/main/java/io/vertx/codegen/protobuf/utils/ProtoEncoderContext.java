@@ -0,0 +1,84 @@
+package io.vertx.codegen.protobuf.utils;
+
+import com.google.protobuf.CodedOutputStream;
+import io.vertx.codegen.protobuf.ProtobufEncodingMode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Encoding state reused across encodings: a size cache and a {@link CodedOutputStream} with its buffers.
+ * <p>
+ * A context is confined to the thread that obtained it with {@link #current()}, which on Vert.x is the event-loop
+ * of the caller, it must not be shared with another thread.
+ */
+public final class ProtoEncoderContext {
+
+  /**
+   * Output larger than this is not retained between encodings.
+   */
+  private static final int MAX_RETAINED_SIZE = 1024 * 1024;
+
+  private static final ThreadLocal<ProtoEncoderContext> CURRENT = ThreadLocal.withInitial(ProtoEncoderContext::new);
+
+  /**
+   * @return the context of the current thread
+   */
+  public static ProtoEncoderContext current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * The caller-owned cache overload of a generated {@code toProto}, e.g. {@code UserProtoConverter::toProto}.
+   */
+  @FunctionalInterface
+  public interface Encoder<T> {
+    void toProto(T obj, CodedOutputStream output, ExpandableIntArray cache, ProtobufEncodingMode encodingMode) throws IOException;
+  }
+
+  private final ExpandableIntArray sizeCache = new ExpandableIntArray(16);
+  private ByteArrayOutputStream sink;
+  private CodedOutputStream output;
+  private boolean inUse;
+
+  private ProtoEncoderContext() {
+    allocateOutput();
+  }
+
+  private void allocateOutput() {
+    sink = new ByteArrayOutputStream(256);
+    output = CodedOutputStream.newInstance(sink, CodedOutputStream.DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * Encode {@code obj} with the pooled size cache and output.
+   *
+   * @param obj the object to encode
+   * @param encoder the generated encoder
+   * @param encodingMode the encoding mode
+   * @return the encoded bytes
+   */
+  public <T> byte[] encode(T obj, Encoder<T> encoder, ProtobufEncodingMode encodingMode) throws IOException {
+    if (inUse) {
+      // Re-entrant encoding, e.g. from a getter
+      return new ProtoEncoderContext().encode(obj, encoder, encodingMode);
+    }
+    inUse = true;
+    boolean done = false;
+    try {
+      encoder.toProto(obj, output, sizeCache, encodingMode);
+      output.flush();
+      byte[] bytes = sink.toByteArray();
+      done = true;
+      return bytes;
+    } finally {
+      inUse = false;
+      if (!done || sink.size() > MAX_RETAINED_SIZE) {
+        // The output might still contain buffered bytes of a failed encoding or grew too large
+        allocateOutput();
+      } else {
+        sink.reset();
+      }
+    }
+  }
+}
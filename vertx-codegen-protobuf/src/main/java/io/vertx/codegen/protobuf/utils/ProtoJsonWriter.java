@@ -0,0 +1,358 @@
+package io.vertx.codegen.protobuf.utils;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes compact JSON text as UTF-8 bytes, the way {@code JsonObject#encode()} does, for the protobuf to JSON
+ * transcoders of the generated converters.
+ * <p>
+ * Separators are written by the writer: a value following a {@link #name(byte[])} completes the member, any other
+ * value is an element of the current array.
+ */
+public final class ProtoJsonWriter {
+
+  private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+  /**
+   * Encode a member name once, e.g. in a static field of a generated converter.
+   *
+   * @param name the member name
+   * @return the quoted and escaped name followed by {@code :}
+   */
+  public static byte[] encodeName(String name) {
+    ProtoJsonWriter writer = new ProtoJsonWriter(name.length() + 3);
+    writer.writeString(name);
+    writer.writeByte(':');
+    return writer.toByteArray();
+  }
+
+  private byte[] bytes;
+  private int length;
+  // The closing byte of each open container, and whether it has no element yet
+  private byte[] closing = new byte[16];
+  private boolean[] empty = new boolean[16];
+  private int depth;
+  private boolean afterName;
+
+  public ProtoJsonWriter() {
+    this(256);
+  }
+
+  public ProtoJsonWriter(int initialCapacity) {
+    bytes = new byte[Math.max(16, initialCapacity)];
+  }
+
+  public ProtoJsonWriter beginObject() {
+    return begin('{', '}');
+  }
+
+  public ProtoJsonWriter beginArray() {
+    return begin('[', ']');
+  }
+
+  private ProtoJsonWriter begin(char open, char close) {
+    separator();
+    writeByte(open);
+    if (++depth == closing.length) {
+      closing = Arrays.copyOf(closing, depth * 2);
+      empty = Arrays.copyOf(empty, depth * 2);
+    }
+    closing[depth] = (byte) close;
+    empty[depth] = true;
+    return this;
+  }
+
+  /**
+   * Close the current object or array.
+   */
+  public ProtoJsonWriter end() {
+    writeByte(closing[depth--]);
+    return this;
+  }
+
+  /**
+   * Write the name of the next member of the current object.
+   *
+   * @param name the name encoded with {@link #encodeName(String)}
+   */
+  public ProtoJsonWriter name(byte[] name) {
+    separator();
+    writeBytes(name, 0, name.length);
+    afterName = true;
+    return this;
+  }
+
+  /**
+   * Write the name of the next member of the current object.
+   */
+  public ProtoJsonWriter name(String name) {
+    separator();
+    writeString(name);
+    writeByte(':');
+    afterName = true;
+    return this;
+  }
+
+  private void separator() {
+    if (afterName) {
+      afterName = false;
+    } else if (depth > 0) {
+      if (empty[depth]) {
+        empty[depth] = false;
+      } else {
+        writeByte(',');
+      }
+    }
+  }
+
+  public ProtoJsonWriter value(int value) {
+    separator();
+    writeAscii(Integer.toString(value));
+    return this;
+  }
+
+  public ProtoJsonWriter value(long value) {
+    separator();
+    writeAscii(Long.toString(value));
+    return this;
+  }
+
+  public ProtoJsonWriter value(float value) {
+    separator();
+    if (Float.isFinite(value)) {
+      writeAscii(Float.toString(value));
+    } else {
+      writeString(Float.toString(value));
+    }
+    return this;
+  }
+
+  public ProtoJsonWriter value(double value) {
+    separator();
+    if (Double.isFinite(value)) {
+      writeAscii(Double.toString(value));
+    } else {
+      writeString(Double.toString(value));
+    }
+    return this;
+  }
+
+  public ProtoJsonWriter value(boolean value) {
+    separator();
+    byte[] literal = value ? TRUE : FALSE;
+    writeBytes(literal, 0, literal.length);
+    return this;
+  }
+
+  /**
+   * Write a string of a single character, as a {@code char} property is mapped to JSON.
+   */
+  public ProtoJsonWriter value(char value) {
+    separator();
+    writeString(String.valueOf(value));
+    return this;
+  }
+
+  public ProtoJsonWriter value(String value) {
+    separator();
+    if (value == null) {
+      writeBytes(NULL, 0, NULL.length);
+    } else {
+      writeString(value);
+    }
+    return this;
+  }
+
+  /**
+   * Write a string from its UTF-8 encoding, e.g. a protobuf {@code string} field, without decoding it.
+   */
+  public ProtoJsonWriter utf8Value(byte[] utf8) {
+    separator();
+    ensureCapacity(utf8.length + 2);
+    bytes[length++] = '"';
+    for (byte b : utf8) {
+      if (b >= 0x20 && b != '"' && b != '\\' || b < 0) {
+        if (length == bytes.length) {
+          ensureCapacity(1);
+        }
+        bytes[length++] = b;
+      } else {
+        writeEscape(b);
+      }
+    }
+    writeByte('"');
+    return this;
+  }
+
+  /**
+   * Write a value of a {@code JsonObject} or {@code JsonArray}: {@code null}, a string, a number, a boolean,
+   * a {@code JsonObject}, a {@code JsonArray}, a {@code Map} or a {@code List}.
+   */
+  public ProtoJsonWriter value(Object value) {
+    if (value == null || value instanceof String) {
+      value((String) value);
+    } else if (value instanceof Boolean) {
+      value((boolean) (Boolean) value);
+    } else if (value instanceof Double) {
+      value((double) (Double) value);
+    } else if (value instanceof Float) {
+      value((float) (Float) value);
+    } else if (value instanceof Number) {
+      separator();
+      writeAscii(value.toString());
+    } else if (value instanceof JsonObject) {
+      value(((JsonObject) value).getMap());
+    } else if (value instanceof JsonArray) {
+      value(((JsonArray) value).getList());
+    } else if (value instanceof Map) {
+      beginObject();
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        name(String.valueOf(entry.getKey()));
+        value(entry.getValue());
+      }
+      end();
+    } else if (value instanceof List) {
+      beginArray();
+      for (Object element : (List<?>) value) {
+        value(element);
+      }
+      end();
+    } else {
+      value(value.toString());
+    }
+    return this;
+  }
+
+  /**
+   * @return the number of bytes written
+   */
+  public int length() {
+    return length;
+  }
+
+  /**
+   * Discard the bytes written so far.
+   */
+  public ProtoJsonWriter reset() {
+    length = 0;
+    depth = 0;
+    afterName = false;
+    return this;
+  }
+
+  public byte[] toByteArray() {
+    return Arrays.copyOf(bytes, length);
+  }
+
+  /**
+   * Append the bytes written to {@code buffer}.
+   *
+   * @return the {@code buffer}
+   */
+  public Buffer writeTo(Buffer buffer) {
+    return buffer.appendBytes(bytes, 0, length);
+  }
+
+  private void writeByte(int b) {
+    if (length == bytes.length) {
+      ensureCapacity(1);
+    }
+    bytes[length++] = (byte) b;
+  }
+
+  private void writeBytes(byte[] src, int offset, int len) {
+    ensureCapacity(len);
+    System.arraycopy(src, offset, bytes, length, len);
+    length += len;
+  }
+
+  private void writeAscii(String s) {
+    int len = s.length();
+    ensureCapacity(len);
+    for (int i = 0; i < len; i++) {
+      bytes[length++] = (byte) s.charAt(i);
+    }
+  }
+
+  private void writeString(String s) {
+    int len = s.length();
+    // Worst case of 3 bytes per char, or 6 bytes for an escaped control char
+    ensureCapacity(len * 3 + 2);
+    bytes[length++] = '"';
+    for (int i = 0; i < len; i++) {
+      char c = s.charAt(i);
+      if (c < 0x80) {
+        if (c >= 0x20 && c != '"' && c != '\\') {
+          bytes[length++] = (byte) c;
+        } else {
+          writeEscape(c);
+          ensureCapacity((len - i) * 3 + 1);
+        }
+      } else if (c < 0x800) {
+        bytes[length++] = (byte) (0xC0 | (c >> 6));
+        bytes[length++] = (byte) (0x80 | (c & 0x3F));
+      } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+        int cp = Character.toCodePoint(c, s.charAt(++i));
+        bytes[length++] = (byte) (0xF0 | (cp >> 18));
+        bytes[length++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+        bytes[length++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+        bytes[length++] = (byte) (0x80 | (cp & 0x3F));
+      } else if (Character.isSurrogate(c)) {
+        bytes[length++] = '?';
+      } else {
+        bytes[length++] = (byte) (0xE0 | (c >> 12));
+        bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+        bytes[length++] = (byte) (0x80 | (c & 0x3F));
+      }
+    }
+    writeByte('"');
+  }
+
+  private void writeEscape(int c) {
+    ensureCapacity(6);
+    bytes[length++] = '\\';
+    switch (c) {
+      case '"':
+      case '\\':
+        bytes[length++] = (byte) c;
+        break;
+      case '\b':
+        bytes[length++] = 'b';
+        break;
+      case '\t':
+        bytes[length++] = 't';
+        break;
+      case '\n':
+        bytes[length++] = 'n';
+        break;
+      case '\f':
+        bytes[length++] = 'f';
+        break;
+      case '\r':
+        bytes[length++] = 'r';
+        break;
+      default:
+        bytes[length++] = 'u';
+        bytes[length++] = '0';
+        bytes[length++] = '0';
+        bytes[length++] = HEX[c >> 4];
+        bytes[length++] = HEX[c & 0xF];
+    }
+  }
+
+  private void ensureCapacity(int n) {
+    if (length + n > bytes.length) {
+      bytes = Arrays.copyOf(bytes, Math.max(length + n, bytes.length * 2));
+    }
+  }
+}
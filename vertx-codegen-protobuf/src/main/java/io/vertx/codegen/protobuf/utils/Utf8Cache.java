@@ -0,0 +1,57 @@
+package io.vertx.codegen.protobuf.utils;
+
+import com.google.protobuf.CodedOutputStream;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The UTF-8 encoding of the long strings of a message: the size computation encodes them in the order they are met
+ * and the write pass replays them in the same order.
+ * <p>
+ * Shorter strings are not recorded, encoding them twice is cheaper than allocating their bytes.
+ */
+public class Utf8Cache {
+
+  public static final int MIN_LENGTH = 64;
+
+  private byte[][] values = new byte[4][];
+  private int size;
+  private int position;
+
+  /**
+   * Like {@link CodedOutputStream#computeStringSize(int, String)}, recording the encoding of a long string.
+   */
+  public int computeStringSize(int fieldNumber, String value) {
+    if (value.length() < MIN_LENGTH) {
+      return CodedOutputStream.computeStringSize(fieldNumber, value);
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    if (size == values.length) {
+      values = Arrays.copyOf(values, size + (size >> 1));
+    }
+    values[size++] = bytes;
+    return CodedOutputStream.computeByteArraySize(fieldNumber, bytes);
+  }
+
+  /**
+   * Like {@link CodedOutputStream#writeString(int, String)}, writing the encoding recorded for a long string.
+   */
+  public void writeString(CodedOutputStream output, int fieldNumber, String value) throws IOException {
+    if (value.length() < MIN_LENGTH) {
+      output.writeString(fieldNumber, value);
+    } else {
+      if (position >= size) {
+        throw new IllegalStateException("No encoding recorded for the string");
+      }
+      output.writeByteArray(fieldNumber, values[position++]);
+    }
+  }
+
+  public void reset() {
+    Arrays.fill(values, 0, size, null);
+    size = 0;
+    position = 0;
+  }
+}
@@ -0,0 +1,102 @@
+package io.netty.buffer;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Compile stub, a heap buffer.
+ */
+public class ByteBuf {
+
+  private byte[] array;
+  private int offset;
+  private int capacity;
+  private int readerIndex;
+  private int writerIndex;
+
+  ByteBuf(int initialCapacity) {
+    this(new byte[initialCapacity], 0, initialCapacity, 0);
+  }
+
+  private ByteBuf(byte[] array, int offset, int capacity, int writerIndex) {
+    this.array = array;
+    this.offset = offset;
+    this.capacity = capacity;
+    this.writerIndex = writerIndex;
+  }
+
+  public int readerIndex() {
+    return readerIndex;
+  }
+
+  public int writerIndex() {
+    return writerIndex;
+  }
+
+  public ByteBuf writerIndex(int writerIndex) {
+    if (writerIndex < readerIndex || writerIndex > capacity) {
+      throw new IndexOutOfBoundsException();
+    }
+    this.writerIndex = writerIndex;
+    return this;
+  }
+
+  public int readableBytes() {
+    return writerIndex - readerIndex;
+  }
+
+  public ByteBuf ensureWritable(int minWritableBytes) {
+    if (writerIndex + minWritableBytes > capacity) {
+      int newCapacity = Math.max(writerIndex + minWritableBytes, capacity * 2);
+      array = Arrays.copyOfRange(array, offset, offset + newCapacity);
+      offset = 0;
+      capacity = newCapacity;
+    }
+    return this;
+  }
+
+  public ByteBuf writeBytes(byte[] src) {
+    return writeBytes(src, 0, src.length);
+  }
+
+  public ByteBuf writeBytes(byte[] src, int srcIndex, int length) {
+    ensureWritable(length);
+    System.arraycopy(src, srcIndex, array, offset + writerIndex, length);
+    writerIndex += length;
+    return this;
+  }
+
+  public ByteBuf writeBytes(ByteBuf src, int srcIndex, int length) {
+    ensureWritable(length);
+    System.arraycopy(src.array, src.offset + srcIndex, array, offset + writerIndex, length);
+    writerIndex += length;
+    return this;
+  }
+
+  public byte getByte(int index) {
+    if (index < 0 || index >= capacity) {
+      throw new IndexOutOfBoundsException();
+    }
+    return array[offset + index];
+  }
+
+  public ByteBuf getBytes(int index, byte[] dst) {
+    System.arraycopy(array, offset + index, dst, 0, dst.length);
+    return this;
+  }
+
+  public ByteBuf slice(int index, int length) {
+    if (index < 0 || length < 0 || index + length > capacity) {
+      throw new IndexOutOfBoundsException();
+    }
+    return new ByteBuf(array, offset + index, length, length);
+  }
+
+  public int nioBufferCount() {
+    return 1;
+  }
+
+  public ByteBuffer nioBuffer(int index, int length) {
+    return ByteBuffer.wrap(array, offset + index, length).slice();
+  }
+}
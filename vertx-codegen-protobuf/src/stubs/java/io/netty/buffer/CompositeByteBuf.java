@@ -0,0 +1,26 @@
+package io.netty.buffer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Compile stub, a buffer of several components: its NIO view is a copy of the components as with Netty.
+ */
+public class CompositeByteBuf extends ByteBuf {
+
+  CompositeByteBuf(int initialCapacity) {
+    super(initialCapacity);
+  }
+
+  @Override
+  public int nioBufferCount() {
+    return 2;
+  }
+
+  @Override
+  public ByteBuffer nioBuffer(int index, int length) {
+    ByteBuffer copy = ByteBuffer.allocate(length);
+    copy.put(super.nioBuffer(index, length));
+    copy.flip();
+    return copy;
+  }
+}
@@ -0,0 +1,18 @@
+package io.netty.buffer;
+
+/**
+ * Compile stub
+ */
+public final class Unpooled {
+
+  public static ByteBuf buffer(int initialCapacity) {
+    return new ByteBuf(initialCapacity);
+  }
+
+  public static CompositeByteBuf compositeBuffer() {
+    return new CompositeByteBuf(0);
+  }
+
+  private Unpooled() {
+  }
+}
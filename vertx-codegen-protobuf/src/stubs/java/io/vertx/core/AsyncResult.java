@@ -0,0 +1,17 @@
+package io.vertx.core;
+
+/**
+ * Compile stub
+ */
+public interface AsyncResult<T> {
+
+  T result();
+
+  Throwable cause();
+
+  boolean succeeded();
+
+  default boolean failed() {
+    return !succeeded();
+  }
+}
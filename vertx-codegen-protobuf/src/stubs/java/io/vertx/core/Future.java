@@ -0,0 +1,54 @@
+package io.vertx.core;
+
+/**
+ * Compile stub, a completed future.
+ */
+public interface Future<T> extends AsyncResult<T> {
+
+  static <T> Future<T> succeededFuture() {
+    return succeededFuture(null);
+  }
+
+  static <T> Future<T> succeededFuture(T result) {
+    return new Future<T>() {
+      @Override
+      public boolean succeeded() {
+        return true;
+      }
+      @Override
+      public T result() {
+        return result;
+      }
+      @Override
+      public Throwable cause() {
+        return null;
+      }
+    };
+  }
+
+  static <T> Future<T> failedFuture(Throwable failure) {
+    return new Future<T>() {
+      @Override
+      public boolean succeeded() {
+        return false;
+      }
+      @Override
+      public T result() {
+        return null;
+      }
+      @Override
+      public Throwable cause() {
+        return failure;
+      }
+    };
+  }
+
+  default boolean isComplete() {
+    return true;
+  }
+
+  default Future<T> onComplete(Handler<AsyncResult<T>> handler) {
+    handler.handle(this);
+    return this;
+  }
+}
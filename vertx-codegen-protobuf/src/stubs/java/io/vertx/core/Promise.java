@@ -0,0 +1,74 @@
+package io.vertx.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compile stub, completion handlers are called on the completing thread.
+ */
+public interface Promise<T> {
+
+  static <T> Promise<T> promise() {
+    return new Promise<T>() {
+      private final List<Handler<AsyncResult<T>>> handlers = new ArrayList<>();
+      private Future<T> completion;
+      private final Future<T> future = new Future<T>() {
+        @Override
+        public boolean isComplete() {
+          return completion != null;
+        }
+        @Override
+        public boolean succeeded() {
+          return completion != null && completion.succeeded();
+        }
+        @Override
+        public T result() {
+          return completion != null ? completion.result() : null;
+        }
+        @Override
+        public Throwable cause() {
+          return completion != null ? completion.cause() : null;
+        }
+        @Override
+        public Future<T> onComplete(Handler<AsyncResult<T>> handler) {
+          if (completion != null) {
+            handler.handle(completion);
+          } else {
+            handlers.add(handler);
+          }
+          return this;
+        }
+      };
+      @Override
+      public void complete(T result) {
+        completeWith(Future.succeededFuture(result));
+      }
+      @Override
+      public void fail(Throwable failure) {
+        completeWith(Future.failedFuture(failure));
+      }
+      private void completeWith(Future<T> result) {
+        if (completion != null) {
+          throw new IllegalStateException("Result is already complete");
+        }
+        completion = result;
+        handlers.forEach(handler -> handler.handle(result));
+        handlers.clear();
+      }
+      @Override
+      public Future<T> future() {
+        return future;
+      }
+    };
+  }
+
+  void complete(T result);
+
+  default void complete() {
+    complete(null);
+  }
+
+  void fail(Throwable failure);
+
+  Future<T> future();
+}
@@ -0,0 +1,37 @@
+package io.vertx.core.buffer;
+
+import io.vertx.core.internal.buffer.BufferInternal;
+
+/**
+ * Compile stub
+ */
+public interface Buffer {
+
+  static Buffer buffer() {
+    return BufferInternal.buffer(0);
+  }
+
+  static Buffer buffer(int initialSizeHint) {
+    return BufferInternal.buffer(initialSizeHint);
+  }
+
+  static Buffer buffer(byte[] bytes) {
+    return BufferInternal.buffer(bytes.length).appendBytes(bytes);
+  }
+
+  int length();
+
+  byte getByte(int pos);
+
+  byte[] getBytes();
+
+  Buffer appendBytes(byte[] bytes);
+
+  Buffer appendBytes(byte[] bytes, int offset, int len);
+
+  Buffer appendBuffer(Buffer buff);
+
+  Buffer appendBuffer(Buffer buff, int offset, int len);
+
+  Buffer slice(int start, int end);
+}
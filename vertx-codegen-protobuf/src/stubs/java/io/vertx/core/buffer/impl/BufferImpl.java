@@ -0,0 +1,85 @@
+package io.vertx.core.buffer.impl;
+
+import io.netty.buffer.ByteBuf;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.internal.buffer.BufferInternal;
+
+import java.util.Arrays;
+
+/**
+ * Compile stub
+ */
+public class BufferImpl implements BufferInternal {
+
+  private final ByteBuf buffer;
+
+  public BufferImpl(ByteBuf buffer) {
+    this.buffer = buffer;
+  }
+
+  @Override
+  public ByteBuf unwrap() {
+    return buffer;
+  }
+
+  @Override
+  public int length() {
+    return buffer.writerIndex();
+  }
+
+  @Override
+  public byte getByte(int pos) {
+    if (pos >= buffer.writerIndex()) {
+      throw new IndexOutOfBoundsException();
+    }
+    return buffer.getByte(pos);
+  }
+
+  @Override
+  public byte[] getBytes() {
+    byte[] bytes = new byte[buffer.writerIndex()];
+    buffer.getBytes(0, bytes);
+    return bytes;
+  }
+
+  @Override
+  public Buffer appendBytes(byte[] bytes) {
+    buffer.writeBytes(bytes);
+    return this;
+  }
+
+  @Override
+  public Buffer appendBytes(byte[] bytes, int offset, int len) {
+    buffer.writeBytes(bytes, offset, len);
+    return this;
+  }
+
+  @Override
+  public Buffer appendBuffer(Buffer buff) {
+    return appendBuffer(buff, 0, buff.length());
+  }
+
+  @Override
+  public Buffer appendBuffer(Buffer buff, int offset, int len) {
+    buffer.writeBytes(((BufferInternal) buff).unwrap(), offset, len);
+    return this;
+  }
+
+  @Override
+  public Buffer slice(int start, int end) {
+    return new BufferImpl(buffer.slice(start, end - start));
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj instanceof Buffer) {
+      return Arrays.equals(getBytes(), ((Buffer) obj).getBytes());
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(getBytes());
+  }
+}
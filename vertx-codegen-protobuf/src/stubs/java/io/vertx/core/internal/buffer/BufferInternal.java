@@ -0,0 +1,25 @@
+package io.vertx.core.internal.buffer;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.buffer.impl.BufferImpl;
+
+/**
+ * Compile stub
+ */
+public interface BufferInternal extends Buffer {
+
+  static BufferInternal buffer(int initialSizeHint) {
+    return new BufferImpl(Unpooled.buffer(initialSizeHint));
+  }
+
+  static BufferInternal buffer(ByteBuf byteBuf) {
+    return new BufferImpl(byteBuf);
+  }
+
+  /**
+   * @return the backing buffer, writes are visible to this buffer
+   */
+  ByteBuf unwrap();
+}
@@ -0,0 +1,11 @@
+package io.vertx.core.streams;
+
+import io.vertx.core.Handler;
+
+/**
+ * Compile stub
+ */
+public interface StreamBase {
+
+  StreamBase exceptionHandler(Handler<Throwable> handler);
+}
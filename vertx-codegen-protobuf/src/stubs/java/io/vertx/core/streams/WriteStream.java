@@ -0,0 +1,23 @@
+package io.vertx.core.streams;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+
+/**
+ * Compile stub
+ */
+public interface WriteStream<T> extends StreamBase {
+
+  @Override
+  WriteStream<T> exceptionHandler(Handler<Throwable> handler);
+
+  Future<Void> write(T data);
+
+  Future<Void> end();
+
+  WriteStream<T> setWriteQueueMaxSize(int maxSize);
+
+  boolean writeQueueFull();
+
+  WriteStream<T> drainHandler(Handler<Void> handler);
+}
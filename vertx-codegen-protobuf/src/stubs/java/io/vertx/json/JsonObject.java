@@ -1,7 +1,7 @@
 package io.vertx.core.json;
 
 import java.time.Instant;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.stream.Stream;
@@ -16,7 +16,7 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>> {
   private final Map<String, Object> map;
 
   public JsonObject() {
-    this(new HashMap<>());
+    this(new LinkedHashMap<>());
   }
 
   public JsonObject(Map<String, Object> map) {
@@ -32,6 +32,18 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>> {
     return map.size();
   }
 
+  public JsonObject copy() {
+    Map<String, Object> copy = new LinkedHashMap<>(map.size());
+    for (Map.Entry<String, Object> entry : map.entrySet()) {
+      Object value = entry.getValue();
+      if (value instanceof JsonObject) {
+        value = ((JsonObject) value).copy();
+      }
+      copy.put(entry.getKey(), value);
+    }
+    return new JsonObject(copy);
+  }
+
   public JsonObject put(String fieldName, Object value) {
     map.put(fieldName, value);
     return this;
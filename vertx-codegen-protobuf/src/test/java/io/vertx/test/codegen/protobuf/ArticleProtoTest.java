@@ -0,0 +1,99 @@
+package io.vertx.test.codegen.protobuf;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import io.vertx.codegen.protobuf.ProtobufEncodingMode;
+import io.vertx.codegen.protobuf.utils.ExpandableIntArray;
+import io.vertx.test.codegen.converter.Address;
+import io.vertx.test.codegen.converter.Article;
+import io.vertx.test.codegen.converter.ArticleProtoConverter;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class ArticleProtoTest {
+
+  private static String longText(String prefix) {
+    StringBuilder sb = new StringBuilder(prefix);
+    while (sb.length() < 200) {
+      sb.append(" Vert.x – schön, 快速 🚀");
+    }
+    return sb.toString();
+  }
+
+  @Test
+  public void testCachedStringEncoding() throws IOException {
+    Article root = new Article(longText("root"), "short body");
+    Address location = new Address();
+    location.setName(longText("location"));
+    location.setLongitude(1.0f);
+    location.setLatitude(2.0f);
+    root.setLocation(location);
+    Article reply = new Article("re", longText("reply"));
+    reply.setReply(new Article(longText("nested title"), longText("nested body")));
+    root.setReply(reply);
+
+    // Vertx Encode
+    byte[] encoded = vertxEncode(root);
+
+    // Decode and encode using Google's protoc plugin
+    io.vertx.protobuf.generated.Article protocObj = io.vertx.protobuf.generated.Article.parseFrom(encoded);
+    byte[] protocEncoded = protocEncode(protocObj);
+    assertArrayEquals(protocEncoded, encoded);
+
+    // Vertx Decode
+    assertEquals(root, vertxDecode(protocEncoded));
+
+    // Assert total size is equal to computed size
+    assertEquals(encoded.length, ArticleProtoConverter.computeSize(root));
+  }
+
+  @Test
+  public void testReuseCachedStringEncoding() throws IOException {
+    Article first = new Article(longText("first"), longText("first body"));
+    first.setReply(new Article(longText("first reply"), null));
+    Article second = new Article("second", longText("second body"));
+
+    ExpandableIntArray cache = new ExpandableIntArray(1);
+    for (Article article : new Article[] { first, second, first }) {
+      byte[] expected = vertxEncode(article);
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      CodedOutputStream output = CodedOutputStream.newInstance(baos);
+      ArticleProtoConverter.toProto(article, output, cache, ProtobufEncodingMode.VERTX);
+      output.flush();
+      assertArrayEquals(expected, baos.toByteArray());
+      assertArrayEquals(expected, ArticleProtoConverter.toByteArray(article));
+    }
+  }
+
+  private byte[] vertxEncode(Article obj) throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    CodedOutputStream output = CodedOutputStream.newInstance(baos);
+    ArticleProtoConverter.toProto(obj, output);
+    output.flush();
+    byte[] encoded = baos.toByteArray();
+    TestUtils.debug("Vertx encoded", encoded);
+    return encoded;
+  }
+
+  private byte[] protocEncode(io.vertx.protobuf.generated.Article obj) throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    CodedOutputStream output = CodedOutputStream.newInstance(baos);
+    obj.writeTo(output);
+    output.flush();
+    byte[] encoded = baos.toByteArray();
+    TestUtils.debug("Protoc encoded", encoded);
+    return encoded;
+  }
+
+  private Article vertxDecode(byte[] arr) throws IOException {
+    CodedInputStream input = CodedInputStream.newInstance(arr);
+    Article obj = new Article();
+    ArticleProtoConverter.fromProto(input, obj);
+    return obj;
+  }
+}
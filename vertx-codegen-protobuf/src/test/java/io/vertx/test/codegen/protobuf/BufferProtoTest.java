@@ -0,0 +1,90 @@
+package io.vertx.test.codegen.protobuf;
+
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.internal.buffer.BufferInternal;
+import io.vertx.test.codegen.converter.Address;
+import io.vertx.test.codegen.converter.RecursiveItem;
+import io.vertx.test.codegen.converter.RecursiveItemProtoConverter;
+import io.vertx.test.codegen.converter.User;
+import io.vertx.test.codegen.converter.UserProtoConverter;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class BufferProtoTest {
+
+  private static User user() {
+    Address address = new Address();
+    address.setName("Addr-1");
+    address.setLatitude(3.301f);
+    address.setLongitude(4.401f);
+    User user = new User();
+    user.setUserName("jviet");
+    user.setAge(21);
+    user.setIntegerListField(Arrays.asList(1, 2, 3));
+    user.setStructListField(Arrays.asList(address, address));
+    user.setAddress(address);
+    return user;
+  }
+
+  @Test
+  public void testToBuffer() throws IOException {
+    User user = user();
+    Buffer buffer = UserProtoConverter.toBuffer(user);
+    assertEquals(UserProtoConverter.computeSize(user), buffer.length());
+    assertArrayEquals(UserProtoConverter.toByteArray(user), buffer.getBytes());
+
+    User decoded = new User();
+    UserProtoConverter.fromBuffer(buffer, decoded);
+    assertEquals(user, decoded);
+  }
+
+  @Test
+  public void testAppendToBuffer() throws IOException {
+    RecursiveItem item = new RecursiveItem("root");
+    item.setChildA(new RecursiveItem("a"));
+    item.setChildC(new RecursiveItem("c"));
+    byte[] expected = RecursiveItemProtoConverter.toByteArray(item);
+
+    Buffer buffer = Buffer.buffer(1).appendBytes(new byte[] { 1, 2, 3 });
+    assertEquals(buffer, RecursiveItemProtoConverter.toBuffer(item, buffer));
+    assertEquals(3 + expected.length, buffer.length());
+    byte[] bytes = buffer.getBytes();
+    assertArrayEquals(new byte[] { 1, 2, 3 }, Arrays.copyOfRange(bytes, 0, 3));
+    assertArrayEquals(expected, Arrays.copyOfRange(bytes, 3, bytes.length));
+
+    RecursiveItemProtoConverter.toBuffer(item, buffer);
+    assertEquals(3 + 2 * expected.length, buffer.length());
+  }
+
+  @Test
+  public void testToCompositeBuffer() throws IOException {
+    User user = user();
+    Buffer buffer = BufferInternal.buffer(Unpooled.compositeBuffer());
+    UserProtoConverter.toBuffer(user, buffer);
+    UserProtoConverter.toDelimitedBuffer(user, buffer);
+    byte[] expected = UserProtoConverter.toByteArray(user);
+    byte[] bytes = buffer.getBytes();
+    assertArrayEquals(expected, Arrays.copyOfRange(bytes, 0, expected.length));
+    assertEquals(expected.length, bytes[expected.length]);
+    assertArrayEquals(expected, Arrays.copyOfRange(bytes, expected.length + 1, bytes.length));
+
+    User decoded = new User();
+    UserProtoConverter.fromBuffer(buffer.slice(0, expected.length), decoded);
+    assertEquals(user, decoded);
+  }
+
+  @Test
+  public void testFromBuffer() throws IOException {
+    User user = user();
+    Buffer buffer = Buffer.buffer(UserProtoConverter.toByteArray(user));
+    User decoded = new User();
+    UserProtoConverter.fromBuffer(buffer, decoded);
+    assertEquals(user, decoded);
+  }
+}
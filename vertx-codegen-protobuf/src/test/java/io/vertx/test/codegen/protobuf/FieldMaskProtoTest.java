@@ -0,0 +1,121 @@
+package io.vertx.test.codegen.protobuf;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import io.vertx.codegen.protobuf.FieldMask;
+import io.vertx.core.json.JsonObject;
+import io.vertx.test.codegen.converter.Address;
+import io.vertx.test.codegen.converter.AddressProtoConverter;
+import io.vertx.test.codegen.converter.User;
+import io.vertx.test.codegen.converter.UserProtoConverter;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class FieldMaskProtoTest {
+
+  private static User user() {
+    Address address = new Address();
+    address.setName("Addr-1");
+    address.setLatitude(3.301f);
+    address.setLongitude(4.401f);
+    User user = new User();
+    user.setUserName("jviet");
+    user.setAge(21);
+    user.setIntegerListField(Arrays.asList(1, 2, 3));
+    user.setStructListField(Arrays.asList(address, address));
+    user.setAddress(address);
+    user.setStringValueMap(Collections.singletonMap("key", "value"));
+    user.setJsonObjectField(new JsonObject().put("nested", new JsonObject().put("value", 4)));
+    user.setPrimitiveLong(300000L);
+    return user;
+  }
+
+  @Test
+  public void testFieldMask() {
+    FieldMask mask = FieldMask.of(1, 7, 130);
+    assertTrue(mask.contains(1));
+    assertTrue(mask.contains(7));
+    assertTrue(mask.contains(130));
+    assertFalse(mask.contains(2));
+    assertFalse(mask.contains(131));
+    assertFalse(mask.contains(1 << 20));
+    assertFalse(mask.contains(-1));
+    assertTrue(mask.containsTag((7 << 3) | 2));
+    assertEquals(130, mask.maxFieldNumber());
+    assertFalse(mask.isStopAfterLastField());
+    assertTrue(mask.stopAfterLastField().isStopAfterLastField());
+  }
+
+  @Test
+  public void testProjection() throws IOException {
+    User user = user();
+    byte[] encoded = UserProtoConverter.toByteArray(user);
+
+    FieldMask mask = UserProtoConverter.fieldMask("age", "address", "primitiveLong");
+    User decoded = new User();
+    UserProtoConverter.fromProto(CodedInputStream.newInstance(encoded), decoded, mask);
+
+    assertEquals(user.getAge(), decoded.getAge());
+    assertEquals(user.getAddress(), decoded.getAddress());
+    assertEquals(user.getPrimitiveLong(), decoded.getPrimitiveLong());
+    assertNull(decoded.getUserName());
+    assertNull(decoded.getIntegerListField());
+    assertNull(decoded.getStructListField());
+    assertNull(decoded.getStringValueMap());
+    assertNull(decoded.getJsonObjectField());
+  }
+
+  @Test
+  public void testStopAfterLastField() throws IOException {
+    User user = user();
+    byte[] encoded = UserProtoConverter.toByteArray(user);
+
+    FieldMask mask = UserProtoConverter.fieldMask("userName", "integerListField").stopAfterLastField();
+    CodedInputStream input = CodedInputStream.newInstance(encoded);
+    User decoded = new User();
+    UserProtoConverter.fromProto(input, decoded, mask);
+
+    assertEquals(user.getUserName(), decoded.getUserName());
+    assertEquals(user.getIntegerListField(), decoded.getIntegerListField());
+    assertNull(decoded.getAddress());
+    assertFalse(input.isAtEnd());
+  }
+
+  @Test
+  public void testUnknownProperty() {
+    try {
+      UserProtoConverter.fieldMask("userName", "doesNotExist");
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  @Test
+  public void testSkipUnknownFields() throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    CodedOutputStream output = CodedOutputStream.newInstance(baos);
+    output.writeString(100, "unknown");
+    output.writeInt64(101, -1L);
+    output.writeString(1, "Addr-1");
+    output.writeDouble(102, 1.5d);
+    output.writeFloat(103, 2.5f);
+    output.writeFloat(2, 4.401f);
+    output.flush();
+
+    Address decoded = new Address();
+    AddressProtoConverter.fromProto(CodedInputStream.newInstance(baos.toByteArray()), decoded);
+    assertEquals("Addr-1", decoded.getName());
+    assertEquals(4.401f, decoded.getLongitude(), 0f);
+    assertNull(decoded.getLatitude());
+  }
+}
@@ -256,6 +256,27 @@ public class GoogleStructProtoTest {
     Assert.assertEquals(encoded.length, GoogleStructProtoConverter.computeSize(jsonObject));
   }
 
+  @Test
+  public void TestDeeplyNestedJsonObject() throws IOException {
+    JsonObject jsonObject = new JsonObject().put("level", 10);
+    for (int level = 9;level >= 0;level--) {
+      jsonObject = new JsonObject()
+        .put("name", "level-" + level)
+        .put("child", jsonObject)
+        .put("children", new JsonArray().add(new JsonObject().put("name", "first")).add(jsonObject.copy()));
+    }
+
+    // Vertx Encode
+    byte[] encoded = vertxEncode(jsonObject);
+
+    // Encode using Google's protoc plugin
+    byte[] protocEncoded = protocEncode(com.google.protobuf.Struct.parseFrom(encoded));
+    assertArrayEquals(protocEncoded, encoded);
+
+    // Verify ComputeSize
+    Assert.assertEquals(encoded.length, GoogleStructProtoConverter.computeSize(jsonObject));
+  }
+
   private byte[] vertxEncode(JsonObject obj) throws IOException {
     ByteArrayOutputStream baos = new ByteArrayOutputStream();
     CodedOutputStream output = CodedOutputStream.newInstance(baos);
@@ -0,0 +1,192 @@
+package io.vertx.test.codegen.protobuf;
+
+import io.vertx.codegen.processor.Compiler;
+import io.vertx.codegen.processor.Processor;
+import io.vertx.codegen.processor.writer.MethodChunks;
+import io.vertx.codegen.protobuf.ProtobufEncodingMode;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.test.codegen.MethodSizes;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import java.io.File;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compiles a data object with hundreds of properties, its converter methods must remain small enough to be JIT compiled.
+ */
+public class LargeDataObjectProtoTest {
+
+  private static final int PROPERTIES = 500;
+  private static final String PACKAGE = "io.vertx.test.codegen.large";
+
+  private static File classes;
+
+  @BeforeClass
+  public static void compile() throws Exception {
+    File sources = Files.createTempDirectory("large").toFile();
+    File dir = new File(sources, PACKAGE.replace('.', '/'));
+    assertTrue(dir.mkdirs());
+    File packageInfo = new File(dir, "package-info.java");
+    File dataObject = new File(dir, "LargeDataObject.java");
+    Files.write(packageInfo.toPath(), ("@io.vertx.codegen.annotations.ModuleGen(name = \"large\", groupPackage = \"" + PACKAGE + "\")\n" +
+      "package " + PACKAGE + ";\n").getBytes(StandardCharsets.UTF_8));
+    Files.write(dataObject.toPath(), dataObjectSource().getBytes(StandardCharsets.UTF_8));
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    Compiler compiler = new Compiler(new Processor(), diagnostics);
+    assertTrue(diagnostics.getDiagnostics().toString(), compiler.compile(packageInfo, dataObject));
+    classes = compiler.getClassOutput();
+  }
+
+  private static String dataObjectSource() {
+    StringBuilder source = new StringBuilder();
+    source.append("package " + PACKAGE + ";\n");
+    source.append("\n");
+    source.append("import io.vertx.codegen.annotations.DataObject;\n");
+    source.append("import io.vertx.codegen.json.annotations.JsonGen;\n");
+    source.append("import io.vertx.codegen.protobuf.annotations.FieldNumberStrategy;\n");
+    source.append("import io.vertx.codegen.protobuf.annotations.ProtobufGen;\n");
+    source.append("import io.vertx.core.json.JsonObject;\n");
+    source.append("\n");
+    source.append("@DataObject\n");
+    source.append("@JsonGen\n");
+    source.append("@ProtobufGen(fieldNumberStrategy = FieldNumberStrategy.COMPACT, transcodeToJson = true)\n");
+    source.append("public class LargeDataObject {\n");
+    for (int i = 0; i < PROPERTIES; i++) {
+      String type = propertyType(i);
+      source.append("  private " + type + " property" + i + ";\n");
+      source.append("  public " + type + " getProperty" + i + "() { return property" + i + "; }\n");
+      source.append("  public LargeDataObject setProperty" + i + "(" + type + " value) { property" + i + " = value; return this; }\n");
+    }
+    source.append("  public JsonObject toJson() { JsonObject json = new JsonObject(); LargeDataObjectConverter.toJson(this, json); return json; }\n");
+    source.append("}\n");
+    return source.toString();
+  }
+
+  private static String propertyType(int i) {
+    switch (i % 10) {
+      case 0:
+        return "String";
+      case 1:
+        return "int";
+      case 2:
+        return "Integer";
+      case 3:
+        return "long";
+      case 4:
+        return "double";
+      case 5:
+        return "boolean";
+      case 6:
+        return "java.util.List<String>";
+      case 7:
+        return "java.util.Map<String, Integer>";
+      case 8:
+        return "java.time.Instant";
+      default:
+        return "Float";
+    }
+  }
+
+  private static Object propertyValue(int i) {
+    switch (i % 10) {
+      case 0:
+        return "value" + i;
+      case 1:
+      case 2:
+        return i + 1;
+      case 3:
+        return (long) i + 1;
+      case 4:
+        return i + 0.5d;
+      case 5:
+        return true;
+      case 6:
+        return Collections.singletonList("value" + i);
+      case 7:
+        return Collections.singletonMap("key", i);
+      case 8:
+        return Instant.ofEpochSecond(i);
+      default:
+        return i + 0.5f;
+    }
+  }
+
+  @Test
+  public void testMethodSizes() throws Exception {
+    Map<String, Integer> sizes = MethodSizes.of(new File(classes, PACKAGE.replace('.', '/') + "/LargeDataObjectProtoConverter.class"));
+    sizes.forEach((method, size) -> {
+      // The static initializer only runs once
+      if (!method.startsWith("<clinit>")) {
+        assertTrue(method + " has " + size + " bytes of bytecode", size < MethodChunks.HUGE_METHOD_LIMIT);
+      }
+    });
+    assertTrue(sizes.keySet().stream().anyMatch(method -> method.startsWith("readField1(")));
+    assertTrue(sizes.keySet().stream().anyMatch(method -> method.startsWith("toProtoFields1(")));
+    assertTrue(sizes.keySet().stream().anyMatch(method -> method.startsWith("computeSizeFields1(")));
+    assertTrue(sizes.keySet().stream().anyMatch(method -> method.startsWith("transcodeFields1(")));
+  }
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    testRoundTrip(ProtobufEncodingMode.VERTX);
+    testRoundTrip(ProtobufEncodingMode.GOOGLE_COMPATIBLE);
+  }
+
+  private static Object dataObject(Class<?> type) throws Exception {
+    Object obj = type.getConstructor().newInstance();
+    for (int i = 0; i < PROPERTIES; i++) {
+      Method getter = type.getMethod("getProperty" + i);
+      type.getMethod("setProperty" + i, getter.getReturnType()).invoke(obj, propertyValue(i));
+    }
+    return obj;
+  }
+
+  private void testRoundTrip(ProtobufEncodingMode encodingMode) throws Exception {
+    try (URLClassLoader loader = new URLClassLoader(new URL[]{classes.toURI().toURL()}, getClass().getClassLoader())) {
+      Class<?> type = loader.loadClass(PACKAGE + ".LargeDataObject");
+      Class<?> converter = loader.loadClass(PACKAGE + ".LargeDataObjectProtoConverter");
+      Object obj = dataObject(type);
+      Method toByteArray = converter.getMethod("toByteArray", type, ProtobufEncodingMode.class);
+      byte[] bytes = (byte[]) toByteArray.invoke(null, obj, encodingMode);
+      assertEquals(bytes.length, converter.getMethod("computeSize", type, ProtobufEncodingMode.class).invoke(null, obj, encodingMode));
+      Object decoded = type.getConstructor().newInstance();
+      converter.getMethod("fromBuffer", Buffer.class, type, ProtobufEncodingMode.class)
+        .invoke(null, Buffer.buffer(bytes), decoded, encodingMode);
+      for (int i = 0; i < PROPERTIES; i++) {
+        Method getter = type.getMethod("getProperty" + i);
+        assertEquals("property" + i, getter.invoke(obj), getter.invoke(decoded));
+      }
+      assertArrayEquals(bytes, (byte[]) toByteArray.invoke(null, decoded, encodingMode));
+    }
+  }
+
+  @Test
+  public void testTranscodeToJson() throws Exception {
+    try (URLClassLoader loader = new URLClassLoader(new URL[]{classes.toURI().toURL()}, getClass().getClassLoader())) {
+      Class<?> type = loader.loadClass(PACKAGE + ".LargeDataObject");
+      Class<?> converter = loader.loadClass(PACKAGE + ".LargeDataObjectProtoConverter");
+      // The empty object only has the default values of the primitive fields
+      for (Object obj : new Object[]{dataObject(type), type.getConstructor().newInstance()}) {
+        Buffer proto = (Buffer) converter.getMethod("toBuffer", type).invoke(null, obj);
+        Buffer json = (Buffer) converter.getMethod("transcodeToJson", Buffer.class).invoke(null, proto);
+        JsonObject expected = (JsonObject) type.getMethod("toJson").invoke(obj);
+        assertEquals(TestUtils.encodeJson(expected), new String(json.getBytes(), StandardCharsets.UTF_8));
+      }
+    }
+  }
+}
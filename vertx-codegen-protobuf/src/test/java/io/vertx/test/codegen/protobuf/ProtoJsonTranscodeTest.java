@@ -0,0 +1,146 @@
+package io.vertx.test.codegen.protobuf;
+
+import io.vertx.codegen.processor.Compiler;
+import io.vertx.codegen.processor.Processor;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.test.codegen.converter.EnumType;
+import io.vertx.test.codegen.converter.Product;
+import io.vertx.test.codegen.converter.ProductProtoConverter;
+import io.vertx.test.codegen.converter.Supplier;
+import org.junit.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ProtoJsonTranscodeTest {
+
+  private static final String PACKAGE = "io.vertx.test.codegen.transcode";
+
+  private static Supplier supplier(String name, int rank) {
+    Supplier supplier = new Supplier();
+    supplier.setName(name);
+    supplier.setRank(rank);
+    return supplier;
+  }
+
+  private static Product product() {
+    Map<String, Long> counters = new LinkedHashMap<>();
+    counters.put("x", 1L);
+    counters.put("y", 2L);
+    Product product = new Product();
+    product.setName("Widget \"Pro\"");
+    product.setQuantity(3);
+    product.setAvailable(true);
+    product.setPrice(9.5d);
+    product.setGrade('B');
+    product.setCategory(EnumType.C);
+    product.setCreatedAt(Instant.ofEpochSecond(1_000_000, 500));
+    product.setUpdatedAt(ZonedDateTime.now());
+    product.setTags(Arrays.asList("a", "\u00e9"));
+    product.setRatings(Arrays.asList(5, -1));
+    product.setLabels(Arrays.asList(EnumType.A, EnumType.C));
+    product.setCounters(counters);
+    product.setSupplier(supplier("Acme", 0));
+    product.setAlternates(Collections.singletonList(supplier("B", 2)));
+    product.setSuppliersByRegion(Collections.singletonMap("eu", supplier("C", 1)));
+    product.setAttributes(new JsonObject().put("color", "red"));
+    return product;
+  }
+
+  private static String transcode(Product product) throws IOException {
+    Buffer json = ProductProtoConverter.transcodeToJson(ProductProtoConverter.toBuffer(product));
+    return new String(json.getBytes(), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testTranscode() throws IOException {
+    assertEquals("{\"name\":\"Widget \\\"Pro\\\"\",\"quantity\":3,\"stock\":0,\"available\":true,\"price\":9.5," +
+      "\"grade\":\"B\",\"category\":\"C\",\"created_at\":\"1970-01-12T13:46:40.000000500Z\",\"tags\":[\"a\",\"\u00e9\"]," +
+      "\"ratings\":[5,-1],\"labels\":[\"A\",\"C\"],\"counters\":{\"x\":1,\"y\":2},\"supplier\":{\"name\":\"Acme\",\"rank\":0}," +
+      "\"alternates\":[{\"name\":\"B\",\"rank\":2}],\"suppliers_by_region\":{\"eu\":{\"name\":\"C\",\"rank\":1}}," +
+      "\"attributes\":{\"color\":\"red\"}}", transcode(product()));
+  }
+
+  @Test
+  public void testSameAsToJson() throws IOException {
+    Product product = product();
+    assertEquals(TestUtils.encodeJson(product.toJson()), transcode(product));
+  }
+
+  @Test
+  public void testEmpty() throws IOException {
+    Product product = new Product();
+    assertEquals("{\"stock\":0,\"available\":false,\"price\":0.0}", transcode(product));
+    assertEquals(TestUtils.encodeJson(product.toJson()), transcode(product));
+  }
+
+  @Test
+  public void testDefaultsBetweenFields() throws IOException {
+    Product product = new Product();
+    product.setName("n");
+    product.setPrice(1.5d);
+    product.setTags(Collections.singletonList("t"));
+    assertEquals("{\"name\":\"n\",\"stock\":0,\"available\":false,\"price\":1.5,\"tags\":[\"t\"]}", transcode(product));
+    assertEquals(TestUtils.encodeJson(product.toJson()), transcode(product));
+  }
+
+  @Test
+  public void testFieldNumbersNotInPropertyOrder() throws Exception {
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    assertFalse(compileReordered(true, diagnostics));
+    assertTrue(diagnostics.getDiagnostics().toString(), diagnostics.getDiagnostics()
+      .stream()
+      .anyMatch(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR &&
+        diagnostic.getMessage(null).contains("property second has a field number lower than property first")));
+  }
+
+  @Test
+  public void testFieldNumbersNotInPropertyOrderWithoutTranscoding() throws Exception {
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    assertTrue(diagnostics.getDiagnostics().toString(), compileReordered(false, diagnostics));
+  }
+
+  private static boolean compileReordered(boolean transcodeToJson, DiagnosticCollector<JavaFileObject> diagnostics) throws Exception {
+    File sources = Files.createTempDirectory("transcode").toFile();
+    File dir = new File(sources, PACKAGE.replace('.', '/'));
+    assertTrue(dir.mkdirs());
+    File packageInfo = new File(dir, "package-info.java");
+    File dataObject = new File(dir, "Reordered.java");
+    Files.write(packageInfo.toPath(), ("@io.vertx.codegen.annotations.ModuleGen(name = \"transcode\", groupPackage = \"" + PACKAGE + "\")\n" +
+      "package " + PACKAGE + ";\n").getBytes(StandardCharsets.UTF_8));
+    Files.write(dataObject.toPath(), ("package " + PACKAGE + ";\n" +
+      "import io.vertx.codegen.protobuf.annotations.FieldNumberStrategy;\n" +
+      "import io.vertx.codegen.protobuf.annotations.ProtobufField;\n" +
+      "@io.vertx.codegen.annotations.DataObject\n" +
+      "@io.vertx.codegen.json.annotations.JsonGen(publicConverter = false)\n" +
+      "@io.vertx.codegen.protobuf.annotations.ProtobufGen(fieldNumberStrategy = FieldNumberStrategy.MANUAL, transcodeToJson = " + transcodeToJson + ")\n" +
+      "public class Reordered {\n" +
+      "  @ProtobufField(2) private String first;\n" +
+      "  @ProtobufField(1) private String second;\n" +
+      "  public Reordered() {}\n" +
+      "  public Reordered(io.vertx.core.json.JsonObject json) {}\n" +
+      "  public String getFirst() { return first; }\n" +
+      "  public Reordered setFirst(String value) { first = value; return this; }\n" +
+      "  public String getSecond() { return second; }\n" +
+      "  public Reordered setSecond(String value) { second = value; return this; }\n" +
+      "}\n").getBytes(StandardCharsets.UTF_8));
+    Compiler compiler = new Compiler(new Processor(), diagnostics);
+    return compiler.compile(packageInfo, dataObject);
+  }
+}
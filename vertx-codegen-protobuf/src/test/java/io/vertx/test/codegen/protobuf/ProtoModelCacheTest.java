@@ -0,0 +1,67 @@
+package io.vertx.test.codegen.protobuf;
+
+import io.vertx.codegen.processor.Compiler;
+import io.vertx.codegen.processor.Processor;
+import org.junit.Test;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The model cache re-emits the converters of unchanged data objects while the incremental {@code ProtoFileGen} still
+ * aggregates them in the proto file.
+ */
+public class ProtoModelCacheTest {
+
+  private static final String PACKAGE = "io.vertx.test.codegen.cached";
+
+  @Test
+  public void testDataObjectCacheHits() throws Exception {
+    File dir = Files.createTempDirectory("cached").toFile();
+    File sources = new File(dir, "sources/" + PACKAGE.replace('.', '/'));
+    assertTrue(sources.mkdirs());
+    File packageInfo = new File(sources, "package-info.java");
+    File dataObject = new File(sources, "Cached.java");
+    Files.write(packageInfo.toPath(), ("@io.vertx.codegen.annotations.ModuleGen(name = \"cached\", groupPackage = \"" + PACKAGE + "\")\n" +
+      "package " + PACKAGE + ";\n").getBytes(StandardCharsets.UTF_8));
+    Files.write(dataObject.toPath(), ("package " + PACKAGE + ";\n" +
+      "@io.vertx.codegen.annotations.DataObject\n" +
+      "@io.vertx.codegen.protobuf.annotations.ProtobufGen(fieldNumberStrategy = io.vertx.codegen.protobuf.annotations.FieldNumberStrategy.COMPACT)\n" +
+      "public class Cached {\n" +
+      "  private String name;\n" +
+      "  public Cached() {}\n" +
+      "  public String getName() { return name; }\n" +
+      "  public Cached setName(String name) { this.name = name; return this; }\n" +
+      "}\n").getBytes(StandardCharsets.UTF_8));
+    File cache = new File(dir, "cache");
+    String[] expected = {
+      "Model cache: 0 hits, 1 misses",
+      "Model cache: 1 hits, 0 misses"
+    };
+    for (int i = 0;i < expected.length;i++) {
+      File classes = new File(dir, "classes" + i);
+      assertTrue(classes.mkdirs());
+      DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+      Compiler compiler = new Compiler(new Processor(), diagnostics);
+      compiler.setClassOutput(classes);
+      compiler.setSourceOutput(classes);
+      compiler.addOption("-Acodegen.cache=" + cache.getAbsolutePath());
+      assertTrue(diagnostics.getDiagnostics().toString(), compiler.compile(packageInfo, dataObject));
+      assertEquals(expected[i], diagnostics.getDiagnostics()
+        .stream()
+        .map(diagnostic -> diagnostic.getMessage(null))
+        .filter(msg -> msg.startsWith("Model cache: "))
+        .findFirst()
+        .orElseThrow(AssertionError::new));
+      assertTrue(new File(classes, PACKAGE.replace('.', '/') + "/CachedProtoConverter.java").isFile());
+      String proto = new String(Files.readAllBytes(new File(classes, "dataobjects.proto").toPath()), StandardCharsets.UTF_8);
+      assertTrue(proto, proto.contains("message Cached {"));
+    }
+  }
+}
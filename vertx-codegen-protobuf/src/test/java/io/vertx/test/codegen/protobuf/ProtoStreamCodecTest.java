@@ -0,0 +1,287 @@
+package io.vertx.test.codegen.protobuf;
+
+import io.vertx.codegen.protobuf.ProtoStreamCodec;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.core.streams.WriteStream;
+import io.vertx.test.codegen.converter.Address;
+import io.vertx.test.codegen.converter.AddressProtoConverter;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ProtoStreamCodecTest {
+
+  private static List<Address> addresses(int count) {
+    List<Address> addresses = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      Address address = new Address();
+      address.setName("Addr-" + i);
+      address.setLatitude((float) i);
+      address.setLongitude(i + 0.5f);
+      addresses.add(address);
+    }
+    return addresses;
+  }
+
+  private static Buffer concat(List<Buffer> buffers) {
+    Buffer result = Buffer.buffer();
+    for (Buffer buffer : buffers) {
+      result.appendBuffer(buffer);
+    }
+    return result;
+  }
+
+  @Test
+  public void testDelimitedEncoding() throws IOException {
+    Address address = addresses(1).get(0);
+    byte[] message = AddressProtoConverter.toByteArray(address);
+    byte[] delimited = AddressProtoConverter.streamCodec().encode(address).getBytes();
+    assertEquals(message.length + 1, delimited.length);
+    assertEquals(message.length, delimited[0]);
+    assertArrayEquals(message, Arrays.copyOfRange(delimited, 1, delimited.length));
+  }
+
+  @Test
+  public void testWriteInBatches() throws IOException {
+    ProtoStreamCodec<Address> codec = AddressProtoConverter.streamCodec().setBatchSize(64);
+    List<Address> addresses = addresses(20);
+    FakeWriteStream stream = new FakeWriteStream();
+    codec.write(stream, addresses);
+    assertTrue(stream.writes.size() > 1);
+    Buffer expected = Buffer.buffer();
+    for (Address address : addresses) {
+      codec.encode(address, expected);
+    }
+    assertEquals(expected, concat(stream.writes));
+  }
+
+  @Test
+  public void testWriteStopsWhenQueueFull() throws IOException {
+    ProtoStreamCodec<Address> codec = AddressProtoConverter.streamCodec().setBatchSize(64);
+    List<Address> addresses = addresses(20);
+    FakeWriteStream stream = new FakeWriteStream();
+    stream.full = true;
+    Future<Void> written = codec.write(stream, addresses);
+    assertEquals(1, stream.writes.size());
+    assertNotNull(stream.drainHandler);
+    assertFalse(written.isComplete());
+    stream.full = false;
+    stream.drain();
+    assertNull(stream.drainHandler);
+    assertTrue(written.succeeded());
+    Buffer expected = Buffer.buffer();
+    for (Address address : addresses) {
+      codec.encode(address, expected);
+    }
+    assertEquals(expected, concat(stream.writes));
+  }
+
+  @Test
+  public void testParseAcrossChunks() throws IOException {
+    ProtoStreamCodec<Address> codec = AddressProtoConverter.streamCodec();
+    List<Address> addresses = addresses(5);
+    Buffer encoded = Buffer.buffer();
+    for (Address address : addresses) {
+      codec.encode(address, encoded);
+    }
+    FakeReadStream source = new FakeReadStream();
+    List<Address> received = new ArrayList<>();
+    boolean[] ended = new boolean[1];
+    codec.parse(source).endHandler(v -> ended[0] = true).handler(received::add);
+    byte[] bytes = encoded.getBytes();
+    for (int i = 0; i < bytes.length; i += 3) {
+      source.push(Buffer.buffer(Arrays.copyOfRange(bytes, i, Math.min(bytes.length, i + 3))));
+    }
+    assertFalse(ended[0]);
+    source.end();
+    assertEquals(addresses, received);
+    assertTrue(ended[0]);
+  }
+
+  @Test
+  public void testParseLargeMessageAcrossChunks() throws IOException {
+    ProtoStreamCodec<Address> codec = AddressProtoConverter.streamCodec();
+    Address large = addresses(1).get(0);
+    StringBuilder name = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      name.append("Large-").append(i);
+    }
+    large.setName(name.toString());
+    List<Address> addresses = new ArrayList<>(addresses(2));
+    addresses.add(1, large);
+    Buffer encoded = Buffer.buffer();
+    for (Address address : addresses) {
+      codec.encode(address, encoded);
+    }
+    FakeReadStream source = new FakeReadStream();
+    List<Address> received = new ArrayList<>();
+    codec.parse(source).handler(received::add);
+    byte[] bytes = encoded.getBytes();
+    // single byte chunks split the two bytes size prefix of the large message
+    for (int i = 0; i < bytes.length; i++) {
+      source.push(Buffer.buffer(new byte[] { bytes[i] }));
+    }
+    source.end();
+    assertEquals(addresses, received);
+  }
+
+  @Test
+  public void testBackPressure() throws IOException {
+    ProtoStreamCodec<Address> codec = AddressProtoConverter.streamCodec();
+    List<Address> addresses = addresses(3);
+    Buffer encoded = Buffer.buffer();
+    for (Address address : addresses) {
+      codec.encode(address, encoded);
+    }
+    FakeReadStream source = new FakeReadStream();
+    List<Address> received = new ArrayList<>();
+    ReadStream<Address> parsed = codec.parse(source).handler(received::add).pause();
+    assertTrue(source.paused);
+    source.push(encoded);
+    assertEquals(0, received.size());
+    parsed.fetch(1);
+    assertEquals(addresses.subList(0, 1), received);
+    assertTrue(source.paused);
+    parsed.fetch(2);
+    assertEquals(addresses, received);
+    assertTrue(source.paused);
+    parsed.fetch(1);
+    assertFalse(source.paused);
+  }
+
+  @Test
+  public void testMaxMessageSize() throws IOException {
+    ProtoStreamCodec<Address> codec = AddressProtoConverter.streamCodec().setMaxMessageSize(4);
+    FakeReadStream source = new FakeReadStream();
+    List<Address> received = new ArrayList<>();
+    Throwable[] failure = new Throwable[1];
+    codec.parse(source).exceptionHandler(err -> failure[0] = err).handler(received::add);
+    source.push(codec.encode(addresses(1).get(0)));
+    assertNotNull(failure[0]);
+    assertEquals(0, received.size());
+    assertTrue(source.paused);
+  }
+
+  @Test
+  public void testTruncatedMessage() throws IOException {
+    ProtoStreamCodec<Address> codec = AddressProtoConverter.streamCodec();
+    byte[] bytes = codec.encode(addresses(1).get(0)).getBytes();
+    FakeReadStream source = new FakeReadStream();
+    Throwable[] failure = new Throwable[1];
+    boolean[] ended = new boolean[1];
+    codec.parse(source)
+      .exceptionHandler(err -> failure[0] = err)
+      .endHandler(v -> ended[0] = true)
+      .handler(address -> { });
+    source.push(Buffer.buffer(Arrays.copyOf(bytes, bytes.length - 1)));
+    source.end();
+    assertNotNull(failure[0]);
+    assertFalse(ended[0]);
+  }
+
+  private static class FakeReadStream implements ReadStream<Buffer> {
+
+    private Handler<Buffer> handler;
+    private Handler<Void> endHandler;
+    private boolean paused;
+
+    void push(Buffer buffer) {
+      handler.handle(buffer);
+    }
+
+    void end() {
+      endHandler.handle(null);
+    }
+
+    @Override
+    public ReadStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+      return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> handler(Handler<Buffer> handler) {
+      this.handler = handler;
+      return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> pause() {
+      paused = true;
+      return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> resume() {
+      paused = false;
+      return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> fetch(long amount) {
+      paused = false;
+      return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+      this.endHandler = endHandler;
+      return this;
+    }
+  }
+
+  private static class FakeWriteStream implements WriteStream<Buffer> {
+
+    private final List<Buffer> writes = new ArrayList<>();
+    private boolean full;
+    private Handler<Void> drainHandler;
+
+    void drain() {
+      drainHandler.handle(null);
+    }
+
+    @Override
+    public WriteStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+      return this;
+    }
+
+    @Override
+    public Future<Void> write(Buffer data) {
+      writes.add(data);
+      return Future.succeededFuture();
+    }
+
+    @Override
+    public Future<Void> end() {
+      return Future.succeededFuture();
+    }
+
+    @Override
+    public WriteStream<Buffer> setWriteQueueMaxSize(int maxSize) {
+      return this;
+    }
+
+    @Override
+    public boolean writeQueueFull() {
+      return full;
+    }
+
+    @Override
+    public WriteStream<Buffer> drainHandler(Handler<Void> handler) {
+      drainHandler = handler;
+      return this;
+    }
+  }
+}
@@ -0,0 +1,180 @@
+package io.vertx.test.codegen.protobuf;
+
+import io.vertx.codegen.processor.Compiler;
+import io.vertx.codegen.processor.Processor;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.test.codegen.converter.Address;
+import io.vertx.test.codegen.converter.AddressProtoView;
+import io.vertx.test.codegen.converter.EnumType;
+import io.vertx.test.codegen.converter.User;
+import io.vertx.test.codegen.converter.UserProtoConverter;
+import io.vertx.test.codegen.converter.UserProtoView;
+import org.junit.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ProtoViewTest {
+
+  private static final String PACKAGE = "io.vertx.test.codegen.views";
+
+  private static User user() {
+    Address address = new Address();
+    address.setName("Addr-1");
+    address.setLatitude(3.301f);
+    address.setLongitude(4.401f);
+    User user = new User();
+    user.setUserName("jviet");
+    user.setAge(21);
+    user.setIntegerListField(Arrays.asList(1, 2, 3));
+    user.setStructListField(Arrays.asList(address, address));
+    user.setAddress(address);
+    user.setShortField((short) -5);
+    user.setCharField('x');
+    user.setStringValueMap(Collections.singletonMap("key", "value"));
+    user.setInstantField(Instant.ofEpochSecond(1_000_000, 500));
+    user.setJsonObjectField(new JsonObject().put("nested", new JsonObject().put("value", 4)));
+    user.setPrimitiveInt(-7);
+    user.setPrimitiveLong(300000L);
+    user.setPrimitiveDouble(1.5d);
+    user.setEnumType(EnumType.B);
+    return user;
+  }
+
+  @Test
+  public void testView() throws IOException {
+    User user = user();
+    UserProtoView view = new UserProtoView(UserProtoConverter.toBuffer(user));
+
+    assertEquals(user.getUserName(), view.getUserName());
+    assertEquals(user.getAge(), view.getAge());
+    assertEquals(user.getShortField(), view.getShortField());
+    assertEquals(user.getCharField(), view.getCharField());
+    assertEquals(user.getPrimitiveInt(), view.getPrimitiveInt());
+    assertEquals(user.getPrimitiveLong(), view.getPrimitiveLong());
+    assertEquals(user.getPrimitiveDouble(), view.getPrimitiveDouble(), 0d);
+    assertEquals(user.getEnumType(), view.getEnumType());
+    assertEquals(user.getInstantField(), view.getInstantField());
+    assertEquals(user.getJsonObjectField(), view.getJsonObjectField());
+    assertEquals(user.getIntegerListField(), view.getIntegerListField());
+    assertEquals(user.getStructListField(), view.getStructListField());
+    assertEquals(user.getStringValueMap(), view.getStringValueMap());
+
+    AddressProtoView address = view.getAddress();
+    assertEquals("Addr-1", address.getName());
+    assertEquals(3.301f, address.getLatitude(), 0f);
+    assertEquals(4.401f, address.getLongitude(), 0f);
+    assertEquals(user.getAddress(), address.toDataObject());
+  }
+
+  @Test
+  public void testAbsentFields() throws IOException {
+    User user = new User();
+    user.setAge(3);
+    UserProtoView view = new UserProtoView(ByteBuffer.wrap(UserProtoConverter.toByteArray(user)));
+
+    assertEquals(3, (int) view.getAge());
+    assertNull(view.getUserName());
+    assertNull(view.getLongField());
+    assertNull(view.getAddress());
+    assertNull(view.getInstantField());
+    assertNull(view.getEnumType());
+    assertNull(view.getIntegerListField());
+    assertEquals(0, view.getPrimitiveInt());
+  }
+
+  @Test
+  public void testScalarValues() throws IOException {
+    User user = new User();
+    user.setBoolField(false);
+    user.setLongField(Long.MAX_VALUE);
+    user.setPrimitiveBoolean(true);
+    user.setPrimitiveByte(Byte.MIN_VALUE);
+    user.setPrimitiveInt(Integer.MIN_VALUE);
+    user.setPrimitiveLong(Long.MIN_VALUE);
+    user.setPrimitiveFloat(Float.NEGATIVE_INFINITY);
+    user.setPrimitiveDouble(-Double.MAX_VALUE);
+    user.setPrimitiveChar('\uffff');
+    byte[] encoded = UserProtoConverter.toByteArray(user);
+    // The scalar values are decoded in place, the message does not start at the beginning of the buffer
+    ByteBuffer data = ByteBuffer.allocate(encoded.length + 3);
+    data.position(3);
+    data.put(encoded);
+    data.position(3);
+    UserProtoView view = new UserProtoView(data);
+
+    assertEquals(false, view.getBoolField());
+    assertEquals(Long.MAX_VALUE, (long) view.getLongField());
+    assertTrue(view.isPrimitiveBoolean());
+    assertEquals(Byte.MIN_VALUE, view.getPrimitiveByte());
+    assertEquals(Integer.MIN_VALUE, view.getPrimitiveInt());
+    assertEquals(Long.MIN_VALUE, view.getPrimitiveLong());
+    assertEquals(Float.NEGATIVE_INFINITY, view.getPrimitiveFloat(), 0f);
+    assertEquals(-Double.MAX_VALUE, view.getPrimitiveDouble(), 0d);
+    assertEquals('\uffff', view.getPrimitiveChar());
+  }
+
+  @Test
+  public void testToDataObject() throws IOException {
+    User user = user();
+    Buffer buffer = UserProtoConverter.toBuffer(user);
+    assertEquals(user, new UserProtoView(buffer).toDataObject());
+  }
+
+  @Test
+  public void testRepeatedFieldsDecodedOnce() throws IOException {
+    UserProtoView view = new UserProtoView(UserProtoConverter.toBuffer(user()));
+    assertSame(view.getIntegerListField(), view.getIntegerListField());
+    assertSame(view.getStringValueMap(), view.getStringValueMap());
+  }
+
+  @Test
+  public void testNestedDataObjectWithoutView() throws Exception {
+    File sources = Files.createTempDirectory("views").toFile();
+    File dir = new File(sources, PACKAGE.replace('.', '/'));
+    assertTrue(dir.mkdirs());
+    File packageInfo = new File(dir, "package-info.java");
+    File nested = new File(dir, "Nested.java");
+    File dataObject = new File(dir, "Outer.java");
+    Files.write(packageInfo.toPath(), ("@io.vertx.codegen.annotations.ModuleGen(name = \"views\", groupPackage = \"" + PACKAGE + "\")\n" +
+      "package " + PACKAGE + ";\n").getBytes(StandardCharsets.UTF_8));
+    Files.write(nested.toPath(), dataObjectSource("Nested", "String", "name", false).getBytes(StandardCharsets.UTF_8));
+    Files.write(dataObject.toPath(), dataObjectSource("Outer", "Nested", "nested", true).getBytes(StandardCharsets.UTF_8));
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    Compiler compiler = new Compiler(new Processor(), diagnostics);
+    assertFalse(compiler.compile(packageInfo, nested, dataObject));
+    assertTrue(diagnostics.getDiagnostics().toString(), diagnostics.getDiagnostics()
+      .stream()
+      .anyMatch(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR &&
+        diagnostic.getMessage(null).contains("nested data object property nested")));
+  }
+
+  private static String dataObjectSource(String name, String type, String property, boolean generateView) {
+    String capitalized = Character.toUpperCase(property.charAt(0)) + property.substring(1);
+    return "package " + PACKAGE + ";\n" +
+      "@io.vertx.codegen.annotations.DataObject\n" +
+      "@io.vertx.codegen.protobuf.annotations.ProtobufGen(fieldNumberStrategy = io.vertx.codegen.protobuf.annotations.FieldNumberStrategy.COMPACT, generateView = " + generateView + ")\n" +
+      "public class " + name + " {\n" +
+      "  private " + type + " " + property + ";\n" +
+      "  public " + name + "() {}\n" +
+      "  public " + type + " get" + capitalized + "() { return " + property + "; }\n" +
+      "  public " + name + " set" + capitalized + "(" + type + " value) { " + property + " = value; return this; }\n" +
+      "}\n";
+  }
+}
@@ -3,6 +3,8 @@ package io.vertx.test.codegen.protobuf;
 import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
+import io.vertx.codegen.protobuf.ProtobufEncodingMode;
+import io.vertx.codegen.protobuf.utils.ExpandableIntArray;
 import io.vertx.test.codegen.converter.RecursiveItem;
 import io.vertx.test.codegen.converter.RecursiveItemProtoConverter;
 import org.junit.Assert;
@@ -11,6 +13,7 @@ import org.junit.Test;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 public class RecursiveProtoTest {
@@ -77,6 +80,30 @@ public class RecursiveProtoTest {
     Assert.assertEquals(encoded.length, RecursiveItemProtoConverter.computeSize(root));
   }
 
+  @Test
+  public void testReuseSizeCache() throws IOException {
+    RecursiveItem small = new RecursiveItem("small");
+    small.setChildA(new RecursiveItem("a"));
+    RecursiveItem large = new RecursiveItem("large");
+    large.setChildA(new RecursiveItem("a"));
+    large.setChildB(new RecursiveItem("b"));
+    large.getChildB().setChildC(new RecursiveItem("b_c"));
+    large.setChildC(new RecursiveItem("c"));
+
+    ExpandableIntArray cache = new ExpandableIntArray(1);
+    for (RecursiveItem item : new RecursiveItem[] { large, small, large }) {
+      byte[] expected = vertxEncode(item);
+      assertEquals(expected.length, RecursiveItemProtoConverter.computeSize(item, cache, ProtobufEncodingMode.VERTX));
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      CodedOutputStream output = CodedOutputStream.newInstance(baos);
+      RecursiveItemProtoConverter.toProto(item, output, cache, ProtobufEncodingMode.VERTX);
+      output.flush();
+      assertArrayEquals(expected, baos.toByteArray());
+      assertArrayEquals(expected, RecursiveItemProtoConverter.toByteArray(item));
+      assertEquals(item, vertxDecode(RecursiveItemProtoConverter.toByteArray(item)));
+    }
+  }
+
   private byte[] vertxEncode(RecursiveItem obj) throws IOException {
     ByteArrayOutputStream baos = new ByteArrayOutputStream();
     CodedOutputStream output = CodedOutputStream.newInstance(baos);
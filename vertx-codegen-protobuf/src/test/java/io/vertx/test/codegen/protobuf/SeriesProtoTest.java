@@ -0,0 +1,186 @@
+package io.vertx.test.codegen.protobuf;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.vertx.test.codegen.converter.EnumType;
+import io.vertx.test.codegen.converter.Series;
+import io.vertx.test.codegen.converter.SeriesProtoConverter;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class SeriesProtoTest {
+
+  @Test
+  public void testPackedFields() throws IOException {
+    Series series = new Series();
+    series.setLongListField(Arrays.asList(0L, -1L, Long.MAX_VALUE, 300L));
+    series.setDoubleListField(Arrays.asList(1.5d, -2.25d, 0d));
+    series.setFloatListField(Arrays.asList(1.5f, -2.25f));
+    series.setBoolListField(Arrays.asList(true, false, true));
+    series.setShortListField(Arrays.asList((short) -3, Short.MAX_VALUE));
+    series.setEnumListField(Arrays.asList(EnumType.C, EnumType.A, EnumType.B));
+    series.setStringListField(Arrays.asList("one", "", "three"));
+    series.setIntArrayField(new int[] { 0, -1, Integer.MAX_VALUE, 128 });
+    series.setLongArrayField(new long[] { Long.MIN_VALUE, 1L });
+    series.setFloatArrayField(new float[] { 0.5f, 7f });
+    series.setDoubleArrayField(new double[] { Math.PI, -Math.E, 0d });
+    series.setBoolArrayField(new boolean[] { false, true });
+
+    // Vertx Encode
+    byte[] encoded = vertxEncode(series);
+
+    // Decode and encode using Google's protoc plugin, which packs repeated numeric fields
+    io.vertx.protobuf.generated.Series protocObj = io.vertx.protobuf.generated.Series.parseFrom(encoded);
+    assertEquals(Arrays.asList(0L, -1L, Long.MAX_VALUE, 300L), protocObj.getLongListFieldList());
+    assertEquals(Arrays.asList(0, -1, Integer.MAX_VALUE, 128), protocObj.getIntArrayFieldList());
+    byte[] protocEncoded = protocEncode(protocObj);
+    assertArrayEquals(protocEncoded, encoded);
+
+    // Vertx Decode
+    assertEquals(series, vertxDecode(protocEncoded));
+
+    // Assert total size is equal to computed size
+    assertEquals(encoded.length, SeriesProtoConverter.computeSize(series));
+  }
+
+  @Test
+  public void testEmptyFields() throws IOException {
+    Series series = new Series();
+    series.setLongListField(Arrays.asList());
+    series.setIntArrayField(new int[0]);
+    byte[] encoded = vertxEncode(series);
+    assertEquals(0, encoded.length);
+    Series decoded = vertxDecode(encoded);
+    assertNull(decoded.getLongListField());
+    assertNull(decoded.getIntArrayField());
+  }
+
+  @Test
+  public void testDecodeUnpackedElements() throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    CodedOutputStream output = CodedOutputStream.newInstance(baos);
+    output.writeInt64(1, 5L);
+    output.writeInt64(1, -6L);
+    output.writeEnum(6, 2);
+    output.writeInt32(8, 7);
+    output.writeDouble(11, 2.5d);
+    output.writeInt32(8, -8);
+    output.flush();
+
+    Series decoded = vertxDecode(baos.toByteArray());
+    assertEquals(Arrays.asList(5L, -6L), decoded.getLongListField());
+    assertEquals(Arrays.asList(EnumType.C), decoded.getEnumListField());
+    assertArrayEquals(new int[] { 7, -8 }, decoded.getIntArrayField());
+    assertArrayEquals(new double[] { 2.5d }, decoded.getDoubleArrayField(), 0d);
+  }
+
+  @Test
+  public void testDecodeConcatenatedPackedFields() throws IOException {
+    Series first = new Series();
+    first.setIntArrayField(new int[] { 1, 2 });
+    first.setLongListField(Arrays.asList(1L));
+    Series second = new Series();
+    second.setIntArrayField(new int[] { 3 });
+    second.setLongListField(Arrays.asList(2L, 3L));
+
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    baos.write(vertxEncode(first));
+    baos.write(vertxEncode(second));
+
+    Series decoded = vertxDecode(baos.toByteArray());
+    assertArrayEquals(new int[] { 1, 2, 3 }, decoded.getIntArrayField());
+    assertEquals(Arrays.asList(1L, 2L, 3L), decoded.getLongListField());
+  }
+
+  @Test
+  public void testDecodeManyUnpackedElements() throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    CodedOutputStream output = CodedOutputStream.newInstance(baos);
+    int[] expected = new int[10_000];
+    for (int i = 0;i < expected.length;i++) {
+      expected[i] = i - 5_000;
+      output.writeInt32(8, expected[i]);
+      if (i == 5_000) {
+        output.writeBool(12, true);
+      }
+    }
+    output.flush();
+
+    Series decoded = vertxDecode(baos.toByteArray());
+    assertArrayEquals(expected, decoded.getIntArrayField());
+    assertArrayEquals(new boolean[] { true }, decoded.getBoolArrayField());
+  }
+
+  @Test
+  public void testDecodePackedFieldLargerThanPresize() throws IOException {
+    Series series = new Series();
+    long[] longs = new long[10_000];
+    double[] doubles = new double[10_000];
+    for (int i = 0;i < longs.length;i++) {
+      longs[i] = i * 1_000_000_007L;
+      doubles[i] = i / 3d;
+    }
+    series.setLongArrayField(longs);
+    series.setDoubleArrayField(doubles);
+    series.setDoubleListField(Arrays.stream(doubles).boxed().collect(Collectors.toList()));
+
+    Series decoded = vertxDecode(vertxEncode(series));
+    assertArrayEquals(longs, decoded.getLongArrayField());
+    assertArrayEquals(doubles, decoded.getDoubleArrayField(), 0d);
+    assertEquals(series.getDoubleListField(), decoded.getDoubleListField());
+  }
+
+  @Test
+  public void testDecodeTruncatedPackedField() throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    CodedOutputStream output = CodedOutputStream.newInstance(baos);
+    // Declares a packed field of 1GB followed by a single element
+    output.writeTag(8, 2);
+    output.writeUInt32NoTag(1 << 30);
+    output.writeInt32NoTag(7);
+    output.flush();
+
+    try {
+      vertxDecode(baos.toByteArray());
+      fail();
+    } catch (InvalidProtocolBufferException expected) {
+    }
+  }
+
+  private byte[] vertxEncode(Series obj) throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    CodedOutputStream output = CodedOutputStream.newInstance(baos);
+    SeriesProtoConverter.toProto(obj, output);
+    output.flush();
+    byte[] encoded = baos.toByteArray();
+    TestUtils.debug("Vertx encoded", encoded);
+    return encoded;
+  }
+
+  private byte[] protocEncode(io.vertx.protobuf.generated.Series obj) throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    CodedOutputStream output = CodedOutputStream.newInstance(baos);
+    obj.writeTo(output);
+    output.flush();
+    byte[] encoded = baos.toByteArray();
+    TestUtils.debug("Protoc encoded", encoded);
+    return encoded;
+  }
+
+  private Series vertxDecode(byte[] arr) throws IOException {
+    CodedInputStream input = CodedInputStream.newInstance(arr);
+    Series obj = new Series();
+    SeriesProtoConverter.fromProto(input, obj);
+    return obj;
+  }
+}
@@ -1,5 +1,19 @@
 package io.vertx.test.codegen.protobuf;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static java.time.format.DateTimeFormatter.ISO_INSTANT;
+
 public class TestUtils {
   private static final boolean DEBUG = false;
 
@@ -44,4 +58,59 @@ public class TestUtils {
       System.out.println(":\n" + TestUtils.prettyHexDump(bytes));
     }
   }
+
+  /**
+   * Encode {@code json} with Jackson the way Vert.x encodes a {@code JsonObject}.
+   */
+  public static String encodeJson(JsonObject json) {
+    StringWriter text = new StringWriter();
+    try (JsonGenerator generator = new JsonFactory().createGenerator(text)) {
+      encodeJson(json, generator);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return text.toString();
+  }
+
+  private static void encodeJson(Object json, JsonGenerator generator) throws IOException {
+    if (json instanceof JsonObject) {
+      json = ((JsonObject) json).getMap();
+    } else if (json instanceof JsonArray) {
+      json = ((JsonArray) json).getList();
+    }
+    if (json instanceof Map) {
+      generator.writeStartObject();
+      for (Map.Entry<?, ?> e : ((Map<?, ?>) json).entrySet()) {
+        generator.writeFieldName((String) e.getKey());
+        encodeJson(e.getValue(), generator);
+      }
+      generator.writeEndObject();
+    } else if (json instanceof List) {
+      generator.writeStartArray();
+      for (Object item : (List<?>) json) {
+        encodeJson(item, generator);
+      }
+      generator.writeEndArray();
+    } else if (json instanceof String) {
+      generator.writeString((String) json);
+    } else if (json instanceof Integer || json instanceof Short || json instanceof Byte) {
+      generator.writeNumber(((Number) json).intValue());
+    } else if (json instanceof Long) {
+      generator.writeNumber((long) json);
+    } else if (json instanceof Float) {
+      generator.writeNumber((float) json);
+    } else if (json instanceof Double) {
+      generator.writeNumber((double) json);
+    } else if (json instanceof Boolean) {
+      generator.writeBoolean((Boolean) json);
+    } else if (json instanceof Instant) {
+      generator.writeString(ISO_INSTANT.format((Instant) json));
+    } else if (json instanceof Enum) {
+      generator.writeString(((Enum<?>) json).name());
+    } else if (json == null) {
+      generator.writeNull();
+    } else {
+      throw new IllegalArgumentException("Mapping " + json.getClass().getName() + " is not available");
+    }
+  }
 }
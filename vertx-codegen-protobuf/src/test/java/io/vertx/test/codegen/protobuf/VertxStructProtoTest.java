@@ -251,6 +251,33 @@ public class VertxStructProtoTest {
     Assert.assertEquals(encoded.length, VertxStructProtoConverter.computeSize(jsonObject));
   }
 
+  @Test
+  public void TestDeeplyNestedJsonObject() throws IOException {
+    JsonObject jsonObject = new JsonObject().put("level", 10);
+    for (int level = 9;level >= 0;level--) {
+      jsonObject = new JsonObject()
+        .put("level", level)
+        .put("name", "level-" + level)
+        .put("tags", new JsonArray().add("a").add(level))
+        .put("child", jsonObject)
+        .put("sibling", new JsonObject().put("level", level));
+    }
+
+    // Vertx Encode
+    byte[] encoded = vertxEncode(jsonObject);
+
+    // Encode using Google's protoc plugin
+    byte[] protocEncoded = protocEncode(io.vertx.protobuf.Struct.parseFrom(encoded));
+    assertArrayEquals(protocEncoded, encoded);
+
+    // Vertx Decode
+    JsonObject decoded = VertxStructProtoConverter.fromProto(CodedInputStream.newInstance(encoded));
+    assertEquals(jsonObject, decoded);
+
+    // Verify ComputeSize
+    Assert.assertEquals(encoded.length, VertxStructProtoConverter.computeSize(jsonObject));
+  }
+
   private byte[] protocEncode(io.vertx.protobuf.Struct obj) throws IOException {
     ByteArrayOutputStream baos = new ByteArrayOutputStream();
     CodedOutputStream output = CodedOutputStream.newInstance(baos);
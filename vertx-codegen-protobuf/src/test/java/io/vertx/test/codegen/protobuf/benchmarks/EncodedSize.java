@@ -0,0 +1,24 @@
+package io.vertx.test.codegen.protobuf.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * Reports the encoded size in bytes of the benchmarked fixture as the {@code encodedSize} secondary result of the
+ * benchmarks taking this state as argument.
+ * <p/>
+ * JMH sums the events counters of the measurement iterations, each iteration records its share of the size so the
+ * result is the size itself.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class EncodedSize {
+
+  public double encodedSize;
+
+  void record(BenchmarkParams params, int size) {
+    encodedSize = (double) size / params.getMeasurement().getCount();
+  }
+}
@@ -0,0 +1,281 @@
+package io.vertx.test.codegen.protobuf.benchmarks;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import io.vertx.codegen.protobuf.FieldMask;
+import io.vertx.codegen.protobuf.ProtobufEncodingMode;
+import io.vertx.codegen.protobuf.utils.ExpandableIntArray;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.test.codegen.converter.Address;
+import io.vertx.test.codegen.converter.AddressProtoConverter;
+import io.vertx.test.codegen.converter.EnumType;
+import io.vertx.test.codegen.converter.RecursiveItem;
+import io.vertx.test.codegen.converter.RecursiveItemProtoConverter;
+import io.vertx.test.codegen.converter.User;
+import io.vertx.test.codegen.converter.UserProtoConverter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The data objects used by the benchmarks and their generated converters.
+ */
+abstract class Fixtures {
+
+  static final String USER = "User";
+  static final String ADDRESS = "Address";
+  static final String RECURSIVE_ITEM = "RecursiveItem";
+
+  /**
+   * @return the fixture with the given {@code name}
+   */
+  static Fixtures create(String name) {
+    switch (name) {
+      case USER:
+        return new Fixtures() {
+          final User user = user();
+          @Override
+          int computeSize(ProtobufEncodingMode mode) {
+            return UserProtoConverter.computeSize(user, mode);
+          }
+          @Override
+          void toProto(CodedOutputStream output, ProtobufEncodingMode mode) throws IOException {
+            UserProtoConverter.toProto(user, output, mode);
+          }
+          @Override
+          void toProto(CodedOutputStream output, ExpandableIntArray cache, ProtobufEncodingMode mode) throws IOException {
+            UserProtoConverter.toProto(user, output, cache, mode);
+          }
+          @Override
+          byte[] toByteArray(ProtobufEncodingMode mode) throws IOException {
+            return UserProtoConverter.toByteArray(user, mode);
+          }
+          @Override
+          Object fromProto(CodedInputStream input, ProtobufEncodingMode mode) throws IOException {
+            User obj = new User();
+            UserProtoConverter.fromProto(input, obj, mode);
+            return obj;
+          }
+          @Override
+          Object fromProto(CodedInputStream input, FieldMask mask, ProtobufEncodingMode mode) throws IOException {
+            User obj = new User();
+            UserProtoConverter.fromProto(input, obj, mask, mode);
+            return obj;
+          }
+          @Override
+          FieldMask projection() {
+            return UserProtoConverter.fieldMask("userName", "age");
+          }
+          @Override
+          com.google.protobuf.Parser<?> protocParser() {
+            return io.vertx.protobuf.generated.User.parser();
+          }
+        };
+      case ADDRESS:
+        return new Fixtures() {
+          final Address address = address(1);
+          @Override
+          int computeSize(ProtobufEncodingMode mode) {
+            return AddressProtoConverter.computeSize(address, mode);
+          }
+          @Override
+          void toProto(CodedOutputStream output, ProtobufEncodingMode mode) throws IOException {
+            AddressProtoConverter.toProto(address, output, mode);
+          }
+          @Override
+          void toProto(CodedOutputStream output, ExpandableIntArray cache, ProtobufEncodingMode mode) throws IOException {
+            AddressProtoConverter.toProto(address, output, cache, mode);
+          }
+          @Override
+          byte[] toByteArray(ProtobufEncodingMode mode) throws IOException {
+            return AddressProtoConverter.toByteArray(address, mode);
+          }
+          @Override
+          Object fromProto(CodedInputStream input, ProtobufEncodingMode mode) throws IOException {
+            Address obj = new Address();
+            AddressProtoConverter.fromProto(input, obj, mode);
+            return obj;
+          }
+          @Override
+          Object fromProto(CodedInputStream input, FieldMask mask, ProtobufEncodingMode mode) throws IOException {
+            Address obj = new Address();
+            AddressProtoConverter.fromProto(input, obj, mask, mode);
+            return obj;
+          }
+          @Override
+          FieldMask projection() {
+            return AddressProtoConverter.fieldMask("name");
+          }
+          @Override
+          com.google.protobuf.Parser<?> protocParser() {
+            return io.vertx.protobuf.generated.Address.parser();
+          }
+        };
+      case RECURSIVE_ITEM:
+        return new Fixtures() {
+          final RecursiveItem item = recursiveItem("root", 4);
+          @Override
+          int computeSize(ProtobufEncodingMode mode) {
+            return RecursiveItemProtoConverter.computeSize(item, mode);
+          }
+          @Override
+          void toProto(CodedOutputStream output, ProtobufEncodingMode mode) throws IOException {
+            RecursiveItemProtoConverter.toProto(item, output, mode);
+          }
+          @Override
+          void toProto(CodedOutputStream output, ExpandableIntArray cache, ProtobufEncodingMode mode) throws IOException {
+            RecursiveItemProtoConverter.toProto(item, output, cache, mode);
+          }
+          @Override
+          byte[] toByteArray(ProtobufEncodingMode mode) throws IOException {
+            return RecursiveItemProtoConverter.toByteArray(item, mode);
+          }
+          @Override
+          Object fromProto(CodedInputStream input, ProtobufEncodingMode mode) throws IOException {
+            RecursiveItem obj = new RecursiveItem();
+            RecursiveItemProtoConverter.fromProto(input, obj, mode);
+            return obj;
+          }
+          @Override
+          Object fromProto(CodedInputStream input, FieldMask mask, ProtobufEncodingMode mode) throws IOException {
+            RecursiveItem obj = new RecursiveItem();
+            RecursiveItemProtoConverter.fromProto(input, obj, mask, mode);
+            return obj;
+          }
+          @Override
+          FieldMask projection() {
+            return RecursiveItemProtoConverter.fieldMask("id");
+          }
+          @Override
+          com.google.protobuf.Parser<?> protocParser() {
+            return io.vertx.protobuf.generated.RecursiveItem.parser();
+          }
+        };
+      default:
+        throw new IllegalArgumentException("Unknown fixture " + name);
+    }
+  }
+
+  abstract int computeSize(ProtobufEncodingMode mode);
+
+  abstract void toProto(CodedOutputStream output, ProtobufEncodingMode mode) throws IOException;
+
+  /**
+   * Encode with a caller-owned size cache.
+   */
+  abstract void toProto(CodedOutputStream output, ExpandableIntArray cache, ProtobufEncodingMode mode) throws IOException;
+
+  /**
+   * Encode with the pooled encoder context of the current thread.
+   */
+  abstract byte[] toByteArray(ProtobufEncodingMode mode) throws IOException;
+
+  abstract Object fromProto(CodedInputStream input, ProtobufEncodingMode mode) throws IOException;
+
+  /**
+   * Decode only the fields selected by {@code mask}.
+   */
+  abstract Object fromProto(CodedInputStream input, FieldMask mask, ProtobufEncodingMode mode) throws IOException;
+
+  /**
+   * @return a mask selecting a couple of fields, as a routing tier would
+   */
+  abstract FieldMask projection();
+
+  /**
+   * @return the parser of the equivalent protoc generated message
+   */
+  abstract com.google.protobuf.Parser<?> protocParser();
+
+  /**
+   * @return the fixture encoded with the generated converter
+   */
+  byte[] encode(ProtobufEncodingMode mode) throws IOException {
+    byte[] encoded = new byte[computeSize(mode)];
+    CodedOutputStream output = CodedOutputStream.newInstance(encoded);
+    toProto(output, mode);
+    output.checkNoSpaceLeft();
+    return encoded;
+  }
+
+  static Address address(int index) {
+    Address address = new Address();
+    address.setName("Addr-" + index);
+    address.setLatitude(3.3F + index);
+    address.setLongitude(4.4F + index);
+    return address;
+  }
+
+  static User user() {
+    User user = new User();
+    user.setUserName("jviet");
+    user.setAge(21);
+    user.setByteField((byte) 8);
+    user.setDoubleField(5055.5D);
+    user.setFloatField(55.5F);
+    user.setLongField(1000L);
+    user.setBoolField(true);
+    user.setShortField((short) 10);
+    user.setCharField((char) 1);
+    user.setPrimitiveBoolean(true);
+    user.setPrimitiveByte((byte) 3);
+    user.setPrimitiveShort((short) 300);
+    user.setPrimitiveInt(3000);
+    user.setPrimitiveLong(300000L);
+    user.setPrimitiveFloat(3.3F);
+    user.setPrimitiveDouble(3003.33D);
+    user.setPrimitiveChar((char) 30);
+    user.setAddress(address(1));
+    user.setJsonObjectField(new JsonObject().put("IntField", 105).put("StringField", "StringValue-5"));
+    user.setJsonArrayField(new JsonArray().add("One").add("Two").add("Three"));
+    user.setEnumType(EnumType.C);
+    user.setStructListField(Arrays.asList(address(2), address(3)));
+    user.setIntegerListField(Arrays.asList(100, 101, 102, 103));
+    user.setJsonListField(Arrays.asList(
+      new JsonObject().put("IntField", 101).put("StringField", "StringValue-1"),
+      new JsonObject().put("IntField", 102).put("StringField", "StringValue-2")));
+    ZonedDateTime dateTime = ZonedDateTime.of(2024, 1, 1, 10, 15, 30, 0, ZoneId.of("Europe/Paris"));
+    user.setZonedDateTimeField(dateTime);
+    user.setZonedDateTimeListField(Arrays.asList(dateTime, dateTime.plusDays(1)));
+    user.setInstantField(Instant.parse("2024-01-01T10:15:30Z"));
+    Map<String, String> stringValueMap = new HashMap<>();
+    stringValueMap.put("key1", "value1");
+    stringValueMap.put("key2", "value2");
+    user.setStringValueMap(stringValueMap);
+    Map<String, Integer> integerValueMap = new HashMap<>();
+    integerValueMap.put("key1", 1);
+    integerValueMap.put("key2", 2);
+    user.setIntegerValueMap(integerValueMap);
+    Map<String, Address> structValueMap = new HashMap<>();
+    structValueMap.put("key1", address(4));
+    structValueMap.put("key2", address(5));
+    user.setStructValueMap(structValueMap);
+    Map<String, JsonObject> jsonValueMap = new HashMap<>();
+    jsonValueMap.put("key1", new JsonObject().put("IntField", 103).put("StringField", "StringValue-3"));
+    jsonValueMap.put("key2", new JsonObject().put("IntField", 104).put("StringField", "StringValue-4"));
+    user.setJsonValueMap(jsonValueMap);
+    Map<String, ZonedDateTime> zonedDateTimeValueMap = new HashMap<>();
+    zonedDateTimeValueMap.put("key1", dateTime);
+    user.setZonedDateTimeValueMap(zonedDateTimeValueMap);
+    return user;
+  }
+
+  /**
+   * @return a full ternary tree of the given {@code depth}
+   */
+  static RecursiveItem recursiveItem(String id, int depth) {
+    RecursiveItem item = new RecursiveItem(id);
+    if (depth > 1) {
+      item.setChildA(recursiveItem(id + "_a", depth - 1));
+      item.setChildB(recursiveItem(id + "_b", depth - 1));
+      item.setChildC(recursiveItem(id + "_c", depth - 1));
+    }
+    return item;
+  }
+}
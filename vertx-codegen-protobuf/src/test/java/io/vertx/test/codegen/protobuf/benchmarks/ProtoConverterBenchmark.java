@@ -0,0 +1,96 @@
+package io.vertx.test.codegen.protobuf.benchmarks;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import io.vertx.codegen.protobuf.FieldMask;
+import io.vertx.codegen.protobuf.ProtobufEncodingMode;
+import io.vertx.codegen.protobuf.utils.ExpandableIntArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The generated {@code *ProtoConverter} classes, to compare with {@link ProtocBenchmark}. Run with {@code -prof gc}
+ * to get the bytes allocated per operation, {@link #toProto} and {@link #fromProto} report the {@link EncodedSize}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ProtoConverterBenchmark {
+
+  @Param({Fixtures.USER, Fixtures.ADDRESS, Fixtures.RECURSIVE_ITEM})
+  public String fixture;
+
+  @Param({"VERTX", "GOOGLE_COMPATIBLE"})
+  public ProtobufEncodingMode encodingMode;
+
+  private Fixtures fixtures;
+  private byte[] encoded;
+  private byte[] buffer;
+  private ExpandableIntArray cache;
+  private FieldMask projection;
+
+  @Setup
+  public void setup() throws IOException {
+    fixtures = Fixtures.create(fixture);
+    encoded = fixtures.encode(encodingMode);
+    buffer = new byte[encoded.length];
+    cache = new ExpandableIntArray(1);
+    projection = fixtures.projection();
+  }
+
+  @Setup(Level.Iteration)
+  public void recordEncodedSize(BenchmarkParams params, EncodedSize size) {
+    size.record(params, encoded.length);
+  }
+
+  @Benchmark
+  public int computeSize() {
+    return fixtures.computeSize(encodingMode);
+  }
+
+  @Benchmark
+  public byte[] toProto(EncodedSize size) throws IOException {
+    CodedOutputStream output = CodedOutputStream.newInstance(buffer);
+    fixtures.toProto(output, encodingMode);
+    return buffer;
+  }
+
+  @Benchmark
+  public byte[] toProtoReusedCache() throws IOException {
+    CodedOutputStream output = CodedOutputStream.newInstance(buffer);
+    fixtures.toProto(output, cache, encodingMode);
+    return buffer;
+  }
+
+  @Benchmark
+  public byte[] toByteArray() throws IOException {
+    return fixtures.toByteArray(encodingMode);
+  }
+
+  @Benchmark
+  public Object fromProto(EncodedSize size) throws IOException {
+    return fixtures.fromProto(CodedInputStream.newInstance(encoded), encodingMode);
+  }
+
+  @Benchmark
+  public Object fromProtoProjected() throws IOException {
+    return fixtures.fromProto(CodedInputStream.newInstance(encoded), projection, encodingMode);
+  }
+}
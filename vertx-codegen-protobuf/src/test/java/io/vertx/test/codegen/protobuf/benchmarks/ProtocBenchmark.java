@@ -0,0 +1,73 @@
+package io.vertx.test.codegen.protobuf.benchmarks;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import io.vertx.codegen.protobuf.ProtobufEncodingMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The protoc generated messages equivalent to the fixtures of {@link ProtoConverterBenchmark}, built by parsing the
+ * {@link ProtobufEncodingMode#GOOGLE_COMPATIBLE} encoding of the fixtures.
+ * <p/>
+ * Protoc messages memoize their serialized size when they are first serialized, so there is no equivalent of the
+ * {@code computeSize} benchmark and {@link #toProto(EncodedSize)} reuses the memoized size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ProtocBenchmark {
+
+  @Param({Fixtures.USER, Fixtures.ADDRESS, Fixtures.RECURSIVE_ITEM})
+  public String fixture;
+
+  private Parser<?> parser;
+  private MessageLite message;
+  private byte[] encoded;
+  private byte[] buffer;
+
+  @Setup
+  public void setup() throws IOException {
+    Fixtures fixtures = Fixtures.create(fixture);
+    parser = fixtures.protocParser();
+    message = (MessageLite) parser.parseFrom(fixtures.encode(ProtobufEncodingMode.GOOGLE_COMPATIBLE));
+    encoded = message.toByteArray();
+    buffer = new byte[encoded.length];
+  }
+
+  @Setup(Level.Iteration)
+  public void recordEncodedSize(BenchmarkParams params, EncodedSize size) {
+    size.record(params, encoded.length);
+  }
+
+  @Benchmark
+  public byte[] toProto(EncodedSize size) throws IOException {
+    CodedOutputStream output = CodedOutputStream.newInstance(buffer);
+    message.writeTo(output);
+    return buffer;
+  }
+
+  @Benchmark
+  public Object fromProto(EncodedSize size) throws InvalidProtocolBufferException {
+    return parser.parseFrom(encoded);
+  }
+}
@@ -0,0 +1,88 @@
+package io.vertx.test.codegen.protobuf.benchmarks;
+
+import com.google.protobuf.CodedOutputStream;
+import io.vertx.codegen.protobuf.impl.converters.GoogleStructProtoConverter;
+import io.vertx.codegen.protobuf.impl.converters.VertxStructProtoConverter;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding of nested {@code JsonObject} documents with the struct converters, the time per operation should grow
+ * linearly with the {@code depth}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class StructBenchmark {
+
+  @Param({"1", "5", "10"})
+  public int depth;
+
+  private JsonObject document;
+  private byte[] vertxBuffer;
+  private byte[] googleBuffer;
+
+  @Setup
+  public void setup() {
+    document = document(depth);
+    vertxBuffer = new byte[VertxStructProtoConverter.computeSize(document)];
+    googleBuffer = new byte[GoogleStructProtoConverter.computeSize(document)];
+  }
+
+  /**
+   * @return a document with a {@code child} object nested {@code depth} times
+   */
+  static JsonObject document(int depth) {
+    JsonObject document = new JsonObject().put("id", depth).put("name", "leaf");
+    for (int level = depth - 1;level >= 0;level--) {
+      document = new JsonObject()
+        .put("id", level)
+        .put("name", "level-" + level)
+        .put("enabled", level % 2 == 0)
+        .put("tags", new JsonArray().add("alpha").add("beta"))
+        .put("child", document);
+    }
+    return document;
+  }
+
+  @Benchmark
+  public int vertxComputeSize() {
+    return VertxStructProtoConverter.computeSize(document);
+  }
+
+  @Benchmark
+  public byte[] vertxToProto() throws IOException {
+    CodedOutputStream output = CodedOutputStream.newInstance(vertxBuffer);
+    VertxStructProtoConverter.toProto(document, output);
+    return vertxBuffer;
+  }
+
+  @Benchmark
+  public int googleComputeSize() {
+    return GoogleStructProtoConverter.computeSize(document);
+  }
+
+  @Benchmark
+  public byte[] googleToProto() throws IOException {
+    CodedOutputStream output = CodedOutputStream.newInstance(googleBuffer);
+    GoogleStructProtoConverter.toProto(document, output);
+    return googleBuffer;
+  }
+}
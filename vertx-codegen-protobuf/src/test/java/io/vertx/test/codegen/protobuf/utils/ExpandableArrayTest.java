@@ -64,6 +64,22 @@ public class ExpandableArrayTest {
     });
   }
 
+  @Test
+  public void testReset() {
+    ExpandableIntArray arr = new ExpandableIntArray(2);
+    arr.add(1);
+    arr.set(3, 30);
+    Assert.assertEquals(4, arr.size());
+    arr.reset();
+    Assert.assertEquals(0, arr.size());
+    Assert.assertThrows(IndexOutOfBoundsException.class, () -> {
+      arr.get(0);
+    });
+    arr.set(1, 10);
+    Assert.assertEquals(10, arr.get(1));
+    Assert.assertEquals(2, arr.size());
+  }
+
   @Test(expected = OutOfMemoryError.class)
   public void testOutOfMemory() {
     new ExpandableIntArray(Integer.MAX_VALUE);
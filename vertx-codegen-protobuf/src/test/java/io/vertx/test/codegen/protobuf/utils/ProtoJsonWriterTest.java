@@ -0,0 +1,67 @@
+package io.vertx.test.codegen.protobuf.utils;
+
+import io.vertx.codegen.protobuf.utils.ProtoJsonWriter;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+public class ProtoJsonWriterTest {
+
+  private static String string(ProtoJsonWriter writer) {
+    return new String(writer.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testSeparators() {
+    ProtoJsonWriter writer = new ProtoJsonWriter();
+    writer.beginObject()
+      .name(ProtoJsonWriter.encodeName("a")).value(1)
+      .name("b").beginArray().value(true).value(2L).beginObject().end().end()
+      .name("c").beginObject().name("d").value((String) null).end()
+      .end();
+    Assert.assertEquals("{\"a\":1,\"b\":[true,2,{}],\"c\":{\"d\":null}}", string(writer));
+  }
+
+  @Test
+  public void testEscape() {
+    ProtoJsonWriter writer = new ProtoJsonWriter(16);
+    writer.beginArray()
+      .value("q\"b\\n\nt\tc\u0001")
+      .utf8Value("q\"\u00e9\u0002".getBytes(StandardCharsets.UTF_8))
+      .value('\n')
+      .value("\u20ac\ud83d\ude00")
+      .end();
+    Assert.assertEquals("[\"q\\\"b\\\\n\\nt\\tc\\u0001\",\"q\\\"\u00e9\\u0002\",\"\\n\",\"\u20ac\ud83d\ude00\"]", string(writer));
+  }
+
+  @Test
+  public void testNumbers() {
+    ProtoJsonWriter writer = new ProtoJsonWriter();
+    writer.beginArray().value(1.5f).value(0.1d).value(Double.NaN).value(Integer.MIN_VALUE).value(Long.MAX_VALUE).end();
+    Assert.assertEquals("[1.5,0.1,\"NaN\",-2147483648,9223372036854775807]", string(writer));
+  }
+
+  @Test
+  public void testJsonValues() {
+    ProtoJsonWriter writer = new ProtoJsonWriter();
+    writer.value(new JsonObject()
+      .put("s", "v")
+      .put("n", (short) 4)
+      .put("o", new JsonObject().put("b", false))
+      .put("a", new JsonArray().add(1).add(null).add(new JsonArray())));
+    Assert.assertEquals("{\"s\":\"v\",\"n\":4,\"o\":{\"b\":false},\"a\":[1,null,[]]}", string(writer));
+  }
+
+  @Test
+  public void testReset() {
+    ProtoJsonWriter writer = new ProtoJsonWriter();
+    writer.beginObject().name("a");
+    writer.reset();
+    writer.beginArray().value(1).end();
+    Assert.assertEquals("[1]", string(writer));
+    Assert.assertEquals(3, writer.length());
+  }
+}